@@ -0,0 +1,40 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kth.game.othello.Othello;
+
+/**
+ * Openings given as lists of node ids, played in turn by the players of the game. Game number n uses opening number n,
+ * starting over from the first opening when they run out.
+ */
+public class FixedOpenings implements Openings {
+
+	private final List<List<String>> openings;
+
+	/**
+	 * Create the fixed openings
+	 * 
+	 * @param openings The node ids of the moves of each opening
+	 * @throws IllegalArgumentException if there are no openings
+	 */
+	public FixedOpenings(List<List<String>> openings) {
+		if (openings.isEmpty()) {
+			throw new IllegalArgumentException("There must be at least one opening.");
+		}
+		this.openings = new ArrayList<>(openings);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalArgumentException if a move of the opening is invalid
+	 */
+	@Override
+	public void playOpening(Othello othello, int game) {
+		for (String nodeId : openings.get(game % openings.size())) {
+			othello.move(othello.getPlayerInTurn().getId(), nodeId);
+		}
+	}
+}
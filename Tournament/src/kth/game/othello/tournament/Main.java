@@ -1,22 +1,56 @@
 package kth.game.othello.tournament;
 
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.OthelloFactoryImpl;
 
 import kth.game.othello.player.movestrategy.*;
+import kth.game.othello.player.movestrategy.book.OpeningBookBuilder;
+import kth.game.othello.record.GameRecordWriter;
 
 /**
  * Start point for the Tournament Othello game module.
  */
 public class Main {
-	public static void main(String[] args) {
+	private static final int INTERIM_PERIOD_SECONDS = 10;
+
+	public static void main(String[] args) throws IOException {
 		// Simple reading of command line arguments.
 		// Should probably be done with a third party tool if we want to extends it
 		boolean showView = false;
-		for (String arg : args) {
+		boolean parallel = false;
+		int gamesPerPairing = 1;
+		int openingMoves = 0;
+		String bookFile = null;
+		int bookPlies = OpeningBookBuilder.DEFAULT_MAX_PLY;
+		String recordFile = null;
+		boolean search = false;
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
 			if (arg.equals("-g") || arg.equals("-gui")) {
 				showView = true;
+			} else if (arg.equals("-p") || arg.equals("-parallel")) {
+				parallel = true;
+			} else if ((arg.equals("-n") || arg.equals("-games")) && i + 1 < args.length) {
+				gamesPerPairing = Integer.parseInt(args[++i]);
+			} else if ((arg.equals("-o") || arg.equals("-openings")) && i + 1 < args.length) {
+				openingMoves = Integer.parseInt(args[++i]);
+			} else if ((arg.equals("-b") || arg.equals("-book")) && i + 1 < args.length) {
+				bookFile = args[++i];
+			} else if (arg.equals("-plies") && i + 1 < args.length) {
+				bookPlies = Integer.parseInt(args[++i]);
+			} else if ((arg.equals("-r") || arg.equals("-record")) && i + 1 < args.length) {
+				recordFile = args[++i];
+			} else if (arg.equals("-s") || arg.equals("-search")) {
+				search = true;
 			}
 		}
 
@@ -25,11 +59,57 @@ public class Main {
 		strategies.add(new RandomStrategy());
 		strategies.add(new LowestStrategy());
 		strategies.add(new TopLeftStrategy());
+		if (search) {
+			// The searching strategies make the round robin much slower, so they only play when asked for
+			strategies.add(new AlphaBetaStrategy(100));
+			strategies.add(new EndgameSolverStrategy(new AlphaBetaStrategy(100), 14, true, 1000));
+			strategies.add(new MctsStrategy(100));
+		}
 
 		System.out.println("Starting tournament...");
-		Tournament tournament = new Tournament(strategies);
-		List<PlayerResult> results = tournament.play(showView);
+		Openings openings = openingMoves > 0 ? new RandomOpenings(openingMoves, System.currentTimeMillis()) : null;
+		final Tournament tournament = new Tournament(strategies, new OthelloFactoryImpl(), gamesPerPairing, openings);
+		GameRecordWriter recordWriter = null;
+		if (recordFile != null) {
+			// Append the games to the record file as they finish
+			recordWriter = new GameRecordWriter(Paths.get(recordFile), true);
+			tournament.addGameRecordListener(recordWriter);
+		}
+		final TournamentPrinter printer = new TournamentPrinter(new PrintWriter(System.out));
+
+		// Print the standings now and then during long tournaments
+		ScheduledExecutorService interimPrinter = Executors.newSingleThreadScheduledExecutor();
+		interimPrinter.scheduleAtFixedRate(() -> {
+			Standings standings = tournament.getStandings();
+			if (standings != null) {
+				System.out.println("Interim standings:");
+				printer.printStandings(standings);
+			}
+		}, INTERIM_PERIOD_SECONDS, INTERIM_PERIOD_SECONDS, TimeUnit.SECONDS);
+
+		List<PlayerResult> results;
+		try {
+			if (bookFile != null) {
+				// Build an opening book from the games while playing them
+				int numThreads = parallel ? Runtime.getRuntime().availableProcessors() : 1;
+				int numPositions = new OpeningBookBuilder(bookPlies, 1).build(
+						Collections.singletonList(new TournamentGameSource(tournament, numThreads)),
+						Paths.get(bookFile));
+				System.out.println("Wrote " + numPositions + " positions to " + bookFile);
+				results = tournament.getStandings().getResults();
+			} else if (parallel && !showView) {
+				results = tournament.playParallel(Runtime.getRuntime().availableProcessors());
+			} else {
+				results = tournament.play(showView);
+			}
+		} finally {
+			interimPrinter.shutdownNow();
+			if (recordWriter != null) {
+				recordWriter.close();
+				System.out.println("Recorded " + recordWriter.getNumRecords() + " games to " + recordFile);
+			}
+		}
 		System.out.println("Tournament done. Results:");
-		new TournamentPrinter(new PrintWriter(System.out)).printResults(results);
+		printer.printResults(results);
 	}
 }
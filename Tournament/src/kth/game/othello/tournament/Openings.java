@@ -0,0 +1,18 @@
+package kth.game.othello.tournament;
+
+import kth.game.othello.Othello;
+
+/**
+ * The openings that the games of a tournament start from. Both orders of a pairing get the same opening for the same
+ * game number, so that each player gets to play both sides of it.
+ */
+public interface Openings {
+
+	/**
+	 * Play the opening moves of a game that has just been started
+	 * 
+	 * @param othello The started game
+	 * @param game The number of the game within its pairing, starting at 0
+	 */
+	public void playOpening(Othello othello, int game);
+}
@@ -0,0 +1,44 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import kth.game.othello.Othello;
+import kth.game.othello.board.Node;
+
+/**
+ * Openings made of random valid moves. The moves only depend on the seed and the game number, so a tournament gets the
+ * same openings every time it is played with the same seed.
+ */
+public class RandomOpenings implements Openings {
+
+	private final int numMoves;
+	private final long seed;
+
+	/**
+	 * Create the random openings
+	 * 
+	 * @param numMoves The number of random moves of each opening
+	 * @param seed The seed of the random moves
+	 */
+	public RandomOpenings(int numMoves, long seed) {
+		this.numMoves = numMoves;
+		this.seed = seed;
+	}
+
+	@Override
+	public void playOpening(Othello othello, int game) {
+		Random random = new Random(seed * 31 + game);
+		for (int i = 0; i < numMoves && othello.isActive(); i++) {
+			String playerId = othello.getPlayerInTurn().getId();
+			List<Node> validMoves = new ArrayList<>();
+			for (Node node : othello.getBoard().getNodes()) {
+				if (othello.isMoveValid(playerId, node.getId())) {
+					validMoves.add(node);
+				}
+			}
+			othello.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+		}
+	}
+}
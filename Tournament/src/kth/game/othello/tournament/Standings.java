@@ -0,0 +1,114 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The standings of a running tournament. Every finished game increments a counter of its pairing and outcome, so the
+ * standings can be updated by the threads playing the games and read by another thread while the tournament is in
+ * progress.
+ */
+public class Standings {
+
+	private static final int FIRST_WINS = 0;
+	private static final int SECOND_WINS = 1;
+	private static final int DRAW = 2;
+	private static final int NUM_OUTCOMES = 3;
+
+	private final List<String> names;
+	private final AtomicIntegerArray counts;
+	private final AtomicInteger numGames;
+
+	/**
+	 * Create empty standings for the given players
+	 * 
+	 * @param names The names of the players, in the order of their player indices
+	 */
+	public Standings(List<String> names) {
+		this.names = new ArrayList<>(names);
+		this.counts = new AtomicIntegerArray(names.size() * names.size() * NUM_OUTCOMES);
+		this.numGames = new AtomicInteger();
+	}
+
+	/**
+	 * Record the result of a game
+	 * 
+	 * @param first The index of the player that started the game
+	 * @param second The index of the other player
+	 * @param result -1 if the first player won, 1 if the second player won and 0 if it was a draw
+	 */
+	public void record(int first, int second, int result) {
+		int outcome = result < 0 ? FIRST_WINS : result > 0 ? SECOND_WINS : DRAW;
+		counts.incrementAndGet(getIndex(first, second, outcome));
+		numGames.incrementAndGet();
+	}
+
+	/**
+	 * @return The number of recorded games
+	 */
+	public int getNumGames() {
+		return numGames.get();
+	}
+
+	/**
+	 * Get the number of games a player has won against an opponent, with either player starting
+	 * 
+	 * @param player The index of the player
+	 * @param opponent The index of the opponent
+	 * @return The number of wins
+	 */
+	public int getWins(int player, int opponent) {
+		return counts.get(getIndex(player, opponent, FIRST_WINS)) + counts.get(getIndex(opponent, player, SECOND_WINS));
+	}
+
+	/**
+	 * Get the number of games a player has lost against an opponent, with either player starting
+	 * 
+	 * @param player The index of the player
+	 * @param opponent The index of the opponent
+	 * @return The number of losses
+	 */
+	public int getLosses(int player, int opponent) {
+		return getWins(opponent, player);
+	}
+
+	/**
+	 * Get the number of draws between a player and an opponent, with either player starting
+	 * 
+	 * @param player The index of the player
+	 * @param opponent The index of the opponent
+	 * @return The number of draws
+	 */
+	public int getDraws(int player, int opponent) {
+		return counts.get(getIndex(player, opponent, DRAW)) + counts.get(getIndex(opponent, player, DRAW));
+	}
+
+	/**
+	 * Sum up the games of every player. Games that finish while summing may be partly included.
+	 * 
+	 * @return The results of the players, ordered after score
+	 */
+	public List<PlayerResult> getResults() {
+		List<PlayerResult> results = new ArrayList<>();
+		for (int player = 0; player < names.size(); player++) {
+			int wins = 0, losses = 0, draws = 0;
+			for (int opponent = 0; opponent < names.size(); opponent++) {
+				if (opponent == player)
+					continue;
+				wins += getWins(player, opponent);
+				losses += getLosses(player, opponent);
+				draws += getDraws(player, opponent);
+			}
+			results.add(new PlayerResult(names.get(player), wins, losses, draws));
+		}
+		Collections.sort(results);
+		return results;
+	}
+
+	private int getIndex(int first, int second, int outcome) {
+		return (first * names.size() + second) * NUM_OUTCOMES + outcome;
+	}
+}
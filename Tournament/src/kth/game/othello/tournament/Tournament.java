@@ -1,24 +1,38 @@
 package kth.game.othello.tournament;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactory;
 import kth.game.othello.OthelloFactoryImpl;
 import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.board.factory.Square;
 import kth.game.othello.player.ComputerPlayer;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+import kth.game.othello.record.GameRecorder;
 import kth.game.othello.score.Score;
 import kth.game.othello.view.swing.OthelloView;
 import kth.game.othello.view.swing.OthelloViewFactory;
 
 /**
  * Class implementing a tournament for different move strategies. Can be used to just get the results of the tournament,
- * or to show the games in a gui first.
+ * or to show the games in a gui first. Every pairing can play several games, optionally from given openings. Without
+ * the gui, the games can also be played in parallel by a pool of worker threads, which requires the strategies to be
+ * thread-safe. A run of the tournament keeps the finished games of every pairing and resets them to the initial board
+ * for the following games of the pairing, instead of creating new games.
  */
 public class Tournament {
 
@@ -27,9 +41,76 @@ public class Tournament {
 	public static final int TIME_BETWEEN_MOVES = 300;
 
 	private List<MoveStrategy> strategies;
+	private OthelloFactory othelloFactory;
+	private int gamesPerPairing;
+	private Openings openings;
+	private volatile Standings standings;
+	private final List<GameRecordListener> gameRecordListeners = new CopyOnWriteArrayList<>();
 
 	public Tournament(List<MoveStrategy> strategies) {
+		this(strategies, new OthelloFactoryImpl());
+	}
+
+	/**
+	 * Create a tournament whose games are created by the given factory
+	 * 
+	 * @param strategies The strategies competing in the tournament
+	 * @param othelloFactory The factory creating the games, e.g. an {@link OthelloFactoryImpl} with or without bit
+	 *            boards
+	 */
+	public Tournament(List<MoveStrategy> strategies, OthelloFactory othelloFactory) {
+		this(strategies, othelloFactory, 1, null);
+	}
+
+	/**
+	 * Create a tournament where every player plays several games against every other player. Each game is played once
+	 * with each player starting, from the same opening.
+	 * 
+	 * @param strategies The strategies competing in the tournament
+	 * @param othelloFactory The factory creating the games
+	 * @param gamesPerPairing The number of games that every player starts against every other player
+	 * @param openings The openings of the games, or null to start every game from the initial board. Openings are not
+	 *            played in games shown in the gui.
+	 * @throws IllegalArgumentException if the number of games per pairing is not positive
+	 */
+	public Tournament(List<MoveStrategy> strategies, OthelloFactory othelloFactory, int gamesPerPairing,
+			Openings openings) {
+		if (gamesPerPairing <= 0) {
+			throw new IllegalArgumentException("The number of games per pairing must be positive.");
+		}
 		this.strategies = strategies;
+		this.othelloFactory = othelloFactory;
+		this.gamesPerPairing = gamesPerPairing;
+		this.openings = openings;
+	}
+
+	/**
+	 * Get the standings of the tournament being played, or of the last one played. The standings are updated as the
+	 * games finish, so they can be printed while the tournament is in progress.
+	 * 
+	 * @return The standings, or null if the tournament has not been started
+	 */
+	public Standings getStandings() {
+		return standings;
+	}
+
+	/**
+	 * Add a listener that receives the record of every game of the tournament when it is finished. When the games are
+	 * played in parallel, the listener is called by the worker threads.
+	 * 
+	 * @param listener The listener of the game records
+	 */
+	public void addGameRecordListener(GameRecordListener listener) {
+		gameRecordListeners.add(listener);
+	}
+
+	/**
+	 * Remove a listener added by {@link #addGameRecordListener}.
+	 * 
+	 * @param listener The listener of the game records
+	 */
+	public void removeGameRecordListener(GameRecordListener listener) {
+		gameRecordListeners.remove(listener);
 	}
 
 	/**
@@ -39,61 +120,140 @@ public class Tournament {
 	 * @return The results of the different players/strategies, ordered after score
 	 */
 	public List<PlayerResult> play(boolean showView) {
-		List<Player> players = new ArrayList<>();
-		for (int i = 0; i < strategies.size(); i++) {
-			players.add(new ComputerPlayer("cpu" + i, strategies.get(i).getName(), strategies.get(i)));
+		GamePool pool = new GamePool(createPlayers());
+		Standings standings = startStandings(pool.players);
+		for (int i = 0; i < pool.players.size(); i++) {
+			for (int j = 0; j < pool.players.size(); j++) {
+				if (i == j)
+					continue;
+				for (int game = 0; game < gamesPerPairing; game++) {
+					standings.record(i, j, playGame(pool, i, j, game, showView));
+				}
+			}
 		}
+		return standings.getResults();
+	}
 
-		List<PlayerResult> results = new ArrayList<>();
-		for (Player player : players) {
-			results.add(new PlayerResult(player.getName(), 0, 0, 0));
+	/**
+	 * Play this tournament without gui, spreading the games over the given number of worker threads. The results are
+	 * the same as those of {@link #play(boolean)} for strategies that always make the same moves.
+	 * 
+	 * @param numThreads The number of worker threads, e.g. the number of available processors
+	 * @return The results of the different players/strategies, ordered after score
+	 * @throws IllegalArgumentException if the number of threads is not positive
+	 */
+	public List<PlayerResult> playParallel(int numThreads) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
 		}
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			return playParallel(executor);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 
-		for (int i = 0; i < players.size(); i++) {
-			for (int j = 0; j < players.size(); j++) {
+	/**
+	 * Play this tournament without gui, with the games run by the given executor. The executor is not shut down.
+	 * 
+	 * @param executor The executor running the games
+	 * @return The results of the different players/strategies, ordered after score
+	 * @throws IllegalStateException if a game fails or the waiting for the games is interrupted
+	 */
+	public List<PlayerResult> playParallel(ExecutorService executor) {
+		final GamePool pool = new GamePool(createPlayers());
+		final Standings standings = startStandings(pool.players);
+		List<Future<?>> games = new ArrayList<>();
+		for (int i = 0; i < pool.players.size(); i++) {
+			for (int j = 0; j < pool.players.size(); j++) {
 				if (i == j)
 					continue;
-				int result = playGame(players.get(i), players.get(j), showView);
-				if (result == -1) {
-					results.set(i, results.get(i).incrementWins());
-					results.set(j, results.get(j).incrementLosses());
-				} else if (result == 1) {
-					results.set(i, results.get(i).incrementLosses());
-					results.set(j, results.get(j).incrementWins());
-				} else {
-					results.set(i, results.get(i).incrementDraws());
-					results.set(j, results.get(j).incrementDraws());
+				for (int game = 0; game < gamesPerPairing; game++) {
+					final int first = i;
+					final int second = j;
+					final int gameNumber = game;
+					games.add(executor.submit(() -> {
+						int result = playGame(pool, first, second, gameNumber, false);
+						standings.record(first, second, result);
+					}));
 				}
 			}
 		}
 
-		Collections.sort(results);
-		return results;
+		try {
+			for (Future<?> game : games) {
+				game.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the games of the tournament.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A game of the tournament failed.", e.getCause());
+		}
+		return standings.getResults();
 	}
 
 	/**
-	 * Helper method for playing a game. Returns -1 if the first player wins, 1 if the second player wins and 0 if it's
-	 * a draw.
+	 * Helper method creating one computer player for each strategy.
 	 */
-	private int playGame(Player player1, Player player2, boolean showView) {
+	private List<Player> createPlayers() {
 		List<Player> players = new ArrayList<>();
-		players.add(player1);
-		players.add(player2);
-		Set<NodeData> nodeData = new Square().getNodes(BOARD_SIZE, players);
-		Othello othello = new OthelloFactoryImpl().createGame(nodeData, players);
+		for (int i = 0; i < strategies.size(); i++) {
+			players.add(new ComputerPlayer("cpu" + i, strategies.get(i).getName(), strategies.get(i)));
+		}
+		return players;
+	}
+
+	/**
+	 * Helper method creating empty standings for a new run of the tournament.
+	 */
+	private Standings startStandings(List<Player> players) {
+		List<String> names = new ArrayList<>();
+		for (Player player : players) {
+			names.add(player.getName());
+		}
+		Standings standings = new Standings(names);
+		this.standings = standings;
+		return standings;
+	}
+
+	/**
+	 * Helper method for playing a game. Returns -1 if the first player wins, 1 if the second player wins and 0 if it's
+	 * a draw. Games shown in the gui are created for the game, all others are taken from the pool of the run.
+	 */
+	private int playGame(GamePool pool, int first, int second, int game, boolean showView) {
+		Player player1 = pool.players.get(first);
+		Player player2 = pool.players.get(second);
+		PooledGame pooledGame = showView ? new PooledGame(player1, player2) : pool.take(first, second);
+		GameRecorder recorder = pooledGame.reset(!gameRecordListeners.isEmpty());
+		Othello othello = pooledGame.othello;
 		if (showView) {
 			OthelloView view = OthelloViewFactory.create(othello, TIME_BETWEEN_SWAPS, TIME_BETWEEN_MOVES);
 			view.start(player1.getId());
 		} else {
 			othello.start(player1.getId());
+			if (openings != null) {
+				openings.playOpening(othello, game);
+			}
 			while (othello.isActive()) {
 				othello.move();
 			}
 		}
 
+		if (recorder != null) {
+			GameRecord record = recorder.getRecord();
+			for (GameRecordListener listener : gameRecordListeners) {
+				listener.gameRecorded(record);
+			}
+		}
+
 		Score score = othello.getScore();
 		int score1 = score.getPoints(player1.getId());
 		int score2 = score.getPoints(player2.getId());
+		if (!showView) {
+			pool.put(first, second, pooledGame);
+		}
 		if (score1 > score2)
 			return -1;
 		if (score1 < score2)
@@ -101,4 +261,75 @@ public class Tournament {
 		return 0;
 	}
 
+	/**
+	 * The games of one run of the tournament, between the players of that run. A game is taken from the pool by the
+	 * thread playing it and put back when it is finished, so the games of a pairing are reused by its following games,
+	 * and no game outlives the run.
+	 */
+	private class GamePool {
+		private final List<Player> players;
+		// The finished games of every pairing, at index first * number of players + second
+		private final List<Queue<PooledGame>> games;
+
+		private GamePool(List<Player> players) {
+			this.players = players;
+			this.games = new ArrayList<>();
+			for (int i = 0; i < players.size() * players.size(); i++) {
+				games.add(new ConcurrentLinkedQueue<>());
+			}
+		}
+
+		/**
+		 * Takes a finished game of a pairing, or creates a new one if all games of the pairing are being played.
+		 */
+		private PooledGame take(int first, int second) {
+			PooledGame game = games.get(first * players.size() + second).poll();
+			return game != null ? game : new PooledGame(players.get(first), players.get(second));
+		}
+
+		/**
+		 * Puts a finished game of a pairing back into the pool.
+		 */
+		private void put(int first, int second, PooledGame game) {
+			games.get(first * players.size() + second).add(game);
+		}
+	}
+
+	/**
+	 * A game of a pairing that is played again and again, from the initial board that it was created with.
+	 */
+	private class PooledGame {
+		private final Set<NodeData> nodes;
+		private final Othello othello;
+		private GameRecorder recorder;
+		private boolean played;
+
+		private PooledGame(Player player1, Player player2) {
+			List<Player> players = new ArrayList<>();
+			players.add(player1);
+			players.add(player2);
+			this.nodes = new Square().getNodes(BOARD_SIZE, players);
+			this.othello = othelloFactory.createGame(nodes, players);
+		}
+
+		/**
+		 * Returns the game to its initial board, unless it has not been played yet.
+		 * 
+		 * @param record True if the game should be recorded
+		 * @return The recorder of the game, or null if it is not recorded
+		 */
+		private GameRecorder reset(boolean record) {
+			if (played) {
+				othello.reset(nodes);
+				if (recorder != null) {
+					recorder.reset();
+				}
+			}
+			played = true;
+			if (record && recorder == null) {
+				recorder = new GameRecorder(othello, GameLayout.SQUARE);
+			}
+			return record ? recorder : null;
+		}
+	}
 }
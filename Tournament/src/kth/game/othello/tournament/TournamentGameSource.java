@@ -0,0 +1,59 @@
+package kth.game.othello.tournament;
+
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+import kth.game.othello.record.GameRecordSource;
+
+/**
+ * A source of game records that plays a tournament and passes on the record of each game as it is finished. Each
+ * read plays the tournament once more.
+ */
+public class TournamentGameSource implements GameRecordSource {
+	private final Tournament tournament;
+	private final int numThreads;
+
+	/**
+	 * Create a source playing the tournament on the calling thread.
+	 * 
+	 * @param tournament The tournament to play
+	 */
+	public TournamentGameSource(Tournament tournament) {
+		this(tournament, 1);
+	}
+
+	/**
+	 * Create a source playing the games of the tournament on several threads. The records are still passed to the
+	 * listener one at a time.
+	 * 
+	 * @param tournament The tournament to play
+	 * @param numThreads The number of threads playing the games
+	 * @throws IllegalArgumentException if the number of threads is not positive
+	 */
+	public TournamentGameSource(Tournament tournament, int numThreads) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		this.tournament = tournament;
+		this.numThreads = numThreads;
+	}
+
+	@Override
+	public void read(final GameRecordListener listener) {
+		GameRecordListener serialListener = new GameRecordListener() {
+			@Override
+			public synchronized void gameRecorded(GameRecord record) {
+				listener.gameRecorded(record);
+			}
+		};
+		tournament.addGameRecordListener(serialListener);
+		try {
+			if (numThreads == 1) {
+				tournament.play(false);
+			} else {
+				tournament.playParallel(numThreads);
+			}
+		} finally {
+			tournament.removeGameRecordListener(serialListener);
+		}
+	}
+}
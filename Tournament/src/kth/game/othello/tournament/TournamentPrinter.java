@@ -19,12 +19,22 @@ public class TournamentPrinter {
 		this.out = out;
 	}
 
+	/**
+	 * Print the current standings of a tournament, which may still be in progress
+	 * 
+	 * @param standings The standings to print
+	 */
+	public synchronized void printStandings(Standings standings) {
+		out.println("Games played: " + standings.getNumGames());
+		printResults(standings.getResults());
+	}
+
 	/**
 	 * Print the given tournament results to the output stream
 	 * 
 	 * @param results The results to print
 	 */
-	public void printResults(List<PlayerResult> results) {
+	public synchronized void printResults(List<PlayerResult> results) {
 		int place = 1;
 		out.println("\tName\tW\tL\tD");
 		for (int i = 0; i < results.size(); i++) {
@@ -0,0 +1,32 @@
+package kth.game.othello.tournament;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StandingsTest {
+
+	@Test
+	public void recordTest() {
+		Standings standings = new Standings(Arrays.asList("a", "b", "c"));
+		standings.record(0, 1, -1);
+		standings.record(1, 0, -1);
+		standings.record(1, 0, 0);
+		standings.record(2, 0, 1);
+
+		Assert.assertEquals(4, standings.getNumGames());
+		Assert.assertEquals(1, standings.getWins(0, 1));
+		Assert.assertEquals(1, standings.getLosses(0, 1));
+		Assert.assertEquals(1, standings.getDraws(0, 1));
+		Assert.assertEquals(1, standings.getDraws(1, 0));
+		Assert.assertEquals(1, standings.getWins(0, 2));
+		Assert.assertEquals(1, standings.getLosses(2, 0));
+
+		List<PlayerResult> results = standings.getResults();
+		Assert.assertEquals(new PlayerResult("a", 2, 1, 1), results.get(0));
+		Assert.assertEquals(new PlayerResult("b", 1, 1, 1), results.get(1));
+		Assert.assertEquals(new PlayerResult("c", 0, 1, 0), results.get(2));
+	}
+}
@@ -0,0 +1,46 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.LowestStrategy;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.player.movestrategy.TopLeftStrategy;
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TournamentGameSourceTest {
+
+	@Test
+	public void readTest() {
+		List<MoveStrategy> strategies = new ArrayList<>();
+		strategies.add(new GreedyStrategy());
+		strategies.add(new LowestStrategy());
+		strategies.add(new TopLeftStrategy());
+		Tournament tournament = new Tournament(strategies);
+
+		final List<GameRecord> records = new ArrayList<>();
+		GameRecordListener listener = new GameRecordListener() {
+			@Override
+			public void gameRecorded(GameRecord record) {
+				records.add(record);
+			}
+		};
+		new TournamentGameSource(tournament, 2).read(listener);
+
+		Assert.assertEquals(tournament.getStandings().getNumGames(), records.size());
+		for (GameRecord record : records) {
+			Assert.assertEquals(GameLayout.SQUARE, record.getLayout());
+			Assert.assertTrue(record.getNumMoves() > 0);
+		}
+
+		// The listener is only added while the source is read
+		tournament.play(false);
+		Assert.assertEquals(6, records.size());
+	}
+}
@@ -0,0 +1,122 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.LowestStrategy;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.player.movestrategy.TopLeftStrategy;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+import kth.game.othello.record.GameRecordReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TournamentTest {
+
+	private List<MoveStrategy> getDeterministicStrategies() {
+		List<MoveStrategy> strategies = new ArrayList<>();
+		strategies.add(new GreedyStrategy());
+		strategies.add(new LowestStrategy());
+		strategies.add(new TopLeftStrategy());
+		return strategies;
+	}
+
+	@Test
+	public void playParallelSameAsSerialTest() {
+		Tournament tournament = new Tournament(getDeterministicStrategies());
+
+		List<PlayerResult> expected = tournament.play(false);
+		List<PlayerResult> actual = tournament.playParallel(4);
+
+		Assert.assertEquals(expected, actual);
+		int numGames = 0;
+		for (PlayerResult result : actual) {
+			numGames += result.getWins() + result.getLosses() + result.getDraws();
+		}
+		Assert.assertEquals(2 * 3 * 2, numGames);
+	}
+
+	@Test
+	public void gamesPerPairingTest() {
+		List<List<String>> openings = new ArrayList<>();
+		openings.add(Arrays.asList("2:3"));
+		openings.add(Arrays.asList("3:2", "2:2"));
+		Tournament tournament = new Tournament(getDeterministicStrategies(), new OthelloFactoryImpl(), 3,
+				new FixedOpenings(openings));
+
+		List<PlayerResult> expected = tournament.play(false);
+		Assert.assertEquals(3 * 2 * 3, tournament.getStandings().getNumGames());
+		List<PlayerResult> actual = tournament.playParallel(4);
+		Assert.assertEquals(expected, actual);
+
+		Standings standings = tournament.getStandings();
+		for (int player = 0; player < 3; player++) {
+			for (int opponent = 0; opponent < 3; opponent++) {
+				if (player != opponent) {
+					Assert.assertEquals(6, standings.getWins(player, opponent) + standings.getLosses(player, opponent)
+							+ standings.getDraws(player, opponent));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void randomOpeningsTest() {
+		Tournament tournament = new Tournament(getDeterministicStrategies(), new OthelloFactoryImpl(), 4,
+				new RandomOpenings(6, 42));
+
+		Assert.assertEquals(tournament.play(false), tournament.playParallel(3));
+	}
+
+	@Test
+	public void replayedGamesTest() {
+		Tournament tournament = new Tournament(getDeterministicStrategies(), new OthelloFactoryImpl(), 3,
+				new RandomOpenings(4, 7));
+		final List<GameRecord> records = new ArrayList<>();
+		tournament.addGameRecordListener(new GameRecordListener() {
+			@Override
+			public void gameRecorded(GameRecord record) {
+				records.add(record);
+			}
+		});
+
+		// The games of a pairing are played on one game that is reset between them, in both runs
+		List<PlayerResult> expected = tournament.play(false);
+		Assert.assertEquals(expected, tournament.play(false));
+		Assert.assertEquals(2 * 3 * 2 * 3, records.size());
+		for (int i = 0; i < records.size() / 2; i++) {
+			GameRecord first = records.get(i);
+			GameRecord second = records.get(i + records.size() / 2);
+			Assert.assertEquals(first.getPlayerIds(), second.getPlayerIds());
+			Assert.assertEquals(first.getNumMoves(), second.getNumMoves());
+			for (int move = 0; move < first.getNumMoves(); move++) {
+				Assert.assertEquals(first.getMove(move), second.getMove(move));
+			}
+			// Every game is recorded from the initial board
+			GameRecordReader.replay(second);
+		}
+	}
+
+	@Test
+	public void newPlayersEveryRunTest() {
+		List<MoveStrategy> strategies = getDeterministicStrategies();
+		Tournament tournament = new Tournament(strategies);
+		tournament.play(false);
+
+		// A run plays with the strategies of the tournament when it starts, not with the games of an earlier run
+		strategies.set(0, new TopLeftStrategy());
+		List<PlayerResult> expected = new Tournament(new ArrayList<>(strategies)).play(false);
+		Assert.assertEquals(expected, tournament.play(false));
+		Assert.assertEquals(expected, tournament.playParallel(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void playParallelWithoutThreadsTest() {
+		new Tournament(getDeterministicStrategies()).playParallel(0);
+	}
+}
@@ -0,0 +1,220 @@
+package kth.game.othello.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.DoubleSquare;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+
+/**
+ * Creates the reproducible positions that the benchmarks run on. A position is reached by playing random valid moves
+ * from the initial board of a layout, with a fixed seed, until half of the empty nodes are occupied. If a game ends
+ * before that, the next seed is tried.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BenchmarkPositions {
+	public static final long SEED = 2386;
+	public static final int NUM_POSITIONS = 8;
+
+	/**
+	 * Creates the players of a layout, which are three for the diamond and two for the others.
+	 *
+	 * @param layout Square, Castle, Diamond or DoubleSquare
+	 * @param strategy The move strategy of every player
+	 * @return The players
+	 */
+	public static List<Player> createPlayers(String layout, MoveStrategy strategy) {
+		int numPlayers = layout.equals("Diamond") ? 3 : 2;
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < numPlayers; i++) {
+			players.add(new ComputerPlayer("player" + i, "player" + i, strategy));
+		}
+		return players;
+	}
+
+	/**
+	 * Creates the initial nodes of a layout.
+	 *
+	 * @param layout Square, Castle, Diamond or DoubleSquare
+	 * @param players The players of the layout
+	 * @return The nodes
+	 * @throws IllegalArgumentException if the layout is unknown
+	 */
+	public static Set<NodeData> createNodes(String layout, List<Player> players) {
+		switch (layout) {
+		case "Square":
+			return new Square().getNodes(8, players);
+		case "Castle":
+			return new Castle().getNodes(players);
+		case "Diamond":
+			return new Diamond().getNodes(9, players);
+		case "DoubleSquare":
+			return new DoubleSquare().getNodes(8, players);
+		default:
+			throw new IllegalArgumentException("Unknown layout: " + layout);
+		}
+	}
+
+	/**
+	 * Creates board handlers at mid-game positions of a layout.
+	 *
+	 * @param layout Square, Castle, Diamond or DoubleSquare
+	 * @param bitBoard True if bit boards should be used where the layout allows it
+	 * @return The board handlers of {@link #NUM_POSITIONS} positions, with the id of the player in turn at each
+	 */
+	public static List<Position> createBoardHandlers(String layout, boolean bitBoard) {
+		List<Player> players = createPlayers(layout, null);
+		List<String> playerIds = new ArrayList<>();
+		for (Player player : players) {
+			playerIds.add(player.getId());
+		}
+		BoardFactory boardFactory = new BoardFactory();
+		BoardHandlerFactory boardHandlerFactory = new BoardHandlerFactory();
+
+		List<Position> positions = new ArrayList<>();
+		for (long seed = SEED; positions.size() < NUM_POSITIONS; seed++) {
+			Set<NodeData> nodes = createNodes(layout, players);
+			BoardHandler boardHandler;
+			if (bitBoard && boardFactory.isBitBoardCompatible(nodes, playerIds)) {
+				boardHandler = boardHandlerFactory.createBitBoardHandler(boardFactory.createBitBoard(nodes, playerIds));
+			} else {
+				boardHandler = boardHandlerFactory.createOthelloBoardHandler(boardFactory.createBoard(nodes));
+			}
+
+			String playerInTurn = playRandomMoves(boardHandler, playerIds, seed);
+			if (playerInTurn != null) {
+				positions.add(new Position(boardHandler, playerInTurn));
+			}
+		}
+		return positions;
+	}
+
+	/**
+	 * Creates a game at a mid-game position of a layout, reached by the same moves as the board handler positions.
+	 *
+	 * @param layout Square, Castle, Diamond or DoubleSquare
+	 * @param strategy The move strategy of every player
+	 * @param position The number of the position, between 0 and {@link #NUM_POSITIONS}
+	 * @return The game, with a player in turn that has a valid move
+	 */
+	public static Othello createGame(String layout, MoveStrategy strategy, int position) {
+		List<Player> players = createPlayers(layout, strategy);
+		List<String> playerIds = new ArrayList<>();
+		for (Player player : players) {
+			playerIds.add(player.getId());
+		}
+
+		int found = 0;
+		for (long seed = SEED;; seed++) {
+			// Find the seed of the position by replaying the board handler positions
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(new BoardFactory()
+					.createBoard(createNodes(layout, players)));
+			if (playRandomMoves(boardHandler, playerIds, seed) == null) {
+				continue;
+			}
+			if (found++ < position) {
+				continue;
+			}
+
+			Othello othello = new OthelloFactoryImpl().createGame(createNodes(layout, players), players);
+			othello.start(playerIds.get(0));
+			Random random = new Random(seed);
+			for (int i = boardHandler.getPly(); i > 0; i--) {
+				String playerId = othello.getPlayerInTurn().getId();
+				List<Node> validMoves = getValidMoves(othello, playerId);
+				othello.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+			}
+			return othello;
+		}
+	}
+
+	/**
+	 * Plays random moves until half of the empty nodes are occupied. The players take turns in order, skipping those
+	 * without valid moves.
+	 *
+	 * @return The id of the player in turn, or null if the game ended first
+	 */
+	private static String playRandomMoves(BoardHandler boardHandler, List<String> playerIds, long seed) {
+		Random random = new Random(seed);
+		BoardImpl board = (BoardImpl) boardHandler.getBoard();
+		int numEmpty = 0;
+		for (Node node : board.getNodes()) {
+			if (!node.isMarked()) {
+				numEmpty++;
+			}
+		}
+
+		int turn = 0;
+		for (int moves = 0; moves < numEmpty / 2; moves++) {
+			turn = getNextTurn(boardHandler, playerIds, turn);
+			if (turn < 0) {
+				return null;
+			}
+			String playerId = playerIds.get(turn);
+			List<Node> validMoves = boardHandler.getValidMoves(playerId);
+			boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+			turn = (turn + 1) % playerIds.size();
+		}
+		turn = getNextTurn(boardHandler, playerIds, turn);
+		return turn < 0 ? null : playerIds.get(turn);
+	}
+
+	private static int getNextTurn(BoardHandler boardHandler, List<String> playerIds, int turn) {
+		for (int i = 0; i < playerIds.size(); i++) {
+			int next = (turn + i) % playerIds.size();
+			if (boardHandler.hasValidMove(playerIds.get(next))) {
+				return next;
+			}
+		}
+		return -1;
+	}
+
+	private static List<Node> getValidMoves(Othello othello, String playerId) {
+		List<Node> validMoves = new ArrayList<>();
+		for (Node node : othello.getBoard().getNodes()) {
+			if (othello.isMoveValid(playerId, node.getId())) {
+				validMoves.add(node);
+			}
+		}
+		return validMoves;
+	}
+
+	/**
+	 * A board handler at a mid-game position and the player in turn there.
+	 */
+	public static class Position {
+		private final BoardHandler boardHandler;
+		private final String playerInTurn;
+
+		private Position(BoardHandler boardHandler, String playerInTurn) {
+			this.boardHandler = boardHandler;
+			this.playerInTurn = playerInTurn;
+		}
+
+		public BoardHandler getBoardHandler() {
+			return boardHandler;
+		}
+
+		public String getPlayerInTurn() {
+			return playerInTurn;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package kth.game.othello.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.Node;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the rules of the board handlers, on the mid-game positions of {@link BenchmarkPositions}. Each
+ * invocation works on the next of the positions.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardHandlerBenchmark {
+
+	@Param({ "Square", "Castle", "Diamond", "DoubleSquare" })
+	public String layout;
+
+	@Param({ "true", "false" })
+	public boolean bitBoard;
+
+	private BoardHandler[] boardHandlers;
+	private String[] playersInTurn;
+	private String[][] validMoves;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		List<BenchmarkPositions.Position> positions = BenchmarkPositions.createBoardHandlers(layout, bitBoard);
+		boardHandlers = new BoardHandler[positions.size()];
+		playersInTurn = new String[positions.size()];
+		validMoves = new String[positions.size()][];
+		for (int i = 0; i < positions.size(); i++) {
+			boardHandlers[i] = positions.get(i).getBoardHandler();
+			playersInTurn[i] = positions.get(i).getPlayerInTurn();
+			List<Node> nodes = boardHandlers[i].getValidMoves(playersInTurn[i]);
+			validMoves[i] = new String[nodes.size()];
+			for (int j = 0; j < nodes.size(); j++) {
+				validMoves[i][j] = nodes.get(j).getId();
+			}
+		}
+	}
+
+	private int nextPosition() {
+		next = (next + 1) % boardHandlers.length;
+		return next;
+	}
+
+	@Benchmark
+	public List<Node> getValidMoves() {
+		int position = nextPosition();
+		return boardHandlers[position].getValidMoves(playersInTurn[position]);
+	}
+
+	@Benchmark
+	public void getNodesToSwap(Blackhole blackhole) {
+		int position = nextPosition();
+		for (String nodeId : validMoves[position]) {
+			blackhole.consume(boardHandlers[position].getNodesToSwap(playersInTurn[position], nodeId));
+		}
+	}
+
+	@Benchmark
+	public List<Node> moveAndUndo() {
+		int position = nextPosition();
+		String[] moves = validMoves[position];
+		List<Node> swapped = boardHandlers[position].move(playersInTurn[position], moves[next % moves.length]);
+		boardHandlers[position].undo();
+		return swapped;
+	}
+}
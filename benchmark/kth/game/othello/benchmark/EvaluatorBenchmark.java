@@ -0,0 +1,84 @@
+package kth.game.othello.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.search.Evaluator;
+import kth.game.othello.player.movestrategy.search.MobilityEvaluator;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the evaluators in isolation, evaluating the search boards of the mid-game positions for every player.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+	@Param({ "Square", "Castle", "Diamond", "DoubleSquare" })
+	public String layout;
+
+	@Param({ "Positional", "Mobility" })
+	public String evaluatorName;
+
+	private Evaluator evaluator;
+	private List<SearchBoard> boards;
+
+	@Setup
+	public void setUp() {
+		switch (evaluatorName) {
+		case "Positional":
+			evaluator = new PositionalEvaluator();
+			break;
+		case "Mobility":
+			evaluator = new MobilityEvaluator();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown evaluator: " + evaluatorName);
+		}
+
+		List<String> playerIds = new ArrayList<>();
+		for (Player player : BenchmarkPositions.createPlayers(layout, null)) {
+			playerIds.add(player.getId());
+		}
+		boards = new ArrayList<>();
+		SearchBoardFactory searchBoardFactory = new SearchBoardFactory();
+		for (BenchmarkPositions.Position position : BenchmarkPositions.createBoardHandlers(layout, true)) {
+			boards.add(searchBoardFactory.createSearchBoard(position.getBoardHandler().getBoard(), playerIds));
+		}
+	}
+
+	@Benchmark
+	public int evaluate() {
+		int sum = 0;
+		for (SearchBoard board : boards) {
+			for (int player = 0; player < board.getNumPlayers(); player++) {
+				sum += evaluator.evaluate(board, player);
+			}
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,61 @@
+package kth.game.othello.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.GameResult;
+import kth.game.othello.GameRunner;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.SlotStrategy;
+import kth.game.othello.record.GameLayout;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the number of complete greedy games a {@link GameRunner} plays per second on a single thread.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRunnerBenchmark {
+
+	@Param({ "SQUARE", "DIAMOND" })
+	public GameLayout layout;
+
+	private GameRunner runner;
+	private List<SlotStrategy> strategies;
+
+	@Setup
+	public void setUp() {
+		List<String> playerIds = layout == GameLayout.SQUARE ? Arrays.asList("0", "1") : Arrays.asList("0", "1", "2");
+		runner = new GameRunner(new BoardFactory().createBoard(layout.getNodesForIds(playerIds)), playerIds);
+		strategies = Arrays.asList(new SlotStrategy[playerIds.size()]);
+		for (int i = 0; i < playerIds.size(); i++) {
+			strategies.set(i, new GreedyStrategy());
+		}
+	}
+
+	@Benchmark
+	public GameResult play() {
+		return runner.play(strategies);
+	}
+}
@@ -0,0 +1,59 @@
+package kth.game.othello.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Perft;
+import kth.game.othello.player.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the move generation of the board handlers, counting the positions a few moves from the start of a game.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerftBenchmark {
+
+	@Param({ "Square", "Castle", "Diamond", "DoubleSquare" })
+	public String layout;
+
+	@Param({ "true", "false" })
+	public boolean bitBoard;
+
+	@Param({ "5" })
+	public int depth;
+
+	private Perft perft;
+
+	@Setup
+	public void setUp() {
+		List<Player> players = BenchmarkPositions.createPlayers(layout, null);
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+		perft = new Perft(BenchmarkPositions.createNodes(layout, players), playerIds, bitBoard);
+	}
+
+	@Benchmark
+	public long perft() {
+		return perft.perft(depth).getLeaves();
+	}
+}
@@ -0,0 +1,102 @@
+package kth.game.othello.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.Othello;
+import kth.game.othello.board.Node;
+import kth.game.othello.player.movestrategy.AlphaBetaStrategy;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.LowestStrategy;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.player.movestrategy.MultiPlayerSearchStrategy;
+import kth.game.othello.player.movestrategy.RandomStrategy;
+import kth.game.othello.player.movestrategy.TopLeftStrategy;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link Othello#move()} with each bundled move strategy, on the mid-game positions of
+ * {@link BenchmarkPositions}. Every move is undone and the mover is put back in turn, so each invocation starts from
+ * one of the same positions. The searching strategies search a fixed number of nodes, and the random strategy draws
+ * its moves from a fixed seed, to be reproducible.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+	public static final long ALPHA_BETA_NODES = 20000;
+
+	@Param({ "Square", "Castle", "Diamond", "DoubleSquare" })
+	public String layout;
+
+	@Param({ "Greedy", "Lowest", "Random", "TopLeft", "AlphaBeta", "MaxN", "Paranoid" })
+	public String strategy;
+
+	private Othello[] games;
+	private String[] playersInTurn;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		MoveStrategy moveStrategy = createStrategy(strategy);
+		games = new Othello[BenchmarkPositions.NUM_POSITIONS];
+		playersInTurn = new String[games.length];
+		for (int i = 0; i < games.length; i++) {
+			games[i] = BenchmarkPositions.createGame(layout, moveStrategy, i);
+			playersInTurn[i] = games[i].getPlayerInTurn().getId();
+		}
+	}
+
+	@Benchmark
+	public List<Node> moveAndUndo() {
+		next = (next + 1) % games.length;
+		Othello othello = games[next];
+		List<Node> swapped = othello.move();
+		othello.undo();
+		othello.start(playersInTurn[next]);
+		return swapped;
+	}
+
+	static MoveStrategy createStrategy(String name) {
+		switch (name) {
+		case "Greedy":
+			return new GreedyStrategy();
+		case "Lowest":
+			return new LowestStrategy();
+		case "Random":
+			return new RandomStrategy(BenchmarkPositions.SEED);
+		case "TopLeft":
+			return new TopLeftStrategy();
+		case "AlphaBeta":
+			return new AlphaBetaStrategy(SearchLimits.UNLIMITED, ALPHA_BETA_NODES, new PositionalEvaluator());
+		case "MaxN":
+			return new MultiPlayerSearchStrategy(MultiPlayerSearchStrategy.Algorithm.MAX_N, SearchLimits.UNLIMITED,
+					ALPHA_BETA_NODES, new PositionalEvaluator());
+		case "Paranoid":
+			return new MultiPlayerSearchStrategy(MultiPlayerSearchStrategy.Algorithm.PARANOID, SearchLimits.UNLIMITED,
+					ALPHA_BETA_NODES, new PositionalEvaluator());
+		default:
+			throw new IllegalArgumentException("Unknown strategy: " + name);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package kth.game.othello.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.tournament.PlayerResult;
+import kth.game.othello.tournament.Tournament;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the throughput of a full serial tournament between the one-ply strategies. The random strategy draws
+ * its moves from a fixed seed. A tournament is only played on the traditional 8x8 board, so unlike the other
+ * benchmarks this one does not vary the layout.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TournamentBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean bitBoard;
+
+	private Tournament tournament;
+
+	@Setup
+	public void setUp() {
+		List<MoveStrategy> strategies = new ArrayList<>();
+		for (String name : new String[] { "Greedy", "Lowest", "Random", "TopLeft" }) {
+			strategies.add(StrategyBenchmark.createStrategy(name));
+		}
+		tournament = new Tournament(strategies, new OthelloFactoryImpl(bitBoard));
+	}
+
+	@Benchmark
+	public List<PlayerResult> play() {
+		return tournament.play(false);
+	}
+}
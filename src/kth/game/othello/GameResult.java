@@ -0,0 +1,102 @@
+package kth.game.othello;
+
+import java.util.List;
+
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+
+/**
+ * The result of a game played by a {@link GameRunner}: the final number of discs of each player and the moves of the
+ * game. The players are the player indices of the board the game was played on, and they move in turn in the order of
+ * their indices, starting with player 0, which is the first player of the {@link GameRecord} of the game. Every move is
+ * a slot of the board or {@link GameRecord#PASS} for a player who could not move.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameResult {
+	private final int[] scores;
+	private final int[] moves;
+
+	/**
+	 * Creates a game result. The arrays are kept, not copied.
+	 *
+	 * @param scores The final number of discs of each player
+	 * @param moves The moves of the game
+	 */
+	GameResult(int[] scores, int[] moves) {
+		this.scores = scores;
+		this.moves = moves;
+	}
+
+	/**
+	 * @return The number of players of the game
+	 */
+	public int getNumPlayers() {
+		return scores.length;
+	}
+
+	/**
+	 * @param player A player index
+	 * @return The final number of discs of the player
+	 */
+	public int getScore(int player) {
+		return scores[player];
+	}
+
+	/**
+	 * @return The index of the player with the most discs, or -1 if several players share the most discs
+	 */
+	public int getWinner() {
+		int winner = 0;
+		boolean shared = false;
+		for (int player = 1; player < scores.length; player++) {
+			if (scores[player] > scores[winner]) {
+				winner = player;
+				shared = false;
+			} else if (scores[player] == scores[winner]) {
+				shared = true;
+			}
+		}
+		return shared ? -1 : winner;
+	}
+
+	/**
+	 * @return The number of moves of the game, including passes
+	 */
+	public int getNumMoves() {
+		return moves.length;
+	}
+
+	/**
+	 * @param index The index of a move, less than {@link #getNumMoves()}
+	 * @return The slot of the move, or {@link GameRecord#PASS}
+	 */
+	public int getMove(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * @param index The index of a move, less than {@link #getNumMoves()}
+	 * @return The index of the player making the move
+	 */
+	public int getPlayer(int index) {
+		return index % scores.length;
+	}
+
+	/**
+	 * Creates a record of the game, for instance to be written by a {@link kth.game.othello.record.GameRecordWriter}.
+	 *
+	 * @param layout The initial board of the game
+	 * @param playerIds The ids of the players in the order of their player indices
+	 * @return The record of the game
+	 * @throws IllegalArgumentException if the number of ids does not match the number of players
+	 */
+	public GameRecord toRecord(GameLayout layout, List<String> playerIds) {
+		if (playerIds.size() != scores.length) {
+			throw new IllegalArgumentException("There must be one id for every player.");
+		}
+		return new GameRecord(layout, playerIds, moves);
+	}
+}
@@ -0,0 +1,103 @@
+package kth.game.othello;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.SlotStrategy;
+import kth.game.othello.record.GameRecord;
+
+/**
+ * Plays complete games between computer players without creating an {@link Othello}. The games are played on a
+ * {@link SearchBoard} that is allocated once and taken back to the start position after every game, so there are no
+ * nodes, observers, history copies or game ids, and the valid moves of each player in turn are found only once.
+ *
+ * The players move in turn in the order of their player indices, starting with player 0. A player without valid moves
+ * passes, and the game is over when no player can move. A runner is not thread safe; use one runner per thread.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRunner {
+	private final SearchBoard board;
+	private final int numPlayers;
+	private final int[] validMoves;
+	private final int[] moves;
+
+	/**
+	 * Creates a runner of games that start from the current occupants of a board.
+	 *
+	 * @param board The start position, which is copied
+	 * @param playerIds The ids of the players in the order of their player indices
+	 */
+	public GameRunner(Board board, List<String> playerIds) {
+		this(new SearchBoardFactory().createSearchBoard(board, playerIds));
+	}
+
+	/**
+	 * Creates a runner of games that start from a position of a search board.
+	 *
+	 * @param start The start position, which is copied
+	 */
+	public GameRunner(SearchBoard start) {
+		this.board = start.copy();
+		this.numPlayers = board.getNumPlayers();
+		this.validMoves = new int[board.getLayout().getNumSlots()];
+		// Every move fills an empty slot, and at most all but one player pass between two moves
+		this.moves = new int[(board.getNumEmpty() + 1) * numPlayers];
+	}
+
+	/**
+	 * @return The number of players of the games
+	 */
+	public int getNumPlayers() {
+		return numPlayers;
+	}
+
+	/**
+	 * Plays a game from the start position.
+	 *
+	 * @param strategies The strategy of each player, in the order of their player indices
+	 * @return The result of the game
+	 * @throws IllegalArgumentException if there is not one strategy for every player or a strategy makes an invalid
+	 *             move
+	 */
+	public GameResult play(List<? extends SlotStrategy> strategies) {
+		if (strategies.size() != numPlayers) {
+			throw new IllegalArgumentException("There must be one strategy for every player.");
+		}
+
+		int numMoves = 0;
+		int numPasses = 0;
+		int numMade = 0;
+		try {
+			for (int player = 0; numPasses < numPlayers; player = player + 1 == numPlayers ? 0 : player + 1) {
+				int numValidMoves = board.getValidMoves(player, validMoves);
+				if (numValidMoves == 0) {
+					moves[numMoves++] = GameRecord.PASS;
+					numPasses++;
+					continue;
+				}
+				int move = strategies.get(player).move(player, board, validMoves, numValidMoves);
+				board.makeMove(player, move);
+				numMade++;
+				moves[numMoves++] = move;
+				numPasses = 0;
+			}
+
+			int[] scores = new int[numPlayers];
+			for (int player = 0; player < numPlayers; player++) {
+				scores[player] = board.getDiscCount(player);
+			}
+			// The passes of the players who could not move at the end are not part of the game
+			return new GameResult(scores, Arrays.copyOf(moves, numMoves - numPasses));
+		} finally {
+			for (int i = 0; i < numMade; i++) {
+				board.undoMove();
+			}
+		}
+	}
+}
@@ -2,9 +2,11 @@ package kth.game.othello;
 
 import java.util.List;
 import java.util.Observer;
+import java.util.Set;
 
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.player.Player;
 import kth.game.othello.score.Score;
 
@@ -117,6 +119,17 @@ public interface Othello {
 	 */
 	public List<Node> move(String playerId, String nodeId) throws IllegalArgumentException;
 
+	/**
+	 * Returns the game to a start position in place, so that the game can be played again without creating a new one.
+	 * The history of moves is cleared and no player is in turn until the game is started again. The observers of the
+	 * game are kept.
+	 *
+	 * @param nodes the nodes of the start position, which must have the coordinates of the nodes of the board and be
+	 *            occupied only by players of the game.
+	 * @throws IllegalArgumentException if the nodes do not match the board.
+	 */
+	public void reset(Set<NodeData> nodes);
+
 	/**
 	 * Starts the game. The player in turn will be chosen randomly.
 	 */
@@ -31,6 +31,25 @@ import kth.game.othello.score.ScoreItem;
  * @author Lucas Wiener
  */
 public class OthelloFactoryImpl implements OthelloFactory {
+	private final boolean useBitBoard;
+
+	/**
+	 * Constructs a factory that plays traditional 8x8 games with two players on a {@link BitBoard}.
+	 */
+	public OthelloFactoryImpl() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a factory.
+	 *
+	 * @param useBitBoard If true, games on the traditional 8x8 board with two players will be played on a
+	 *            {@link BitBoard}. Other games are always played on a {@link BoardImpl}.
+	 */
+	public OthelloFactoryImpl(boolean useBitBoard) {
+		this.useBitBoard = useBitBoard;
+	}
+
 	@Override
 	public Othello createComputerGame() {
 		MoveStrategy greedyMoveStrategy = new GreedyStrategy();
@@ -56,14 +75,22 @@ public class OthelloFactoryImpl implements OthelloFactory {
 
 	@Override
 	public Othello createGame(Set<NodeData> nodesData, List<Player> players) {
-		BoardHandler boardHandler = createOthelloBoardHandler(nodesData);
+		BoardHandler boardHandler = createOthelloBoardHandler(nodesData, players);
 		PlayerHandler playerHandler = createPlayerHandler(players);
-		Score score = createScore(boardHandler.getBoard().getNodes(), players);
+		Score score = createScore(boardHandler, players);
 		return new OthelloImpl(boardHandler, playerHandler, score);
 	}
 
-	private BoardHandler createOthelloBoardHandler(Set<NodeData> nodeData) {
-		BoardImpl board = new BoardFactory().createBoard(nodeData);
+	private BoardHandler createOthelloBoardHandler(Set<NodeData> nodeData, List<Player> players) {
+		BoardFactory boardFactory = new BoardFactory();
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+
+		if (useBitBoard && boardFactory.isBitBoardCompatible(nodeData, playerIds)) {
+			BitBoard board = boardFactory.createBitBoard(nodeData, playerIds);
+			return new BoardHandlerFactory().createBitBoardHandler(board);
+		}
+
+		BoardImpl board = boardFactory.createBoard(nodeData);
 		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
 		return boardHandler;
 	}
@@ -71,8 +98,8 @@ public class OthelloFactoryImpl implements OthelloFactory {
 	private OthelloImpl create2PlayerSquareOthelloGame(Player player1, Player player2) {
 		List<Player> players = getPlayerList(player1, player2);
 		PlayerHandler playerHandler = createPlayerHandler(players);
-		BoardHandler boardHandler = createOthelloBoardHandler(new Square().getNodes(8, players));
-		Score score = createScore(boardHandler.getBoard().getNodes(), players);
+		BoardHandler boardHandler = createOthelloBoardHandler(new Square().getNodes(8, players), players);
+		Score score = createScore(boardHandler, players);
 		return new OthelloImpl(boardHandler, playerHandler, score);
 	}
 
@@ -82,7 +109,8 @@ public class OthelloFactoryImpl implements OthelloFactory {
 		return new PlayerHandler(players, turnDecider);
 	}
 
-	private Score createScore(List<Node> nodes, List<Player> players) {
+	private Score createScore(BoardHandler boardHandler, List<Player> players) {
+		List<Node> nodes = boardHandler.getBoard().getNodes();
 
 		// Begin by calculating the initial score for all the players
 		Map<String, Integer> initialScores = new HashMap<>();
@@ -100,10 +128,8 @@ public class OthelloFactoryImpl implements OthelloFactory {
 				.collect(Collectors.toList());
 		ScoreImpl score = new ScoreImpl(scores);
 
-		// Here we make sure that score listens on each node
-		for (Node node : nodes) {
-			node.addObserver(score);
-		}
+		// The score is updated once per move instead of once per swapped node
+		boardHandler.addBoardChangeListener(score);
 		return score;
 	}
 
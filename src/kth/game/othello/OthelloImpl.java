@@ -5,6 +5,7 @@ import java.util.*;
 import kth.game.othello.board.Board;
 import kth.game.othello.board.BoardHandler;
 import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.PlayerHandler;
 import kth.game.othello.score.Score;
@@ -80,7 +81,7 @@ public class OthelloImpl extends Observable implements Othello {
 
 	@Override
 	public boolean hasValidMove(String playerId) {
-		return !boardHandler.getValidMoves(playerId).isEmpty();
+		return boardHandler.hasValidMove(playerId);
 	}
 
 	@Override
@@ -126,6 +127,12 @@ public class OthelloImpl extends Observable implements Othello {
 		return swappedNodes;
 	}
 
+	@Override
+	public void reset(Set<NodeData> nodes) {
+		boardHandler.reset(nodes);
+		playerHandler.reset();
+	}
+
 	@Override
 	public void start() {
 		start(playerHandler.getRandomPlayer().getId());
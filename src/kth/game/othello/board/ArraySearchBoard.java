@@ -0,0 +1,222 @@
+package kth.game.othello.board;
+
+import java.util.Arrays;
+
+/**
+ * A search board for any layout and any number of players. The occupants are kept in an array and the swaps of a move
+ * are walked along the precomputed rays of the layout. Every move appends the changed slots and their previous
+ * occupants to an undo log, so taking a move back only restores the logged slots.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class ArraySearchBoard implements SearchBoard {
+	private final BoardLayout layout;
+	private final int[] occupants;
+	private final int[] discCounts;
+	private int numEmpty;
+	private long hash;
+	private SlotListener listener;
+
+	// The undo log: the slots changed by each move, with the move slot first, and the occupants they had before
+	private int[] changedSlots;
+	private int[] previousOccupants;
+	private int numChanges;
+	private int[] moveStarts;
+	private int numMoves;
+
+	/**
+	 * Constructs a search board with the given occupants.
+	 *
+	 * @param layout The layout of the board
+	 * @param occupants The player index occupying each slot, or {@link BoardLayout#EMPTY}
+	 * @param numPlayers The number of players, every player index must be less than this
+	 * @throws IllegalArgumentException if the occupants do not match the layout and number of players
+	 */
+	public ArraySearchBoard(BoardLayout layout, int[] occupants, int numPlayers) {
+		if (occupants.length != layout.getNumSlots()) {
+			throw new IllegalArgumentException("There must be one occupant for every slot of the layout.");
+		}
+		this.layout = layout;
+		this.occupants = occupants.clone();
+		this.discCounts = new int[numPlayers];
+		for (int occupant : occupants) {
+			if (occupant == BoardLayout.EMPTY) {
+				numEmpty++;
+			} else if (occupant < 0 || occupant >= numPlayers) {
+				throw new IllegalArgumentException("Invalid player index: " + occupant);
+			} else {
+				discCounts[occupant]++;
+			}
+		}
+
+		this.hash = ZobristKeys.getHash(occupants);
+
+		int numSlots = layout.getNumSlots();
+		this.changedSlots = new int[4 * numSlots];
+		this.previousOccupants = new int[4 * numSlots];
+		this.moveStarts = new int[numSlots + 1];
+	}
+
+	@Override
+	public BoardLayout getLayout() {
+		return layout;
+	}
+
+	@Override
+	public int getNumPlayers() {
+		return discCounts.length;
+	}
+
+	@Override
+	public int getOccupant(int slot) {
+		return occupants[slot];
+	}
+
+	@Override
+	public int getDiscCount(int player) {
+		return discCounts[player];
+	}
+
+	@Override
+	public int getNumEmpty() {
+		return numEmpty;
+	}
+
+	@Override
+	public long getHash() {
+		return hash;
+	}
+
+	@Override
+	public int getValidMoves(int player, int[] moves) {
+		int count = 0;
+		for (int slot = 0; slot < occupants.length; slot++) {
+			if (occupants[slot] == BoardLayout.EMPTY && layout.hasSwaps(occupants, player, slot)) {
+				moves[count++] = slot;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumValidMoves(int player) {
+		int count = 0;
+		for (int slot = 0; slot < occupants.length; slot++) {
+			if (occupants[slot] == BoardLayout.EMPTY && layout.hasSwaps(occupants, player, slot)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public boolean hasValidMove(int player) {
+		for (int slot = 0; slot < occupants.length; slot++) {
+			if (occupants[slot] == BoardLayout.EMPTY && layout.hasSwaps(occupants, player, slot)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isMoveValid(int player, int slot) {
+		return occupants[slot] == BoardLayout.EMPTY && layout.hasSwaps(occupants, player, slot);
+	}
+
+	@Override
+	public int getNumSwaps(int player, int slot) {
+		if (occupants[slot] != BoardLayout.EMPTY) {
+			return 0;
+		}
+		return layout.getNumSwaps(occupants, player, slot);
+	}
+
+	@Override
+	public int makeMove(int player, int slot) {
+		if (occupants[slot] != BoardLayout.EMPTY) {
+			throw new IllegalArgumentException("The move is invalid.");
+		}
+		ensureCapacity();
+
+		int start = numChanges;
+		int numSwaps = layout.getSwaps(occupants, player, slot, changedSlots, start + 1);
+		if (numSwaps == 0) {
+			throw new IllegalArgumentException("The move is invalid.");
+		}
+		changedSlots[start] = slot;
+		int end = start + 1 + numSwaps;
+		for (int i = start; i < end; i++) {
+			int changed = changedSlots[i];
+			int previous = occupants[changed];
+			previousOccupants[i] = previous;
+			if (previous == BoardLayout.EMPTY) {
+				numEmpty--;
+			} else {
+				discCounts[previous]--;
+			}
+			hash ^= ZobristKeys.getKey(changed, previous) ^ ZobristKeys.getKey(changed, player);
+			occupants[changed] = player;
+			if (listener != null) {
+				listener.slotChanged(changed, previous, player);
+			}
+		}
+		discCounts[player] += numSwaps + 1;
+
+		moveStarts[numMoves++] = start;
+		numChanges = end;
+		return numSwaps;
+	}
+
+	@Override
+	public void undoMove() {
+		if (numMoves == 0) {
+			throw new IllegalStateException("There is no move to undo.");
+		}
+		int start = moveStarts[--numMoves];
+		int player = occupants[changedSlots[start]];
+		for (int i = start; i < numChanges; i++) {
+			int changed = changedSlots[i];
+			int previous = previousOccupants[i];
+			hash ^= ZobristKeys.getKey(changed, player) ^ ZobristKeys.getKey(changed, previous);
+			occupants[changed] = previous;
+			if (previous == BoardLayout.EMPTY) {
+				numEmpty++;
+			} else {
+				discCounts[previous]++;
+			}
+			if (listener != null) {
+				listener.slotChanged(changed, player, previous);
+			}
+		}
+		discCounts[player] -= numChanges - start;
+		numChanges = start;
+	}
+
+	@Override
+	public void setSlotListener(SlotListener listener) {
+		this.listener = listener;
+	}
+
+	@Override
+	public SearchBoard copy() {
+		return new ArraySearchBoard(layout, occupants, discCounts.length);
+	}
+
+	/**
+	 * Makes room in the undo log for one more move, which changes at most every slot of the board.
+	 */
+	private void ensureCapacity() {
+		int numSlots = occupants.length;
+		if (numChanges + numSlots > changedSlots.length) {
+			int length = Math.max(2 * changedSlots.length, numChanges + numSlots);
+			changedSlots = Arrays.copyOf(changedSlots, length);
+			previousOccupants = Arrays.copyOf(previousOccupants, length);
+		}
+		if (numMoves == moveStarts.length) {
+			moveStarts = Arrays.copyOf(moveStarts, 2 * moveStarts.length + 1);
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package kth.game.othello.board;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A board for the traditional 8x8 two player game that, besides the nodes, keeps the occupancy of each player in a
+ * 64-bit mask. The square of the node with coordinates (x, y) is x * 8 + y, which is also the slot of the node in the
+ * layout of the board. The static methods of the class compute valid moves and swaps with shift-and-mask
+ * operations on such masks.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BitBoard extends BoardImpl {
+	public static final int SIZE = 8;
+	public static final int NUM_SQUARES = SIZE * SIZE;
+	public static final int NUM_PLAYERS = 2;
+	public static final int NUM_SYMMETRIES = 8;
+
+	private static final long NOT_Y0 = 0xFEFEFEFEFEFEFEFEL;
+	private static final long NOT_Y7 = 0x7F7F7F7F7F7F7F7FL;
+	private static final long ALL = 0xFFFFFFFFFFFFFFFFL;
+
+	// The eight directions as bit shifts (positive is a left shift), each followed by its opposite, and the masks
+	// removing bits that wrapped around
+	private static final int[] SHIFTS = { 1, -1, 8, -8, 9, -9, 7, -7 };
+	private static final long[] MASKS = { NOT_Y0, NOT_Y7, ALL, ALL, NOT_Y0, NOT_Y7, NOT_Y7, NOT_Y0 };
+
+	private final long[] discs;
+
+	/**
+	 * Constructs a bit board containing the given nodes. The nodes must cover all coordinates from 0 to 7 in both x
+	 * and y, and every occupied node must be occupied by one of the two given players.
+	 *
+	 * @param nodes The 64 nodes of the board
+	 * @param playerIds The ids of the two players that can occupy the nodes
+	 * @throws IllegalArgumentException if the nodes or players can not be represented by a bit board
+	 */
+	public BitBoard(Collection<NodeImpl> nodes, List<String> playerIds) {
+		super(nodes, playerIds);
+		BoardLayout layout = getLayout();
+		if (playerIds.size() != NUM_PLAYERS || getNumPlayers() != NUM_PLAYERS || layout.getNumSlots() != NUM_SQUARES
+				|| layout.getMinX() != 0 || layout.getMinY() != 0 || layout.getMaxX() != SIZE - 1
+				|| layout.getMaxY() != SIZE - 1) {
+			throw new IllegalArgumentException("A bit board needs the 64 nodes of an 8x8 board and two players.");
+		}
+
+		// The slots of the layout are in the same order as the squares
+		this.discs = new long[NUM_PLAYERS];
+		for (int square = 0; square < NUM_SQUARES; square++) {
+			int occupant = getOccupant(square);
+			if (occupant != BoardLayout.EMPTY) {
+				discs[occupant] |= 1L << square;
+			}
+		}
+	}
+
+	/**
+	 * Returns the square of the given coordinates.
+	 *
+	 * @param x The x-coordinate, between 0 and 7
+	 * @param y The y-coordinate, between 0 and 7
+	 * @return The square index of the coordinates
+	 */
+	public static int getSquare(int x, int y) {
+		return x * SIZE + y;
+	}
+
+	/**
+	 * Computes all squares where the owner of the first mask can move.
+	 *
+	 * @param own The discs of the player to move
+	 * @param opponent The discs of the opponent
+	 * @return A mask of the empty squares that would swap at least one opponent disc
+	 */
+	public static long getValidMoves(long own, long opponent) {
+		long empty = ~(own | opponent);
+
+		// The directions of SHIFTS with constant shifts, since this is called for every position of every game
+		return getMovesLeft(own, opponent & NOT_Y0, 1) & NOT_Y0 & empty
+				| getMovesRight(own, opponent & NOT_Y7, 1) & NOT_Y7 & empty
+				| getMovesLeft(own, opponent, 8) & empty | getMovesRight(own, opponent, 8) & empty
+				| getMovesLeft(own, opponent & NOT_Y0, 9) & NOT_Y0 & empty
+				| getMovesRight(own, opponent & NOT_Y7, 9) & NOT_Y7 & empty
+				| getMovesLeft(own, opponent & NOT_Y7, 7) & NOT_Y7 & empty
+				| getMovesRight(own, opponent & NOT_Y0, 7) & NOT_Y0 & empty;
+	}
+
+	/**
+	 * Shifts the discs of the player over the lines of opponent discs next to them. The opponent discs must already be
+	 * masked to the squares a shift in the direction can reach without wrapping around.
+	 */
+	private static long getMovesLeft(long own, long opponent, int shift) {
+		// At most six opponent discs can be enclosed in one direction
+		long line = own << shift & opponent;
+		line |= line << shift & opponent;
+		line |= line << shift & opponent;
+		line |= line << shift & opponent;
+		line |= line << shift & opponent;
+		line |= line << shift & opponent;
+		return line << shift;
+	}
+
+	private static long getMovesRight(long own, long opponent, int shift) {
+		long line = own >>> shift & opponent;
+		line |= line >>> shift & opponent;
+		line |= line >>> shift & opponent;
+		line |= line >>> shift & opponent;
+		line |= line >>> shift & opponent;
+		line |= line >>> shift & opponent;
+		return line >>> shift;
+	}
+
+	/**
+	 * Computes the opponent discs that would be swapped if the owner of the first mask moved to the given square.
+	 *
+	 * @param own The discs of the player to move
+	 * @param opponent The discs of the opponent
+	 * @param square The square that the player moves to
+	 * @return A mask of the swapped discs, not including the given square
+	 */
+	public static long getSwaps(long own, long opponent, int square) {
+		long start = 1L << square;
+
+		// The directions of SHIFTS with constant shifts, since this is called for every valid move by the strategies
+		return getSwapsLeft(own, opponent, start, 1, NOT_Y0) | getSwapsRight(own, opponent, start, 1, NOT_Y7)
+				| getSwapsLeft(own, opponent, start, 8, ALL) | getSwapsRight(own, opponent, start, 8, ALL)
+				| getSwapsLeft(own, opponent, start, 9, NOT_Y0) | getSwapsRight(own, opponent, start, 9, NOT_Y7)
+				| getSwapsLeft(own, opponent, start, 7, NOT_Y7) | getSwapsRight(own, opponent, start, 7, NOT_Y0);
+	}
+
+	private static long getSwapsLeft(long own, long opponent, long start, int shift, long mask) {
+		long line = 0;
+		long next = start << shift & mask;
+		while ((next & opponent) != 0) {
+			line |= next;
+			next = next << shift & mask;
+		}
+		return (next & own) != 0 ? line : 0;
+	}
+
+	private static long getSwapsRight(long own, long opponent, long start, int shift, long mask) {
+		long line = 0;
+		long next = start >>> shift & mask;
+		while ((next & opponent) != 0) {
+			line |= next;
+			next = next >>> shift & mask;
+		}
+		return (next & own) != 0 ? line : 0;
+	}
+
+	/**
+	 * Computes the squares next to any square of a mask.
+	 *
+	 * @param mask The squares to find the neighbors of
+	 * @return A mask of the squares of the given mask and all squares reached by one step in any direction from them
+	 */
+	public static long getNeighbors(long mask) {
+		// The neighbors along y first, so that shifting the widened mask along x also covers the diagonals
+		long widened = mask | (mask << 1 & NOT_Y0) | (mask >>> 1 & NOT_Y7);
+		return widened | widened << SIZE | widened >>> SIZE;
+	}
+
+	/**
+	 * Maps the squares of a mask by one of the eight rotations and reflections of the board. Bit 0 of the symmetry
+	 * mirrors the x-coordinate, bit 1 mirrors the y-coordinate and bit 2 then exchanges the two coordinates.
+	 *
+	 * @param mask The squares to map
+	 * @param symmetry The symmetry, between 0 and {@link #NUM_SYMMETRIES} - 1
+	 * @return The mapped squares
+	 */
+	public static long transform(long mask, int symmetry) {
+		if ((symmetry & 1) != 0) {
+			mask = Long.reverseBytes(mask);
+		}
+		if ((symmetry & 2) != 0) {
+			// Reversing all bits mirrors both coordinates, so the bytes are put back in place
+			mask = Long.reverseBytes(Long.reverse(mask));
+		}
+		if ((symmetry & 4) != 0) {
+			// Exchange the coordinates by swapping 4x4, 2x2 and 1x1 blocks across the diagonal
+			long t = 0x0F0F0F0F00000000L & (mask ^ mask << 28);
+			mask ^= t ^ t >>> 28;
+			t = 0x3333000033330000L & (mask ^ mask << 14);
+			mask ^= t ^ t >>> 14;
+			t = 0x5500550055005500L & (mask ^ mask << 7);
+			mask ^= t ^ t >>> 7;
+		}
+		return mask;
+	}
+
+	/**
+	 * Moves every bit of the mask one step in the given direction. Bits that leave the board are dropped.
+	 *
+	 * @param mask The mask to shift
+	 * @param direction The direction, between 0 and 7
+	 * @return The shifted mask
+	 */
+	public static long shift(long mask, int direction) {
+		int shift = SHIFTS[direction];
+		return (shift > 0 ? mask << shift : mask >>> -shift) & MASKS[direction];
+	}
+
+	/**
+	 * Gets the occupancy mask of a player.
+	 *
+	 * @param playerIndex The index of the player, 0 or 1
+	 * @return The mask of all squares occupied by the player
+	 */
+	public long getDiscs(int playerIndex) {
+		return discs[playerIndex];
+	}
+
+	/**
+	 * Returns the nodes of all squares set in the mask, in the order of {@link #getNodes()}.
+	 *
+	 * @param mask The squares of the nodes
+	 * @return A list of the nodes
+	 */
+	public List<Node> getNodes(long mask) {
+		List<Node> nodes = new LinkedList<>();
+		while (mask != 0) {
+			nodes.add(getNode(Long.numberOfTrailingZeros(mask)));
+			mask &= mask - 1;
+		}
+		return nodes;
+	}
+
+	@Override
+	public void occupySlot(int slot, String playerId) {
+		int playerIndex = playerId == null ? BoardLayout.EMPTY : getPlayerIndex(playerId);
+		if (playerId != null && playerIndex == BoardLayout.EMPTY) {
+			throw new IllegalArgumentException("The player " + playerId + " does not play on this board.");
+		}
+
+		long bit = 1L << slot;
+		discs[0] &= ~bit;
+		discs[1] &= ~bit;
+		if (playerIndex != BoardLayout.EMPTY) {
+			discs[playerIndex] |= bit;
+		}
+		super.occupySlot(slot, playerId);
+	}
+
+	@Override
+	public BitBoard copyWithoutObservers() {
+		return new BitBoard(copyNodesWithoutObservers(), Arrays.asList(getPlayerId(0), getPlayerId(1)));
+	}
+}
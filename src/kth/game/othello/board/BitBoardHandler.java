@@ -0,0 +1,99 @@
+package kth.game.othello.board;
+
+import java.util.List;
+
+/**
+ * A board handler for a {@link BitBoard}. Valid moves and swaps are computed on the occupancy masks of the board
+ * instead of by walking the nodes.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BitBoardHandler extends BoardHandler {
+	private final BitBoard board;
+
+	/**
+	 * Constructs a bit board handler.
+	 *
+	 * @param board The bit board to handle.
+	 * @param boardHistoryHandler The board history instance that will handle undoing moves.
+	 */
+	public BitBoardHandler(BitBoard board, BoardHistoryHandler boardHistoryHandler) {
+		super(board, boardHistoryHandler);
+		this.board = board;
+	}
+
+	@Override
+	protected int getSwaps(int player, int slot, int[] swaps, int offset) {
+		long mask = BitBoard.getSwaps(board.getDiscs(player), board.getDiscs(1 - player), slot);
+		int count = 0;
+		while (mask != 0) {
+			swaps[offset + count++] = Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+		}
+		return count;
+	}
+
+	@Override
+	public List<Node> getNodesToSwap(String playerId, String nodeId) {
+		return board.getNodes(getSwaps(playerId, board.getSlot(nodeId)));
+	}
+
+	@Override
+	public int getNumNodesToSwap(String playerId, String nodeId) {
+		return Long.bitCount(getSwaps(playerId, board.getSlot(nodeId)));
+	}
+
+	@Override
+	public boolean isMoveValid(String playerId, String nodeId) {
+		int square = board.getSlot(nodeId);
+		return !board.getNode(square).isMarked() && getSwaps(playerId, square) != 0;
+	}
+
+	@Override
+	public boolean hasValidMove(String playerId) {
+		return getValidMovesMask(playerId) != 0;
+	}
+
+	@Override
+	public List<Node> getValidMoves(String playerId) {
+		return board.getNodes(getValidMovesMask(playerId));
+	}
+
+	@Override
+	public boolean hasValidMove(int player) {
+		return player >= 0 && player < BitBoard.NUM_PLAYERS
+				&& BitBoard.getValidMoves(board.getDiscs(player), board.getDiscs(1 - player)) != 0;
+	}
+
+	@Override
+	public int getValidMoves(int player, int[] moves) {
+		if (player < 0 || player >= BitBoard.NUM_PLAYERS) {
+			return 0;
+		}
+		long mask = BitBoard.getValidMoves(board.getDiscs(player), board.getDiscs(1 - player));
+		int count = 0;
+		while (mask != 0) {
+			moves[count++] = Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+		}
+		return count;
+	}
+
+	private long getSwaps(String playerId, int square) {
+		int player = board.getPlayerIndex(playerId);
+		if (player < 0) {
+			return 0;
+		}
+		return BitBoard.getSwaps(board.getDiscs(player), board.getDiscs(1 - player), square);
+	}
+
+	private long getValidMovesMask(String playerId) {
+		int player = board.getPlayerIndex(playerId);
+		if (player < 0) {
+			return 0;
+		}
+		return BitBoard.getValidMoves(board.getDiscs(player), board.getDiscs(1 - player));
+	}
+}
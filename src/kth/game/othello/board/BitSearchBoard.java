@@ -0,0 +1,218 @@
+package kth.game.othello.board;
+
+import java.util.Arrays;
+
+/**
+ * A search board for the traditional 8x8 two player game, where the occupancy of each player is a 64-bit mask as in
+ * {@link BitBoard}. Making a move pushes the two masks and the hash on a stack, so taking it back is a pop.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BitSearchBoard implements SearchBoard {
+	private static final int STACK_ENTRY = 3;
+	// The change of the hash when the occupant of a square switches between the two players
+	private static final long[] SWAP_KEYS = new long[BitBoard.NUM_SQUARES];
+
+	static {
+		for (int square = 0; square < SWAP_KEYS.length; square++) {
+			SWAP_KEYS[square] = ZobristKeys.getKey(square, 0) ^ ZobristKeys.getKey(square, 1);
+		}
+	}
+
+	private final BoardLayout layout;
+	private final long[] discs;
+	private long hash;
+	private long[] stack;
+	private SlotListener listener;
+	private int numMoves;
+
+	/**
+	 * Constructs a search board with the given occupancy masks.
+	 *
+	 * @param layout The layout of the board, which must be the full 8x8 board with slots equal to the squares
+	 * @param discs0 The squares occupied by player 0
+	 * @param discs1 The squares occupied by player 1
+	 * @throws IllegalArgumentException if the layout is not the full 8x8 board or the masks overlap
+	 */
+	public BitSearchBoard(BoardLayout layout, long discs0, long discs1) {
+		if (!isCompatible(layout, BitBoard.NUM_PLAYERS)) {
+			throw new IllegalArgumentException("A bit search board needs the full 8x8 layout.");
+		}
+		if ((discs0 & discs1) != 0) {
+			throw new IllegalArgumentException("A square can not be occupied by both players.");
+		}
+		this.layout = layout;
+		this.discs = new long[] { discs0, discs1 };
+		this.hash = computeHash(discs0, 0) ^ computeHash(discs1, 1);
+		this.stack = new long[STACK_ENTRY * BitBoard.NUM_SQUARES];
+	}
+
+	/**
+	 * Determines if a bit search board can be used for the given layout and number of players.
+	 *
+	 * @param layout The layout of the board
+	 * @param numPlayers The number of players
+	 * @return True if the layout is the full 8x8 board and there are two players
+	 */
+	public static boolean isCompatible(BoardLayout layout, int numPlayers) {
+		return numPlayers == BitBoard.NUM_PLAYERS && layout.getNumSlots() == BitBoard.NUM_SQUARES
+				&& layout.getMinX() == 0 && layout.getMinY() == 0 && layout.getMaxX() == BitBoard.SIZE - 1
+				&& layout.getMaxY() == BitBoard.SIZE - 1;
+	}
+
+	/**
+	 * Gets the occupancy mask of a player.
+	 *
+	 * @param player The index of the player, 0 or 1
+	 * @return The mask of all squares occupied by the player
+	 */
+	public long getDiscs(int player) {
+		return discs[player];
+	}
+
+	@Override
+	public BoardLayout getLayout() {
+		return layout;
+	}
+
+	@Override
+	public int getNumPlayers() {
+		return BitBoard.NUM_PLAYERS;
+	}
+
+	@Override
+	public int getOccupant(int slot) {
+		long bit = 1L << slot;
+		if ((discs[0] & bit) != 0) {
+			return 0;
+		}
+		if ((discs[1] & bit) != 0) {
+			return 1;
+		}
+		return BoardLayout.EMPTY;
+	}
+
+	@Override
+	public int getDiscCount(int player) {
+		return Long.bitCount(discs[player]);
+	}
+
+	@Override
+	public int getNumEmpty() {
+		return BitBoard.NUM_SQUARES - Long.bitCount(discs[0] | discs[1]);
+	}
+
+	@Override
+	public long getHash() {
+		return hash;
+	}
+
+	@Override
+	public int getValidMoves(int player, int[] moves) {
+		long mask = BitBoard.getValidMoves(discs[player], discs[1 - player]);
+		int count = 0;
+		while (mask != 0) {
+			moves[count++] = Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumValidMoves(int player) {
+		return Long.bitCount(BitBoard.getValidMoves(discs[player], discs[1 - player]));
+	}
+
+	@Override
+	public boolean hasValidMove(int player) {
+		return BitBoard.getValidMoves(discs[player], discs[1 - player]) != 0;
+	}
+
+	@Override
+	public boolean isMoveValid(int player, int slot) {
+		return getNumSwaps(player, slot) > 0;
+	}
+
+	@Override
+	public int getNumSwaps(int player, int slot) {
+		if (((discs[0] | discs[1]) & 1L << slot) != 0) {
+			return 0;
+		}
+		return Long.bitCount(BitBoard.getSwaps(discs[player], discs[1 - player], slot));
+	}
+
+	@Override
+	public int makeMove(int player, int slot) {
+		long bit = 1L << slot;
+		long swaps = ((discs[0] | discs[1]) & bit) != 0 ? 0 : BitBoard.getSwaps(discs[player], discs[1 - player], slot);
+		if (swaps == 0) {
+			throw new IllegalArgumentException("The move is invalid.");
+		}
+		if (STACK_ENTRY * numMoves == stack.length) {
+			stack = Arrays.copyOf(stack, 2 * stack.length);
+		}
+		int top = STACK_ENTRY * numMoves++;
+		stack[top] = discs[0];
+		stack[top + 1] = discs[1];
+		stack[top + 2] = hash;
+
+		discs[player] |= swaps | bit;
+		discs[1 - player] &= ~swaps;
+		hash ^= ZobristKeys.getKey(slot, player);
+		for (long mask = swaps; mask != 0; mask &= mask - 1) {
+			hash ^= SWAP_KEYS[Long.numberOfTrailingZeros(mask)];
+		}
+		if (listener != null) {
+			listener.slotChanged(slot, BoardLayout.EMPTY, player);
+			notifyListener(swaps, 1 - player, player);
+		}
+		return Long.bitCount(swaps);
+	}
+
+	@Override
+	public void undoMove() {
+		if (numMoves == 0) {
+			throw new IllegalStateException("There is no move to undo.");
+		}
+		int top = STACK_ENTRY * --numMoves;
+		if (listener != null) {
+			// The mover gained exactly the squares that are not theirs on the stack
+			int player = (discs[0] & ~stack[top]) != 0 ? 0 : 1;
+			long gained = discs[player] & ~stack[top + player];
+			long placed = gained & ~stack[top + 1 - player];
+			listener.slotChanged(Long.numberOfTrailingZeros(placed), player, BoardLayout.EMPTY);
+			notifyListener(gained & ~placed, player, 1 - player);
+		}
+		discs[0] = stack[top];
+		discs[1] = stack[top + 1];
+		hash = stack[top + 2];
+	}
+
+	@Override
+	public void setSlotListener(SlotListener listener) {
+		this.listener = listener;
+	}
+
+	@Override
+	public SearchBoard copy() {
+		return new BitSearchBoard(layout, discs[0], discs[1]);
+	}
+
+	private void notifyListener(long mask, int previousOccupant, int occupant) {
+		while (mask != 0) {
+			listener.slotChanged(Long.numberOfTrailingZeros(mask), previousOccupant, occupant);
+			mask &= mask - 1;
+		}
+	}
+
+	private static long computeHash(long mask, int player) {
+		long hash = 0;
+		while (mask != 0) {
+			hash ^= ZobristKeys.getKey(Long.numberOfTrailingZeros(mask), player);
+			mask &= mask - 1;
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,22 @@
+package kth.game.othello.board;
+
+/**
+ * The responsibility of this entity is to be told once about each move, undo and redo made by a {@link BoardHandler},
+ * with all the slots it changed, instead of once per changed node.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface BoardChangeListener {
+
+	/**
+	 * Called after a move, undo or redo has changed the occupants of the board.
+	 *
+	 * @param board The changed board
+	 * @param changedSlots The changed slots, starting with the slot of the move when a move is made. The array is
+	 *            reused by the board handler, so it must not be modified or kept.
+	 * @param numChanged The number of changed slots in the array
+	 */
+	public void boardChanged(BoardImpl board, int[] changedSlots, int numChanged);
+}
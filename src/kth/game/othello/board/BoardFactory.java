@@ -1,6 +1,7 @@
 package kth.game.othello.board;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +25,45 @@ public class BoardFactory {
 		return new BoardImpl(convertNodeDataSet(nodeDataSet));
 	}
 
+	/**
+	 * Create a bit board using the specified node data.
+	 *
+	 * @param nodeDataSet A set containing the nodes that make up the board
+	 * @param playerIds The ids of the two players of the game
+	 * @return A bit board
+	 * @throws IllegalArgumentException if the nodes and players can not be represented by a bit board
+	 */
+	public BitBoard createBitBoard(Set<NodeData> nodeDataSet, List<String> playerIds) {
+		return new BitBoard(convertNodeDataSet(nodeDataSet), playerIds);
+	}
+
+	/**
+	 * Determines if the specified node data and players can be represented by a bit board. That is the case for the
+	 * traditional 8x8 board with two players.
+	 *
+	 * @param nodeDataSet A set containing the nodes that make up the board
+	 * @param playerIds The ids of the players of the game
+	 * @return True if {@link #createBitBoard} can be used
+	 */
+	public boolean isBitBoardCompatible(Set<NodeData> nodeDataSet, List<String> playerIds) {
+		if (playerIds.size() != BitBoard.NUM_PLAYERS || nodeDataSet.size() != BitBoard.NUM_SQUARES) {
+			return false;
+		}
+
+		for (NodeData nodeData : nodeDataSet) {
+			int x = nodeData.getXCoordinate();
+			int y = nodeData.getYCoordinate();
+			if (x < 0 || x >= BitBoard.SIZE || y < 0 || y >= BitBoard.SIZE) {
+				return false;
+			}
+			String occupantPlayerId = nodeData.getOccupantPlayerId();
+			if (occupantPlayerId != null && !playerIds.contains(occupantPlayerId)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private static NodeImpl convertNodeData(NodeData nodeData) {
 		return new NodeImpl(nodeData.getOccupantPlayerId(), nodeData.getXCoordinate(), nodeData.getYCoordinate());
 	}
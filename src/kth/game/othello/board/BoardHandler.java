@@ -1,13 +1,19 @@
 package kth.game.othello.board;
 
+import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.rules.Rules;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A handler implementing common actions on an othello board. The board handler is responsible of mutating the board.
+ * The rules are computed on the slots and occupants of the board, walking the rays precomputed by its
+ * {@link BoardLayout}. The valid moves of every player are kept in a table that is updated incrementally from the slots
+ * changed by each move and undo, which makes {@link #hasValidMove} a constant time lookup.
  *
  * @author Mathias Lindblom
  * @author Erik Odenman
@@ -15,7 +21,21 @@ import java.util.stream.Collectors;
  */
 public class BoardHandler implements Rules {
 	private final BoardImpl board;
+	private final BoardLayout layout;
 	private final BoardHistoryHandler boardHistoryHandler;
+	private final int[] swapBuffer;
+	private final List<BoardChangeListener> boardChangeListeners;
+
+	// The valid moves of each player index and the board modification count they were computed for
+	private boolean[][] validMoves;
+	private int[] numValidMoves;
+	private int validMovesModificationCount;
+	private final int[] dirtySlots;
+	private final boolean[] isDirty;
+	private final int[] rayEnds;
+	// The occupants of a start position being reset to, NOT_RESET for the slots without a node yet
+	private static final int NOT_RESET = -2;
+	private final int[] resetOccupants;
 
 	/**
 	 * Constructs a Othello board handler.
@@ -25,7 +45,15 @@ public class BoardHandler implements Rules {
 	 */
 	public BoardHandler(BoardImpl board, BoardHistoryHandler boardHistoryHandler) {
 		this.board = board;
+		this.layout = board.getLayout();
 		this.boardHistoryHandler = boardHistoryHandler;
+		this.swapBuffer = new int[layout.getNumSlots()];
+		this.boardChangeListeners = new ArrayList<>();
+		this.dirtySlots = new int[layout.getNumSlots()];
+		this.isDirty = new boolean[layout.getNumSlots()];
+		this.rayEnds = new int[BoardLayout.NUM_DIRECTIONS];
+		this.resetOccupants = new int[layout.getNumSlots()];
+		this.validMovesModificationCount = -1;
 	}
 
 	/**
@@ -37,6 +65,25 @@ public class BoardHandler implements Rules {
 		return board;
 	}
 
+	/**
+	 * Gets the Zobrist hash of the board, which follows the moves and undos made by this handler.
+	 *
+	 * @return The hash of the board
+	 * @see ZobristKeys
+	 */
+	public long getHash() {
+		return board.getHash();
+	}
+
+	/**
+	 * Adds a listener that is told once about every move, undo and redo made by this handler.
+	 *
+	 * @param listener The listener to add
+	 */
+	public void addBoardChangeListener(BoardChangeListener listener) {
+		boardChangeListeners.add(listener);
+	}
+
 	/**
 	 * Makes a move in the Othello board by occupying the given node id with the player given the player id. Will occupy
 	 * the given node and swap all possible nodes. If the move is invalid, an exception is thrown.
@@ -47,23 +94,47 @@ public class BoardHandler implements Rules {
 	 * @throws IllegalArgumentException if the move is not valid.
 	 */
 	public List<Node> move(String playerId, String nodeId) {
-		Node node = board.getNode(nodeId);
-		List<Node> swaps = getNodesToSwap(playerId, nodeId);
+		int numChanged = move(board.getPlayerIndex(playerId), board.getSlot(nodeId), swapBuffer);
 
-		if (swaps.isEmpty()) {
-			throw new IllegalArgumentException("The move is invalid.");
+		// The first node should be the one we moved to.
+		List<Node> swaps = new LinkedList<>();
+		for (int i = 0; i < numChanged; i++) {
+			swaps.add(board.getNode(swapBuffer[i]));
 		}
+		return swaps;
+	}
 
-		// The first node should be the one we moved to.
-		swaps.add(0, node);
+	/**
+	 * Makes a move like {@link #move(String, String)}, but on player indices and slots of the board and without
+	 * creating any objects.
+	 *
+	 * @param player The index of the player making the move, see {@link BoardImpl#getPlayerIndex(String)}
+	 * @param slot The slot of the node to occupy
+	 * @param changedSlots The array where the changed slots will be written, starting with the given slot. Must have
+	 *            room for every slot of the board.
+	 * @return The number of changed slots, including the given slot
+	 * @throws IllegalArgumentException if the move is not valid.
+	 */
+	public int move(int player, int slot, int[] changedSlots) {
+		int numSwaps = player < 0 || player >= board.getNumPlayers() ? 0 : getSwaps(player, slot, changedSlots, 1);
+		if (numSwaps == 0) {
+			throw new IllegalArgumentException("The move is invalid.");
+		}
 
-		boardHistoryHandler.save(swaps);
+		changedSlots[0] = slot;
+		int numChanged = numSwaps + 1;
+		boardHistoryHandler.save(changedSlots, numChanged);
 
-		for (Node n : swaps) {
-			board.occupyNode(n.getId(), playerId);
+		boolean validMovesUpToDate = isValidMovesUpToDate();
+		String playerId = board.getPlayerId(player);
+		for (int i = 0; i < numChanged; i++) {
+			board.occupySlot(changedSlots[i], playerId);
 		}
-
-		return swaps;
+		if (validMovesUpToDate) {
+			updateValidMoves(changedSlots, numChanged);
+		}
+		notifyBoardChangeListeners(changedSlots, numChanged);
+		return numChanged;
 	}
 
 	/**
@@ -72,35 +143,172 @@ public class BoardHandler implements Rules {
 	 * are no moves to undo, nothing will happen.
 	 */
 	public void undo() {
-		boardHistoryHandler.undo();
+		undo(swapBuffer);
+	}
+
+	/**
+	 * Will undo the previously added move like {@link #undo()}, without creating any objects.
+	 *
+	 * @param restoredSlots The array where the restored slots will be written. Must have room for every slot of the
+	 *            board.
+	 * @return The number of restored slots, 0 if there was nothing to undo
+	 */
+	public int undo(int[] restoredSlots) {
+		boolean validMovesUpToDate = isValidMovesUpToDate();
+		int numRestored = boardHistoryHandler.undo(restoredSlots);
+		if (validMovesUpToDate && numRestored > 0) {
+			updateValidMoves(restoredSlots, numRestored);
+		}
+		notifyBoardChangeListeners(restoredSlots, numRestored);
+		return numRestored;
+	}
+
+	/**
+	 * Will redo the last undone move. If there is no undone move, nothing will happen.
+	 *
+	 * @param restoredSlots The array where the restored slots will be written. Must have room for every slot of the
+	 *            board.
+	 * @return The number of restored slots, 0 if there was nothing to redo
+	 */
+	public int redo(int[] restoredSlots) {
+		boolean validMovesUpToDate = isValidMovesUpToDate();
+		int numRestored = boardHistoryHandler.redo(restoredSlots);
+		if (validMovesUpToDate && numRestored > 0) {
+			updateValidMoves(restoredSlots, numRestored);
+		}
+		notifyBoardChangeListeners(restoredSlots, numRestored);
+		return numRestored;
+	}
+
+	/**
+	 * Will redo the last undone move. If there is no undone move, nothing will happen.
+	 */
+	public void redo() {
+		redo(swapBuffer);
+	}
+
+	/**
+	 * Gets the ply of the board, the number of moves made by this handler that have not been undone. The ply is the
+	 * checkpoint of the current position: the board can be brought back to it with {@link #rewind}, as long as no move
+	 * is made after undoing past it.
+	 *
+	 * @return The ply of the board
+	 */
+	public int getPly() {
+		return boardHistoryHandler.getNumMoves();
+	}
+
+	/**
+	 * Undoes or redoes moves until the board is at the given ply.
+	 *
+	 * @param ply The ply to go to, e.g. a value returned by {@link #getPly} before moves were made or undone
+	 * @throws IllegalArgumentException if the ply can not be reached by undoing or redoing moves
+	 */
+	public void rewind(int ply) {
+		if (ply < 0 || ply > getPly() + boardHistoryHandler.getNumRedoMoves()) {
+			throw new IllegalArgumentException("The ply " + ply + " is not in the history.");
+		}
+		while (getPly() > ply) {
+			undo(swapBuffer);
+		}
+		while (getPly() < ply) {
+			redo(swapBuffer);
+		}
+	}
+
+	/**
+	 * Sets the occupants of the board to a start position and forgets the history, so the board can be played again
+	 * without creating a new one. Only the nodes whose occupants differ from the start position are changed, and the
+	 * board change listeners are told about them as one change.
+	 *
+	 * @param nodes The nodes of the start position, one for every node of the board
+	 * @throws IllegalArgumentException if the nodes do not have the coordinates of the nodes of the board, or a node is
+	 *             occupied by a player that does not play on the board. The board is not changed.
+	 */
+	public void reset(Collection<NodeData> nodes) {
+		if (nodes.size() != layout.getNumSlots()) {
+			throw new IllegalArgumentException("There must be one node for every node of the board.");
+		}
+		Arrays.fill(resetOccupants, NOT_RESET);
+		for (NodeData node : nodes) {
+			int slot = layout.getSlot(node.getXCoordinate(), node.getYCoordinate());
+			if (slot == BoardLayout.EMPTY || resetOccupants[slot] != NOT_RESET) {
+				throw new IllegalArgumentException("The node " + node.getXCoordinate() + ":" + node.getYCoordinate()
+						+ " is not a node of the board or is given twice.");
+			}
+			String playerId = node.getOccupantPlayerId();
+			int occupant = playerId == null ? BoardLayout.EMPTY : board.getPlayerIndex(playerId);
+			if (playerId != null && occupant == BoardLayout.EMPTY) {
+				throw new IllegalArgumentException("The player " + playerId + " does not play on this board.");
+			}
+			resetOccupants[slot] = occupant;
+		}
+
+		boolean validMovesUpToDate = isValidMovesUpToDate();
+		int numChanged = 0;
+		for (int slot = 0; slot < resetOccupants.length; slot++) {
+			int occupant = resetOccupants[slot];
+			if (board.getOccupant(slot) != occupant) {
+				board.occupySlot(slot, occupant == BoardLayout.EMPTY ? null : board.getPlayerId(occupant));
+				swapBuffer[numChanged++] = slot;
+			}
+		}
+		boardHistoryHandler.clear();
+		if (validMovesUpToDate && numChanged > 0) {
+			updateValidMoves(swapBuffer, numChanged);
+		}
+		notifyBoardChangeListeners(swapBuffer, numChanged);
+	}
+
+	/**
+	 * Computes the slots that a move would swap. Subclasses can compute them on their own representation of the board.
+	 *
+	 * @param player The index of the player making the move
+	 * @param slot The slot of the move
+	 * @param swaps The array where the swapped slots will be written
+	 * @param offset The index in swaps where the first swapped slot will be written
+	 * @return The number of swapped slots written, not including the slot of the move
+	 */
+	protected int getSwaps(int player, int slot, int[] swaps, int offset) {
+		return layout.getSwaps(board.getOccupants(), player, slot, swaps, offset);
 	}
 
 	@Override
 	public List<Node> getNodesToSwap(String playerId, String nodeId) {
+		int slot = board.getSlot(nodeId);
+		int player = board.getPlayerIndex(playerId);
 		List<Node> swaps = new LinkedList<>();
+		if (player == BoardLayout.EMPTY) {
+			return swaps;
+		}
 
-		for (int i = -1; i <= 1; i++) {
-			for (int j = -1; j <= 1; j++) {
-				swaps.addAll(getSwapsDirection(playerId, board.getNode(nodeId), i, j));
-			}
+		int numSwaps = layout.getSwaps(board.getOccupants(), player, slot, swapBuffer, 0);
+		for (int i = 0; i < numSwaps; i++) {
+			swaps.add(board.getNode(swapBuffer[i]));
 		}
-		return new LinkedList<>(swaps);
+		return swaps;
 	}
 
 	@Override
 	public int getNumNodesToSwap(String playerId, String nodeId) {
-		return getNodesToSwap(playerId, nodeId).size();
+		int slot = board.getSlot(nodeId);
+		int player = board.getPlayerIndex(playerId);
+		if (player == BoardLayout.EMPTY) {
+			return 0;
+		}
+		return layout.getNumSwaps(board.getOccupants(), player, slot);
 	}
 
 	@Override
 	public boolean isMoveValid(String playerId, String nodeId) {
-		Node node = board.getNode(nodeId);
-		return !node.isMarked() && !getNodesToSwap(playerId, node.getId()).isEmpty();
+		int slot = board.getSlot(nodeId);
+		int player = board.getPlayerIndex(playerId);
+		return player != BoardLayout.EMPTY && getValidMoves()[player][slot];
 	}
 
 	@Override
 	public boolean hasValidMove(String playerId) {
-		return !getValidMoves(playerId).isEmpty();
+		return hasValidMove(board.getPlayerIndex(playerId));
 	}
 
 	@Override
@@ -115,38 +323,128 @@ public class BoardHandler implements Rules {
 
 	@Override
 	public List<Node> getValidMoves(String playerId) {
-		return board.getNodes().stream().filter(node -> isMoveValid(playerId, node.getId()))
-				.collect(Collectors.toCollection(LinkedList::new));
+		int player = board.getPlayerIndex(playerId);
+		List<Node> nodes = new LinkedList<>();
+		if (player == BoardLayout.EMPTY) {
+			return nodes;
+		}
+
+		boolean[] playerValidMoves = getValidMoves()[player];
+		for (int slot = 0; slot < playerValidMoves.length; slot++) {
+			if (playerValidMoves[slot]) {
+				nodes.add(board.getNode(slot));
+			}
+		}
+		return nodes;
 	}
 
 	/**
-	 * Computes a list of nodes that will be swapped if the given player will move to the given node. The algorithm will
-	 * start from the given node and step in the given x and y direction. If no swaps are possible the method will
-	 * return an empty list. Otherwise the list of the swapped nodes (except the start node).
+	 * Determines if a player has a valid move, without creating any objects.
 	 *
-	 * @param playerId The player id that will occupy the given node.
-	 * @param node The node that the player will occupy. This will be the start node.
-	 * @param iStep The step the algorithm should take in the x-axis (-1, 0 or 1).
-	 * @param jStep The step the algorithm should take in the y-axis (-1, 0, or 1).
-	 * @return A list of all nodes swapped in the direction given by iStep and jStep, starting from given node and that
-	 *         it is playerId that will occupy the start node.
-	 */
-	private List<Node> getSwapsDirection(String playerId, Node node, int iStep, int jStep) {
-		List<Node> swaps = new LinkedList<>();
+	 * @param player The index of the player, see {@link BoardImpl#getPlayerIndex(String)}
+	 * @return True if the player can move somewhere
+	 */
+	public boolean hasValidMove(int player) {
+		if (player < 0 || player >= board.getNumPlayers()) {
+			return false;
+		}
+		getValidMoves();
+		return numValidMoves[player] > 0;
+	}
+
+	/**
+	 * Writes the slots where a player can move to the given array, without creating any objects.
+	 *
+	 * @param player The index of the player, see {@link BoardImpl#getPlayerIndex(String)}
+	 * @param moves The array where the slots will be written. Must have room for every slot of the board.
+	 * @return The number of valid moves written
+	 */
+	public int getValidMoves(int player, int[] moves) {
+		if (player < 0 || player >= board.getNumPlayers()) {
+			return 0;
+		}
+		boolean[] playerValidMoves = getValidMoves()[player];
+		int count = 0;
+		for (int slot = 0; slot < playerValidMoves.length; slot++) {
+			if (playerValidMoves[slot]) {
+				moves[count++] = slot;
+			}
+		}
+		return count;
+	}
 
-		for (int x = node.getXCoordinate() + iStep, y = node.getYCoordinate() + jStep; board.hasNode(x, y); x += iStep, y += jStep) {
-			Node n = board.getNode(x, y);
-			if (!n.isMarked()) {
-				return new LinkedList<>();
+	/**
+	 * Returns the table of valid moves, indexed by player index and slot. The table is recomputed from scratch if the
+	 * board has been changed by anyone but this handler since it was last updated.
+	 */
+	private boolean[][] getValidMoves() {
+		if (!isValidMovesUpToDate()) {
+			int numPlayers = board.getNumPlayers();
+			validMoves = new boolean[numPlayers][layout.getNumSlots()];
+			numValidMoves = new int[numPlayers];
+			for (int slot = 0; slot < layout.getNumSlots(); slot++) {
+				updateValidMoves(slot);
 			}
+			validMovesModificationCount = board.getModificationCount();
+		}
+		return validMoves;
+	}
+
+	private boolean isValidMovesUpToDate() {
+		return validMovesModificationCount == board.getModificationCount();
+	}
 
-			if (n.getOccupantPlayerId().equals(playerId)) {
-				return swaps;
+	/**
+	 * Updates the valid moves after the given slots have changed occupants. Only the changed slots themselves, and the
+	 * empty slots that end the rays starting in them, can have changed validity.
+	 *
+	 * @param changedSlots The slots that changed occupants
+	 * @param numChangedSlots The number of changed slots
+	 */
+	private void updateValidMoves(int[] changedSlots, int numChangedSlots) {
+		int[] occupants = board.getOccupants();
+		int numDirty = 0;
+		for (int i = 0; i < numChangedSlots; i++) {
+			int slot = changedSlots[i];
+			if (!isDirty[slot]) {
+				isDirty[slot] = true;
+				dirtySlots[numDirty++] = slot;
 			}
+		}
+		for (int i = 0; i < numChangedSlots; i++) {
+			int numEnds = layout.getRayEnds(occupants, changedSlots[i], rayEnds, 0);
+			for (int j = 0; j < numEnds; j++) {
+				if (!isDirty[rayEnds[j]]) {
+					isDirty[rayEnds[j]] = true;
+					dirtySlots[numDirty++] = rayEnds[j];
+				}
+			}
+		}
 
-			swaps.add(n);
+		for (int i = 0; i < numDirty; i++) {
+			updateValidMoves(dirtySlots[i]);
+			isDirty[dirtySlots[i]] = false;
 		}
+		validMovesModificationCount = board.getModificationCount();
+	}
 
-		return new LinkedList<>();
+	private void updateValidMoves(int slot) {
+		int[] occupants = board.getOccupants();
+		for (int player = 0; player < validMoves.length; player++) {
+			boolean isValid = occupants[slot] == BoardLayout.EMPTY && layout.hasSwaps(occupants, player, slot);
+			if (isValid != validMoves[player][slot]) {
+				validMoves[player][slot] = isValid;
+				numValidMoves[player] += isValid ? 1 : -1;
+			}
+		}
+	}
+
+	private void notifyBoardChangeListeners(int[] changedSlots, int numChanged) {
+		if (numChanged == 0) {
+			return;
+		}
+		for (int i = 0; i < boardChangeListeners.size(); i++) {
+			boardChangeListeners.get(i).boardChanged(board, changedSlots, numChanged);
+		}
 	}
 }
@@ -15,4 +15,15 @@ public class BoardHandlerFactory {
 		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(board);
 		return new BoardHandler(board, boardHistoryHandler);
 	}
+
+	/**
+	 * Creates a BitBoardHandler instance given a BitBoard instance.
+	 *
+	 * @param board The bit board instance to handle.
+	 * @return A BitBoardHandler instance to handle the given board.
+	 */
+	public BoardHandler createBitBoardHandler(BitBoard board) {
+		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(board);
+		return new BitBoardHandler(board, boardHistoryHandler);
+	}
 }
@@ -1,21 +1,34 @@
 package kth.game.othello.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
-import java.util.stream.Collectors;
 
 /**
- * Responsible for storing and handling board history moves. Can save and undo moves.
+ * Responsible for storing and handling board history moves. Can save, undo and redo moves, and rewind the board to any
+ * earlier or later ply of the history.
+ *
+ * The history is a log of packed ints, one for each slot changed by a move, holding the slot and the index of the
+ * player occupying it on the other side of the move. A second array holds the index in the log where each move starts.
+ * Undoing a move swaps the occupant of each of its slots with the one in the log, so the log then holds what redoing
+ * the move has to restore. The arrays are allocated for a full game up front and only grow if a history is longer
+ * than that, so saving, undoing and redoing moves creates no garbage.
  *
  * @author Mathias Lindblom
  * @author Erik Odenman
  * @author Lucas Wiener
  */
 public class BoardHistoryHandler {
-	private Stack<List<Node>> moves;
+	private static final int OCCUPANT_BITS = 8;
+	private static final int OCCUPANT_MASK = (1 << OCCUPANT_BITS) - 1;
+
 	private final BoardImpl board;
+	private int[] log;
+	private int[] moveStarts;
+	// The moves before numMoves are done, the ones from numMoves to numSavedMoves can be redone
+	private int numMoves;
+	private int numSavedMoves;
 
 	/**
 	 * Creates an instance of the board history class.
@@ -24,35 +37,152 @@ public class BoardHistoryHandler {
 	 */
 	public BoardHistoryHandler(BoardImpl board) {
 		this.board = board;
-		moves = new Stack<>();
+		// Every move occupies an empty slot, so a normal game has at most one move per slot
+		int numSlots = Math.max(board.getNumNodes(), 1);
+		this.log = new int[4 * numSlots];
+		this.moveStarts = new int[numSlots + 2];
 	}
 
 	/**
 	 * Saves a move history. Now the board history will remember this as the last move, and will be able to undo the
-	 * move. This method should be called before the player id has actually been changed in the board by the move. Will
-	 * copy the nodes given in the move list.
+	 * move. This method should be called before the player id has actually been changed in the board by the move. Moves
+	 * that have been undone can no longer be redone.
 	 *
-	 * @param move The list of nodes that will be swapped by this move. The nodes will be copied without observers.
+	 * @param move The list of nodes that will be swapped by this move.
 	 */
 	public void save(List<Node> move) {
-		moves.push(move.stream().map(NodeImpl::new).collect(Collectors.toCollection(ArrayList<Node>::new)));
+		int[] moveSlots = new int[move.size()];
+		for (int i = 0; i < moveSlots.length; i++) {
+			moveSlots[i] = board.getSlot(move.get(i).getId());
+		}
+		save(moveSlots, moveSlots.length);
+	}
+
+	/**
+	 * Saves a move history without creating any objects. This method should be called before the occupants of the
+	 * slots have been changed by the move. Moves that have been undone can no longer be redone.
+	 *
+	 * @param moveSlots The slots that will be changed by the move
+	 * @param length The number of slots in moveSlots that belong to the move
+	 */
+	public void save(int[] moveSlots, int length) {
+		int start = moveStarts[numMoves];
+		if (start + length > log.length) {
+			log = Arrays.copyOf(log, Math.max(2 * log.length, start + length));
+		}
+		if (numMoves + 2 > moveStarts.length) {
+			moveStarts = Arrays.copyOf(moveStarts, 2 * moveStarts.length);
+		}
+
+		for (int i = 0; i < length; i++) {
+			log[start + i] = pack(moveSlots[i], board.getOccupant(moveSlots[i]));
+		}
+		numMoves++;
+		numSavedMoves = numMoves;
+		moveStarts[numMoves] = start + length;
 	}
 
 	/**
 	 * Will undo the previously added move. Will set the occupant player id's of the nodes to the player id's before the
 	 * move was performed. The observers of the nodes swapped will be notified as usual. If there is no history to undo,
 	 * nothing will happen.
+	 *
+	 * @return Copies of the restored nodes, holding the restored occupants. Empty if there was nothing to undo.
 	 */
-	public void undo() {
-		if (moves.size() == 0) {
-			return;
+	public List<Node> undo() {
+		if (numMoves == 0) {
+			return Collections.emptyList();
+		}
+
+		int[] restoredSlots = new int[moveStarts[numMoves] - moveStarts[numMoves - 1]];
+		int numRestored = undo(restoredSlots);
+		List<Node> restored = new ArrayList<>(numRestored);
+		for (int i = 0; i < numRestored; i++) {
+			restored.add(new NodeImpl(board.getNode(restoredSlots[i])));
 		}
+		return restored;
+	}
 
-		List<Node> move = moves.pop();
-		Collections.reverse(move);
+	/**
+	 * Will undo the previously added move without creating any objects, like {@link #undo()}.
+	 *
+	 * @param restoredSlots The array where the restored slots will be written, in the order they are restored. Must
+	 *            have room for every slot of the board.
+	 * @return The number of restored slots, 0 if there was nothing to undo
+	 */
+	public int undo(int[] restoredSlots) {
+		if (numMoves == 0) {
+			return 0;
+		}
 
-		for (Node node : move) {
-			board.occupyNode(node.getId(), node.getOccupantPlayerId());
+		int start = moveStarts[numMoves - 1];
+		int numRestored = 0;
+		for (int i = moveStarts[numMoves] - 1; i >= start; i--) {
+			restoredSlots[numRestored++] = swapOccupant(i);
 		}
+		numMoves--;
+		return numRestored;
+	}
+
+	/**
+	 * Will redo the last undone move, setting the occupants of the nodes back to what they were after the move. If
+	 * there is no undone move, nothing will happen.
+	 *
+	 * @param restoredSlots The array where the restored slots will be written, in the order they are restored. Must
+	 *            have room for every slot of the board.
+	 * @return The number of restored slots, 0 if there was nothing to redo
+	 */
+	public int redo(int[] restoredSlots) {
+		if (numMoves == numSavedMoves) {
+			return 0;
+		}
+
+		int end = moveStarts[numMoves + 1];
+		int numRestored = 0;
+		for (int i = moveStarts[numMoves]; i < end; i++) {
+			restoredSlots[numRestored++] = swapOccupant(i);
+		}
+		numMoves++;
+		return numRestored;
+	}
+
+	/**
+	 * @return The number of moves that can be undone, which is the ply of the board in the history
+	 */
+	public int getNumMoves() {
+		return numMoves;
+	}
+
+	/**
+	 * @return The number of undone moves that can be redone
+	 */
+	public int getNumRedoMoves() {
+		return numSavedMoves - numMoves;
+	}
+
+	/**
+	 * Forgets every move, so that there is nothing to undo or redo. The board is left as it is.
+	 */
+	public void clear() {
+		numMoves = 0;
+		numSavedMoves = 0;
+	}
+
+	/**
+	 * Swaps the occupant of the slot of a log entry with the occupant in the entry.
+	 *
+	 * @return The slot of the entry
+	 */
+	private int swapOccupant(int index) {
+		int slot = log[index] >>> OCCUPANT_BITS;
+		int occupant = (log[index] & OCCUPANT_MASK) - 1;
+		log[index] = pack(slot, board.getOccupant(slot));
+		board.occupySlot(slot, occupant == BoardLayout.EMPTY ? null : board.getPlayerId(occupant));
+		return slot;
+	}
+
+	private static int pack(int slot, int occupant) {
+		// The empty occupant -1 is stored as 0, which leaves room for 255 players
+		return slot << OCCUPANT_BITS | occupant + 1;
 	}
 }
@@ -1,19 +1,26 @@
 package kth.game.othello.board;
 
-import sun.reflect.generics.reflectiveObjects.NotImplementedException;
-
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * A simple board implementation, allowing players to occupy nodes
+ * A simple board implementation, allowing players to occupy nodes. Each node is mapped to a slot of a
+ * {@link BoardLayout} when the board is constructed, and the occupants of the nodes are mirrored in an array of player
+ * indices that board handlers can work on directly.
  *
  * @author Mathias Lindblom
  * @author Erik Odenman
  * @author Lucas Wiener
  */
 public class BoardImpl implements Board {
-	private final HashMap<String, NodeImpl> nodes;
+	private final BoardLayout layout;
+	private final NodeImpl[] nodes;
+	private final int[] occupants;
+	private final HashMap<String, Integer> slots;
+	private final List<String> playerIds;
+	private int[] discCounts;
+	private boolean nodeEventsEnabled;
+	private int modificationCount;
+	private long hash;
 
 	/**
 	 * Constructs a new BoardImpl containing the specified nodes
@@ -21,24 +28,51 @@ public class BoardImpl implements Board {
 	 * @param nodes The nodes that the board should contain
 	 */
 	public BoardImpl(Collection<NodeImpl> nodes) {
-		this.nodes = new HashMap<>();
-		for (NodeImpl node : nodes) {
-			this.nodes.put(node.getId(), node);
+		this(nodes, Collections.emptyList());
+	}
+
+	/**
+	 * Constructs a new BoardImpl containing the specified nodes. The given players get the first player indices, in
+	 * order. Other players occupying nodes get the following indices.
+	 *
+	 * @param nodes The nodes that the board should contain
+	 * @param playerIds The ids of the players in the order of their player indices
+	 */
+	public BoardImpl(Collection<NodeImpl> nodes, List<String> playerIds) {
+		this.nodes = nodes.toArray(new NodeImpl[nodes.size()]);
+		Arrays.sort(this.nodes);
+
+		int[] xs = new int[this.nodes.length];
+		int[] ys = new int[this.nodes.length];
+		for (int slot = 0; slot < this.nodes.length; slot++) {
+			xs[slot] = this.nodes[slot].getXCoordinate();
+			ys[slot] = this.nodes[slot].getYCoordinate();
 		}
+		this.layout = new BoardLayout(xs, ys);
+
+		this.playerIds = new ArrayList<>(playerIds);
+		this.slots = new HashMap<>();
+		this.occupants = new int[this.nodes.length];
+		this.discCounts = new int[Math.max(this.playerIds.size(), 2)];
+		for (int slot = 0; slot < this.nodes.length; slot++) {
+			slots.put(this.nodes[slot].getId(), slot);
+			occupants[slot] = getOrAddPlayerIndex(this.nodes[slot].getOccupantPlayerId());
+			if (occupants[slot] != BoardLayout.EMPTY) {
+				discCounts[occupants[slot]]++;
+			}
+		}
+		this.hash = ZobristKeys.getHash(occupants);
+		this.nodeEventsEnabled = true;
 	}
 
 	@Override
 	public int getMaxX() {
-		return nodes.values().stream()
-				.max((Node n1, Node n2) -> Integer.compare(n1.getXCoordinate(), n2.getXCoordinate())).get()
-				.getXCoordinate();
+		return layout.getMaxX();
 	}
 
 	@Override
 	public int getMaxY() {
-		return nodes.values().stream()
-				.max((Node n1, Node n2) -> Integer.compare(n1.getYCoordinate(), n2.getYCoordinate())).get()
-				.getYCoordinate();
+		return layout.getMaxY();
 	}
 
 	/**
@@ -47,12 +81,23 @@ public class BoardImpl implements Board {
 	 * @return the number of nodes
 	 */
 	public int getNumNodes() {
-		return nodes.size();
+		return nodes.length;
+	}
+
+	/**
+	 * @return The layout that maps the nodes of this board to slots
+	 */
+	public BoardLayout getLayout() {
+		return layout;
 	}
 
 	@Override
 	public Node getNode(int x, int y) {
-		return getNode(NodeIdUtil.createNodeId(x, y));
+		int slot = layout.getSlot(x, y);
+		if (slot == BoardLayout.EMPTY) {
+			throw new IllegalArgumentException("No node found with id: " + NodeIdUtil.createNodeId(x, y));
+		}
+		return nodes[slot];
 	}
 
 	/**
@@ -63,10 +108,79 @@ public class BoardImpl implements Board {
 	 * @throws java.lang.IllegalArgumentException if no node with the id exist in the board
 	 */
 	public Node getNode(String nodeId) {
-		if (!nodes.containsKey(nodeId)) {
+		return nodes[getSlot(nodeId)];
+	}
+
+	/**
+	 * Gets the node in the given slot.
+	 *
+	 * @param slot The slot of the node
+	 * @return The node in the slot
+	 */
+	public Node getNode(int slot) {
+		return nodes[slot];
+	}
+
+	/**
+	 * Gets the slot of a node.
+	 *
+	 * @param nodeId The id of the node
+	 * @return The slot of the node in the layout of the board
+	 * @throws java.lang.IllegalArgumentException if no node with the id exist in the board
+	 */
+	public int getSlot(String nodeId) {
+		Integer slot = slots.get(nodeId);
+		if (slot == null) {
 			throw new IllegalArgumentException("No node found with id: " + nodeId);
 		}
-		return nodes.get(nodeId);
+		return slot;
+	}
+
+	/**
+	 * Gets the index of the player occupying the given slot.
+	 *
+	 * @param slot The slot of the node
+	 * @return The player index of the occupant or {@link BoardLayout#EMPTY} if the node is not marked
+	 */
+	public int getOccupant(int slot) {
+		return occupants[slot];
+	}
+
+	/**
+	 * Gets the index that the given player has in the occupants of this board.
+	 *
+	 * @param playerId The id of the player
+	 * @return The player index or {@link BoardLayout#EMPTY} if the player has never occupied a node of this board
+	 */
+	public int getPlayerIndex(String playerId) {
+		return playerIds.indexOf(playerId);
+	}
+
+	/**
+	 * Gets the id of the player with the given player index.
+	 *
+	 * @param playerIndex The index of the player
+	 * @return The id of the player
+	 */
+	public String getPlayerId(int playerIndex) {
+		return playerIds.get(playerIndex);
+	}
+
+	/**
+	 * Gets the number of nodes occupied by a player, which is kept up to date as nodes are occupied.
+	 *
+	 * @param playerIndex The index of the player
+	 * @return The number of nodes occupied by the player, 0 if the player has no index on this board
+	 */
+	public int getDiscCount(int playerIndex) {
+		return playerIndex >= 0 && playerIndex < playerIds.size() ? discCounts[playerIndex] : 0;
+	}
+
+	/**
+	 * @return The number of players that have a player index on this board
+	 */
+	public int getNumPlayers() {
+		return playerIds.size();
 	}
 
 	/**
@@ -76,12 +190,12 @@ public class BoardImpl implements Board {
 	 * @return True if a node with this id exists
 	 */
 	public boolean hasNode(String nodeId) {
-		return nodes.containsKey(nodeId);
+		return slots.containsKey(nodeId);
 	}
 
 	@Override
 	public boolean hasNode(int x, int y) {
-		return nodes.containsKey(NodeIdUtil.createNodeId(x, y));
+		return layout.getSlot(x, y) != BoardLayout.EMPTY;
 	}
 
 	/**
@@ -92,10 +206,62 @@ public class BoardImpl implements Board {
 	 * @throws java.lang.IllegalArgumentException If the node does not exist on the board
 	 */
 	public void occupyNode(String nodeId, String playerId) {
-		if (!nodes.containsKey(nodeId)) {
-			throw new IllegalArgumentException("No node found with id: " + nodeId);
+		occupySlot(getSlot(nodeId), playerId);
+	}
+
+	/**
+	 * Make the node in the given slot occupied by the specified player.
+	 *
+	 * @param slot The slot of the node to occupy
+	 * @param playerId The occupying player, or null if the node should not be marked
+	 */
+	public void occupySlot(int slot, String playerId) {
+		int occupant = getOrAddPlayerIndex(playerId);
+		hash ^= ZobristKeys.getKey(slot, occupants[slot]) ^ ZobristKeys.getKey(slot, occupant);
+		if (occupants[slot] != BoardLayout.EMPTY) {
+			discCounts[occupants[slot]]--;
+		}
+		if (occupant != BoardLayout.EMPTY) {
+			discCounts[occupant]++;
 		}
-		nodes.get(nodeId).setOccupantPlayerId(playerId);
+		occupants[slot] = occupant;
+		modificationCount++;
+		if (nodeEventsEnabled) {
+			nodes[slot].setOccupantPlayerId(playerId);
+		} else {
+			nodes[slot].setOccupantPlayerIdQuietly(playerId);
+		}
+	}
+
+	/**
+	 * Turns the events of the nodes of this board on or off. With the events off, the listeners and observers of a node
+	 * are not notified when it is occupied, which suits boards that are only used for computing, such as replayed
+	 * games. Listeners of the board handler are still told about every move.
+	 *
+	 * @param enabled False if the listeners and observers of the nodes should no longer be notified
+	 */
+	public void setNodeEventsEnabled(boolean enabled) {
+		this.nodeEventsEnabled = enabled;
+	}
+
+	/**
+	 * Gets the number of times a node of this board has been occupied. Lets state derived from the occupants detect
+	 * that the board has been changed by someone else.
+	 *
+	 * @return The number of modifications of the board
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Gets the Zobrist hash of the occupants of the board, which is kept up to date as nodes are occupied.
+	 *
+	 * @return The hash of the board
+	 * @see ZobristKeys
+	 */
+	public long getHash() {
+		return hash;
 	}
 
 	/**
@@ -105,14 +271,12 @@ public class BoardImpl implements Board {
 	 * @return A new BoardImpl instance of all copied nodes without node observers.
 	 */
 	public BoardImpl copyWithoutObservers() {
-		return new BoardImpl(nodes.values().stream().map(NodeImpl::copyWithoutObservers).collect(Collectors.toList()));
+		return new BoardImpl(copyNodesWithoutObservers(), playerIds);
 	}
 
 	@Override
 	public List<Node> getNodes() {
-		ArrayList<NodeImpl> res = new ArrayList<>(nodes.values());
-		Collections.sort(res);
-		return new ArrayList<>(res);
+		return new ArrayList<>(Arrays.asList(nodes));
 	}
 
 	@Override
@@ -124,14 +288,46 @@ public class BoardImpl implements Board {
 
 		BoardImpl board = (BoardImpl) o;
 
-		if (nodes != null ? !nodes.equals(board.nodes) : board.nodes != null)
-			return false;
-
-		return true;
+		return Arrays.equals(nodes, board.nodes);
 	}
 
 	@Override
 	public int hashCode() {
-		return nodes != null ? nodes.hashCode() : 0;
+		return Arrays.hashCode(nodes);
+	}
+
+	/**
+	 * Gives board handlers direct access to the occupant of each slot. The array must not be modified.
+	 *
+	 * @return The player index of the occupant of each slot
+	 */
+	int[] getOccupants() {
+		return occupants;
+	}
+
+	/**
+	 * @return Copies of the nodes of this board, without observers
+	 */
+	protected List<NodeImpl> copyNodesWithoutObservers() {
+		List<NodeImpl> copies = new ArrayList<>(nodes.length);
+		for (NodeImpl node : nodes) {
+			copies.add(node.copyWithoutObservers());
+		}
+		return copies;
+	}
+
+	private int getOrAddPlayerIndex(String playerId) {
+		if (playerId == null) {
+			return BoardLayout.EMPTY;
+		}
+		int playerIndex = playerIds.indexOf(playerId);
+		if (playerIndex < 0) {
+			playerIds.add(playerId);
+			playerIndex = playerIds.size() - 1;
+			if (playerIndex >= discCounts.length) {
+				discCounts = Arrays.copyOf(discCounts, 2 * discCounts.length);
+			}
+		}
+		return playerIndex;
 	}
 }
@@ -0,0 +1,313 @@
+package kth.game.othello.board;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a board. Every node coordinate is mapped once to an integer slot, in the natural order of x- and then
+ * y-coordinate. For every slot and each of the eight directions the layout precomputes the ray of slots reached by
+ * stepping in that direction until the board ends, so that the swaps of a move can be computed on an array of
+ * occupants without any lookups of node ids or coordinates.
+ *
+ * An occupant array holds, for each slot, the index of the occupying player or {@link #EMPTY}.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BoardLayout {
+	public static final int EMPTY = -1;
+	public static final int NUM_DIRECTIONS = 8;
+
+	// The directions in the same order as the shifts of BitBoard, with each direction followed by its opposite
+	private static final int[] DX = { 0, 0, 1, -1, 1, -1, 1, -1 };
+	private static final int[] DY = { 1, -1, 0, 0, 1, -1, -1, 1 };
+
+	private final int[] xs;
+	private final int[] ys;
+	private final int minX;
+	private final int minY;
+	private final int maxX;
+	private final int maxY;
+	private final int height;
+	private final int[] grid;
+	private final int[] rayOffsets;
+	private final int[] raySlots;
+	private final long key;
+
+	/**
+	 * Constructs a layout of nodes with the given coordinates. The coordinates must be sorted in the natural order of
+	 * x- and then y-coordinate, and the index of a coordinate pair will become its slot.
+	 *
+	 * @param xs The x-coordinates of the nodes
+	 * @param ys The y-coordinates of the nodes
+	 * @throws IllegalArgumentException if the coordinates are not sorted or contain duplicates
+	 */
+	public BoardLayout(int[] xs, int[] ys) {
+		this.xs = xs.clone();
+		this.ys = ys.clone();
+
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int slot = 0; slot < xs.length; slot++) {
+			if (slot > 0 && (xs[slot - 1] > xs[slot] || xs[slot - 1] == xs[slot] && ys[slot - 1] >= ys[slot])) {
+				throw new IllegalArgumentException("The coordinates must be sorted and unique.");
+			}
+			minX = Math.min(minX, xs[slot]);
+			minY = Math.min(minY, ys[slot]);
+			maxX = Math.max(maxX, xs[slot]);
+			maxY = Math.max(maxY, ys[slot]);
+		}
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+
+		int width = xs.length == 0 ? 0 : maxX - minX + 1;
+		this.height = xs.length == 0 ? 0 : maxY - minY + 1;
+		this.grid = new int[width * height];
+		Arrays.fill(grid, EMPTY);
+		for (int slot = 0; slot < xs.length; slot++) {
+			grid[(xs[slot] - minX) * height + ys[slot] - minY] = slot;
+		}
+
+		this.rayOffsets = new int[xs.length * NUM_DIRECTIONS + 1];
+		int numRaySlots = 0;
+		for (int slot = 0; slot < xs.length; slot++) {
+			for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+				numRaySlots += getRayLength(slot, direction);
+			}
+		}
+		this.raySlots = new int[numRaySlots];
+
+		int index = 0;
+		for (int slot = 0; slot < xs.length; slot++) {
+			for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+				rayOffsets[slot * NUM_DIRECTIONS + direction] = index;
+				for (int x = xs[slot] + DX[direction], y = ys[slot] + DY[direction]; getSlot(x, y) != EMPTY;
+						x += DX[direction], y += DY[direction]) {
+					raySlots[index++] = getSlot(x, y);
+				}
+			}
+		}
+		rayOffsets[xs.length * NUM_DIRECTIONS] = index;
+		this.key = ZobristKeys.getLayoutKey(xs, ys);
+	}
+
+	/**
+	 * @return The key of the coordinates of the layout, see {@link ZobristKeys#getLayoutKey}
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The number of slots, that is the number of nodes, of the layout
+	 */
+	public int getNumSlots() {
+		return xs.length;
+	}
+
+	/**
+	 * @return The maximal x-coordinate of the layout
+	 */
+	public int getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * @return The maximal y-coordinate of the layout
+	 */
+	public int getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * @return The minimal x-coordinate of the layout
+	 */
+	public int getMinX() {
+		return minX;
+	}
+
+	/**
+	 * @return The minimal y-coordinate of the layout
+	 */
+	public int getMinY() {
+		return minY;
+	}
+
+	/**
+	 * @param slot A slot of the layout
+	 * @return The x-coordinate of the slot
+	 */
+	public int getX(int slot) {
+		return xs[slot];
+	}
+
+	/**
+	 * @param slot A slot of the layout
+	 * @return The y-coordinate of the slot
+	 */
+	public int getY(int slot) {
+		return ys[slot];
+	}
+
+	/**
+	 * Returns the slot of the given coordinates.
+	 *
+	 * @param x The x-coordinate
+	 * @param y The y-coordinate
+	 * @return The slot, or {@link #EMPTY} if the layout has no node at the coordinates
+	 */
+	public int getSlot(int x, int y) {
+		if (x < minX || x > maxX || y < minY || y > maxY) {
+			return EMPTY;
+		}
+		return grid[(x - minX) * height + y - minY];
+	}
+
+	/**
+	 * Returns the neighbor of a slot.
+	 *
+	 * @param slot A slot of the layout
+	 * @param direction The direction of the neighbor, between 0 and 7
+	 * @return The slot next to the given slot in the given direction, or {@link #EMPTY} if there is none
+	 */
+	public int getNeighbor(int slot, int direction) {
+		int ray = slot * NUM_DIRECTIONS + direction;
+		return rayOffsets[ray] < rayOffsets[ray + 1] ? raySlots[rayOffsets[ray]] : EMPTY;
+	}
+
+	/**
+	 * Determines if a slot is a corner, which is a slot that can never be swapped. That is the case when the slot ends
+	 * the board in at least one of the two directions of each line through it.
+	 *
+	 * @param slot A slot of the layout
+	 * @return True if the slot can never be swapped
+	 */
+	public boolean isCorner(int slot) {
+		// The directions come in pairs of opposite directions
+		for (int direction = 0; direction < NUM_DIRECTIONS; direction += 2) {
+			if (getNeighbor(slot, direction) != EMPTY && getNeighbor(slot, direction + 1) != EMPTY) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines if a slot is on the edge of the board, which is when it lacks a neighbor in at least one direction.
+	 *
+	 * @param slot A slot of the layout
+	 * @return True if the slot is on the edge of the board
+	 */
+	public boolean isEdge(int slot) {
+		for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+			if (getNeighbor(slot, direction) == EMPTY) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the slots that will be swapped if the given player moves to the given slot.
+	 *
+	 * @param occupants The occupant of each slot
+	 * @param player The index of the player making the move
+	 * @param slot The slot of the move
+	 * @param swaps The array where the swapped slots will be written
+	 * @param offset The index in swaps where the first swapped slot will be written
+	 * @return The number of swapped slots written, not including the slot of the move
+	 */
+	public int getSwaps(int[] occupants, int player, int slot, int[] swaps, int offset) {
+		int count = 0;
+		for (int ray = slot * NUM_DIRECTIONS, end = ray + NUM_DIRECTIONS; ray < end; ray++) {
+			int first = rayOffsets[ray];
+			int length = getEnclosedLength(occupants, player, first, rayOffsets[ray + 1]);
+			System.arraycopy(raySlots, first, swaps, offset + count, length);
+			count += length;
+		}
+		return count;
+	}
+
+	/**
+	 * Computes the number of slots that will be swapped if the given player moves to the given slot.
+	 *
+	 * @param occupants The occupant of each slot
+	 * @param player The index of the player making the move
+	 * @param slot The slot of the move
+	 * @return The number of swapped slots, not including the slot of the move
+	 */
+	public int getNumSwaps(int[] occupants, int player, int slot) {
+		int count = 0;
+		for (int ray = slot * NUM_DIRECTIONS, end = ray + NUM_DIRECTIONS; ray < end; ray++) {
+			count += getEnclosedLength(occupants, player, rayOffsets[ray], rayOffsets[ray + 1]);
+		}
+		return count;
+	}
+
+	/**
+	 * Determines if a move of the given player to the given slot would swap at least one slot.
+	 *
+	 * @param occupants The occupant of each slot
+	 * @param player The index of the player making the move
+	 * @param slot The slot of the move
+	 * @return True if at least one slot would be swapped
+	 */
+	public boolean hasSwaps(int[] occupants, int player, int slot) {
+		for (int ray = slot * NUM_DIRECTIONS, end = ray + NUM_DIRECTIONS; ray < end; ray++) {
+			if (getEnclosedLength(occupants, player, rayOffsets[ray], rayOffsets[ray + 1]) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds, in each direction from the given slot, the first empty slot that is reached by only stepping over occupied
+	 * slots. These are the only empty slots whose valid moves can change when the given slot changes occupant.
+	 *
+	 * @param occupants The occupant of each slot
+	 * @param slot The slot to start from
+	 * @param ends The array where the found slots will be written
+	 * @param offset The index in ends where the first found slot will be written
+	 * @return The number of slots written, at most {@link #NUM_DIRECTIONS}
+	 */
+	public int getRayEnds(int[] occupants, int slot, int[] ends, int offset) {
+		int count = 0;
+		for (int ray = slot * NUM_DIRECTIONS, end = ray + NUM_DIRECTIONS; ray < end; ray++) {
+			for (int i = rayOffsets[ray]; i < rayOffsets[ray + 1]; i++) {
+				if (occupants[raySlots[i]] == EMPTY) {
+					ends[offset + count++] = raySlots[i];
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the slots at the start of a ray that are occupied by other players and followed by a slot of the given
+	 * player.
+	 */
+	private int getEnclosedLength(int[] occupants, int player, int first, int end) {
+		for (int i = first; i < end; i++) {
+			int occupant = occupants[raySlots[i]];
+			if (occupant == player) {
+				return i - first;
+			}
+			if (occupant == EMPTY) {
+				return 0;
+			}
+		}
+		return 0;
+	}
+
+	private int getRayLength(int slot, int direction) {
+		int length = 0;
+		for (int x = xs[slot] + DX[direction], y = ys[slot] + DY[direction]; getSlot(x, y) != EMPTY;
+				x += DX[direction], y += DY[direction]) {
+			length++;
+		}
+		return length;
+	}
+}
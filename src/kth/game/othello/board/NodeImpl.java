@@ -1,20 +1,31 @@
 package kth.game.othello.board;
 
-import java.util.Observable;
+import java.util.Arrays;
+import java.util.Observer;
 
 /**
  * Representation of a node, containing information of its position in the board and an id of the occupying player (if
  * any).
  *
+ * The node tells its {@link NodeListener}s when it is occupied by another player. The listeners are kept in an array
+ * that is replaced when a listener is added or removed, so a node without listeners costs a single length check when
+ * it is occupied. The observers of the {@link Node} interface are notified by an {@link ObservableNode} that listens to
+ * the node and is only created when the first observer is added. Listeners that want one event per move instead of one
+ * per node should use a {@link BoardChangeListener}.
+ *
  * @author Mathias Lindblom
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class NodeImpl extends Observable implements Node, Comparable<NodeImpl> {
+public class NodeImpl implements Node, Comparable<NodeImpl> {
+	private static final NodeListener[] NO_LISTENERS = new NodeListener[0];
+
 	private final String nodeId;
 	private String playerId;
 	private final int x;
 	private final int y;
+	private volatile NodeListener[] listeners;
+	private ObservableNode observable;
 
 	/**
 	 * Constructs a node instance. The node-id is determined by the values of x and y. A node should be identified
@@ -29,6 +40,7 @@ public class NodeImpl extends Observable implements Node, Comparable<NodeImpl> {
 		this.playerId = playerId;
 		this.x = x;
 		this.y = y;
+		this.listeners = NO_LISTENERS;
 	}
 
 	/**
@@ -61,10 +73,89 @@ public class NodeImpl extends Observable implements Node, Comparable<NodeImpl> {
 		String previousOccupantPlayerId = this.playerId;
 		this.playerId = playerId;
 
-		if (!isOccupiedPlayerEqual(previousOccupantPlayerId, playerId)) {
-			setChanged();
-			notifyObservers(previousOccupantPlayerId);
+		NodeListener[] current = listeners;
+		if (current.length > 0 && !isOccupiedPlayerEqual(previousOccupantPlayerId, playerId)) {
+			for (NodeListener listener : current) {
+				listener.nodeChanged(this, previousOccupantPlayerId);
+			}
+		}
+	}
+
+	/**
+	 * Sets the occupying player of the node without notifying the listeners.
+	 *
+	 * @param playerId The player id of the player that should be occupying the node. Null if none.
+	 */
+	void setOccupantPlayerIdQuietly(String playerId) {
+		this.playerId = playerId;
+	}
+
+	/**
+	 * Adds a listener that is told when the node is occupied by another player. A listener that has already been added
+	 * is not added again.
+	 *
+	 * @param listener The listener to add
+	 */
+	public synchronized void addNodeListener(NodeListener listener) {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+		for (NodeListener current : listeners) {
+			if (current.equals(listener)) {
+				return;
+			}
+		}
+		NodeListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+		added[added.length - 1] = listener;
+		listeners = added;
+	}
+
+	/**
+	 * Removes a listener of the node, if it has been added.
+	 *
+	 * @param listener The listener to remove
+	 */
+	public synchronized void removeNodeListener(NodeListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				NodeListener[] remaining = new NodeListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, remaining, 0, i);
+				System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+				listeners = remaining;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Adds an observer to this node. The observer is given an {@link ObservableNode} that stands in for this node and
+	 * is equal to it.
+	 */
+	@Override
+	public synchronized void addObserver(Observer observer) {
+		if (observable == null) {
+			observable = new ObservableNode(this);
+			addNodeListener(observable);
 		}
+		observable.addObserver(observer);
+	}
+
+	/**
+	 * Deletes an observer of this node.
+	 *
+	 * @param observer The observer to delete
+	 */
+	public synchronized void deleteObserver(Observer observer) {
+		if (observable != null) {
+			observable.deleteObserver(observer);
+		}
+	}
+
+	/**
+	 * @return The number of observers of this node
+	 */
+	public synchronized int countObservers() {
+		return observable == null ? 0 : observable.countObservers();
 	}
 
 	/**
@@ -105,6 +196,8 @@ public class NodeImpl extends Observable implements Node, Comparable<NodeImpl> {
 	public boolean equals(Object o) {
 		if (this == o)
 			return true;
+		if (o instanceof ObservableNode)
+			return equals(((ObservableNode) o).getNode());
 		if (o == null || getClass() != o.getClass())
 			return false;
 
@@ -0,0 +1,21 @@
+package kth.game.othello.board;
+
+/**
+ * The responsibility of this entity is to be told when a {@link NodeImpl} is occupied by another player. Listeners
+ * that want to be told once per move instead of once per changed node should be a {@link BoardChangeListener} of the
+ * board handler.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface NodeListener {
+
+	/**
+	 * Called after the node has been occupied by another player.
+	 *
+	 * @param node The changed node
+	 * @param previousOccupantPlayerId The id of the previous occupant, or null if the node was not marked
+	 */
+	public void nodeChanged(NodeImpl node, String previousOccupantPlayerId);
+}
@@ -0,0 +1,73 @@
+package kth.game.othello.board;
+
+import java.util.Observable;
+
+/**
+ * The {@link Observable} that notifies the observers of a {@link NodeImpl}, see {@link Node#addObserver}. It is
+ * created when the first observer is added to the node and listens to it, and it is the node the observers are given,
+ * so every method of {@link Node} is answered by the observed node, and it is equal to the observed node.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+class ObservableNode extends Observable implements Node, NodeListener {
+	private final NodeImpl node;
+
+	/**
+	 * Creates the observable of a node. It must be added as a listener of the node.
+	 *
+	 * @param node The observed node
+	 */
+	ObservableNode(NodeImpl node) {
+		this.node = node;
+	}
+
+	@Override
+	public void nodeChanged(NodeImpl node, String previousOccupantPlayerId) {
+		setChanged();
+		notifyObservers(previousOccupantPlayerId);
+	}
+
+	/**
+	 * @return The observed node
+	 */
+	NodeImpl getNode() {
+		return node;
+	}
+
+	@Override
+	public String getId() {
+		return node.getId();
+	}
+
+	@Override
+	public String getOccupantPlayerId() {
+		return node.getOccupantPlayerId();
+	}
+
+	@Override
+	public int getXCoordinate() {
+		return node.getXCoordinate();
+	}
+
+	@Override
+	public int getYCoordinate() {
+		return node.getYCoordinate();
+	}
+
+	@Override
+	public boolean isMarked() {
+		return node.isMarked();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return node.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return node.hashCode();
+	}
+}
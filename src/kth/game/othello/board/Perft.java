@@ -0,0 +1,197 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import kth.game.othello.board.factory.NodeData;
+
+/**
+ * Counts the positions reachable from a start position by a given number of moves, walking the game tree with the
+ * allocation free move and undo of a {@link BoardHandler}. Since the count only depends on the rules, it is a
+ * correctness oracle for move generators: two board handlers of the same start position must give the same counts.
+ *
+ * The turn passes like in {@link kth.game.othello.player.turndecider.Rotation}: after a move the next player in order
+ * that has a valid move is in turn, and skipped players do not count as moves. A position where no player can move ends
+ * the game and is counted as one leaf, even if moves remain of the depth.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class Perft {
+	private final Set<NodeData> nodeData;
+	private final List<String> playerIds;
+	private final boolean useBitBoard;
+
+	/**
+	 * Creates a perft counter of the given start position. The first player is in turn in the start position.
+	 *
+	 * @param nodeData The nodes of the start position, as created by the board factories
+	 * @param playerIds The ids of the players in the order they take turns
+	 * @param useBitBoard If true, a {@link BitBoardHandler} is used when the position can be represented by a
+	 *            {@link BitBoard}
+	 * @throws IllegalArgumentException if there are no players
+	 */
+	public Perft(Set<NodeData> nodeData, List<String> playerIds, boolean useBitBoard) {
+		if (playerIds.isEmpty()) {
+			throw new IllegalArgumentException("There must be at least one player.");
+		}
+		this.nodeData = nodeData;
+		this.playerIds = new ArrayList<>(playerIds);
+		this.useBitBoard = useBitBoard;
+	}
+
+	/**
+	 * Counts the leaf positions at the given depth on the calling thread.
+	 *
+	 * @param depth The number of moves to play from the start position
+	 * @return The count and the time it took
+	 * @throws IllegalArgumentException if the depth is negative
+	 */
+	public PerftResult perft(int depth) {
+		checkDepth(depth);
+		long start = System.nanoTime();
+		Walker walker = new Walker(createBoardHandler(), depth);
+		long leaves = walker.count(0, depth);
+		return new PerftResult(depth, leaves, System.nanoTime() - start);
+	}
+
+	/**
+	 * Counts the leaf positions at the given depth, splitting the moves of the start position across a pool of
+	 * threads. Each move is counted on its own board.
+	 *
+	 * @param depth The number of moves to play from the start position
+	 * @param numThreads The number of threads to use
+	 * @return The count and the time it took
+	 * @throws IllegalArgumentException if the depth is negative or the number of threads is not positive
+	 */
+	public PerftResult perft(int depth, int numThreads) {
+		checkDepth(depth);
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		long start = System.nanoTime();
+
+		BoardHandler boardHandler = createBoardHandler();
+		Walker walker = new Walker(boardHandler, depth);
+		int[] rootMoves = new int[boardHandler.getBoard().getNodes().size()];
+		int numRootMoves = boardHandler.getValidMoves(walker.players[0], rootMoves);
+		if (depth == 0 || numRootMoves == 0) {
+			return new PerftResult(depth, walker.count(0, depth), System.nanoTime() - start);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<Long>> futures = new ArrayList<>(numRootMoves);
+			for (int i = 0; i < numRootMoves; i++) {
+				int slot = rootMoves[i];
+				futures.add(executor.submit(() -> new Walker(createBoardHandler(), depth).countAfter(0, slot, depth)));
+			}
+
+			long leaves = 0;
+			for (Future<Long> future : futures) {
+				leaves += future.get();
+			}
+			return new PerftResult(depth, leaves, System.nanoTime() - start);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The perft count was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The perft count failed.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private BoardHandler createBoardHandler() {
+		BoardFactory boardFactory = new BoardFactory();
+		BoardHandlerFactory boardHandlerFactory = new BoardHandlerFactory();
+		if (useBitBoard && boardFactory.isBitBoardCompatible(nodeData, playerIds)) {
+			return boardHandlerFactory.createBitBoardHandler(boardFactory.createBitBoard(nodeData, playerIds));
+		}
+		return boardHandlerFactory.createOthelloBoardHandler(boardFactory.createBoard(nodeData));
+	}
+
+	private static void checkDepth(int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("The depth can not be negative.");
+		}
+	}
+
+	/**
+	 * Walks the game tree of one board handler, with one move buffer and one buffer of changed slots per ply.
+	 */
+	private class Walker {
+		private final BoardHandler boardHandler;
+		private final int[] players;
+		private final int[][] moves;
+		private final int[][] changedSlots;
+
+		Walker(BoardHandler boardHandler, int depth) {
+			this.boardHandler = boardHandler;
+			BoardImpl board = (BoardImpl) boardHandler.getBoard();
+			this.players = new int[playerIds.size()];
+			for (int i = 0; i < players.length; i++) {
+				players[i] = board.getPlayerIndex(playerIds.get(i));
+			}
+			this.moves = new int[depth + 1][board.getNumNodes()];
+			this.changedSlots = new int[depth + 1][board.getNumNodes()];
+		}
+
+		/**
+		 * Counts the leaves below the current position, where the player at the given turn is in turn.
+		 */
+		long count(int turn, int depth) {
+			if (depth == 0) {
+				return 1;
+			}
+
+			int[] playerMoves = moves[depth];
+			int numMoves = boardHandler.getValidMoves(players[turn], playerMoves);
+			if (numMoves == 0) {
+				// Only possible in the start position, since the turn never passes to a player without moves
+				return 1;
+			}
+
+			long leaves = 0;
+			for (int i = 0; i < numMoves; i++) {
+				leaves += countAfter(turn, playerMoves[i], depth);
+			}
+			return leaves;
+		}
+
+		/**
+		 * Counts the leaves below the position reached when the player at the given turn moves to the given slot.
+		 */
+		long countAfter(int turn, int slot, int depth) {
+			int[] changed = changedSlots[depth];
+			boardHandler.move(players[turn], slot, changed);
+			int next = getNextTurn(turn);
+			long leaves = next < 0 ? 1 : count(next, depth - 1);
+			boardHandler.undo(changed);
+			return leaves;
+		}
+
+		/**
+		 * Finds the next turn the way the rotation of a game does, or -1 if the game is over.
+		 */
+		private int getNextTurn(int turn) {
+			for (int i = 1; i < players.length; i++) {
+				int next = (turn + i) % players.length;
+				if (hasValidMove(next)) {
+					return next;
+				}
+			}
+			return hasValidMove(turn) ? turn : -1;
+		}
+
+		private boolean hasValidMove(int turn) {
+			return boardHandler.hasValidMove(players[turn]);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package kth.game.othello.board;
+
+/**
+ * The outcome of a {@link Perft} count.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class PerftResult {
+	private final int depth;
+	private final long leaves;
+	private final long elapsedNanos;
+
+	/**
+	 * Creates a perft result.
+	 *
+	 * @param depth The number of moves that was played from the start position
+	 * @param leaves The number of counted leaf positions
+	 * @param elapsedNanos The time the count took
+	 */
+	public PerftResult(int depth, long leaves, long elapsedNanos) {
+		this.depth = depth;
+		this.leaves = leaves;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return The number of moves that was played from the start position
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return The number of counted leaf positions
+	 */
+	public long getLeaves() {
+		return leaves;
+	}
+
+	/**
+	 * @return The time the count took in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The number of counted leaf positions per second
+	 */
+	public long getNodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : (long) (leaves * 1e9 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "perft(" + depth + ") = " + leaves + " in " + elapsedNanos / 1000000 + " ms (" + getNodesPerSecond()
+				+ " nodes/s)";
+	}
+}
@@ -0,0 +1,112 @@
+package kth.game.othello.board;
+
+/**
+ * A board for searching moves. Moves are made and taken back on plain player indices and slots of a
+ * {@link BoardLayout}, without any nodes, observers or history copies, so a search can make millions of moves cheaply.
+ * A search board is not tied to any game; it is created from the state of a {@link Board} by a
+ * {@link SearchBoardFactory}.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface SearchBoard {
+
+	/**
+	 * @return The layout whose slots this board uses
+	 */
+	public BoardLayout getLayout();
+
+	/**
+	 * @return The number of players that can occupy slots of the board
+	 */
+	public int getNumPlayers();
+
+	/**
+	 * @param slot A slot of the board
+	 * @return The index of the player occupying the slot, or {@link BoardLayout#EMPTY}
+	 */
+	public int getOccupant(int slot);
+
+	/**
+	 * @param player A player index
+	 * @return The number of slots occupied by the player
+	 */
+	public int getDiscCount(int player);
+
+	/**
+	 * @return The number of slots that are not occupied
+	 */
+	public int getNumEmpty();
+
+	/**
+	 * @return The Zobrist hash of the occupants, kept up to date as moves are made and taken back
+	 * @see ZobristKeys
+	 */
+	public long getHash();
+
+	/**
+	 * Writes the slots where the given player can move to the given array.
+	 *
+	 * @param player A player index
+	 * @param moves An array with room for at least as many moves as there are empty slots
+	 * @return The number of valid moves written
+	 */
+	public int getValidMoves(int player, int[] moves);
+
+	/**
+	 * @param player A player index
+	 * @return The number of slots where the player can move
+	 */
+	public int getNumValidMoves(int player);
+
+	/**
+	 * @param player A player index
+	 * @return True if the player has at least one valid move
+	 */
+	public boolean hasValidMove(int player);
+
+	/**
+	 * @param player A player index
+	 * @param slot A slot of the board
+	 * @return True if the slot is empty and a move of the player to it would swap at least one slot
+	 */
+	public boolean isMoveValid(int player, int slot);
+
+	/**
+	 * @param player A player index
+	 * @param slot A slot of the board
+	 * @return The number of slots a move of the player to the given slot would swap
+	 */
+	public int getNumSwaps(int player, int slot);
+
+	/**
+	 * Makes a move and remembers how to take it back.
+	 *
+	 * @param player The index of the player making the move
+	 * @param slot The slot of the move
+	 * @return The number of swapped slots, not including the slot of the move
+	 * @throws IllegalArgumentException if the move would not swap any slot
+	 */
+	public int makeMove(int player, int slot);
+
+	/**
+	 * Takes back the last move made by {@link #makeMove} that has not been taken back yet.
+	 *
+	 * @throws IllegalStateException if there is no move to take back
+	 */
+	public void undoMove();
+
+	/**
+	 * Sets the listener that is told about every slot changed by {@link #makeMove} and {@link #undoMove}. A board has
+	 * at most one listener.
+	 *
+	 * @param listener The listener, or null to remove the current listener
+	 */
+	public void setSlotListener(SlotListener listener);
+
+	/**
+	 * @return A board with the same occupants, no moves to take back and no slot listener
+	 */
+	public SearchBoard copy();
+}
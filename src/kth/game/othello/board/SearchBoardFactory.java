@@ -0,0 +1,85 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Responsible of creating SearchBoard instances from the state of a board.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class SearchBoardFactory {
+
+	/**
+	 * Creates a search board with the current occupants of the given board. The given players get the first player
+	 * indices, in order, and other players occupying nodes get the following indices. The search board always has room
+	 * for at least two players. The slots of the search board can be mapped back to nodes with the coordinates of its
+	 * layout. A bit search board is created for the traditional 8x8 two player game.
+	 *
+	 * @param board The board to copy the occupants from
+	 * @param playerIds The ids of the players in the order of their player indices
+	 * @return A search board with the same occupants as the board
+	 */
+	public SearchBoard createSearchBoard(Board board, List<String> playerIds) {
+		List<Node> nodes = board.getNodes();
+		BoardLayout layout = getLayout(board);
+
+		List<String> players = new ArrayList<>(playerIds);
+		int[] occupants = new int[layout.getNumSlots()];
+		for (Node node : nodes) {
+			int slot = layout.getSlot(node.getXCoordinate(), node.getYCoordinate());
+			occupants[slot] = getOrAddPlayerIndex(players, node.getOccupantPlayerId());
+		}
+		int numPlayers = Math.max(players.size(), 2);
+
+		if (BitSearchBoard.isCompatible(layout, numPlayers)) {
+			long[] discs = new long[numPlayers];
+			for (int square = 0; square < occupants.length; square++) {
+				if (occupants[square] != BoardLayout.EMPTY) {
+					discs[occupants[square]] |= 1L << square;
+				}
+			}
+			return new BitSearchBoard(layout, discs[0], discs[1]);
+		}
+		return new ArraySearchBoard(layout, occupants, numPlayers);
+	}
+
+	/**
+	 * Gets the layout that maps the nodes of a board to the slots of the search boards created from it.
+	 *
+	 * @param board The board
+	 * @return The layout of the board
+	 */
+	public BoardLayout getLayout(Board board) {
+		if (board instanceof BoardImpl) {
+			return ((BoardImpl) board).getLayout();
+		}
+
+		List<Node> sorted = new ArrayList<>(board.getNodes());
+		Collections.sort(sorted, Comparator.comparingInt(Node::getXCoordinate).thenComparingInt(Node::getYCoordinate));
+
+		int[] xs = new int[sorted.size()];
+		int[] ys = new int[sorted.size()];
+		for (int slot = 0; slot < xs.length; slot++) {
+			xs[slot] = sorted.get(slot).getXCoordinate();
+			ys[slot] = sorted.get(slot).getYCoordinate();
+		}
+		return new BoardLayout(xs, ys);
+	}
+
+	private int getOrAddPlayerIndex(List<String> players, String playerId) {
+		if (playerId == null) {
+			return BoardLayout.EMPTY;
+		}
+		int playerIndex = players.indexOf(playerId);
+		if (playerIndex < 0) {
+			players.add(playerId);
+			playerIndex = players.size() - 1;
+		}
+		return playerIndex;
+	}
+}
@@ -0,0 +1,21 @@
+package kth.game.othello.board;
+
+/**
+ * The responsibility of this entity is to follow the changes of a {@link SearchBoard}, so that state derived from the
+ * occupants can be updated incrementally instead of being recomputed from the whole board.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface SlotListener {
+
+	/**
+	 * Called when a slot changes occupant, by a move that is made or taken back.
+	 *
+	 * @param slot The slot that changed
+	 * @param previousOccupant The index of the player that occupied the slot before, or {@link BoardLayout#EMPTY}
+	 * @param occupant The index of the player that occupies the slot now, or {@link BoardLayout#EMPTY}
+	 */
+	public void slotChanged(int slot, int previousOccupant, int occupant);
+}
@@ -0,0 +1,96 @@
+package kth.game.othello.board;
+
+/**
+ * Zobrist keys for hashing the occupants of a board. Every combination of slot and occupying player has a random
+ * 64-bit key, and the hash of a board is the XOR of the keys of its occupied slots. Since XOR is its own inverse, a
+ * change of occupant is applied to a hash by XOR-ing out the key of the old occupant and XOR-ing in the key of the new.
+ *
+ * The keys are derived from a fixed seed, so they are the same for every board and in every run.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class ZobristKeys {
+	private static final int MAX_CACHED_SLOTS = 256;
+	private static final int MAX_CACHED_PLAYERS = 8;
+	private static final long SEED = 0x4F7468656C6C6FL;
+	private static final long[] KEYS = new long[MAX_CACHED_SLOTS * MAX_CACHED_PLAYERS];
+
+	static {
+		for (int slot = 0; slot < MAX_CACHED_SLOTS; slot++) {
+			for (int player = 0; player < MAX_CACHED_PLAYERS; player++) {
+				KEYS[slot * MAX_CACHED_PLAYERS + player] = computeKey(slot, player);
+			}
+		}
+	}
+
+	/**
+	 * Gets the key of a player occupying a slot.
+	 *
+	 * @param slot The slot
+	 * @param player The index of the occupying player, or {@link BoardLayout#EMPTY} which has the key 0
+	 * @return The key of the slot and player
+	 */
+	public static long getKey(int slot, int player) {
+		if (player == BoardLayout.EMPTY) {
+			return 0;
+		}
+		if (slot < MAX_CACHED_SLOTS && player < MAX_CACHED_PLAYERS) {
+			return KEYS[slot * MAX_CACHED_PLAYERS + player];
+		}
+		return computeKey(slot, player);
+	}
+
+	/**
+	 * Gets the key of a player being in turn. A search hashes positions together with the player to move, by XOR-ing
+	 * this key into the hash of the board.
+	 *
+	 * @param player The index of the player in turn
+	 * @return The key of the player being in turn
+	 */
+	public static long getTurnKey(int player) {
+		return computeKey(-1, player);
+	}
+
+	/**
+	 * Computes a key of the coordinates of a layout. The keys of the occupants only depend on the slots, which are
+	 * different nodes on different layouts, so a table kept across boards of several layouts must XOR the layout key
+	 * into its hashes.
+	 *
+	 * @param xs The x-coordinate of each slot
+	 * @param ys The y-coordinate of each slot
+	 * @return The key of the layout
+	 */
+	public static long getLayoutKey(int[] xs, int[] ys) {
+		long key = SEED;
+		for (int slot = 0; slot < xs.length; slot++) {
+			key = computeKey(xs[slot], ys[slot]) ^ key * 0x9E3779B97F4A7C15L;
+		}
+		return key;
+	}
+
+	/**
+	 * Computes the hash of a board from scratch.
+	 *
+	 * @param occupants The player index occupying each slot, or {@link BoardLayout#EMPTY}
+	 * @return The XOR of the keys of all occupied slots
+	 */
+	public static long getHash(int[] occupants) {
+		long hash = 0;
+		for (int slot = 0; slot < occupants.length; slot++) {
+			hash ^= getKey(slot, occupants[slot]);
+		}
+		return hash;
+	}
+
+	/**
+	 * Mixes the slot and player with the seed through the SplitMix64 finalizer.
+	 */
+	private static long computeKey(int slot, int player) {
+		long z = SEED + ((long) slot << 32 | player & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -43,6 +43,13 @@ public class PlayerHandler {
 		return getPlayerInTurn();
 	}
 
+	/**
+	 * Clears the player in turn, as before the game was started.
+	 */
+	public void reset() {
+		turnDecider.reset();
+	}
+
 	/**
 	 * @return A copy of the list of players.
 	 */
@@ -0,0 +1,299 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.search.AlphaBetaSearcher;
+import kth.game.othello.player.movestrategy.search.Evaluator;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+import kth.game.othello.player.movestrategy.search.SearchInfo;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.player.movestrategy.search.TranspositionTable;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A move strategy that searches the game tree with alpha-beta pruning. The search is iteratively deepened, one move
+ * deeper at a time and with the best move of the previous depth searched first, until the time or node budget of the
+ * move runs out. The best move of the deepest completed depth is made.
+ *
+ * Results are kept in a transposition table between the depths and the moves of the strategy. The table has no locks,
+ * so one strategy can be used in several games at once.
+ *
+ * The search can use several threads with lazy SMP: helper threads search the same root on their own copies of the
+ * board, starting at staggered depths, and only share their results through the transposition table. The helpers fill
+ * the table with results that make the search of the main thread faster, but the move is always the one found by the
+ * main thread. With one thread the search is the same as without helpers.
+ *
+ * The search is made on a search board copied from the board, so no nodes or observers are touched while searching.
+ * The opponent is the other player occupying nodes of the board. If more than two players occupy nodes, the strategy
+ * only looks one move ahead and makes the move with the best evaluation.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class AlphaBetaStrategy implements MoveStrategy {
+	public static final long DEFAULT_MAX_MILLIS = 1000;
+	public static final int DEFAULT_TABLE_ENTRIES = 1 << 18;
+
+	private final long maxMillis;
+	private final long maxNodes;
+	private final Evaluator evaluator;
+	private final TranspositionTable table;
+	private final int numThreads;
+	private final ExecutorService executor;
+	private final SearchBoardFactory searchBoardFactory;
+	private volatile SearchInfo lastSearchInfo;
+
+	/**
+	 * Creates an alpha-beta move strategy that searches for one second per move.
+	 */
+	public AlphaBetaStrategy() {
+		this(DEFAULT_MAX_MILLIS);
+	}
+
+	/**
+	 * Creates an alpha-beta move strategy with a time budget.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move
+	 */
+	public AlphaBetaStrategy(long maxMillis) {
+		this(maxMillis, SearchLimits.UNLIMITED, new PositionalEvaluator());
+	}
+
+	/**
+	 * Creates an alpha-beta move strategy.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxNodes The number of nodes to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param evaluator The evaluator of positions where the search stops
+	 * @throws IllegalArgumentException if a budget is not positive or both are unlimited
+	 */
+	public AlphaBetaStrategy(long maxMillis, long maxNodes, Evaluator evaluator) {
+		this(maxMillis, maxNodes, evaluator, new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+	}
+
+	/**
+	 * Creates an alpha-beta move strategy with the given transposition table.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxNodes The number of nodes to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param evaluator The evaluator of positions where the search stops
+	 * @param table The transposition table, or null to search without one
+	 * @throws IllegalArgumentException if a budget is not positive or both are unlimited
+	 */
+	public AlphaBetaStrategy(long maxMillis, long maxNodes, Evaluator evaluator, TranspositionTable table) {
+		this(maxMillis, maxNodes, evaluator, table, 1);
+	}
+
+	/**
+	 * Creates an alpha-beta move strategy searching on several threads with the given transposition table, which the
+	 * threads share. The node budget only counts the nodes of the main thread.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxNodes The number of nodes to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param evaluator The evaluator of positions where the search stops
+	 * @param table The transposition table, or null to search without one on a single thread
+	 * @param numThreads The number of threads searching each move, e.g. the number of available processors
+	 * @throws IllegalArgumentException if a budget or the number of threads is not positive, both budgets are
+	 *             unlimited, or several threads are to search without a table
+	 */
+	public AlphaBetaStrategy(long maxMillis, long maxNodes, Evaluator evaluator, TranspositionTable table,
+			int numThreads) {
+		if (maxMillis <= 0 || maxNodes <= 0) {
+			throw new IllegalArgumentException("The budgets of a search must be positive.");
+		}
+		if (maxMillis == SearchLimits.UNLIMITED && maxNodes == SearchLimits.UNLIMITED) {
+			throw new IllegalArgumentException("The search needs a time or node budget.");
+		}
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		if (numThreads > 1 && table == null) {
+			throw new IllegalArgumentException("The threads of a search can only share results through a table.");
+		}
+		this.maxMillis = maxMillis;
+		this.maxNodes = maxNodes;
+		this.evaluator = evaluator;
+		this.table = table;
+		this.numThreads = numThreads;
+		this.executor = numThreads > 1 ? Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "alpha-beta-helper");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		this.searchBoardFactory = new SearchBoardFactory();
+	}
+
+	@Override
+	public String getName() {
+		return "AlphaBeta";
+	}
+
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		if (rules.getValidMoves(playerId).isEmpty()) {
+			return null;
+		}
+
+		SearchLimits limits = new SearchLimits(maxMillis, maxNodes);
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, Collections.singletonList(playerId));
+		int move;
+		if (searchBoard.getNumPlayers() == 2) {
+			SearchInfo searchInfo = search(searchBoard, limits, Integer.MAX_VALUE, table, numThreads);
+			move = searchInfo.getBestMove();
+			lastSearchInfo = searchInfo;
+		} else {
+			move = getBestEvaluatedMove(searchBoard, limits);
+		}
+
+		BoardLayout layout = searchBoard.getLayout();
+		return board.getNode(layout.getX(move), layout.getY(move));
+	}
+
+	/**
+	 * @return The transposition table of the strategy, or null if it searches without one
+	 */
+	public TranspositionTable getTranspositionTable() {
+		return table;
+	}
+
+	/**
+	 * @return A summary of the last search of this strategy, or null if it has not searched yet
+	 */
+	public SearchInfo getLastSearchInfo() {
+		return lastSearchInfo;
+	}
+
+	/**
+	 * Measures how much faster the threads of this strategy search a position to a fixed depth than a single thread
+	 * does. Both searches start with an empty transposition table of the size of the table of the strategy.
+	 *
+	 * @param playerId The id of the player to move
+	 * @param board The board of the position, where two players occupy nodes and the player has a valid move
+	 * @param depth The depth to search to
+	 * @return The time of the single threaded search divided by the time of the search with all threads
+	 * @throws IllegalArgumentException if the position is not a two player position where the player can move
+	 */
+	public double measureSpeedup(String playerId, Board board, int depth) {
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, Collections.singletonList(playerId));
+		if (searchBoard.getNumPlayers() != 2 || !searchBoard.hasValidMove(0)) {
+			throw new IllegalArgumentException("The player must be able to move in a two player position.");
+		}
+		int numEntries = table == null ? DEFAULT_TABLE_ENTRIES : table.getNumEntries();
+		SearchLimits unlimited = new SearchLimits(SearchLimits.UNLIMITED, SearchLimits.UNLIMITED);
+		long singleNanos = search(searchBoard, unlimited, depth, new TranspositionTable(numEntries), 1)
+				.getElapsedNanos();
+		unlimited = new SearchLimits(SearchLimits.UNLIMITED, SearchLimits.UNLIMITED);
+		long parallelNanos = search(searchBoard, unlimited, depth, new TranspositionTable(numEntries), numThreads)
+				.getElapsedNanos();
+		return (double) singleNanos / Math.max(parallelNanos, 1);
+	}
+
+	/**
+	 * Searches with iterative deepening on the calling thread, with lazy SMP helpers if several threads are used.
+	 */
+	private SearchInfo search(SearchBoard searchBoard, SearchLimits limits, int maxDepth, TranspositionTable table,
+			int numThreads) {
+		if (table != null) {
+			table.newSearch();
+		}
+		// Deeper than the number of empty slots only repeats the search to the end of the game
+		maxDepth = Math.min(maxDepth, searchBoard.getNumEmpty());
+
+		SearchLimits helperLimits = new SearchLimits(maxMillis, SearchLimits.UNLIMITED);
+		List<Future<Long>> helpers = new ArrayList<>();
+		for (int helper = 1; helper < numThreads; helper++) {
+			helpers.add(executor.submit(createHelper(searchBoard.copy(), helperLimits, maxDepth, table, helper)));
+		}
+
+		AlphaBetaSearcher searcher = new AlphaBetaSearcher(searchBoard, evaluator, table);
+		int bestMove = BoardLayout.EMPTY;
+		int bestScore = 0;
+		int depth = 0;
+		while (depth < maxDepth) {
+			boolean completed = searcher.search(0, depth + 1, bestMove, limits);
+			if (completed || bestMove == BoardLayout.EMPTY && searcher.getBestMove() != BoardLayout.EMPTY) {
+				bestMove = searcher.getBestMove();
+				bestScore = searcher.getBestScore();
+			}
+			if (!completed) {
+				break;
+			}
+			depth++;
+		}
+
+		helperLimits.stop();
+		long nodes = searcher.getNodes() + joinHelpers(helpers);
+
+		if (bestMove == BoardLayout.EMPTY) {
+			// Not even the first move was searched before the budget ran out
+			int[] moves = new int[searchBoard.getLayout().getNumSlots()];
+			searchBoard.getValidMoves(0, moves);
+			bestMove = moves[0];
+		}
+		return new SearchInfo(depth, nodes, limits.getElapsedNanos(), bestScore, numThreads, bestMove);
+	}
+
+	/**
+	 * Creates a helper thread of lazy SMP. Every other helper starts one move deeper than the main thread, so that the
+	 * threads reach different parts of the tree first.
+	 */
+	private Callable<Long> createHelper(SearchBoard searchBoard, SearchLimits limits, int maxDepth,
+			TranspositionTable table, int helper) {
+		return () -> {
+			AlphaBetaSearcher searcher = new AlphaBetaSearcher(searchBoard, evaluator, table);
+			for (int depth = 1 + helper % 2; depth <= maxDepth; depth++) {
+				if (!searcher.search(0, depth, BoardLayout.EMPTY, limits)) {
+					break;
+				}
+			}
+			return searcher.getNodes();
+		};
+	}
+
+	private long joinHelpers(List<Future<Long>> helpers) {
+		long nodes = 0;
+		try {
+			for (Future<Long> helper : helpers) {
+				nodes += helper.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A helper of the search failed.", e.getCause());
+		}
+		return nodes;
+	}
+
+	private int getBestEvaluatedMove(SearchBoard searchBoard, SearchLimits limits) {
+		int[] moves = new int[searchBoard.getLayout().getNumSlots()];
+		int numMoves = searchBoard.getValidMoves(0, moves);
+
+		int bestMove = moves[0];
+		int bestScore = Integer.MIN_VALUE;
+		for (int i = 0; i < numMoves; i++) {
+			searchBoard.makeMove(0, moves[i]);
+			int score = evaluator.evaluate(searchBoard, 0);
+			searchBoard.undoMove();
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = moves[i];
+			}
+		}
+		lastSearchInfo = new SearchInfo(1, numMoves, limits.getElapsedNanos(), bestScore, 1, bestMove);
+		return bestMove;
+	}
+}
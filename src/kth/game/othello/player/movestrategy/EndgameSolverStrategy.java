@@ -0,0 +1,110 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.Collections;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.search.EndgameSolver;
+import kth.game.othello.player.movestrategy.search.SearchInfo;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.player.movestrategy.search.TranspositionTable;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A move strategy that plays perfectly at the end of the game. As long as more slots than a threshold are empty, the
+ * moves are made by another strategy. From then on the position is solved to the end with an {@link EndgameSolver}
+ * and the best move is made. If a solve runs out of time, or more than two players occupy nodes of the board, the
+ * other strategy makes the move.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class EndgameSolverStrategy implements MoveStrategy {
+	public static final int DEFAULT_MAX_EMPTY = 16;
+	public static final long DEFAULT_MAX_MILLIS = 10000;
+	public static final int DEFAULT_TABLE_ENTRIES = 1 << 20;
+
+	private final MoveStrategy strategy;
+	private final int maxEmpty;
+	private final boolean exact;
+	private final long maxMillis;
+	private final TranspositionTable table;
+	private final SearchBoardFactory searchBoardFactory;
+	private volatile SearchInfo lastSearchInfo;
+
+	/**
+	 * Creates a strategy that computes the exact disc difference once at most {@link #DEFAULT_MAX_EMPTY} slots are
+	 * empty.
+	 *
+	 * @param strategy The strategy making the moves before the end of the game
+	 */
+	public EndgameSolverStrategy(MoveStrategy strategy) {
+		this(strategy, DEFAULT_MAX_EMPTY, true, DEFAULT_MAX_MILLIS);
+	}
+
+	/**
+	 * Creates an endgame solving strategy.
+	 *
+	 * @param strategy The strategy making the moves before the end of the game, or when a solve runs out of time
+	 * @param maxEmpty The largest number of empty slots at which the position is solved
+	 * @param exact If true, the move with the best disc difference is made, otherwise any winning move, or a drawing
+	 *            move if there is none, is made
+	 * @param maxMillis The number of milliseconds each solve may take, or {@link SearchLimits#UNLIMITED}
+	 * @throws IllegalArgumentException if the threshold is negative or the time budget is not positive
+	 */
+	public EndgameSolverStrategy(MoveStrategy strategy, int maxEmpty, boolean exact, long maxMillis) {
+		if (maxEmpty < 0) {
+			throw new IllegalArgumentException("The number of empty slots can not be negative.");
+		}
+		if (maxMillis <= 0) {
+			throw new IllegalArgumentException("The budget of a solve must be positive.");
+		}
+		this.strategy = strategy;
+		this.maxEmpty = maxEmpty;
+		this.exact = exact;
+		this.maxMillis = maxMillis;
+		this.table = new TranspositionTable(DEFAULT_TABLE_ENTRIES);
+		this.searchBoardFactory = new SearchBoardFactory();
+	}
+
+	@Override
+	public String getName() {
+		return strategy.getName() + "Endgame";
+	}
+
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		if (rules.getValidMoves(playerId).isEmpty()) {
+			return null;
+		}
+
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, Collections.singletonList(playerId));
+		if (searchBoard.getNumEmpty() > maxEmpty || searchBoard.getNumPlayers() != 2) {
+			return strategy.move(playerId, rules, board);
+		}
+
+		SearchLimits limits = new SearchLimits(maxMillis, SearchLimits.UNLIMITED);
+		EndgameSolver solver = new EndgameSolver(searchBoard, table);
+		boolean completed = solver.solve(0, exact, limits);
+		lastSearchInfo = new SearchInfo(completed ? searchBoard.getNumEmpty() : 0, solver.getNodes(),
+				limits.getElapsedNanos(), solver.getBestScore());
+		if (!completed) {
+			return strategy.move(playerId, rules, board);
+		}
+
+		BoardLayout layout = searchBoard.getLayout();
+		int move = solver.getBestMove();
+		return board.getNode(layout.getX(move), layout.getY(move));
+	}
+
+	/**
+	 * @return A summary of the last solve of this strategy, or null if it has not solved a position yet
+	 */
+	public SearchInfo getLastSearchInfo() {
+		return lastSearchInfo;
+	}
+}
@@ -14,7 +14,7 @@ import kth.game.othello.rules.Rules;
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class GreedyStrategy implements MoveStrategy {
+public class GreedyStrategy implements MoveStrategy, SlotStrategy {
 	/**
 	 * Creates the greedy move strategy instance.
 	 */
@@ -45,4 +45,20 @@ public class GreedyStrategy implements MoveStrategy {
 
 		return highestNode;
 	}
+
+	@Override
+	public int move(int player, SearchBoard board, int[] moves, int numMoves) {
+		int highestMove = moves[0];
+		int highestSwaps = 0;
+
+		for (int i = 0; i < numMoves; i++) {
+			int numSwaps = board.getNumSwaps(player, moves[i]);
+			if (numSwaps > highestSwaps) {
+				highestSwaps = numSwaps;
+				highestMove = moves[i];
+			}
+		}
+
+		return highestMove;
+	}
 }
@@ -14,7 +14,7 @@ import kth.game.othello.rules.Rules;
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class LowestStrategy implements MoveStrategy {
+public class LowestStrategy implements MoveStrategy, SlotStrategy {
 	/**
 	 * Creates the lowest move strategy instance.
 	 */
@@ -45,4 +45,20 @@ public class LowestStrategy implements MoveStrategy {
 
 		return lowestNode;
 	}
+
+	@Override
+	public int move(int player, SearchBoard board, int[] moves, int numMoves) {
+		int lowestMove = moves[0];
+		int lowestSwaps = Integer.MAX_VALUE;
+
+		for (int i = 0; i < numMoves; i++) {
+			int numSwaps = board.getNumSwaps(player, moves[i]);
+			if (numSwaps < lowestSwaps) {
+				lowestSwaps = numSwaps;
+				lowestMove = moves[i];
+			}
+		}
+
+		return lowestMove;
+	}
 }
@@ -0,0 +1,268 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.search.MctsInfo;
+import kth.game.othello.player.movestrategy.search.MctsNode;
+import kth.game.othello.player.movestrategy.search.MctsSearcher;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A move strategy that makes the move with the most playouts of a Monte Carlo tree search. The playouts are played on
+ * a search board copied from the board, so no nodes or observers are touched while searching. Any number of players is
+ * supported, and the players are assumed to take turns in the cyclic order of the first nodes they occupy, which is
+ * the case for the start positions of all board factories.
+ *
+ * The search can use several threads, either with a tree per thread or with one tree shared by all threads, see
+ * {@link Parallelism}. The threads are daemon threads of the strategy.
+ *
+ * The tree of each player is kept between moves, and the part of it that matches the moves actually played is reused
+ * by the next search. The trees are kept per thread, so one strategy can be used in several games at once as long as
+ * every thread plays one game at a time.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MctsStrategy implements MoveStrategy {
+	public static final long DEFAULT_MAX_MILLIS = 1000;
+
+	/**
+	 * How the search of a move is spread over several threads.
+	 */
+	public enum Parallelism {
+		/**
+		 * Every thread searches its own tree, and the visits of the root moves of all trees are added up.
+		 */
+		ROOT,
+		/**
+		 * All threads search the same tree, spread over it by virtual losses.
+		 */
+		TREE
+	}
+
+	private final long maxMillis;
+	private final long maxPlayouts;
+	private final double exploration;
+	private final SplittableRandom seeds;
+	private final int numThreads;
+	private final Parallelism parallelism;
+	private final ExecutorService executor;
+	private final SearchBoardFactory searchBoardFactory;
+	private final TurnOrders turnOrders;
+	private final ThreadLocal<Map<String, Game>> games;
+	private volatile MctsInfo lastSearchInfo;
+
+	/**
+	 * Creates a Monte Carlo move strategy that searches for one second per move.
+	 */
+	public MctsStrategy() {
+		this(DEFAULT_MAX_MILLIS);
+	}
+
+	/**
+	 * Creates a Monte Carlo move strategy with a time budget.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move
+	 */
+	public MctsStrategy(long maxMillis) {
+		this(maxMillis, SearchLimits.UNLIMITED, MctsSearcher.DEFAULT_EXPLORATION, new SplittableRandom());
+	}
+
+	/**
+	 * Creates a single threaded Monte Carlo move strategy.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxPlayouts The number of playouts for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param exploration The exploration constant of the upper confidence bound
+	 * @param random The random generator seeding the random generators of the searches
+	 * @throws IllegalArgumentException if a budget is not positive or both are unlimited
+	 */
+	public MctsStrategy(long maxMillis, long maxPlayouts, double exploration, SplittableRandom random) {
+		this(maxMillis, maxPlayouts, exploration, random, 1, Parallelism.TREE);
+	}
+
+	/**
+	 * Creates a Monte Carlo move strategy searching on several threads. The playout budget of a move is shared by the
+	 * threads.
+	 *
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxPlayouts The number of playouts for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param exploration The exploration constant of the upper confidence bound
+	 * @param random The random generator seeding the random generators of the searches
+	 * @param numThreads The number of threads searching each move, e.g. the number of available processors
+	 * @param parallelism How the threads share the search
+	 * @throws IllegalArgumentException if a budget or the number of threads is not positive, or both budgets are
+	 *             unlimited
+	 */
+	public MctsStrategy(long maxMillis, long maxPlayouts, double exploration, SplittableRandom random, int numThreads,
+			Parallelism parallelism) {
+		if (maxMillis <= 0 || maxPlayouts <= 0) {
+			throw new IllegalArgumentException("The budgets of a search must be positive.");
+		}
+		if (maxMillis == SearchLimits.UNLIMITED && maxPlayouts == SearchLimits.UNLIMITED) {
+			throw new IllegalArgumentException("The search needs a time or playout budget.");
+		}
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		this.maxMillis = maxMillis;
+		this.maxPlayouts = maxPlayouts;
+		this.exploration = exploration;
+		this.seeds = random;
+		this.numThreads = numThreads;
+		this.parallelism = parallelism;
+		this.executor = numThreads > 1 ? Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "mcts-worker");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		this.searchBoardFactory = new SearchBoardFactory();
+		this.turnOrders = new TurnOrders();
+		this.games = ThreadLocal.withInitial(HashMap::new);
+	}
+
+	@Override
+	public String getName() {
+		return "Mcts";
+	}
+
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		if (rules.getValidMoves(playerId).isEmpty()) {
+			return null;
+		}
+
+		long startNanos = System.nanoTime();
+		Game game = getGame(playerId, board);
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, game.playerIds);
+		int move;
+		if (numThreads == 1) {
+			move = searchSingleThreaded(game.searchers[0], searchBoard, startNanos);
+		} else if (parallelism == Parallelism.TREE) {
+			move = searchTreeParallel(game.searchers[0], searchBoard, startNanos);
+		} else {
+			move = searchRootParallel(game.searchers, searchBoard, startNanos);
+		}
+
+		BoardLayout layout = searchBoard.getLayout();
+		return board.getNode(layout.getX(move), layout.getY(move));
+	}
+
+	private int searchSingleThreaded(MctsSearcher searcher, SearchBoard searchBoard, long startNanos) {
+		searcher.setPosition(searchBoard, 0);
+		int reusedVisits = searcher.getRoot().getVisits();
+		long playouts = searcher.search(new SearchLimits(maxMillis, maxPlayouts));
+		lastSearchInfo = new MctsInfo(new long[] { playouts }, System.nanoTime() - startNanos, reusedVisits, searcher
+				.getRoot().getVisits());
+		return searcher.getBestMove();
+	}
+
+	private int searchTreeParallel(MctsSearcher searcher, SearchBoard searchBoard, long startNanos) {
+		searcher.setPosition(searchBoard, 0);
+		int reusedVisits = searcher.getRoot().getVisits();
+		long[] playouts = searcher.search(new SearchLimits(maxMillis, maxPlayouts), numThreads, executor);
+		lastSearchInfo = new MctsInfo(playouts, System.nanoTime() - startNanos, reusedVisits, searcher.getRoot()
+				.getVisits());
+		return searcher.getBestMove();
+	}
+
+	private int searchRootParallel(MctsSearcher[] searchers, SearchBoard searchBoard, long startNanos) {
+		long threadMaxPlayouts = maxPlayouts == SearchLimits.UNLIMITED ? SearchLimits.UNLIMITED : Math.max(
+				(maxPlayouts + numThreads - 1) / numThreads, 1);
+		// The board is copied for every searcher before any search starts, since the first searcher plays out on it
+		int reusedVisits = 0;
+		for (int thread = 0; thread < numThreads; thread++) {
+			searchers[thread].setPosition(thread == 0 ? searchBoard : searchBoard.copy(), 0);
+			reusedVisits += searchers[thread].getRoot().getVisits();
+		}
+		List<Future<Long>> futures = new ArrayList<>(numThreads);
+		for (MctsSearcher searcher : searchers) {
+			futures.add(executor.submit(() -> searcher.search(new SearchLimits(maxMillis, threadMaxPlayouts))));
+		}
+
+		long[] playouts = new long[numThreads];
+		try {
+			for (int thread = 0; thread < numThreads; thread++) {
+				playouts[thread] = futures.get(thread).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The search failed.", e.getCause());
+		}
+
+		// The move with the most visits in all trees together
+		int[] visits = new int[searchBoard.getLayout().getNumSlots()];
+		int rootVisits = 0;
+		int bestMove = BoardLayout.EMPTY;
+		for (MctsSearcher searcher : searchers) {
+			MctsNode root = searcher.getRoot();
+			rootVisits += root.getVisits();
+			for (int i = 0; i < root.getNumChildren(); i++) {
+				int move = root.getChild(i).getMove();
+				visits[move] += root.getChild(i).getVisits();
+				if (bestMove == BoardLayout.EMPTY || visits[move] > visits[bestMove]) {
+					bestMove = move;
+				}
+			}
+		}
+		lastSearchInfo = new MctsInfo(playouts, System.nanoTime() - startNanos, reusedVisits, rootVisits);
+		return bestMove;
+	}
+
+	/**
+	 * @return A summary of the last search of this strategy, or null if it has not searched yet
+	 */
+	public MctsInfo getLastSearchInfo() {
+		return lastSearchInfo;
+	}
+
+	/**
+	 * Gets the game of the player on the current thread. The player indices of a game stay the same between moves, so
+	 * that its tree can be reused. A new game is started when the players occupying the board change.
+	 */
+	private Game getGame(String playerId, Board board) {
+		List<String> playerIds = turnOrders.get(playerId, board);
+		Game game = games.get().get(playerId);
+		if (game == null || !game.playerIds.equals(playerIds)) {
+			int numSearchers = parallelism == Parallelism.ROOT ? numThreads : 1;
+			MctsSearcher[] searchers = new MctsSearcher[numSearchers];
+			for (int i = 0; i < numSearchers; i++) {
+				SplittableRandom random;
+				synchronized (seeds) {
+					random = seeds.split();
+				}
+				searchers[i] = new MctsSearcher(Math.max(playerIds.size(), 2), exploration, random);
+			}
+			game = new Game(playerIds, searchers);
+			games.get().put(playerId, game);
+		}
+		return game;
+	}
+
+	private static class Game {
+		private final List<String> playerIds;
+		private final MctsSearcher[] searchers;
+
+		private Game(List<String> playerIds, MctsSearcher[] searchers) {
+			this.playerIds = playerIds;
+			this.searchers = searchers;
+		}
+	}
+}
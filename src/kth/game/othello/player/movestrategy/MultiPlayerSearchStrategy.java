@@ -0,0 +1,156 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.List;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.search.Evaluator;
+import kth.game.othello.player.movestrategy.search.MaxNSearcher;
+import kth.game.othello.player.movestrategy.search.MultiPlayerSearcher;
+import kth.game.othello.player.movestrategy.search.ParanoidSearcher;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+import kth.game.othello.player.movestrategy.search.SearchInfo;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A move strategy that searches the game tree of a game with any number of players, such as the three player game on
+ * the diamond board. The search is iteratively deepened, one move deeper at a time and with the best move of the
+ * previous depth searched first, until the time or node budget of the move runs out. The best move of the deepest
+ * completed depth is made.
+ *
+ * The search follows the turn order of the game: players without a valid move are skipped like in
+ * {@link kth.game.othello.player.turndecider.Rotation}. The players are assumed to take turns in the cyclic order of
+ * the first nodes they occupy at the start of the game, which is the case for the start positions of all board
+ * factories. The order is kept per thread, so one strategy can be used in several games at once as long as every
+ * thread plays one game at a time.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MultiPlayerSearchStrategy implements MoveStrategy {
+	public static final long DEFAULT_MAX_MILLIS = 1000;
+
+	/**
+	 * How the players are assumed to choose their moves.
+	 */
+	public enum Algorithm {
+		/**
+		 * Every player maximizes its own score, see {@link MaxNSearcher}.
+		 */
+		MAX_N,
+		/**
+		 * All other players minimize the score of the player in turn, see {@link ParanoidSearcher}.
+		 */
+		PARANOID
+	}
+
+	private final Algorithm algorithm;
+	private final long maxMillis;
+	private final long maxNodes;
+	private final Evaluator evaluator;
+	private final SearchBoardFactory searchBoardFactory;
+	private final TurnOrders turnOrders;
+	private volatile SearchInfo lastSearchInfo;
+
+	/**
+	 * Creates a multi player search strategy that searches for one second per move.
+	 *
+	 * @param algorithm The search algorithm
+	 */
+	public MultiPlayerSearchStrategy(Algorithm algorithm) {
+		this(algorithm, DEFAULT_MAX_MILLIS);
+	}
+
+	/**
+	 * Creates a multi player search strategy with a time budget.
+	 *
+	 * @param algorithm The search algorithm
+	 * @param maxMillis The number of milliseconds to search for each move
+	 */
+	public MultiPlayerSearchStrategy(Algorithm algorithm, long maxMillis) {
+		this(algorithm, maxMillis, SearchLimits.UNLIMITED, new PositionalEvaluator());
+	}
+
+	/**
+	 * Creates a multi player search strategy.
+	 *
+	 * @param algorithm The search algorithm
+	 * @param maxMillis The number of milliseconds to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param maxNodes The number of nodes to search for each move, or {@link SearchLimits#UNLIMITED}
+	 * @param evaluator The evaluator of positions where a paranoid search stops. A max^n search scores the players on
+	 *            its own, since it needs scores with a bounded sum.
+	 * @throws IllegalArgumentException if a budget is not positive or both are unlimited
+	 */
+	public MultiPlayerSearchStrategy(Algorithm algorithm, long maxMillis, long maxNodes, Evaluator evaluator) {
+		if (maxMillis <= 0 || maxNodes <= 0) {
+			throw new IllegalArgumentException("The budgets of a search must be positive.");
+		}
+		if (maxMillis == SearchLimits.UNLIMITED && maxNodes == SearchLimits.UNLIMITED) {
+			throw new IllegalArgumentException("The search needs a time or node budget.");
+		}
+		this.algorithm = algorithm;
+		this.maxMillis = maxMillis;
+		this.maxNodes = maxNodes;
+		this.evaluator = evaluator;
+		this.searchBoardFactory = new SearchBoardFactory();
+		this.turnOrders = new TurnOrders();
+	}
+
+	@Override
+	public String getName() {
+		return algorithm == Algorithm.MAX_N ? "MaxN" : "Paranoid";
+	}
+
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		if (rules.getValidMoves(playerId).isEmpty()) {
+			return null;
+		}
+
+		SearchLimits limits = new SearchLimits(maxMillis, maxNodes);
+		List<String> playerIds = turnOrders.get(playerId, board);
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, playerIds);
+		MultiPlayerSearcher searcher = algorithm == Algorithm.MAX_N ? new MaxNSearcher(searchBoard)
+				: new ParanoidSearcher(searchBoard, evaluator);
+
+		// Deeper than the number of empty slots only repeats the search to the end of the game
+		int maxDepth = searchBoard.getNumEmpty();
+		int bestMove = BoardLayout.EMPTY;
+		int bestScore = 0;
+		int depth = 0;
+		while (depth < maxDepth) {
+			boolean completed = searcher.search(0, depth + 1, bestMove, limits);
+			if (completed || bestMove == BoardLayout.EMPTY && searcher.getBestMove() != BoardLayout.EMPTY) {
+				bestMove = searcher.getBestMove();
+				bestScore = searcher.getBestScore();
+			}
+			if (!completed) {
+				break;
+			}
+			depth++;
+		}
+
+		if (bestMove == BoardLayout.EMPTY) {
+			// Not even the first move was searched before the budget ran out
+			int[] moves = new int[searchBoard.getLayout().getNumSlots()];
+			searchBoard.getValidMoves(0, moves);
+			bestMove = moves[0];
+		}
+		lastSearchInfo = new SearchInfo(depth, searcher.getNodes(), limits.getElapsedNanos(), bestScore, 1, bestMove);
+
+		BoardLayout layout = searchBoard.getLayout();
+		return board.getNode(layout.getX(bestMove), layout.getY(bestMove));
+	}
+
+	/**
+	 * @return A summary of the last search of this strategy, or null if it has not searched yet
+	 */
+	public SearchInfo getLastSearchInfo() {
+		return lastSearchInfo;
+	}
+}
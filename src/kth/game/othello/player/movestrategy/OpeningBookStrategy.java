@@ -0,0 +1,111 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.Collections;
+
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.movestrategy.book.BookEntry;
+import kth.game.othello.player.movestrategy.book.OpeningBook;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A move strategy that plays from an {@link OpeningBook}. Every valid move is made on a copy of the board and the
+ * position it leads to is looked up in the book. The move whose position has the best score for the player, among the
+ * positions reached by enough games, is made at once. When no move leads to such a position, or the board is not the
+ * traditional 8x8 two player board, another strategy makes the move.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class OpeningBookStrategy implements MoveStrategy {
+	public static final int DEFAULT_MIN_GAMES = 1;
+
+	private final MoveStrategy strategy;
+	private final OpeningBook book;
+	private final int minGames;
+	private final SearchBoardFactory searchBoardFactory;
+
+	/**
+	 * Creates a strategy that plays any move of the book.
+	 *
+	 * @param strategy The strategy making the moves that are not in the book
+	 * @param book The opening book
+	 */
+	public OpeningBookStrategy(MoveStrategy strategy, OpeningBook book) {
+		this(strategy, book, DEFAULT_MIN_GAMES);
+	}
+
+	/**
+	 * Creates an opening book strategy.
+	 *
+	 * @param strategy The strategy making the moves that are not in the book
+	 * @param book The opening book
+	 * @param minGames The number of games that must have reached a position for it to be played
+	 * @throws IllegalArgumentException if the number of games is not positive
+	 */
+	public OpeningBookStrategy(MoveStrategy strategy, OpeningBook book, int minGames) {
+		if (minGames <= 0) {
+			throw new IllegalArgumentException("The number of games must be positive.");
+		}
+		this.strategy = strategy;
+		this.book = book;
+		this.minGames = minGames;
+		this.searchBoardFactory = new SearchBoardFactory();
+	}
+
+	@Override
+	public String getName() {
+		return strategy.getName() + "Book";
+	}
+
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, Collections.singletonList(playerId));
+		if (!(searchBoard instanceof BitSearchBoard)) {
+			return strategy.move(playerId, rules, board);
+		}
+
+		int move = getBookMove((BitSearchBoard) searchBoard);
+		if (move == BoardLayout.EMPTY) {
+			return strategy.move(playerId, rules, board);
+		}
+		BoardLayout layout = searchBoard.getLayout();
+		return board.getNode(layout.getX(move), layout.getY(move));
+	}
+
+	/**
+	 * Finds the move of player 0 that leads to the position of the book with the best score for the player.
+	 *
+	 * @param board The board to find the move on
+	 * @return The slot of the move, or {@link BoardLayout#EMPTY} if no move leads to a position of the book
+	 */
+	private int getBookMove(BitSearchBoard board) {
+		int[] moves = new int[BitBoard.NUM_SQUARES];
+		int numMoves = board.getValidMoves(0, moves);
+
+		int bestMove = BoardLayout.EMPTY;
+		double bestScore = -1;
+		long bestGames = 0;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(0, moves[i]);
+			BookEntry entry = book.lookup(board.getDiscs(0), board.getDiscs(1));
+			board.undoMove();
+
+			if (entry != null && entry.getNumGames() >= minGames) {
+				double score = entry.getScore();
+				if (score > bestScore || score == bestScore && entry.getNumGames() > bestGames) {
+					bestMove = moves[i];
+					bestScore = score;
+					bestGames = entry.getNumGames();
+				}
+			}
+		}
+		return bestMove;
+	}
+}
@@ -1,6 +1,8 @@
 package kth.game.othello.player.movestrategy;
 
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import kth.game.othello.Othello;
 import kth.game.othello.board.*;
@@ -8,18 +10,29 @@ import kth.game.othello.rules.Rules;
 
 /**
  * A really move strategy that will make the move by random. It will simply choose a random node among the possible
- * nodes to move to.
+ * nodes to move to. A strategy created with a seed makes the same moves every time it is used in the same way.
  *
  * @author Mathias Lindblom
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class RandomStrategy implements MoveStrategy {
+public class RandomStrategy implements MoveStrategy, SlotStrategy {
+	private final Random random;
+
 	/**
 	 * Creates the random move strategy instance.
 	 */
 	public RandomStrategy() {
+		this.random = null;
+	}
 
+	/**
+	 * Creates a random move strategy whose moves are drawn from a generator with the given seed.
+	 *
+	 * @param seed The seed of the generator
+	 */
+	public RandomStrategy(long seed) {
+		this.random = new Random(seed);
 	}
 
 	@Override
@@ -35,6 +48,15 @@ public class RandomStrategy implements MoveStrategy {
 			return null;
 		}
 
-		return validMoves.get(new java.util.Random().nextInt(validMoves.size()));
+		return validMoves.get(nextInt(validMoves.size()));
+	}
+
+	@Override
+	public int move(int player, SearchBoard board, int[] moves, int numMoves) {
+		return moves[nextInt(numMoves)];
+	}
+
+	private int nextInt(int bound) {
+		return random == null ? ThreadLocalRandom.current().nextInt(bound) : random.nextInt(bound);
 	}
 }
\ No newline at end of file
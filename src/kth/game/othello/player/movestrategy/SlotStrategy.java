@@ -0,0 +1,31 @@
+package kth.game.othello.player.movestrategy;
+
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * A move strategy that picks its move among the slots of a {@link SearchBoard}, without any nodes or player ids. It is
+ * used by a {@link kth.game.othello.GameRunner} to play many games quickly.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface SlotStrategy {
+
+	/**
+	 * @return the name of the strategy
+	 */
+	public String getName();
+
+	/**
+	 * Determines which slot the given player will move at. The board must not be changed.
+	 *
+	 * @param player the index of the player in turn
+	 * @param board the board
+	 * @param moves the valid moves of the player, in increasing order of their slots
+	 * @param numMoves the number of valid moves, which is at least one
+	 * @return the slot where the player wants to move, which must be one of the valid moves
+	 */
+	public int move(int player, SearchBoard board, int[] moves, int numMoves);
+
+}
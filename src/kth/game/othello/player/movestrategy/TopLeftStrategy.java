@@ -13,7 +13,7 @@ import kth.game.othello.rules.Rules;
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class TopLeftStrategy implements MoveStrategy {
+public class TopLeftStrategy implements MoveStrategy, SlotStrategy {
 
     @Override
     public String getName() {
@@ -36,4 +36,20 @@ public class TopLeftStrategy implements MoveStrategy {
 
         return highestNode;
     }
+
+    @Override
+    public int move(int player, SearchBoard board, int[] moves, int numMoves) {
+        BoardLayout layout = board.getLayout();
+        int highestMove = moves[0];
+
+        for (int i = 1; i < numMoves; i++) {
+            int move = moves[i];
+            if (layout.getY(highestMove) > layout.getY(move) ||
+                    layout.getY(highestMove) == layout.getY(move) && layout.getX(highestMove) > layout.getX(move)) {
+                highestMove = move;
+            }
+        }
+
+        return highestMove;
+    }
 }
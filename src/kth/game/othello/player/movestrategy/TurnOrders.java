@@ -0,0 +1,68 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.Node;
+
+/**
+ * Keeps track of the order in which the players of the games on the current thread take turns, as seen by a searching
+ * move strategy. A strategy only sees the board, so the players are assumed to take turns in the cyclic order of the
+ * first nodes they occupy, which is the order of {@link kth.game.othello.player.turndecider.Rotation} for the start
+ * positions of all board factories. The order found at the first move of a player is kept for the rest of the game,
+ * since the first nodes of the players change as the game goes on.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+class TurnOrders {
+	private final ThreadLocal<Map<String, List<String>>> orders = ThreadLocal.withInitial(HashMap::new);
+
+	/**
+	 * Gets the turn order of the game of a player on the current thread. Players that no longer occupy any node are
+	 * left out, and a new order is found when new players occupy the board.
+	 *
+	 * @param playerId The id of the player in turn
+	 * @param board The board of the game
+	 * @return The ids of the players occupying the board, in turn order starting with the given player
+	 */
+	List<String> get(String playerId, Board board) {
+		Set<String> occupantPlayerIds = new LinkedHashSet<>();
+		for (Node node : board.getNodes()) {
+			if (node.isMarked()) {
+				occupantPlayerIds.add(node.getOccupantPlayerId());
+			}
+		}
+
+		List<String> order = orders.get().get(playerId);
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add(playerId);
+		if (order != null) {
+			for (String orderPlayerId : order) {
+				if (occupantPlayerIds.contains(orderPlayerId) && !playerIds.contains(orderPlayerId)) {
+					playerIds.add(orderPlayerId);
+				}
+			}
+		}
+		// New players follow in the cyclic order of their first nodes, counted from the first node of the player
+		List<String> occupantOrder = new ArrayList<>(occupantPlayerIds);
+		int start = Math.max(occupantOrder.indexOf(playerId), 0);
+		for (int i = 0; i < occupantOrder.size(); i++) {
+			String occupantPlayerId = occupantOrder.get((start + i) % occupantOrder.size());
+			if (!playerIds.contains(occupantPlayerId)) {
+				playerIds.add(occupantPlayerId);
+			}
+		}
+
+		if (!playerIds.equals(order)) {
+			orders.get().put(playerId, playerIds);
+		}
+		return playerIds;
+	}
+}
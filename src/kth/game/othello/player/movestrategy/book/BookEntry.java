@@ -0,0 +1,83 @@
+package kth.game.othello.player.movestrategy.book;
+
+/**
+ * The results of the games that went through a position of an {@link OpeningBook}, counted for the player who made
+ * the last move to the position.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class BookEntry {
+	private final long key;
+	private final int wins;
+	private final int draws;
+	private final int losses;
+
+	/**
+	 * Creates a book entry.
+	 *
+	 * @param key The canonical key of the position, see {@link OpeningBook#getKey(long, long)}
+	 * @param wins The number of games won by the player who moved to the position
+	 * @param draws The number of drawn games
+	 * @param losses The number of games lost by the player who moved to the position
+	 * @throws IllegalArgumentException if a count is negative
+	 */
+	public BookEntry(long key, int wins, int draws, int losses) {
+		if (wins < 0 || draws < 0 || losses < 0) {
+			throw new IllegalArgumentException("The number of games can not be negative.");
+		}
+		this.key = key;
+		this.wins = wins;
+		this.draws = draws;
+		this.losses = losses;
+	}
+
+	/**
+	 * @return The canonical key of the position
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The number of games won by the player who moved to the position
+	 */
+	public int getWins() {
+		return wins;
+	}
+
+	/**
+	 * @return The number of drawn games
+	 */
+	public int getDraws() {
+		return draws;
+	}
+
+	/**
+	 * @return The number of games lost by the player who moved to the position
+	 */
+	public int getLosses() {
+		return losses;
+	}
+
+	/**
+	 * @return The number of games that went through the position
+	 */
+	public long getNumGames() {
+		return (long) wins + draws + losses;
+	}
+
+	/**
+	 * @return The share of the games won by the player who moved to the position, counting draws as half wins
+	 */
+	public double getScore() {
+		long numGames = getNumGames();
+		return numGames == 0 ? 0.5 : (wins + 0.5 * draws) / numGames;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toHexString(key) + ": " + wins + " wins, " + draws + " draws, " + losses + " losses";
+	}
+}
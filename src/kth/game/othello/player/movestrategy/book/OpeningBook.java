@@ -0,0 +1,148 @@
+package kth.game.othello.player.movestrategy.book;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.ZobristKeys;
+
+/**
+ * A read-only book of positions of the traditional 8x8 two player game with the results of the games that went
+ * through them. The book file is mapped into memory instead of being read, so it costs no heap and the pages are
+ * shared by every process on the host that has the book open.
+ *
+ * A position is looked up by its canonical key: the Zobrist hash of the discs of the player who made the last move and
+ * of the other player, minimized over the eight rotations and reflections of the board. All symmetric positions thus
+ * share one entry.
+ *
+ * The file consists of big-endian values: the magic number, the format version and the number of entries, followed by
+ * the entries sorted by key. Each entry is the key and the number of wins, draws and losses, see {@link BookEntry}.
+ * Book files are written by an {@link OpeningBookWriter}.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class OpeningBook implements Closeable {
+	public static final int MAGIC = 0x4F424F4B;
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 12;
+	public static final int ENTRY_SIZE = 20;
+
+	private final FileChannel channel;
+	private final ByteBuffer entries;
+	private final int numEntries;
+
+	/**
+	 * Opens a book file.
+	 *
+	 * @param file The file to open
+	 * @throws IOException if the file can not be read or is not a book file
+	 */
+	public OpeningBook(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+				throw new IOException("Not an opening book file: " + file);
+			}
+			this.entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (entries.getInt(0) != MAGIC) {
+				throw new IOException("Not an opening book file: " + file);
+			}
+			if (entries.getInt(4) != VERSION) {
+				throw new IOException("Unsupported opening book version: " + entries.getInt(4));
+			}
+			this.numEntries = entries.getInt(8);
+			if (numEntries < 0 || HEADER_SIZE + (long) numEntries * ENTRY_SIZE != size) {
+				throw new IOException("The opening book file is truncated: " + file);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Computes the canonical key of a position.
+	 *
+	 * @param mover The discs of the player who made the last move
+	 * @param other The discs of the other player
+	 * @return The smallest hash of the position over all symmetries of the board
+	 */
+	public static long getKey(long mover, long other) {
+		long key = Long.MAX_VALUE;
+		for (int symmetry = 0; symmetry < BitBoard.NUM_SYMMETRIES; symmetry++) {
+			key = Math.min(key, getHash(BitBoard.transform(mover, symmetry), BitBoard.transform(other, symmetry)));
+		}
+		return key;
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param key The canonical key of the position
+	 * @return The entry of the position, or null if the position is not in the book
+	 */
+	public BookEntry lookup(long key) {
+		int low = 0;
+		int high = numEntries - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int offset = HEADER_SIZE + middle * ENTRY_SIZE;
+			long middleKey = entries.getLong(offset);
+			if (middleKey < key) {
+				low = middle + 1;
+			} else if (middleKey > key) {
+				high = middle - 1;
+			} else {
+				return new BookEntry(key, entries.getInt(offset + 8), entries.getInt(offset + 12),
+						entries.getInt(offset + 16));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param mover The discs of the player who made the last move
+	 * @param other The discs of the other player
+	 * @return The entry of the position, or null if the position is not in the book
+	 */
+	public BookEntry lookup(long mover, long other) {
+		return lookup(getKey(mover, other));
+	}
+
+	/**
+	 * @return The number of positions in the book
+	 */
+	public int getNumEntries() {
+		return numEntries;
+	}
+
+	/**
+	 * Closes the file of the book. The mapped memory is released when the book is garbage collected.
+	 *
+	 * @throws IOException if the file can not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private static long getHash(long mover, long other) {
+		long hash = 0;
+		for (long mask = mover; mask != 0; mask &= mask - 1) {
+			hash ^= ZobristKeys.getKey(Long.numberOfTrailingZeros(mask), 0);
+		}
+		for (long mask = other; mask != 0; mask &= mask - 1) {
+			hash ^= ZobristKeys.getKey(Long.numberOfTrailingZeros(mask), 1);
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,217 @@
+package kth.game.othello.player.movestrategy.book;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+import kth.game.othello.record.GameRecordSource;
+
+/**
+ * Builds an {@link OpeningBook} from recorded games. Every game is replayed to the end to find its result, which is
+ * counted for each position of the first plies of the game, as a win, draw or loss of the player who moved to the
+ * position. The positions are counted under their canonical keys, so symmetric games add up.
+ *
+ * The games are streamed from the sources, which are the shards of the input. The shards are counted in parallel by a
+ * fork-join pool, so only the counts of the positions are held in memory, never the games. Only games on the
+ * {@link GameLayout#SQUARE} board with two players are counted, other games are skipped.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class OpeningBookBuilder {
+	public static final int DEFAULT_MAX_PLY = 20;
+
+	private final int maxPly;
+	private final int minGames;
+	private final BitSearchBoard start;
+
+	/**
+	 * Creates a builder that keeps every position reached by a game in the first {@link #DEFAULT_MAX_PLY} plies.
+	 */
+	public OpeningBookBuilder() {
+		this(DEFAULT_MAX_PLY, 1);
+	}
+
+	/**
+	 * Creates a book builder.
+	 *
+	 * @param maxPly The number of moves, not counting passes, from the start of a game whose positions are counted
+	 * @param minGames The number of games that must reach a position for it to be written to the book
+	 * @throws IllegalArgumentException if the ply is negative or the number of games is not positive
+	 */
+	public OpeningBookBuilder(int maxPly, int minGames) {
+		if (maxPly < 0) {
+			throw new IllegalArgumentException("The ply can not be negative.");
+		}
+		if (minGames <= 0) {
+			throw new IllegalArgumentException("The number of games must be positive.");
+		}
+		this.maxPly = maxPly;
+		this.minGames = minGames;
+
+		List<String> playerIds = Arrays.asList("0", "1");
+		this.start = (BitSearchBoard) new SearchBoardFactory().createSearchBoard(
+				new BoardFactory().createBoard(GameLayout.SQUARE.getNodesForIds(playerIds)), playerIds);
+	}
+
+	/**
+	 * Counts the games of the shards in the common fork-join pool and writes the book.
+	 *
+	 * @param shards The sources of the games
+	 * @param file The book file to write
+	 * @return The number of positions written to the book
+	 * @throws IOException if a shard can not be read or the book can not be written
+	 * @throws IllegalArgumentException if a game contains an invalid move
+	 */
+	public int build(List<? extends GameRecordSource> shards, Path file) throws IOException {
+		return build(shards, file, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Counts the games of the shards in the given fork-join pool and writes the book.
+	 *
+	 * @param shards The sources of the games
+	 * @param file The book file to write
+	 * @param pool The pool counting the shards
+	 * @return The number of positions written to the book
+	 * @throws IOException if a shard can not be read or the book can not be written
+	 * @throws IllegalArgumentException if a game contains an invalid move
+	 */
+	public int build(List<? extends GameRecordSource> shards, Path file, ForkJoinPool pool) throws IOException {
+		Map<Long, int[]> counts;
+		try {
+			counts = shards.isEmpty() ? new HashMap<>() : pool.invoke(new CountTask(shards, 0, shards.size()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		long[] keys = new long[counts.size()];
+		int numKeys = 0;
+		for (Map.Entry<Long, int[]> entry : counts.entrySet()) {
+			int[] results = entry.getValue();
+			if ((long) results[0] + results[1] + results[2] >= minGames) {
+				keys[numKeys++] = entry.getKey();
+			}
+		}
+		Arrays.sort(keys, 0, numKeys);
+
+		try (OpeningBookWriter writer = new OpeningBookWriter(file)) {
+			for (int i = 0; i < numKeys; i++) {
+				int[] results = counts.get(keys[i]);
+				writer.add(keys[i], results[0], results[1], results[2]);
+			}
+		}
+		return numKeys;
+	}
+
+	/**
+	 * Counts the result of a game for the positions of its first plies.
+	 *
+	 * @param record The game
+	 * @param counts The wins, draws and losses of each position
+	 */
+	private void count(GameRecord record, Map<Long, int[]> counts) {
+		if (record.getLayout() != GameLayout.SQUARE || record.getPlayerIds().size() != 2) {
+			return;
+		}
+
+		// The player ids of the record get the player indices of the board in their order, whoever starts the game
+		BitSearchBoard board = (BitSearchBoard) start.copy();
+		long[] keys = new long[maxPly];
+		int[] movers = new int[maxPly];
+		int ply = 0;
+		for (int i = 0; i < record.getNumMoves(); i++) {
+			int move = record.getMove(i);
+			if (move == GameRecord.PASS) {
+				continue;
+			}
+			int player = record.getPlayer(i);
+			board.makeMove(player, move);
+			if (ply < maxPly) {
+				keys[ply] = OpeningBook.getKey(board.getDiscs(player), board.getDiscs(1 - player));
+				movers[ply++] = player;
+			}
+		}
+
+		int difference = board.getDiscCount(0) - board.getDiscCount(1);
+		for (int i = 0; i < ply; i++) {
+			int[] results = counts.get(keys[i]);
+			if (results == null) {
+				results = new int[3];
+				counts.put(keys[i], results);
+			}
+			int moverDifference = movers[i] == 0 ? difference : -difference;
+			results[moverDifference > 0 ? 0 : moverDifference == 0 ? 1 : 2]++;
+		}
+	}
+
+	/**
+	 * Counts a range of shards, splitting it in halves until each task counts a single shard.
+	 */
+	private class CountTask extends RecursiveTask<Map<Long, int[]>> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends GameRecordSource> shards;
+		private final int from;
+		private final int to;
+
+		private CountTask(List<? extends GameRecordSource> shards, int from, int to) {
+			this.shards = shards;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Long, int[]> compute() {
+			if (to - from == 1) {
+				final Map<Long, int[]> counts = new HashMap<>();
+				try {
+					shards.get(from).read(new GameRecordListener() {
+						@Override
+						public void gameRecorded(GameRecord record) {
+							count(record, counts);
+						}
+					});
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return counts;
+			}
+
+			int middle = (from + to) >>> 1;
+			CountTask first = new CountTask(shards, from, middle);
+			first.fork();
+			Map<Long, int[]> counts = new CountTask(shards, middle, to).compute();
+			return merge(first.join(), counts);
+		}
+
+		private Map<Long, int[]> merge(Map<Long, int[]> a, Map<Long, int[]> b) {
+			Map<Long, int[]> larger = a.size() >= b.size() ? a : b;
+			Map<Long, int[]> smaller = larger == a ? b : a;
+			for (Map.Entry<Long, int[]> entry : smaller.entrySet()) {
+				int[] results = larger.get(entry.getKey());
+				if (results == null) {
+					larger.put(entry.getKey(), entry.getValue());
+				} else {
+					for (int i = 0; i < results.length; i++) {
+						results[i] += entry.getValue()[i];
+					}
+				}
+			}
+			return larger;
+		}
+	}
+}
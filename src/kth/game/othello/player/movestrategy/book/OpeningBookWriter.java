@@ -0,0 +1,114 @@
+package kth.game.othello.player.movestrategy.book;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a book file that can be opened by {@link OpeningBook}. The entries are streamed to the file in increasing
+ * order of their keys, and the number of entries is written to the header when the writer is closed.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class OpeningBookWriter implements Closeable {
+	private static final int MAX_ENTRIES = (Integer.MAX_VALUE - OpeningBook.HEADER_SIZE) / OpeningBook.ENTRY_SIZE;
+
+	private final FileChannel channel;
+	private final DataOutputStream out;
+	private int numEntries;
+	private long lastKey;
+
+	/**
+	 * Creates a writer of a new book file. An existing file is replaced.
+	 *
+	 * @param file The file to write
+	 * @throws IOException if the file can not be created
+	 */
+	public OpeningBookWriter(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+		out.writeInt(OpeningBook.MAGIC);
+		out.writeInt(OpeningBook.VERSION);
+		out.writeInt(0);
+	}
+
+	/**
+	 * Adds an entry to the book.
+	 *
+	 * @param entry The entry, whose key must be larger than the key of the previous entry
+	 * @throws IOException if the entry can not be written
+	 * @throws IllegalArgumentException if the key is not larger than the key of the previous entry
+	 * @throws IllegalStateException if the book is full
+	 */
+	public void add(BookEntry entry) throws IOException {
+		add(entry.getKey(), entry.getWins(), entry.getDraws(), entry.getLosses());
+	}
+
+	/**
+	 * Adds an entry to the book.
+	 *
+	 * @param key The canonical key of the position, which must be larger than the key of the previous entry
+	 * @param wins The number of games won by the player who moved to the position
+	 * @param draws The number of drawn games
+	 * @param losses The number of games lost by the player who moved to the position
+	 * @throws IOException if the entry can not be written
+	 * @throws IllegalArgumentException if the key is not larger than the key of the previous entry
+	 * @throws IllegalStateException if the book is full
+	 */
+	public void add(long key, int wins, int draws, int losses) throws IOException {
+		if (numEntries > 0 && key <= lastKey) {
+			throw new IllegalArgumentException("The entries must be added in increasing order of their keys.");
+		}
+		if (numEntries == MAX_ENTRIES) {
+			throw new IllegalStateException("An opening book can not have more than " + MAX_ENTRIES + " entries.");
+		}
+		out.writeLong(key);
+		out.writeInt(wins);
+		out.writeInt(draws);
+		out.writeInt(losses);
+		lastKey = key;
+		numEntries++;
+	}
+
+	/**
+	 * @return The number of entries added so far
+	 */
+	public int getNumEntries() {
+		return numEntries;
+	}
+
+	/**
+	 * Writes the number of entries to the header and closes the file.
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			out.flush();
+			writeNumEntries();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void writeNumEntries() throws IOException {
+		// The last value of the header
+		int position = OpeningBook.HEADER_SIZE - 4;
+		ByteBuffer count = ByteBuffer.allocate(4);
+		count.putInt(numEntries);
+		count.flip();
+		while (count.hasRemaining()) {
+			channel.write(count, position + count.position());
+		}
+	}
+}
@@ -0,0 +1,266 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.ZobristKeys;
+
+/**
+ * A negamax search with alpha-beta pruning for two players on a search board. A player without valid moves passes,
+ * which does not use up depth, and when both players have to pass the game is over and scored by the disc difference.
+ * The limits of the search are checked regularly and an exceeded limit aborts the search.
+ *
+ * With a transposition table, positions reached again through other move orders are looked up instead of searched,
+ * and the best move stored for a position is searched first.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class AlphaBetaSearcher {
+	public static final int WIN = 1 << 20;
+
+	private static final int INFINITY = WIN << 2;
+	private static final int CHECK_INTERVAL = 1024;
+
+	private final SearchBoard board;
+	private final Evaluator evaluator;
+	private final TranspositionTable table;
+	private final long layoutKey;
+	private final boolean[] corners;
+	private int[][] moves;
+
+	private SearchLimits limits;
+	private boolean aborted;
+	private long nodes;
+	private int bestMove;
+	private int bestScore;
+
+	/**
+	 * Constructs a searcher for the given board. The searcher makes and takes back moves on the board, but leaves it as
+	 * it was after every search.
+	 *
+	 * @param board The board to search, with two players
+	 * @param evaluator The evaluator of positions where the search stops
+	 * @throws IllegalArgumentException if the board does not have two players
+	 */
+	public AlphaBetaSearcher(SearchBoard board, Evaluator evaluator) {
+		this(board, evaluator, null);
+	}
+
+	/**
+	 * Constructs a searcher for the given board that stores its results in a transposition table. The table may be
+	 * shared with other searchers, also in other threads.
+	 *
+	 * @param board The board to search, with two players
+	 * @param evaluator The evaluator of positions where the search stops
+	 * @param table The transposition table, or null to search without one
+	 * @throws IllegalArgumentException if the board does not have two players
+	 */
+	public AlphaBetaSearcher(SearchBoard board, Evaluator evaluator, TranspositionTable table) {
+		if (board.getNumPlayers() != 2) {
+			throw new IllegalArgumentException("An alpha-beta search needs a board with two players.");
+		}
+		this.board = board;
+		this.evaluator = evaluator;
+		this.table = table;
+
+		BoardLayout layout = board.getLayout();
+		// A table can be kept between searches on different layouts, whose slots are different nodes
+		this.layoutKey = layout.getKey();
+		this.corners = new boolean[layout.getNumSlots()];
+		for (int slot = 0; slot < corners.length; slot++) {
+			corners[slot] = layout.isCorner(slot);
+		}
+		this.moves = new int[0][];
+	}
+
+	/**
+	 * Searches the moves of a player to the given depth. If the search is aborted, the best move is the best of the
+	 * moves that were searched completely before the abort.
+	 *
+	 * @param player The index of the player to move
+	 * @param depth The number of moves to look ahead, at least 1
+	 * @param firstMove A slot to search first, usually the best move of a shallower search, or
+	 *            {@link BoardLayout#EMPTY}
+	 * @param limits The limits of the search
+	 * @return True if the search completed and false if it was aborted
+	 * @throws IllegalArgumentException if the player has no valid move
+	 */
+	public boolean search(int player, int depth, int firstMove, SearchLimits limits) {
+		this.limits = limits;
+		this.aborted = false;
+		this.bestMove = BoardLayout.EMPTY;
+		this.bestScore = -INFINITY;
+
+		int[] rootMoves = getMoves(0);
+		int numMoves = board.getValidMoves(player, rootMoves);
+		if (numMoves == 0) {
+			throw new IllegalArgumentException("The player has no valid move.");
+		}
+		long hash = getHash(player);
+		if (firstMove == BoardLayout.EMPTY && table != null) {
+			firstMove = TranspositionTable.getMove(table.probe(hash));
+		}
+		orderMoves(rootMoves, numMoves, firstMove);
+		nodes++;
+
+		int alpha = -INFINITY;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, rootMoves[i]);
+			int score = -negamax(1 - player, depth - 1, -INFINITY, -alpha, 1, false);
+			board.undoMove();
+			if (aborted) {
+				return false;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = rootMoves[i];
+				alpha = score;
+			}
+		}
+		if (table != null) {
+			table.store(hash, depth, bestScore, TranspositionTable.EXACT, bestMove);
+		}
+		return true;
+	}
+
+	/**
+	 * @return The slot of the best move found by the last search, or {@link BoardLayout#EMPTY} if it was aborted
+	 *         before any move was searched completely
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return The score of the best move found by the last search
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * @return The number of nodes visited by all searches of this searcher
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	private int negamax(int player, int depth, int alpha, int beta, int ply, boolean passed) {
+		nodes++;
+		if ((nodes & (CHECK_INTERVAL - 1)) == 0 && limits.isExceeded(nodes)) {
+			aborted = true;
+		}
+		if (aborted) {
+			return 0;
+		}
+		if (depth == 0) {
+			return evaluator.evaluate(board, player);
+		}
+
+		long hash = 0;
+		int tableMove = BoardLayout.EMPTY;
+		if (table != null) {
+			hash = getHash(player);
+			long entry = table.probe(hash);
+			if (entry != TranspositionTable.MISS) {
+				tableMove = TranspositionTable.getMove(entry);
+				if (TranspositionTable.getDepth(entry) >= depth) {
+					int score = TranspositionTable.getScore(entry);
+					int bound = TranspositionTable.getBound(entry);
+					if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER_BOUND && score >= beta
+							|| bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+						return score;
+					}
+				}
+			}
+		}
+
+		int[] plyMoves = getMoves(ply);
+		int numMoves = board.getValidMoves(player, plyMoves);
+		if (numMoves == 0) {
+			if (passed) {
+				return getFinalScore(player);
+			}
+			return -negamax(1 - player, depth, -beta, -alpha, ply + 1, true);
+		}
+		orderMoves(plyMoves, numMoves, tableMove);
+
+		int best = -INFINITY;
+		int bestSlot = BoardLayout.EMPTY;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, plyMoves[i]);
+			int score = -negamax(1 - player, depth - 1, -beta, -Math.max(alpha, best), ply + 1, false);
+			board.undoMove();
+			if (aborted) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestSlot = plyMoves[i];
+				if (best >= beta) {
+					break;
+				}
+			}
+		}
+
+		if (table != null) {
+			int bound = best <= alpha ? TranspositionTable.UPPER_BOUND
+					: best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+			table.store(hash, depth, best, bound, bestSlot);
+		}
+		return best;
+	}
+
+	private long getHash(int player) {
+		return board.getHash() ^ layoutKey ^ ZobristKeys.getTurnKey(player);
+	}
+
+	private int getFinalScore(int player) {
+		int difference = board.getDiscCount(player) - board.getDiscCount(1 - player);
+		if (difference > 0) {
+			return WIN + difference;
+		}
+		if (difference < 0) {
+			return -WIN + difference;
+		}
+		return 0;
+	}
+
+	/**
+	 * Puts the given first move at the front, followed by the corners, which are usually the best moves.
+	 */
+	private void orderMoves(int[] moves, int numMoves, int firstMove) {
+		int front = 0;
+		for (int i = 0; i < numMoves; i++) {
+			if (moves[i] == firstMove) {
+				swap(moves, front++, i);
+				break;
+			}
+		}
+		for (int i = front; i < numMoves; i++) {
+			if (corners[moves[i]]) {
+				swap(moves, front++, i);
+			}
+		}
+	}
+
+	private void swap(int[] moves, int i, int j) {
+		int move = moves[i];
+		moves[i] = moves[j];
+		moves[j] = move;
+	}
+
+	private int[] getMoves(int ply) {
+		if (ply >= moves.length) {
+			int oldLength = moves.length;
+			moves = Arrays.copyOf(moves, Math.max(2 * oldLength, ply + 1));
+			for (int i = oldLength; i < moves.length; i++) {
+				moves[i] = new int[corners.length];
+			}
+		}
+		return moves[ply];
+	}
+}
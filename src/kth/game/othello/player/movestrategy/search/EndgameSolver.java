@@ -0,0 +1,315 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.ZobristKeys;
+
+/**
+ * A perfect play search for two players to the end of the game. The score of a finished game is the disc difference
+ * of the player in turn, so a search with the full window gives the exact disc difference and a search with the
+ * window between -1 and 1 only tells if the game is won, lost or drawn, which is usually much faster.
+ *
+ * All but the first move of a position are searched with a null window, which only proves that they are not better.
+ * Moves are ordered fastest-first, that is by how few moves they leave the opponent, while many slots are empty. Close
+ * to the end only parity is used: the board is divided into four quadrants, and moves into quadrants with an odd number
+ * of empty slots are searched first, since the player moving there can often also get the last move of the quadrant.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class EndgameSolver {
+	// Below these numbers of empty slots, move ordering and the table cost more than they save
+	private static final int FASTEST_FIRST_MIN_EMPTY = 5;
+	private static final int TABLE_MIN_EMPTY = 6;
+	private static final int CHECK_INTERVAL = 1024;
+
+	private static final int FIRST_KEY = Integer.MIN_VALUE;
+	private static final int CORNER_BONUS = 2;
+	private static final int PARITY_BONUS = 3;
+
+	private final SearchBoard board;
+	private final TranspositionTable table;
+	private final long layoutKey;
+	private final int infinity;
+	private final boolean[] corners;
+	private final int[] regions;
+	private final int[] regionEmpty;
+	private int[][] moves;
+	private int[][] keys;
+
+	private SearchLimits limits;
+	private boolean aborted;
+	private long nodes;
+	private int bestMove;
+	private int bestScore;
+
+	/**
+	 * Constructs a solver for the given board. The solver makes and takes back moves on the board, but leaves it as it
+	 * was after every search.
+	 *
+	 * @param board The board to solve, with two players
+	 * @param table The transposition table, or null to solve without one. Since the scores of positions never change,
+	 *            the table may keep its results between solves, but must not be shared with heuristic searches.
+	 * @throws IllegalArgumentException if the board does not have two players
+	 */
+	public EndgameSolver(SearchBoard board, TranspositionTable table) {
+		if (board.getNumPlayers() != 2) {
+			throw new IllegalArgumentException("An endgame solver needs a board with two players.");
+		}
+		this.board = board;
+		this.table = table;
+
+		BoardLayout layout = board.getLayout();
+		// A table can be kept between solves on different layouts, whose slots are different nodes
+		this.layoutKey = layout.getKey();
+		int numSlots = layout.getNumSlots();
+		this.infinity = numSlots + 1;
+		this.corners = new boolean[numSlots];
+		this.regions = new int[numSlots];
+		this.regionEmpty = new int[4];
+		for (int slot = 0; slot < numSlots; slot++) {
+			corners[slot] = layout.isCorner(slot);
+			// The quadrant of the slot, with the middle row or column of an odd board in the lower quadrants
+			boolean right = 2 * layout.getX(slot) > layout.getMinX() + layout.getMaxX();
+			boolean bottom = 2 * layout.getY(slot) > layout.getMinY() + layout.getMaxY();
+			regions[slot] = (right ? 2 : 0) + (bottom ? 1 : 0);
+		}
+		this.moves = new int[0][];
+		this.keys = new int[0][];
+	}
+
+	/**
+	 * Solves the position for a player. If the solve is aborted, the best move is the best of the moves that were
+	 * solved completely before the abort.
+	 *
+	 * @param player The index of the player to move
+	 * @param exact If true, the exact disc difference is computed, otherwise only if the game is won, lost or drawn
+	 * @param limits The limits of the search
+	 * @return True if the solve completed and false if it was aborted
+	 * @throws IllegalArgumentException if the player has no valid move
+	 */
+	public boolean solve(int player, boolean exact, SearchLimits limits) {
+		this.limits = limits;
+		this.aborted = false;
+		this.bestMove = BoardLayout.EMPTY;
+		this.bestScore = -infinity;
+
+		int[] rootMoves = getMoves(0);
+		int numMoves = board.getValidMoves(player, rootMoves);
+		if (numMoves == 0) {
+			throw new IllegalArgumentException("The player has no valid move.");
+		}
+		if (table != null) {
+			table.newSearch();
+		}
+		countEmpty();
+		orderMoves(player, rootMoves, numMoves, BoardLayout.EMPTY, true, 0);
+		nodes++;
+
+		int alpha = exact ? -infinity : -1;
+		int beta = exact ? infinity : 1;
+		for (int i = 0; i < numMoves && bestScore < beta; i++) {
+			int score = searchMove(player, rootMoves[i], Math.max(alpha, bestScore), beta, i == 0, 1);
+			if (aborted) {
+				return false;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = rootMoves[i];
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The slot of the best move found by the last solve, or {@link BoardLayout#EMPTY} if it was aborted before
+	 *         any move was solved completely
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Gets the score of the last solve. An exact solve gives the disc difference of the best move. Otherwise the score
+	 * is positive for a win, negative for a loss and zero for a draw.
+	 *
+	 * @return The score of the best move found by the last solve
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * @return The number of nodes visited by all solves of this solver
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Searches a move with a principal variation search: only the first move gets the full window, the others are
+	 * searched with a null window that just proves them worse, and searched again if the proof fails.
+	 */
+	private int searchMove(int player, int slot, int alpha, int beta, boolean first, int ply) {
+		if (first || beta - alpha <= 1) {
+			return -solveAfterMove(player, slot, -beta, -alpha, ply);
+		}
+		int score = -solveAfterMove(player, slot, -alpha - 1, -alpha, ply);
+		if (score > alpha && score < beta && !aborted) {
+			score = -solveAfterMove(player, slot, -beta, -score, ply);
+		}
+		return score;
+	}
+
+	private int solveAfterMove(int player, int slot, int alpha, int beta, int ply) {
+		board.makeMove(player, slot);
+		regionEmpty[regions[slot]]--;
+		int score = negamax(1 - player, alpha, beta, ply, false);
+		regionEmpty[regions[slot]]++;
+		board.undoMove();
+		return score;
+	}
+
+	private int negamax(int player, int alpha, int beta, int ply, boolean passed) {
+		nodes++;
+		if ((nodes & (CHECK_INTERVAL - 1)) == 0 && limits.isExceeded(nodes)) {
+			aborted = true;
+		}
+		if (aborted) {
+			return 0;
+		}
+		int numEmpty = board.getNumEmpty();
+		if (numEmpty == 0) {
+			return getFinalScore(player);
+		}
+
+		long hash = 0;
+		int tableMove = BoardLayout.EMPTY;
+		boolean useTable = table != null && numEmpty >= TABLE_MIN_EMPTY;
+		if (useTable) {
+			hash = board.getHash() ^ layoutKey ^ ZobristKeys.getTurnKey(player);
+			long entry = table.probe(hash);
+			if (entry != TranspositionTable.MISS) {
+				tableMove = TranspositionTable.getMove(entry);
+				int score = TranspositionTable.getScore(entry);
+				int bound = TranspositionTable.getBound(entry);
+				if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER_BOUND && score >= beta
+						|| bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+					return score;
+				}
+			}
+		}
+
+		int[] plyMoves = getMoves(ply);
+		int numMoves = board.getValidMoves(player, plyMoves);
+		if (numMoves == 0) {
+			if (passed) {
+				return getFinalScore(player);
+			}
+			return -negamax(1 - player, -beta, -alpha, ply + 1, true);
+		}
+		if (numMoves > 1) {
+			orderMoves(player, plyMoves, numMoves, tableMove, numEmpty >= FASTEST_FIRST_MIN_EMPTY, ply);
+		}
+
+		int best = -infinity;
+		int bestSlot = BoardLayout.EMPTY;
+		for (int i = 0; i < numMoves; i++) {
+			int score = searchMove(player, plyMoves[i], Math.max(alpha, best), beta, i == 0, ply + 1);
+			if (aborted) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestSlot = plyMoves[i];
+				if (best >= beta) {
+					break;
+				}
+			}
+		}
+
+		if (useTable) {
+			int bound = best <= alpha ? TranspositionTable.UPPER_BOUND
+					: best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+			table.store(hash, numEmpty, best, bound, bestSlot);
+		}
+		return best;
+	}
+
+	private int getFinalScore(int player) {
+		return board.getDiscCount(player) - board.getDiscCount(1 - player);
+	}
+
+	/**
+	 * Sorts the moves by ascending key. The key of a move is low for few opponent moves after it, if fastest-first is
+	 * used, for an odd quadrant and for a corner. The given first move always comes first.
+	 */
+	private void orderMoves(int player, int[] moves, int numMoves, int firstMove, boolean fastestFirst, int ply) {
+		int[] moveKeys = getKeys(ply);
+		for (int i = 0; i < numMoves; i++) {
+			int slot = moves[i];
+			int key;
+			if (slot == firstMove) {
+				key = FIRST_KEY;
+			} else {
+				key = 0;
+				if (fastestFirst) {
+					board.makeMove(player, slot);
+					key = 4 * board.getNumValidMoves(1 - player);
+					board.undoMove();
+				}
+				if (corners[slot]) {
+					key -= CORNER_BONUS;
+				}
+				if ((regionEmpty[regions[slot]] & 1) != 0) {
+					key -= PARITY_BONUS;
+				}
+			}
+
+			// Insertion sort, which is fast for the few moves of a position
+			int j = i;
+			while (j > 0 && moveKeys[j - 1] > key) {
+				moves[j] = moves[j - 1];
+				moveKeys[j] = moveKeys[j - 1];
+				j--;
+			}
+			moves[j] = slot;
+			moveKeys[j] = key;
+		}
+	}
+
+	private void countEmpty() {
+		Arrays.fill(regionEmpty, 0);
+		for (int slot = 0; slot < regions.length; slot++) {
+			if (board.getOccupant(slot) == BoardLayout.EMPTY) {
+				regionEmpty[regions[slot]]++;
+			}
+		}
+	}
+
+	private int[] getMoves(int ply) {
+		if (ply >= moves.length) {
+			moves = grow(moves, ply);
+		}
+		return moves[ply];
+	}
+
+	private int[] getKeys(int ply) {
+		if (ply >= keys.length) {
+			keys = grow(keys, ply);
+		}
+		return keys[ply];
+	}
+
+	private int[][] grow(int[][] buffers, int ply) {
+		int oldLength = buffers.length;
+		int[][] grown = Arrays.copyOf(buffers, Math.max(2 * oldLength, ply + 1));
+		for (int i = oldLength; i < grown.length; i++) {
+			grown[i] = new int[corners.length];
+		}
+		return grown;
+	}
+}
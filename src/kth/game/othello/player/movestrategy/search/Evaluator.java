@@ -0,0 +1,24 @@
+package kth.game.othello.player.movestrategy.search;
+
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * The responsibility of this entity is to estimate how good a position is for a player, when a search can not look any
+ * deeper.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface Evaluator {
+
+	/**
+	 * Evaluates the board from the view of the given player. Higher is better for the player, and the evaluations must
+	 * stay well below {@link AlphaBetaSearcher#WIN} in absolute value.
+	 *
+	 * @param board The board to evaluate
+	 * @param player The index of the player to evaluate for
+	 * @return The evaluation of the board
+	 */
+	public int evaluate(SearchBoard board, int player);
+}
@@ -0,0 +1,171 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * A max^n search with shallow pruning. Every position is scored with one score per player, and every player makes the
+ * move that gives itself the highest score, without assuming anything about the goals of the others.
+ *
+ * A player is scored by the positional weights of its discs, shifted so that every slot is worth at least 1, and its
+ * mobility, see {@link PositionalEvaluator}. The scores are never negative and their sum never exceeds a bound given by
+ * the board, so once a player has found a move that leaves less than the best score of the player before it, the rest
+ * of its moves can not change the choice of that player and are pruned. A player who moves again after the others
+ * have passed is never pruned. When the game is over the players with the most discs share the bound.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MaxNSearcher extends MultiPlayerSearcher {
+	private final int numPlayers;
+	private final int[] slotWeights;
+	private final int maxSum;
+	private int[][] scores;
+	private int rootBest;
+
+	/**
+	 * Constructs a max^n searcher for the given board. The searcher makes and takes back moves on the board, but leaves
+	 * it as it was after every search.
+	 *
+	 * @param board The board to search, with the player indices in turn order
+	 */
+	public MaxNSearcher(SearchBoard board) {
+		super(board);
+		this.numPlayers = board.getNumPlayers();
+
+		int[] weights = PositionalEvaluator.computeWeights(board.getLayout());
+		this.slotWeights = new int[weights.length];
+		int sum = 0;
+		for (int slot = 0; slot < weights.length; slot++) {
+			slotWeights[slot] = weights[slot] - PositionalEvaluator.CORNER_NEIGHBOR_WEIGHT + 1;
+			sum += slotWeights[slot];
+		}
+		// A player can not have more valid moves than there are slots
+		this.maxSum = sum + numPlayers * PositionalEvaluator.MOBILITY_WEIGHT * weights.length;
+		this.scores = new int[0][];
+	}
+
+	/**
+	 * @return The bound of the sum of the scores of all players, which is also the score of a sole winner
+	 */
+	public int getMaxSum() {
+		return maxSum;
+	}
+
+	@Override
+	protected void startSearch(int player) {
+		rootBest = -1;
+	}
+
+	@Override
+	protected int searchRootMove(int player, int depth) {
+		int score = searchNext(player, depth, 1, getBound(rootBest))[player];
+		if (!isAborted() && score > rootBest) {
+			rootBest = score;
+		}
+		return score;
+	}
+
+	/**
+	 * Searches the position after a move of the given player. The bound only holds when another player moves next, so a
+	 * player who moves again searches all its moves.
+	 */
+	private int[] searchNext(int player, int depth, int ply, int bound) {
+		int next = getNextPlayer(player);
+		if (next == BoardLayout.EMPTY) {
+			return getFinalScores(getScores(ply));
+		}
+		return maxn(next, depth, ply, next == player ? Integer.MAX_VALUE : bound);
+	}
+
+	/**
+	 * Searches the moves of a player and returns the scores of its best move. The search stops as soon as the player
+	 * gets at least the given bound, since the player before it will then not choose this position.
+	 */
+	private int[] maxn(int player, int depth, int ply, int bound) {
+		int[] result = getScores(ply);
+		if (visitNode()) {
+			return result;
+		}
+		if (depth == 0) {
+			return evaluate(result);
+		}
+
+		SearchBoard board = getBoard();
+		int numMoves = generateMoves(player, ply, BoardLayout.EMPTY);
+		int[] plyMoves = getMoves(ply);
+		int best = -1;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, plyMoves[i]);
+			int[] child = searchNext(player, depth - 1, ply + 1, getBound(best));
+			board.undoMove();
+			if (isAborted()) {
+				return result;
+			}
+			if (child[player] > best) {
+				best = child[player];
+				System.arraycopy(child, 0, result, 0, numPlayers);
+				if (best >= bound) {
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the score that makes a player stop searching, because the player before it, who has the given best score,
+	 * will not choose the position.
+	 */
+	private int getBound(int best) {
+		return best < 0 ? Integer.MAX_VALUE : maxSum - best;
+	}
+
+	private int[] evaluate(int[] result) {
+		SearchBoard board = getBoard();
+		Arrays.fill(result, 0);
+		for (int slot = 0; slot < slotWeights.length; slot++) {
+			int occupant = board.getOccupant(slot);
+			if (occupant != BoardLayout.EMPTY) {
+				result[occupant] += slotWeights[slot];
+			}
+		}
+		for (int player = 0; player < numPlayers; player++) {
+			result[player] += PositionalEvaluator.MOBILITY_WEIGHT * board.getNumValidMoves(player);
+		}
+		return result;
+	}
+
+	private int[] getFinalScores(int[] result) {
+		SearchBoard board = getBoard();
+		int maxDiscs = 0;
+		int numWinners = 0;
+		for (int player = 0; player < numPlayers; player++) {
+			int discs = board.getDiscCount(player);
+			if (discs > maxDiscs) {
+				maxDiscs = discs;
+				numWinners = 1;
+			} else if (discs == maxDiscs) {
+				numWinners++;
+			}
+		}
+		for (int player = 0; player < numPlayers; player++) {
+			result[player] = board.getDiscCount(player) == maxDiscs ? maxSum / numWinners : 0;
+		}
+		return result;
+	}
+
+	private int[] getScores(int ply) {
+		if (ply >= scores.length) {
+			int oldLength = scores.length;
+			scores = Arrays.copyOf(scores, Math.max(2 * oldLength, ply + 1));
+			for (int i = oldLength; i < scores.length; i++) {
+				scores[i] = new int[numPlayers];
+			}
+		}
+		return scores[ply];
+	}
+}
@@ -0,0 +1,101 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+
+/**
+ * A summary of a finished Monte Carlo tree search, with the number of playouts of each thread of the search.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MctsInfo {
+	private final long[] threadPlayouts;
+	private final long elapsedNanos;
+	private final int reusedVisits;
+	private final int rootVisits;
+
+	/**
+	 * Creates a search summary.
+	 *
+	 * @param threadPlayouts The number of playouts of each thread of the search
+	 * @param elapsedNanos The time the search took
+	 * @param reusedVisits The number of playouts through the root that were kept from earlier searches
+	 * @param rootVisits The number of playouts through the root after the search
+	 */
+	public MctsInfo(long[] threadPlayouts, long elapsedNanos, int reusedVisits, int rootVisits) {
+		this.threadPlayouts = threadPlayouts.clone();
+		this.elapsedNanos = elapsedNanos;
+		this.reusedVisits = reusedVisits;
+		this.rootVisits = rootVisits;
+	}
+
+	/**
+	 * @return The number of threads of the search
+	 */
+	public int getNumThreads() {
+		return threadPlayouts.length;
+	}
+
+	/**
+	 * @return The number of playouts of all threads of the search
+	 */
+	public long getPlayouts() {
+		return Arrays.stream(threadPlayouts).sum();
+	}
+
+	/**
+	 * @param thread The index of a thread, less than {@link #getNumThreads()}
+	 * @return The number of playouts of the thread
+	 */
+	public long getPlayouts(int thread) {
+		return threadPlayouts[thread];
+	}
+
+	/**
+	 * @return The time the search took in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The number of playouts through the root that were kept from earlier searches
+	 */
+	public int getReusedVisits() {
+		return reusedVisits;
+	}
+
+	/**
+	 * @return The number of playouts through the root after the search
+	 */
+	public int getRootVisits() {
+		return rootVisits;
+	}
+
+	/**
+	 * @return The number of playouts per second of all threads
+	 */
+	public long getPlayoutsPerSecond() {
+		return elapsedNanos == 0 ? 0 : (long) (getPlayouts() * 1e9 / elapsedNanos);
+	}
+
+	/**
+	 * @param thread The index of a thread, less than {@link #getNumThreads()}
+	 * @return The number of playouts per second of the thread
+	 */
+	public long getPlayoutsPerSecond(int thread) {
+		return elapsedNanos == 0 ? 0 : (long) (threadPlayouts[thread] * 1e9 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder perThread = new StringBuilder();
+		for (int thread = 0; thread < threadPlayouts.length; thread++) {
+			perThread.append(thread == 0 ? "" : ", ").append(getPlayoutsPerSecond(thread));
+		}
+		return getPlayouts() + " playouts in " + elapsedNanos / 1000000 + " ms (" + getPlayoutsPerSecond()
+				+ " playouts/s, per thread " + perThread + "), " + reusedVisits + " of " + rootVisits
+				+ " root visits reused";
+	}
+}
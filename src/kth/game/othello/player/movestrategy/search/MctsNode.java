@@ -0,0 +1,241 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import kth.game.othello.board.BoardLayout;
+
+/**
+ * A node of a Monte Carlo search tree. Every node is a position, reached from its parent by one move, and keeps the
+ * number of playouts through it together with the total reward of each player in those playouts.
+ *
+ * The moves of the player in turn that have not yet been expanded into children are kept in the node, so each playout
+ * adds at most one node to the tree.
+ *
+ * Several threads can search the same tree. The counters are updated atomically, children are expanded under the lock
+ * of the node, and a thread descending through a node adds a virtual loss to it until its playout is backed up, which
+ * makes the other threads prefer other paths in the meantime.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MctsNode {
+	private static final MctsNode[] NO_CHILDREN = new MctsNode[0];
+	private static final AtomicIntegerFieldUpdater<MctsNode> VISITS = AtomicIntegerFieldUpdater.newUpdater(
+			MctsNode.class, "visits");
+	private static final AtomicIntegerFieldUpdater<MctsNode> VIRTUAL_LOSSES = AtomicIntegerFieldUpdater.newUpdater(
+			MctsNode.class, "virtualLosses");
+
+	private volatile MctsNode parent;
+	private final int move;
+	private final int player;
+	private final long hash;
+	private final int[] untriedMoves;
+	private volatile int numUntriedMoves;
+	private volatile MctsNode[] children;
+	private volatile int numChildren;
+	private volatile int visits;
+	private volatile int virtualLosses;
+	private final AtomicLongArray rewards;
+
+	/**
+	 * Creates a node without playouts.
+	 *
+	 * @param parent The parent of the node, or null for a root
+	 * @param move The slot of the move leading from the parent to this node, or {@link BoardLayout#EMPTY} for a root
+	 * @param player The index of the player in turn, or {@link BoardLayout#EMPTY} if the game is over
+	 * @param hash The hash of the occupants of the position
+	 * @param moves The valid moves of the player in turn
+	 * @param numMoves The number of valid moves
+	 * @param numPlayers The number of players of the game
+	 */
+	public MctsNode(MctsNode parent, int move, int player, long hash, int[] moves, int numMoves, int numPlayers) {
+		this.parent = parent;
+		this.move = move;
+		this.player = player;
+		this.hash = hash;
+		this.untriedMoves = Arrays.copyOf(moves, numMoves);
+		this.numUntriedMoves = numMoves;
+		this.children = NO_CHILDREN;
+		this.rewards = new AtomicLongArray(numPlayers);
+	}
+
+	/**
+	 * @return The parent of the node, or null for a root
+	 */
+	public MctsNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * @return The slot of the move leading from the parent to this node, or {@link BoardLayout#EMPTY} for a root
+	 */
+	public int getMove() {
+		return move;
+	}
+
+	/**
+	 * @return The index of the player in turn, or {@link BoardLayout#EMPTY} if the game is over
+	 */
+	public int getPlayer() {
+		return player;
+	}
+
+	/**
+	 * @return The hash of the occupants of the position
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * @return The number of playouts through this node
+	 */
+	public int getVisits() {
+		return visits;
+	}
+
+	/**
+	 * @return The number of playouts currently passing through this node that have not been backed up yet
+	 */
+	public int getVirtualLosses() {
+		return virtualLosses;
+	}
+
+	/**
+	 * Gets the average reward of a player in the playouts through this node.
+	 *
+	 * @param player The index of the player
+	 * @return The average reward, between 0 and 1, or 0 if there has been no playout
+	 */
+	public double getAverageReward(int player) {
+		int n = visits;
+		return n == 0 ? 0 : getTotalReward(player) / n;
+	}
+
+	/**
+	 * @param player The index of the player
+	 * @return The sum of the rewards of the player in the playouts through this node
+	 */
+	public double getTotalReward(int player) {
+		return Double.longBitsToDouble(rewards.get(player));
+	}
+
+	/**
+	 * @return The number of expanded children
+	 */
+	public int getNumChildren() {
+		return numChildren;
+	}
+
+	/**
+	 * @param index The index of a child, less than {@link #getNumChildren()}
+	 * @return The child
+	 */
+	public MctsNode getChild(int index) {
+		return children[index];
+	}
+
+	/**
+	 * @return True if every valid move of the position has been expanded into a child
+	 */
+	public boolean isFullyExpanded() {
+		return numUntriedMoves == 0;
+	}
+
+	/**
+	 * @return The child with the most playouts, or null if the node has no children
+	 */
+	public MctsNode getMostVisitedChild() {
+		MctsNode best = null;
+		for (int i = 0, n = numChildren; i < n; i++) {
+			MctsNode child = children[i];
+			if (best == null || child.visits > best.visits) {
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Counts the nodes of the subtree rooted at this node.
+	 *
+	 * @return The number of nodes, including this node
+	 */
+	public int getTreeSize() {
+		int size = 1;
+		for (int i = 0, n = numChildren; i < n; i++) {
+			size += children[i].getTreeSize();
+		}
+		return size;
+	}
+
+	/**
+	 * Removes a random untried move from the node, to be expanded into a child by the caller. Must be called while
+	 * holding the lock of the node.
+	 *
+	 * @param random A number used to pick the move, any non-negative value
+	 * @return The slot of the move, or {@link BoardLayout#EMPTY} if every move has been tried
+	 */
+	int removeUntriedMove(int random) {
+		int n = numUntriedMoves;
+		if (n == 0) {
+			return BoardLayout.EMPTY;
+		}
+		int index = random % n;
+		int slot = untriedMoves[index];
+		untriedMoves[index] = untriedMoves[n - 1];
+		numUntriedMoves = n - 1;
+		return slot;
+	}
+
+	/**
+	 * Adds a child. Must be called while holding the lock of the node.
+	 */
+	void addChild(MctsNode child) {
+		MctsNode[] current = children;
+		int n = numChildren;
+		if (n == current.length) {
+			current = Arrays.copyOf(current, n + numUntriedMoves + 1);
+		}
+		current[n] = child;
+		// The array is published before the count, so a reader seeing the count also sees the child
+		children = current;
+		numChildren = n + 1;
+	}
+
+	void addVirtualLoss() {
+		VIRTUAL_LOSSES.incrementAndGet(this);
+	}
+
+	/**
+	 * Backs up the rewards of a playout through this node.
+	 *
+	 * @param playoutRewards The reward of each player
+	 * @param virtualLoss True if the playout added a virtual loss to this node, which is then removed
+	 */
+	void addPlayout(double[] playoutRewards, boolean virtualLoss) {
+		for (int i = 0; i < playoutRewards.length; i++) {
+			if (playoutRewards[i] != 0) {
+				long current;
+				do {
+					current = rewards.get(i);
+				} while (!rewards.compareAndSet(i, current, Double.doubleToRawLongBits(Double
+						.longBitsToDouble(current) + playoutRewards[i])));
+			}
+		}
+		VISITS.incrementAndGet(this);
+		if (virtualLoss) {
+			VIRTUAL_LOSSES.decrementAndGet(this);
+		}
+	}
+
+	/**
+	 * Makes this node a root, letting the rest of the tree be garbage collected.
+	 */
+	void detach() {
+		parent = null;
+	}
+}
@@ -0,0 +1,348 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * A Monte Carlo tree search with the UCT selection rule, for any number of players. Every playout descends the tree by
+ * the upper confidence bound of the player in turn, expands one new node, and then plays random moves on the search
+ * board to the end of the game. The winners of the playout share a reward of 1, which is added to every node on the
+ * way back up.
+ *
+ * Several threads can search the same tree at once, each playing out on its own copy of the board. Virtual losses
+ * spread the threads over different paths of the tree.
+ *
+ * The turn passes like in {@link kth.game.othello.player.turndecider.Rotation}: after a move the next player in index
+ * order that has a valid move is in turn. The tree is kept between searches, and when the position of the next search
+ * is found a few moves below the old root, the subtree of that position becomes the new root.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MctsSearcher {
+	public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+	private final int numPlayers;
+	private final double exploration;
+	private final SplittableRandom random;
+	private SearchBoard board;
+	private Worker worker;
+	private MctsNode root;
+	private boolean rootReused;
+	private long playouts;
+
+	/**
+	 * Constructs a searcher without a tree.
+	 *
+	 * @param numPlayers The number of players of the game
+	 * @param exploration The exploration constant of the upper confidence bound
+	 * @param random The random generator of the playouts
+	 */
+	public MctsSearcher(int numPlayers, double exploration, SplittableRandom random) {
+		this.numPlayers = numPlayers;
+		this.exploration = exploration;
+		this.random = random;
+	}
+
+	/**
+	 * Sets the position to search. If the position is in the tree of the last search, at most one move per player
+	 * below its root, that part of the tree is kept, otherwise the tree is started over.
+	 *
+	 * @param board The board of the position, with the number of players of the searcher. The searcher makes and takes
+	 *            back moves on the board, but leaves it as it was after every search.
+	 * @param player The index of the player in turn
+	 * @throws IllegalArgumentException if the board has another number of players or the player has no valid move
+	 */
+	public void setPosition(SearchBoard board, int player) {
+		if (board.getNumPlayers() != numPlayers) {
+			throw new IllegalArgumentException("The board must have " + numPlayers + " players.");
+		}
+		if (!board.hasValidMove(player)) {
+			throw new IllegalArgumentException("The player has no valid move.");
+		}
+		this.board = board;
+		this.worker = new Worker(board, random, false);
+
+		MctsNode node = root == null ? null : findPosition(board.getHash(), player);
+		rootReused = node != null;
+		if (rootReused) {
+			node.detach();
+			root = node;
+		} else {
+			root = worker.createNode(null, BoardLayout.EMPTY, player);
+		}
+	}
+
+	/**
+	 * Runs playouts from the position until the limits are exceeded, but at least one.
+	 *
+	 * @param limits The limits of the search, where the nodes are the playouts of this search
+	 * @return The number of playouts of this search
+	 */
+	public long search(SearchLimits limits) {
+		long searchPlayouts = 0;
+		do {
+			worker.playout();
+			searchPlayouts++;
+		} while (!limits.isExceeded(searchPlayouts));
+		playouts += searchPlayouts;
+		return searchPlayouts;
+	}
+
+	/**
+	 * Runs playouts from the position on several threads at once, all sharing the tree, until the limits are exceeded.
+	 * Every thread plays out on its own copy of the board and makes at least one playout.
+	 *
+	 * @param limits The limits of the search, where the nodes are the playouts of all threads of this search
+	 * @param numThreads The number of threads
+	 * @param executor The executor running the threads, which must be able to run them all at once
+	 * @return The number of playouts of each thread
+	 * @throws IllegalStateException if a thread fails or the waiting for the threads is interrupted
+	 */
+	public long[] search(SearchLimits limits, int numThreads, ExecutorService executor) {
+		AtomicLong searchPlayouts = new AtomicLong();
+		List<Future<Long>> futures = new ArrayList<>(numThreads);
+		for (int thread = 0; thread < numThreads; thread++) {
+			Worker threadWorker = new Worker(board.copy(), random.split(), true);
+			futures.add(executor.submit(() -> {
+				long threadPlayouts = 0;
+				do {
+					threadWorker.playout();
+					threadPlayouts++;
+				} while (!limits.isExceeded(searchPlayouts.incrementAndGet()));
+				return threadPlayouts;
+			}));
+		}
+
+		long[] threadPlayouts = new long[numThreads];
+		try {
+			for (int thread = 0; thread < numThreads; thread++) {
+				threadPlayouts[thread] = futures.get(thread).get();
+				playouts += threadPlayouts[thread];
+			}
+		} catch (InterruptedException e) {
+			limits.stop();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			limits.stop();
+			throw new IllegalStateException("The search failed.", e.getCause());
+		}
+		return threadPlayouts;
+	}
+
+	/**
+	 * @return The number of players of the game
+	 */
+	public int getNumPlayers() {
+		return numPlayers;
+	}
+
+	/**
+	 * @return The slot of the root move with the most playouts
+	 */
+	public int getBestMove() {
+		return root.getMostVisitedChild().getMove();
+	}
+
+	/**
+	 * @return The root of the tree, the position of the last call to {@link #setPosition}
+	 */
+	public MctsNode getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return True if the root of the tree was kept from an earlier search
+	 */
+	public boolean isRootReused() {
+		return rootReused;
+	}
+
+	/**
+	 * @return The number of playouts of all searches of this searcher
+	 */
+	public long getPlayouts() {
+		return playouts;
+	}
+
+	/**
+	 * Searches the tree, breadth first and at most one move per player deep, for the node of the given position.
+	 */
+	private MctsNode findPosition(long hash, int player) {
+		Deque<MctsNode> queue = new ArrayDeque<>();
+		Deque<Integer> depths = new ArrayDeque<>();
+		queue.add(root);
+		depths.add(0);
+		while (!queue.isEmpty()) {
+			MctsNode node = queue.poll();
+			int depth = depths.poll();
+			if (node.getHash() == hash && node.getPlayer() == player) {
+				return node;
+			}
+			if (depth < numPlayers) {
+				for (int i = 0; i < node.getNumChildren(); i++) {
+					queue.add(node.getChild(i));
+					depths.add(depth + 1);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Plays out from the root of the tree on one board, with its own random generator and buffers.
+	 */
+	private class Worker {
+		private final SearchBoard board;
+		private final SplittableRandom random;
+		private final boolean virtualLoss;
+		private final int[] moves;
+		private final double[] playoutRewards;
+
+		Worker(SearchBoard board, SplittableRandom random, boolean virtualLoss) {
+			this.board = board;
+			this.random = random;
+			this.virtualLoss = virtualLoss;
+			this.moves = new int[board.getLayout().getNumSlots()];
+			this.playoutRewards = new double[numPlayers];
+		}
+
+		void playout() {
+			MctsNode start = root;
+			MctsNode node = start;
+			int numMoves = 0;
+
+			// Selection and expansion
+			while (true) {
+				if (!node.isFullyExpanded()) {
+					MctsNode child = expand(node);
+					if (child != null) {
+						numMoves++;
+						node = child;
+						break;
+					}
+				}
+				if (node.getNumChildren() == 0) {
+					break;
+				}
+				MctsNode child = select(node);
+				if (virtualLoss) {
+					child.addVirtualLoss();
+				}
+				board.makeMove(node.getPlayer(), child.getMove());
+				numMoves++;
+				node = child;
+			}
+
+			// Simulation
+			int player = node.getPlayer();
+			while (player != BoardLayout.EMPTY) {
+				int numValidMoves = board.getValidMoves(player, moves);
+				board.makeMove(player, moves[random.nextInt(numValidMoves)]);
+				numMoves++;
+				player = getNextPlayer(player);
+			}
+			computeRewards();
+			for (int i = 0; i < numMoves; i++) {
+				board.undoMove();
+			}
+
+			// Backpropagation
+			for (; node != null; node = node.getParent()) {
+				node.addPlayout(playoutRewards, virtualLoss && node != start);
+				if (node == start) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Expands a random untried move of the node into a child and makes the move, or returns null if another thread
+		 * expanded the last untried move first.
+		 */
+		private MctsNode expand(MctsNode node) {
+			synchronized (node) {
+				int slot = node.removeUntriedMove(random.nextInt(Integer.MAX_VALUE));
+				if (slot == BoardLayout.EMPTY) {
+					return null;
+				}
+				board.makeMove(node.getPlayer(), slot);
+				MctsNode child = createNode(node, slot, getNextPlayer(node.getPlayer()));
+				if (virtualLoss) {
+					child.addVirtualLoss();
+				}
+				node.addChild(child);
+				return child;
+			}
+		}
+
+		private MctsNode select(MctsNode node) {
+			double logVisits = Math.log(Math.max(node.getVisits() + node.getVirtualLosses(), 1));
+			MctsNode best = null;
+			double bestValue = Double.NEGATIVE_INFINITY;
+			for (int i = 0, n = node.getNumChildren(); i < n; i++) {
+				MctsNode child = node.getChild(i);
+				// A virtual loss counts as a playout without reward
+				int visits = child.getVisits() + child.getVirtualLosses();
+				double value = visits == 0 ? Double.POSITIVE_INFINITY : child.getTotalReward(node.getPlayer()) / visits
+						+ exploration * Math.sqrt(logVisits / visits);
+				if (value > bestValue) {
+					bestValue = value;
+					best = child;
+				}
+			}
+			return best;
+		}
+
+		MctsNode createNode(MctsNode parent, int move, int player) {
+			int numMoves = player == BoardLayout.EMPTY ? 0 : board.getValidMoves(player, moves);
+			return new MctsNode(parent, move, player, board.getHash(), moves, numMoves, numPlayers);
+		}
+
+		/**
+		 * Finds the next player in turn after a move of the given player, or {@link BoardLayout#EMPTY} if the game is
+		 * over.
+		 */
+		private int getNextPlayer(int player) {
+			for (int i = 1; i < numPlayers; i++) {
+				int next = (player + i) % numPlayers;
+				if (board.hasValidMove(next)) {
+					return next;
+				}
+			}
+			return board.hasValidMove(player) ? player : BoardLayout.EMPTY;
+		}
+
+		/**
+		 * Shares a reward of 1 between the players with the most discs.
+		 */
+		private void computeRewards() {
+			int maxDiscs = 0;
+			int numWinners = 0;
+			for (int player = 0; player < numPlayers; player++) {
+				int discs = board.getDiscCount(player);
+				if (discs > maxDiscs) {
+					maxDiscs = discs;
+					numWinners = 1;
+				} else if (discs == maxDiscs) {
+					numWinners++;
+				}
+			}
+			for (int player = 0; player < numPlayers; player++) {
+				playoutRewards[player] = board.getDiscCount(player) == maxDiscs ? 1.0 / numWinners : 0;
+			}
+		}
+	}
+}
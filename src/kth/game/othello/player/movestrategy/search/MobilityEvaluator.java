@@ -0,0 +1,126 @@
+package kth.game.othello.player.movestrategy.search;
+
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * An evaluator that scores the freedom of movement of the players. A player gains for every valid move
+ * (mobility) and for every empty slot next to a disc of an opponent (potential mobility), and loses for every own disc
+ * next to an empty slot (frontier discs), since frontier discs give the opponents moves. Each term is the difference
+ * between the player and the opponents.
+ *
+ * On a {@link BitSearchBoard} all terms are computed from the two occupancy masks with shifts and population counts.
+ * Other boards are scanned slot by slot.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class MobilityEvaluator implements Evaluator {
+	public static final int DEFAULT_MOBILITY_WEIGHT = 4;
+	public static final int DEFAULT_POTENTIAL_MOBILITY_WEIGHT = 2;
+	public static final int DEFAULT_FRONTIER_WEIGHT = 1;
+
+	private final int mobilityWeight;
+	private final int potentialMobilityWeight;
+	private final int frontierWeight;
+
+	/**
+	 * Creates a mobility evaluator with the default weights.
+	 */
+	public MobilityEvaluator() {
+		this(DEFAULT_MOBILITY_WEIGHT, DEFAULT_POTENTIAL_MOBILITY_WEIGHT, DEFAULT_FRONTIER_WEIGHT);
+	}
+
+	/**
+	 * Creates a mobility evaluator with the given weights.
+	 *
+	 * @param mobilityWeight The weight of each valid move
+	 * @param potentialMobilityWeight The weight of each empty slot next to a disc of an opponent
+	 * @param frontierWeight The weight subtracted for each own disc next to an empty slot
+	 * @throws IllegalArgumentException if a weight is negative
+	 */
+	public MobilityEvaluator(int mobilityWeight, int potentialMobilityWeight, int frontierWeight) {
+		if (mobilityWeight < 0 || potentialMobilityWeight < 0 || frontierWeight < 0) {
+			throw new IllegalArgumentException("The weights can not be negative.");
+		}
+		this.mobilityWeight = mobilityWeight;
+		this.potentialMobilityWeight = potentialMobilityWeight;
+		this.frontierWeight = frontierWeight;
+	}
+
+	@Override
+	public int evaluate(SearchBoard board, int player) {
+		if (board instanceof BitSearchBoard) {
+			BitSearchBoard bitBoard = (BitSearchBoard) board;
+			return evaluate(bitBoard.getDiscs(player), bitBoard.getDiscs(1 - player));
+		}
+
+		BoardLayout layout = board.getLayout();
+		int mobility = 0;
+		int potentialMobility = 0;
+		int frontier = 0;
+		for (int slot = 0; slot < layout.getNumSlots(); slot++) {
+			int occupant = board.getOccupant(slot);
+			if (occupant == BoardLayout.EMPTY) {
+				for (int other = 0; other < board.getNumPlayers(); other++) {
+					if (board.isMoveValid(other, slot)) {
+						mobility += other == player ? 1 : -1;
+					}
+				}
+				// The empty slot is potential mobility for every player with a neighboring opponent disc
+				for (int other = 0; other < board.getNumPlayers(); other++) {
+					if (isNextToOpponent(board, slot, other)) {
+						potentialMobility += other == player ? 1 : -1;
+					}
+				}
+			} else if (isNextToEmpty(board, slot)) {
+				frontier += occupant == player ? 1 : -1;
+			}
+		}
+		return mobilityWeight * mobility + potentialMobilityWeight * potentialMobility - frontierWeight * frontier;
+	}
+
+	/**
+	 * Evaluates a position of the traditional 8x8 two player game from the occupancy masks of the players.
+	 *
+	 * @param own The discs of the player to evaluate for
+	 * @param opponent The discs of the opponent
+	 * @return The evaluation of the position
+	 */
+	public int evaluate(long own, long opponent) {
+		long empty = ~(own | opponent);
+		int mobility = Long.bitCount(BitBoard.getValidMoves(own, opponent))
+				- Long.bitCount(BitBoard.getValidMoves(opponent, own));
+		int potentialMobility = Long.bitCount(BitBoard.getNeighbors(opponent) & empty)
+				- Long.bitCount(BitBoard.getNeighbors(own) & empty);
+		long nextToEmpty = BitBoard.getNeighbors(empty);
+		int frontier = Long.bitCount(own & nextToEmpty) - Long.bitCount(opponent & nextToEmpty);
+		return mobilityWeight * mobility + potentialMobilityWeight * potentialMobility - frontierWeight * frontier;
+	}
+
+	private boolean isNextToOpponent(SearchBoard board, int slot, int player) {
+		BoardLayout layout = board.getLayout();
+		for (int direction = 0; direction < BoardLayout.NUM_DIRECTIONS; direction++) {
+			int neighbor = layout.getNeighbor(slot, direction);
+			if (neighbor != BoardLayout.EMPTY && board.getOccupant(neighbor) != BoardLayout.EMPTY
+					&& board.getOccupant(neighbor) != player) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isNextToEmpty(SearchBoard board, int slot) {
+		BoardLayout layout = board.getLayout();
+		for (int direction = 0; direction < BoardLayout.NUM_DIRECTIONS; direction++) {
+			int neighbor = layout.getNeighbor(slot, direction);
+			if (neighbor != BoardLayout.EMPTY && board.getOccupant(neighbor) == BoardLayout.EMPTY) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,226 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * A depth-first search for any number of players on a search board. The turn passes like in
+ * {@link kth.game.othello.player.turndecider.Rotation}: after a move the next player in index order that has a valid
+ * move is in turn, so the player indices of the board must be in turn order. A player who is skipped does not use up
+ * depth, and when no player can move the game is over. The limits of the search are checked regularly and an exceeded
+ * limit aborts the search.
+ *
+ * Subclasses decide how the moves of each player are chosen, see {@link MaxNSearcher} and {@link ParanoidSearcher}.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public abstract class MultiPlayerSearcher {
+	private static final int CHECK_INTERVAL = 1024;
+
+	private final SearchBoard board;
+	private final boolean[] corners;
+	private int[][] moves;
+
+	private SearchLimits limits;
+	private boolean aborted;
+	private long nodes;
+	private int bestMove;
+	private int bestScore;
+
+	/**
+	 * Constructs a searcher for the given board. The searcher makes and takes back moves on the board, but leaves it as
+	 * it was after every search.
+	 *
+	 * @param board The board to search, with the player indices in turn order
+	 */
+	protected MultiPlayerSearcher(SearchBoard board) {
+		this.board = board;
+
+		BoardLayout layout = board.getLayout();
+		this.corners = new boolean[layout.getNumSlots()];
+		for (int slot = 0; slot < corners.length; slot++) {
+			corners[slot] = layout.isCorner(slot);
+		}
+		this.moves = new int[0][];
+	}
+
+	/**
+	 * Searches the moves of a player to the given depth. If the search is aborted, the best move is the best of the
+	 * moves that were searched completely before the abort.
+	 *
+	 * @param player The index of the player to move
+	 * @param depth The number of moves to look ahead, at least 1
+	 * @param firstMove A slot to search first, usually the best move of a shallower search, or
+	 *            {@link BoardLayout#EMPTY}
+	 * @param limits The limits of the search
+	 * @return True if the search completed and false if it was aborted
+	 * @throws IllegalArgumentException if the player has no valid move
+	 */
+	public boolean search(int player, int depth, int firstMove, SearchLimits limits) {
+		this.limits = limits;
+		this.aborted = false;
+		this.bestMove = BoardLayout.EMPTY;
+		this.bestScore = 0;
+
+		int[] rootMoves = getMoves(0);
+		int numMoves = board.getValidMoves(player, rootMoves);
+		if (numMoves == 0) {
+			throw new IllegalArgumentException("The player has no valid move.");
+		}
+		orderMoves(rootMoves, numMoves, firstMove);
+		nodes++;
+
+		startSearch(player);
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, rootMoves[i]);
+			int score = searchRootMove(player, depth - 1);
+			board.undoMove();
+			if (aborted) {
+				return false;
+			}
+			if (bestMove == BoardLayout.EMPTY || score > bestScore) {
+				bestScore = score;
+				bestMove = rootMoves[i];
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The slot of the best move found by the last search, or {@link BoardLayout#EMPTY} if it was aborted
+	 *         before any move was searched completely
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return The score of the best move found by the last search, for the player who made it
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * @return The number of nodes visited by all searches of this searcher
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Prepares a search of the moves of the given player.
+	 *
+	 * @param player The index of the player moving at the root
+	 */
+	protected abstract void startSearch(int player);
+
+	/**
+	 * Searches the position after a move at the root.
+	 *
+	 * @param player The index of the player who made the move
+	 * @param depth The remaining depth
+	 * @return The score of the move for the player, where higher is better
+	 */
+	protected abstract int searchRootMove(int player, int depth);
+
+	/**
+	 * @return The board being searched
+	 */
+	protected SearchBoard getBoard() {
+		return board;
+	}
+
+	/**
+	 * Counts a visited node and checks the limits of the search now and then.
+	 *
+	 * @return True if the search is aborted and should return at once
+	 */
+	protected boolean visitNode() {
+		nodes++;
+		if ((nodes & (CHECK_INTERVAL - 1)) == 0 && limits.isExceeded(nodes)) {
+			aborted = true;
+		}
+		return aborted;
+	}
+
+	/**
+	 * @return True if the current search has been aborted
+	 */
+	protected boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Finds the next player in turn after a move of the given player.
+	 *
+	 * @param player The index of the player who moved
+	 * @return The index of the next player with a valid move, or {@link BoardLayout#EMPTY} if the game is over
+	 */
+	protected int getNextPlayer(int player) {
+		int numPlayers = board.getNumPlayers();
+		for (int i = 1; i < numPlayers; i++) {
+			int next = (player + i) % numPlayers;
+			if (board.hasValidMove(next)) {
+				return next;
+			}
+		}
+		return board.hasValidMove(player) ? player : BoardLayout.EMPTY;
+	}
+
+	/**
+	 * Writes the valid moves of a player to the move array of a ply, with the given first move at the front, followed
+	 * by the corners, which are usually the best moves.
+	 *
+	 * @param player The index of the player
+	 * @param ply The number of moves from the root
+	 * @param firstMove A slot to put first, or {@link BoardLayout#EMPTY}
+	 * @return The number of moves written to {@link #getMoves(int)} of the ply
+	 */
+	protected int generateMoves(int player, int ply, int firstMove) {
+		int[] plyMoves = getMoves(ply);
+		int numMoves = board.getValidMoves(player, plyMoves);
+		orderMoves(plyMoves, numMoves, firstMove);
+		return numMoves;
+	}
+
+	/**
+	 * @param ply The number of moves from the root
+	 * @return The array of the moves of the ply, with room for every slot of the board
+	 */
+	protected int[] getMoves(int ply) {
+		if (ply >= moves.length) {
+			int oldLength = moves.length;
+			moves = Arrays.copyOf(moves, Math.max(2 * oldLength, ply + 1));
+			for (int i = oldLength; i < moves.length; i++) {
+				moves[i] = new int[corners.length];
+			}
+		}
+		return moves[ply];
+	}
+
+	private void orderMoves(int[] moves, int numMoves, int firstMove) {
+		int front = 0;
+		for (int i = 0; i < numMoves; i++) {
+			if (moves[i] == firstMove) {
+				swap(moves, front++, i);
+				break;
+			}
+		}
+		for (int i = front; i < numMoves; i++) {
+			if (corners[moves[i]]) {
+				swap(moves, front++, i);
+			}
+		}
+	}
+
+	private void swap(int[] moves, int i, int j) {
+		int move = moves[i];
+		moves[i] = moves[j];
+		moves[j] = move;
+	}
+}
@@ -0,0 +1,131 @@
+package kth.game.othello.player.movestrategy.search;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * A paranoid search with alpha-beta pruning. The player moving at the root assumes that all other players have formed
+ * a coalition against it, so the root player makes the moves that maximize its evaluation and every other player makes
+ * the moves that minimize it. The game is thereby reduced to two sides, which allows the full alpha-beta pruning that
+ * a max^n search can not use. When the game is over it is a win for the root player if it has more discs than every
+ * other player.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class ParanoidSearcher extends MultiPlayerSearcher {
+	private static final int INFINITY = AlphaBetaSearcher.WIN << 2;
+
+	private final Evaluator evaluator;
+	private int root;
+	private int rootAlpha;
+
+	/**
+	 * Constructs a paranoid searcher for the given board. The searcher makes and takes back moves on the board, but
+	 * leaves it as it was after every search.
+	 *
+	 * @param board The board to search, with the player indices in turn order
+	 * @param evaluator The evaluator of positions where the search stops, for the player moving at the root
+	 */
+	public ParanoidSearcher(SearchBoard board, Evaluator evaluator) {
+		super(board);
+		this.evaluator = evaluator;
+	}
+
+	@Override
+	protected void startSearch(int player) {
+		root = player;
+		rootAlpha = -INFINITY;
+	}
+
+	@Override
+	protected int searchRootMove(int player, int depth) {
+		int score = searchNext(player, depth, 1, rootAlpha, INFINITY);
+		if (!isAborted()) {
+			rootAlpha = Math.max(rootAlpha, score);
+		}
+		return score;
+	}
+
+	/**
+	 * Searches the position after a move of the given player.
+	 */
+	private int searchNext(int player, int depth, int ply, int alpha, int beta) {
+		int next = getNextPlayer(player);
+		if (next == BoardLayout.EMPTY) {
+			return getFinalScore();
+		}
+		return paranoid(next, depth, ply, alpha, beta);
+	}
+
+	private int paranoid(int player, int depth, int ply, int alpha, int beta) {
+		if (visitNode()) {
+			return 0;
+		}
+		if (depth == 0) {
+			return evaluator.evaluate(getBoard(), root);
+		}
+
+		SearchBoard board = getBoard();
+		int numMoves = generateMoves(player, ply, BoardLayout.EMPTY);
+		int[] plyMoves = getMoves(ply);
+		if (player == root) {
+			int best = -INFINITY;
+			for (int i = 0; i < numMoves; i++) {
+				board.makeMove(player, plyMoves[i]);
+				int score = searchNext(player, depth - 1, ply + 1, Math.max(alpha, best), beta);
+				board.undoMove();
+				if (isAborted()) {
+					return 0;
+				}
+				if (score > best) {
+					best = score;
+					if (best >= beta) {
+						break;
+					}
+				}
+			}
+			return best;
+		}
+
+		int best = INFINITY;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, plyMoves[i]);
+			int score = searchNext(player, depth - 1, ply + 1, alpha, Math.min(beta, best));
+			board.undoMove();
+			if (isAborted()) {
+				return 0;
+			}
+			if (score < best) {
+				best = score;
+				if (best <= alpha) {
+					break;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Scores the end of the game by the difference between the discs of the root player and the most discs of any
+	 * other player.
+	 */
+	private int getFinalScore() {
+		SearchBoard board = getBoard();
+		int maxOtherDiscs = 0;
+		for (int player = 0; player < board.getNumPlayers(); player++) {
+			if (player != root) {
+				maxOtherDiscs = Math.max(maxOtherDiscs, board.getDiscCount(player));
+			}
+		}
+		int difference = board.getDiscCount(root) - maxOtherDiscs;
+		if (difference > 0) {
+			return AlphaBetaSearcher.WIN + difference;
+		}
+		if (difference < 0) {
+			return -AlphaBetaSearcher.WIN + difference;
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,271 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SlotListener;
+import kth.game.othello.board.ZobristKeys;
+
+/**
+ * An evaluator for the traditional 8x8 two player game that sums the weights of patterns of squares: the edges with
+ * their X-squares, the corner regions, the diagonals and the lines next to the edges. The occupancy of the squares of
+ * a pattern is encoded base 3, with digit 0 for an empty square, 1 for player 0 and 2 for player 1, and the code is
+ * the index into the weight table of the pattern. All rotations and reflections of a pattern share one table.
+ *
+ * The codes of all patterns are kept up to date by listening to the moves made and taken back on the board, so
+ * evaluating a position only reads one weight per pattern. Boards of other shapes or with other numbers of players
+ * are evaluated by a {@link PositionalEvaluator}.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class PatternEvaluator implements Evaluator {
+	/**
+	 * The number of table units that make up one unit of evaluation.
+	 */
+	public static final int WEIGHT_SCALE = 16;
+
+	// The patterns of the upper left corner as x- and y-coordinates, in the order of their weight tables
+	private static final int[][][] PATTERNS = {
+			{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 0, 3 }, { 0, 4 }, { 0, 5 }, { 0, 6 }, { 0, 7 }, { 1, 1 }, { 1, 6 } },
+			{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 1, 0 }, { 1, 1 }, { 1, 2 }, { 2, 0 }, { 2, 1 }, { 2, 2 } },
+			{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 0, 3 }, { 0, 4 }, { 1, 0 }, { 1, 1 }, { 1, 2 }, { 1, 3 }, { 1, 4 } },
+			createDiagonal(8), createDiagonal(7), createDiagonal(6), createDiagonal(5), createDiagonal(4),
+			createLine(1), createLine(2), createLine(3) };
+
+	private static final int[] TABLE_SIZES;
+	// The type of each pattern instance, and for every square the instances containing it with the power of 3 of the
+	// square in their code
+	private static final int[] INSTANCE_TYPES;
+	private static final int[][] SQUARE_INSTANCES;
+	private static final int[][] SQUARE_POWERS;
+	private static final int[][] INSTANCE_SQUARES;
+
+	static {
+		TABLE_SIZES = new int[PATTERNS.length];
+		List<int[]> instanceSquares = new ArrayList<>();
+		List<Integer> instanceTypes = new ArrayList<>();
+		for (int type = 0; type < PATTERNS.length; type++) {
+			TABLE_SIZES[type] = power(PATTERNS[type].length);
+			List<int[]> sortedInstances = new ArrayList<>();
+			for (int symmetry = 0; symmetry < 8; symmetry++) {
+				int[] squares = new int[PATTERNS[type].length];
+				for (int i = 0; i < squares.length; i++) {
+					squares[i] = transform(PATTERNS[type][i], symmetry);
+				}
+				int[] sorted = squares.clone();
+				Arrays.sort(sorted);
+				if (!containsArray(sortedInstances, sorted)) {
+					sortedInstances.add(sorted);
+					instanceSquares.add(squares);
+					instanceTypes.add(type);
+				}
+			}
+		}
+
+		INSTANCE_SQUARES = instanceSquares.toArray(new int[instanceSquares.size()][]);
+		INSTANCE_TYPES = new int[instanceTypes.size()];
+		int[] numInstances = new int[BitBoard.NUM_SQUARES];
+		for (int instance = 0; instance < INSTANCE_TYPES.length; instance++) {
+			INSTANCE_TYPES[instance] = instanceTypes.get(instance);
+			for (int square : INSTANCE_SQUARES[instance]) {
+				numInstances[square]++;
+			}
+		}
+
+		SQUARE_INSTANCES = new int[BitBoard.NUM_SQUARES][];
+		SQUARE_POWERS = new int[BitBoard.NUM_SQUARES][];
+		for (int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+			SQUARE_INSTANCES[square] = new int[numInstances[square]];
+			SQUARE_POWERS[square] = new int[numInstances[square]];
+			numInstances[square] = 0;
+		}
+		for (int instance = 0; instance < INSTANCE_SQUARES.length; instance++) {
+			int[] squares = INSTANCE_SQUARES[instance];
+			for (int i = 0; i < squares.length; i++) {
+				SQUARE_INSTANCES[squares[i]][numInstances[squares[i]]] = instance;
+				SQUARE_POWERS[squares[i]][numInstances[squares[i]]++] = power(i);
+			}
+		}
+	}
+
+	private final short[][] weights;
+	private final PositionalEvaluator fallback;
+	private final ThreadLocal<Codes> codes;
+
+	/**
+	 * Creates a pattern evaluator with the weights of {@link PatternWeights#createDefault()}.
+	 */
+	public PatternEvaluator() {
+		this(PatternWeights.createDefault());
+	}
+
+	/**
+	 * Creates a pattern evaluator with the given weights.
+	 *
+	 * @param weights The weight tables of the patterns
+	 */
+	public PatternEvaluator(PatternWeights weights) {
+		this.weights = weights.getTables();
+		this.fallback = new PositionalEvaluator();
+		// Every search thread follows its own board
+		this.codes = new ThreadLocal<Codes>() {
+			@Override
+			protected Codes initialValue() {
+				return new Codes();
+			}
+		};
+	}
+
+	@Override
+	public int evaluate(SearchBoard board, int player) {
+		if (!BitSearchBoard.isCompatible(board.getLayout(), board.getNumPlayers())) {
+			return fallback.evaluate(board, player);
+		}
+
+		Codes current = codes.get();
+		if (current.board != board || current.hash != board.getHash()) {
+			// The board is new, or someone else has replaced the listener and moves have been missed
+			current.attach(board);
+		}
+
+		int score = 0;
+		int[] instanceCodes = current.codes;
+		for (int instance = 0; instance < instanceCodes.length; instance++) {
+			score += weights[INSTANCE_TYPES[instance]][instanceCodes[instance]];
+		}
+		score /= WEIGHT_SCALE;
+		return player == 0 ? score : -score;
+	}
+
+	/**
+	 * @return The number of pattern types, that is the number of weight tables
+	 */
+	public static int getNumPatternTypes() {
+		return PATTERNS.length;
+	}
+
+	/**
+	 * @param type A pattern type
+	 * @return The number of entries of the weight table of the pattern type, 3 to the power of its number of squares
+	 */
+	public static int getTableSize(int type) {
+		return TABLE_SIZES[type];
+	}
+
+	/**
+	 * Returns the squares of a pattern type in the upper left corner, in the order of the digits of its code, the first
+	 * square being the least significant digit.
+	 *
+	 * @param type A pattern type
+	 * @return The squares of the pattern, see {@link BitBoard#getSquare(int, int)}
+	 */
+	public static int[] getSquares(int type) {
+		int[] squares = new int[PATTERNS[type].length];
+		for (int i = 0; i < squares.length; i++) {
+			squares[i] = BitBoard.getSquare(PATTERNS[type][i][0], PATTERNS[type][i][1]);
+		}
+		return squares;
+	}
+
+	/**
+	 * Counts the number of pattern instances, among all rotations and reflections of all patterns, that contain a
+	 * square.
+	 *
+	 * @param square A square of the board
+	 * @return The number of patterns containing the square
+	 */
+	public static int getNumPatterns(int square) {
+		return SQUARE_INSTANCES[square].length;
+	}
+
+	private static int[][] createDiagonal(int length) {
+		int[][] squares = new int[length][];
+		for (int i = 0; i < length; i++) {
+			squares[i] = new int[] { i, BitBoard.SIZE - length + i };
+		}
+		return squares;
+	}
+
+	private static int[][] createLine(int x) {
+		int[][] squares = new int[BitBoard.SIZE][];
+		for (int y = 0; y < BitBoard.SIZE; y++) {
+			squares[y] = new int[] { x, y };
+		}
+		return squares;
+	}
+
+	/**
+	 * Maps coordinates by one of the eight rotations and reflections of the board to a square.
+	 */
+	private static int transform(int[] coordinates, int symmetry) {
+		int max = BitBoard.SIZE - 1;
+		int x = (symmetry & 1) != 0 ? max - coordinates[0] : coordinates[0];
+		int y = (symmetry & 2) != 0 ? max - coordinates[1] : coordinates[1];
+		return (symmetry & 4) != 0 ? BitBoard.getSquare(y, x) : BitBoard.getSquare(x, y);
+	}
+
+	private static boolean containsArray(List<int[]> arrays, int[] array) {
+		for (int[] other : arrays) {
+			if (Arrays.equals(other, array)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int power(int exponent) {
+		int power = 1;
+		for (int i = 0; i < exponent; i++) {
+			power *= 3;
+		}
+		return power;
+	}
+
+	private static int getDigit(int occupant) {
+		return occupant + 1;
+	}
+
+	/**
+	 * The codes of all pattern instances of the board followed by a thread, and the hash the codes were updated to.
+	 */
+	private static class Codes implements SlotListener {
+		private final int[] codes = new int[INSTANCE_TYPES.length];
+		private SearchBoard board;
+		private long hash;
+
+		private void attach(SearchBoard board) {
+			if (this.board != null && this.board != board) {
+				this.board.setSlotListener(null);
+			}
+			this.board = board;
+
+			Arrays.fill(codes, 0);
+			hash = 0;
+			for (int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+				int occupant = board.getOccupant(square);
+				if (occupant != BoardLayout.EMPTY) {
+					slotChanged(square, BoardLayout.EMPTY, occupant);
+				}
+			}
+			board.setSlotListener(this);
+		}
+
+		@Override
+		public void slotChanged(int slot, int previousOccupant, int occupant) {
+			int change = getDigit(occupant) - getDigit(previousOccupant);
+			int[] instances = SQUARE_INSTANCES[slot];
+			int[] powers = SQUARE_POWERS[slot];
+			for (int i = 0; i < instances.length; i++) {
+				codes[instances[i]] += change * powers[i];
+			}
+			hash ^= ZobristKeys.getKey(slot, previousOccupant) ^ ZobristKeys.getKey(slot, occupant);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BoardLayout;
+
+/**
+ * The weight tables of a {@link PatternEvaluator}, one table per pattern type indexed by the base 3 code of the
+ * pattern. The weights are from the view of player 0, in units of 1 / {@link PatternEvaluator#WEIGHT_SCALE}, and must
+ * be negated when the discs of the two players are exchanged.
+ *
+ * The tables are stored in a compact binary file of big-endian values: the magic number, the format version and the
+ * number of tables, followed by each table as its number of entries and one 16-bit weight per entry.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class PatternWeights {
+	public static final int MAGIC = 0x4F504154;
+	public static final int VERSION = 1;
+
+	private final short[][] tables;
+
+	/**
+	 * Creates weights from the given tables.
+	 *
+	 * @param tables The weight table of each pattern type of {@link PatternEvaluator}
+	 * @throws IllegalArgumentException if the number or sizes of the tables do not match the pattern types
+	 */
+	public PatternWeights(short[][] tables) {
+		if (tables.length != PatternEvaluator.getNumPatternTypes()) {
+			throw new IllegalArgumentException("There must be one table for every pattern type.");
+		}
+		this.tables = new short[tables.length][];
+		for (int type = 0; type < tables.length; type++) {
+			if (tables[type].length != PatternEvaluator.getTableSize(type)) {
+				throw new IllegalArgumentException("The table of pattern type " + type + " must have "
+						+ PatternEvaluator.getTableSize(type) + " entries.");
+			}
+			this.tables[type] = tables[type].clone();
+		}
+	}
+
+	/**
+	 * Creates weights that score every disc by the weight of its square in a {@link PositionalEvaluator}. The weight of
+	 * a square is spread evenly over the patterns containing it, so the patterns together count every disc once. These
+	 * weights are a starting point for tuned weights, which are read with {@link #read(InputStream)}.
+	 *
+	 * @return The default weights
+	 */
+	public static PatternWeights createDefault() {
+		int[] xs = new int[BitBoard.NUM_SQUARES];
+		int[] ys = new int[BitBoard.NUM_SQUARES];
+		for (int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+			xs[square] = square / BitBoard.SIZE;
+			ys[square] = square % BitBoard.SIZE;
+		}
+		int[] squareWeights = PositionalEvaluator.computeWeights(new BoardLayout(xs, ys));
+
+		short[][] tables = new short[PatternEvaluator.getNumPatternTypes()][];
+		for (int type = 0; type < tables.length; type++) {
+			int[] squares = PatternEvaluator.getSquares(type);
+			double[] digitWeights = new double[squares.length];
+			for (int i = 0; i < squares.length; i++) {
+				digitWeights[i] = (double) PatternEvaluator.WEIGHT_SCALE * squareWeights[squares[i]]
+						/ PatternEvaluator.getNumPatterns(squares[i]);
+			}
+
+			tables[type] = new short[PatternEvaluator.getTableSize(type)];
+			for (int code = 0; code < tables[type].length; code++) {
+				double weight = 0;
+				for (int i = 0, rest = code; i < squares.length; i++, rest /= 3) {
+					int digit = rest % 3;
+					if (digit == 1) {
+						weight += digitWeights[i];
+					} else if (digit == 2) {
+						weight -= digitWeights[i];
+					}
+				}
+				tables[type][code] = (short) Math.round(weight);
+			}
+		}
+		return new PatternWeights(tables);
+	}
+
+	/**
+	 * Reads weights from a file.
+	 *
+	 * @param file The file to read
+	 * @return The weights of the file
+	 * @throws IOException if the file can not be read or is not a weight file of the current pattern types
+	 */
+	public static PatternWeights read(Path file) throws IOException {
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+			return read(in);
+		}
+	}
+
+	/**
+	 * Reads weights from a stream. The stream is not closed.
+	 *
+	 * @param in The stream to read
+	 * @return The weights of the stream
+	 * @throws IOException if the stream can not be read or does not contain weights of the current pattern types
+	 */
+	public static PatternWeights read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a pattern weight file.");
+		}
+		int version = data.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported pattern weight file version: " + version);
+		}
+		int numTables = data.readInt();
+		if (numTables != PatternEvaluator.getNumPatternTypes()) {
+			throw new IOException("The file has " + numTables + " tables, expected "
+					+ PatternEvaluator.getNumPatternTypes() + ".");
+		}
+
+		short[][] tables = new short[numTables][];
+		for (int type = 0; type < numTables; type++) {
+			int size = data.readInt();
+			if (size != PatternEvaluator.getTableSize(type)) {
+				throw new IOException("The table of pattern type " + type + " has " + size + " entries, expected "
+						+ PatternEvaluator.getTableSize(type) + ".");
+			}
+			tables[type] = new short[size];
+			for (int code = 0; code < size; code++) {
+				tables[type][code] = data.readShort();
+			}
+		}
+		return new PatternWeights(tables);
+	}
+
+	/**
+	 * Writes the weights to a file in the format read by {@link #read(Path)}.
+	 *
+	 * @param file The file to write
+	 * @throws IOException if the file can not be written
+	 */
+	public void write(Path file) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+			write(out);
+		}
+	}
+
+	/**
+	 * Writes the weights to a stream in the format read by {@link #read(InputStream)}. The stream is flushed but not
+	 * closed.
+	 *
+	 * @param out The stream to write to
+	 * @throws IOException if the stream can not be written
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(tables.length);
+		for (short[] table : tables) {
+			data.writeInt(table.length);
+			for (short weight : table) {
+				data.writeShort(weight);
+			}
+		}
+		data.flush();
+	}
+
+	/**
+	 * @param type A pattern type
+	 * @param code The base 3 code of the pattern
+	 * @return The weight of the code
+	 */
+	public short getWeight(int type, int code) {
+		return tables[type][code];
+	}
+
+	/**
+	 * Gives the evaluator direct access to the tables. The arrays must not be modified.
+	 */
+	short[][] getTables() {
+		return tables;
+	}
+}
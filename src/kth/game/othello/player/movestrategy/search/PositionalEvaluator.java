@@ -0,0 +1,103 @@
+package kth.game.othello.player.movestrategy.search;
+
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+/**
+ * An evaluator that weights every occupied slot by its position and adds the difference in mobility. Corners can never
+ * be swapped and are worth the most, the neighbors of corners give the opponents access to them and are worth the
+ * least, and edges are worth more than the interior. The weights are computed from the layout, so the evaluator works
+ * on any board shape.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class PositionalEvaluator implements Evaluator {
+	public static final int CORNER_WEIGHT = 25;
+	public static final int CORNER_NEIGHBOR_WEIGHT = -8;
+	public static final int EDGE_WEIGHT = 3;
+	public static final int INTERIOR_WEIGHT = 1;
+	public static final int MOBILITY_WEIGHT = 2;
+
+	private volatile Weights weights;
+
+	/**
+	 * Creates the positional evaluator instance.
+	 */
+	public PositionalEvaluator() {
+
+	}
+
+	@Override
+	public int evaluate(SearchBoard board, int player) {
+		int[] slotWeights = getWeights(board.getLayout());
+
+		int score = 0;
+		for (int slot = 0; slot < slotWeights.length; slot++) {
+			int occupant = board.getOccupant(slot);
+			if (occupant == player) {
+				score += slotWeights[slot];
+			} else if (occupant != BoardLayout.EMPTY) {
+				score -= slotWeights[slot];
+			}
+		}
+
+		int mobility = board.getNumValidMoves(player);
+		for (int other = 0; other < board.getNumPlayers(); other++) {
+			if (other != player) {
+				mobility -= board.getNumValidMoves(other);
+			}
+		}
+		return score + MOBILITY_WEIGHT * mobility;
+	}
+
+	/**
+	 * Computes the weight of every slot of a layout.
+	 *
+	 * @param layout The layout of the board
+	 * @return The weight of each slot
+	 */
+	public static int[] computeWeights(BoardLayout layout) {
+		int[] slotWeights = new int[layout.getNumSlots()];
+		for (int slot = 0; slot < slotWeights.length; slot++) {
+			slotWeights[slot] = layout.isEdge(slot) ? EDGE_WEIGHT : INTERIOR_WEIGHT;
+		}
+		for (int slot = 0; slot < slotWeights.length; slot++) {
+			if (layout.isCorner(slot)) {
+				for (int direction = 0; direction < BoardLayout.NUM_DIRECTIONS; direction++) {
+					int neighbor = layout.getNeighbor(slot, direction);
+					if (neighbor != BoardLayout.EMPTY && !layout.isCorner(neighbor)) {
+						slotWeights[neighbor] = CORNER_NEIGHBOR_WEIGHT;
+					}
+				}
+			}
+		}
+		for (int slot = 0; slot < slotWeights.length; slot++) {
+			if (layout.isCorner(slot)) {
+				slotWeights[slot] = CORNER_WEIGHT;
+			}
+		}
+		return slotWeights;
+	}
+
+	private int[] getWeights(BoardLayout layout) {
+		// The evaluator is usually used on a single layout, so the weights of the last one are kept
+		Weights current = weights;
+		if (current == null || current.layout != layout) {
+			current = new Weights(layout, computeWeights(layout));
+			weights = current;
+		}
+		return current.slotWeights;
+	}
+
+	private static class Weights {
+		private final BoardLayout layout;
+		private final int[] slotWeights;
+
+		private Weights(BoardLayout layout, int[] slotWeights) {
+			this.layout = layout;
+			this.slotWeights = slotWeights;
+		}
+	}
+}
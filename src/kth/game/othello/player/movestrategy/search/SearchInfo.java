@@ -0,0 +1,105 @@
+package kth.game.othello.player.movestrategy.search;
+
+import kth.game.othello.board.BoardLayout;
+
+/**
+ * A summary of a finished search, telling how deep it got and how fast it was.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class SearchInfo {
+	private final int depth;
+	private final long nodes;
+	private final long elapsedNanos;
+	private final int bestScore;
+	private final int numThreads;
+	private final int bestMove;
+
+	/**
+	 * Creates a summary of a single threaded search.
+	 *
+	 * @param depth The deepest completed depth
+	 * @param nodes The number of visited nodes
+	 * @param elapsedNanos The time the search took
+	 * @param bestScore The score of the best move at the deepest completed depth
+	 */
+	public SearchInfo(int depth, long nodes, long elapsedNanos, int bestScore) {
+		this(depth, nodes, elapsedNanos, bestScore, 1, BoardLayout.EMPTY);
+	}
+
+	/**
+	 * Creates a search summary.
+	 *
+	 * @param depth The deepest completed depth
+	 * @param nodes The number of visited nodes of all threads
+	 * @param elapsedNanos The time the search took
+	 * @param bestScore The score of the best move at the deepest completed depth
+	 * @param numThreads The number of threads of the search
+	 * @param bestMove The slot of the best move, or {@link BoardLayout#EMPTY} if it is not known
+	 */
+	public SearchInfo(int depth, long nodes, long elapsedNanos, int bestScore, int numThreads, int bestMove) {
+		this.depth = depth;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+		this.bestScore = bestScore;
+		this.numThreads = numThreads;
+		this.bestMove = bestMove;
+	}
+
+	/**
+	 * @return The deepest depth that the search completed, 0 if none was completed
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return The number of visited nodes of all threads
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return The time the search took in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The score of the best move at the deepest completed depth
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * @return The slot of the best move, or {@link BoardLayout#EMPTY} if it is not known
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return The number of threads of the search
+	 */
+	public int getNumThreads() {
+		return numThreads;
+	}
+
+	/**
+	 * @return The number of visited nodes per second
+	 */
+	public long getNodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "depth " + depth + ", " + nodes + " nodes in " + elapsedNanos / 1000000 + " ms (" + getNodesPerSecond()
+				+ " nodes/s" + (numThreads > 1 ? " on " + numThreads + " threads" : "") + "), score " + bestScore;
+	}
+}
@@ -0,0 +1,58 @@
+package kth.game.othello.player.movestrategy.search;
+
+/**
+ * The limits of a search: a time budget, a node budget and a flag that stops the search from another thread. The
+ * budgets are counted from when the limits are created.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class SearchLimits {
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	private final long startNanos;
+	private final long maxNanos;
+	private final long maxNodes;
+	private volatile boolean stopped;
+
+	/**
+	 * Creates search limits starting now.
+	 *
+	 * @param maxMillis The number of milliseconds the search may use, or {@link #UNLIMITED}
+	 * @param maxNodes The number of nodes the search may visit, or {@link #UNLIMITED}
+	 * @throws IllegalArgumentException if a budget is not positive
+	 */
+	public SearchLimits(long maxMillis, long maxNodes) {
+		if (maxMillis <= 0 || maxNodes <= 0) {
+			throw new IllegalArgumentException("The budgets of a search must be positive.");
+		}
+		this.startNanos = System.nanoTime();
+		this.maxNanos = maxMillis == UNLIMITED ? UNLIMITED : maxMillis * 1000000;
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Stops every search using these limits as soon as they check them.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Determines if a search has to stop.
+	 *
+	 * @param nodes The number of nodes visited by the search
+	 * @return True if the search is stopped or has used up one of its budgets
+	 */
+	public boolean isExceeded(long nodes) {
+		return stopped || nodes >= maxNodes || maxNanos != UNLIMITED && getElapsedNanos() >= maxNanos;
+	}
+
+	/**
+	 * @return The number of nanoseconds since the limits were created
+	 */
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+}
@@ -0,0 +1,217 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import kth.game.othello.board.BoardLayout;
+
+/**
+ * A fixed-size table of search results, indexed by the hash of the searched position. Search threads can share a table
+ * without locks: every entry is two longs, the packed result and the hash XOR-ed with the packed result. A probe only
+ * accepts an entry whose two words XOR back to the probed hash, so an entry torn by two threads writing at once, or
+ * belonging to another position, is seen as a miss.
+ *
+ * An entry is replaced by a result of at least the same depth, or by any result once it is from an older search.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class TranspositionTable {
+	/**
+	 * The score is the exact score of the position.
+	 */
+	public static final int EXACT = 1;
+	/**
+	 * The score is a lower bound, the search failed high.
+	 */
+	public static final int LOWER_BOUND = 2;
+	/**
+	 * The score is an upper bound, the search failed low.
+	 */
+	public static final int UPPER_BOUND = 3;
+	/**
+	 * The value returned by {@link #probe} when no entry is found.
+	 */
+	public static final long MISS = 0;
+
+	// The layout of a packed entry, from the lowest bit: score, move + 1, depth, bound and generation
+	private static final int MOVE_SHIFT = 32;
+	private static final int DEPTH_SHIFT = 48;
+	private static final int BOUND_SHIFT = 56;
+	private static final int GENERATION_SHIFT = 58;
+	private static final int MAX_DEPTH = 0xFF;
+	private static final int GENERATION_MASK = 0x3F;
+
+	private final long[] entries;
+	private final int indexMask;
+	private volatile int generation;
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder stores = new LongAdder();
+
+	/**
+	 * Constructs an empty table.
+	 *
+	 * @param numEntries The number of entries of the table, which must be a power of two
+	 * @throws IllegalArgumentException if the number of entries is not a positive power of two
+	 */
+	public TranspositionTable(int numEntries) {
+		if (numEntries <= 0 || Integer.bitCount(numEntries) != 1 || numEntries > 1 << 29) {
+			throw new IllegalArgumentException("The number of entries must be a power of two, at most 2^29.");
+		}
+		this.entries = new long[2 * numEntries];
+		this.indexMask = numEntries - 1;
+	}
+
+	/**
+	 * @return The number of entries of the table
+	 */
+	public int getNumEntries() {
+		return indexMask + 1;
+	}
+
+	/**
+	 * Starts a new search, after which the entries of earlier searches can be replaced by results of any depth.
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & GENERATION_MASK;
+	}
+
+	/**
+	 * Looks up the result stored for a position.
+	 *
+	 * @param hash The hash of the position
+	 * @return The packed result, to be read with the static getters of this class, or {@link #MISS}
+	 */
+	public long probe(long hash) {
+		probes.increment();
+		int index = getIndex(hash);
+		long data = entries[index + 1];
+		if (data == MISS || (entries[index] ^ data) != hash) {
+			return MISS;
+		}
+		hits.increment();
+		return data;
+	}
+
+	/**
+	 * Stores the result of searching a position, unless the entry holds a deeper result of the current search.
+	 *
+	 * @param hash The hash of the position
+	 * @param depth The depth that the position was searched to
+	 * @param score The score of the position
+	 * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+	 * @param move The best move found, or {@link BoardLayout#EMPTY}
+	 */
+	public void store(long hash, int depth, int score, int bound, int move) {
+		int index = getIndex(hash);
+		long old = entries[index + 1];
+		if (old != MISS && getGeneration(old) == generation && getDepth(old) > depth) {
+			return;
+		}
+
+		long data = (long) generation << GENERATION_SHIFT | (long) bound << BOUND_SHIFT
+				| (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT | (long) ((move + 1) & 0xFFFF) << MOVE_SHIFT
+				| score & 0xFFFFFFFFL;
+		entries[index] = hash ^ data;
+		entries[index + 1] = data;
+		stores.increment();
+	}
+
+	/**
+	 * Empties the table and resets its counters.
+	 */
+	public void clear() {
+		Arrays.fill(entries, 0);
+		probes.reset();
+		hits.reset();
+		stores.reset();
+	}
+
+	/**
+	 * @param data A packed result returned by {@link #probe}
+	 * @return The score of the result
+	 */
+	public static int getScore(long data) {
+		return (int) data;
+	}
+
+	/**
+	 * @param data A packed result returned by {@link #probe}
+	 * @return The best move of the result, or {@link BoardLayout#EMPTY}
+	 */
+	public static int getMove(long data) {
+		return (int) (data >>> MOVE_SHIFT & 0xFFFF) - 1;
+	}
+
+	/**
+	 * @param data A packed result returned by {@link #probe}
+	 * @return The depth of the result
+	 */
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT & MAX_DEPTH);
+	}
+
+	/**
+	 * @param data A packed result returned by {@link #probe}
+	 * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+	 */
+	public static int getBound(long data) {
+		return (int) (data >>> BOUND_SHIFT & 0x3);
+	}
+
+	/**
+	 * @return The number of probes since the table was created or cleared
+	 */
+	public long getProbes() {
+		return probes.sum();
+	}
+
+	/**
+	 * @return The number of probes that found an entry
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The number of stored results
+	 */
+	public long getStores() {
+		return stores.sum();
+	}
+
+	/**
+	 * @return The fraction of probes that found an entry, 0 if there were no probes
+	 */
+	public double getHitRate() {
+		long numProbes = probes.sum();
+		return numProbes == 0 ? 0 : (double) hits.sum() / numProbes;
+	}
+
+	/**
+	 * Counts the used entries. The count walks the whole table and is meant for tuning, not for searching.
+	 *
+	 * @return The fraction of entries that hold a result
+	 */
+	public double getOccupancy() {
+		int used = 0;
+		for (int index = 1; index < entries.length; index += 2) {
+			if (entries[index] != MISS) {
+				used++;
+			}
+		}
+		return (double) used / getNumEntries();
+	}
+
+	private static int getGeneration(long data) {
+		return (int) (data >>> GENERATION_SHIFT & GENERATION_MASK);
+	}
+
+	private int getIndex(long hash) {
+		// The low bits of the hash pick the entry, the whole hash verifies it
+		return 2 * ((int) hash & indexMask);
+	}
+}
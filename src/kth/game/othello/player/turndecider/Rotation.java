@@ -60,6 +60,11 @@ public class Rotation implements TurnDecider {
 		playerInTurnIndex = players.indexOf(startingPlayerId);
 	}
 
+	@Override
+	public void reset() {
+		playerInTurnIndex = NO_PLAYER_IN_TURN;
+	}
+
 	@Override
 	public String getPlayerInTurn() {
 		if (noPlayerIsInTurn()) {
@@ -32,6 +32,11 @@ public interface TurnDecider {
 	 */
 	void setFirstPlayerInTurn(String playerId);
 
+	/**
+	 * Clears the player in turn, so that no player is in turn until {@link #setFirstPlayerInTurn} is called again.
+	 */
+	void reset();
+
 	/**
 	 *
 	 * @return The next player in turn that has at least one valid move.
@@ -0,0 +1,84 @@
+package kth.game.othello.record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.DoubleSquare;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+/**
+ * The initial boards that a {@link GameRecord} can start from. The order of the constants must not change, since
+ * records refer to layouts by their ordinal.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public enum GameLayout {
+	/**
+	 * The traditional 8x8 board for two players.
+	 */
+	SQUARE {
+		@Override
+		public Set<NodeData> getNodes(List<Player> players) {
+			return new Square().getNodes(8, players);
+		}
+	},
+	/**
+	 * The castle board for two players.
+	 */
+	CASTLE {
+		@Override
+		public Set<NodeData> getNodes(List<Player> players) {
+			return new Castle().getNodes(players);
+		}
+	},
+	/**
+	 * The diamond board of size 9 for three players.
+	 */
+	DIAMOND {
+		@Override
+		public Set<NodeData> getNodes(List<Player> players) {
+			return new Diamond().getNodes(9, players);
+		}
+	},
+	/**
+	 * The double square board of size 8 for two players.
+	 */
+	DOUBLE_SQUARE {
+		@Override
+		public Set<NodeData> getNodes(List<Player> players) {
+			return new DoubleSquare().getNodes(8, players);
+		}
+	};
+
+	/**
+	 * Creates the initial nodes of the layout.
+	 *
+	 * @param players The players of the game, in the order of the game
+	 * @return The nodes of the initial board
+	 * @throws IllegalArgumentException if the layout is not made for the number of players
+	 */
+	public abstract Set<NodeData> getNodes(List<Player> players);
+
+	/**
+	 * Creates the initial nodes of the layout for players that are only known by their ids.
+	 *
+	 * @param playerIds The ids of the players of the game, in the order of the game
+	 * @return The nodes of the initial board
+	 * @throws IllegalArgumentException if the layout is not made for the number of players
+	 */
+	public Set<NodeData> getNodesForIds(List<String> playerIds) {
+		List<Player> players = new ArrayList<>();
+		for (String playerId : playerIds) {
+			players.add(new ComputerPlayer(playerId, playerId, null));
+		}
+		return getNodes(players);
+	}
+}
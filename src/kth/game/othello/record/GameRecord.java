@@ -0,0 +1,110 @@
+package kth.game.othello.record;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A record of a played game: the initial board, the players and the moves. The players move in turn in the order of
+ * the record, starting with the first player of the game, and every move is either the slot of a node in the layout of
+ * the board, see {@link kth.game.othello.board.BoardLayout}, or {@link #PASS} for a player who could not move.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRecord {
+	/**
+	 * The move of a player who could not move.
+	 */
+	public static final int PASS = -1;
+
+	private final GameLayout layout;
+	private final List<String> playerIds;
+	private final int firstPlayer;
+	private final int[] moves;
+
+	/**
+	 * Creates a record of a game started by the first of the players.
+	 *
+	 * @param layout The initial board of the game
+	 * @param playerIds The ids of the players, in the order of the game
+	 * @param moves The moves of the game, each a slot or {@link #PASS}
+	 * @throws IllegalArgumentException if there are no players or a move is neither a slot nor a pass
+	 */
+	public GameRecord(GameLayout layout, List<String> playerIds, int[] moves) {
+		this(layout, playerIds, 0, moves);
+	}
+
+	/**
+	 * Creates a game record.
+	 *
+	 * @param layout The initial board of the game
+	 * @param playerIds The ids of the players, in the order of the game
+	 * @param firstPlayer The index in the ids of the player who starts the game
+	 * @param moves The moves of the game, each a slot or {@link #PASS}
+	 * @throws IllegalArgumentException if there are no players, the first player is not one of them or a move is
+	 *             neither a slot nor a pass
+	 */
+	public GameRecord(GameLayout layout, List<String> playerIds, int firstPlayer, int[] moves) {
+		if (playerIds.isEmpty()) {
+			throw new IllegalArgumentException("A game must have players.");
+		}
+		if (firstPlayer < 0 || firstPlayer >= playerIds.size()) {
+			throw new IllegalArgumentException("Invalid first player: " + firstPlayer);
+		}
+		for (int move : moves) {
+			if (move < PASS) {
+				throw new IllegalArgumentException("Invalid move: " + move);
+			}
+		}
+		this.layout = layout;
+		this.playerIds = Collections.unmodifiableList(new ArrayList<>(playerIds));
+		this.firstPlayer = firstPlayer;
+		this.moves = moves.clone();
+	}
+
+	/**
+	 * @return The initial board of the game
+	 */
+	public GameLayout getLayout() {
+		return layout;
+	}
+
+	/**
+	 * @return The ids of the players, in the order of the game
+	 */
+	public List<String> getPlayerIds() {
+		return playerIds;
+	}
+
+	/**
+	 * @return The index in {@link #getPlayerIds()} of the player who starts the game
+	 */
+	public int getFirstPlayer() {
+		return firstPlayer;
+	}
+
+	/**
+	 * @return The number of moves, including passes
+	 */
+	public int getNumMoves() {
+		return moves.length;
+	}
+
+	/**
+	 * @param index The index of a move
+	 * @return The slot of the move, or {@link #PASS}
+	 */
+	public int getMove(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * @param index The index of a move
+	 * @return The index in {@link #getPlayerIds()} of the player making the move
+	 */
+	public int getPlayer(int index) {
+		return (firstPlayer + index) % playerIds.size();
+	}
+}
@@ -0,0 +1,41 @@
+package kth.game.othello.record;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A file of game records written by a {@link GameRecordWriter}. The file is opened each time it is read, so it can be
+ * read any number of times, for instance as a shard of an opening book.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRecordFile implements GameRecordSource {
+	private final Path file;
+
+	/**
+	 * Creates a game record file.
+	 *
+	 * @param file The path of the file
+	 */
+	public GameRecordFile(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * @return The path of the file
+	 */
+	public Path getPath() {
+		return file;
+	}
+
+	@Override
+	public void read(GameRecordListener listener) throws IOException {
+		try (GameRecordReader reader = new GameRecordReader(new BufferedInputStream(Files.newInputStream(file)))) {
+			reader.read(listener);
+		}
+	}
+}
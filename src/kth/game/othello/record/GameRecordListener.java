@@ -0,0 +1,18 @@
+package kth.game.othello.record;
+
+/**
+ * The responsibility of this entity is to receive the records of games, e.g. as they are finished or read from a file.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface GameRecordListener {
+
+	/**
+	 * Receives the record of a game.
+	 *
+	 * @param record The record of the game
+	 */
+	public void gameRecorded(GameRecord record);
+}
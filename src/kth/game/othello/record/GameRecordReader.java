@@ -0,0 +1,191 @@
+package kth.game.othello.record;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+
+/**
+ * Reads game records written by a {@link GameRecordWriter}, one block at a time, so a stream of any number of records
+ * can be read without holding more than a block in memory.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRecordReader implements GameRecordSource, Closeable {
+	private static final GameLayout[] LAYOUTS = GameLayout.values();
+
+	private final DataInputStream in;
+	private final Inflater inflater;
+	private byte[] stored;
+	private byte[] bytes;
+	private DataInputStream block;
+	private ByteArrayInputStream blockBytes;
+
+	/**
+	 * Creates a game record reader and reads the header of the stream.
+	 *
+	 * @param in The stream to read from, which is closed with the reader
+	 * @throws IOException if the header can not be read or the stream was not written by a {@link GameRecordWriter}
+	 */
+	public GameRecordReader(InputStream in) throws IOException {
+		this.in = new DataInputStream(in);
+		this.inflater = new Inflater();
+		this.stored = new byte[0];
+		this.bytes = new byte[0];
+		try {
+			if (this.in.readInt() != GameRecordWriter.MAGIC) {
+				throw new IOException("Not a game record stream.");
+			}
+			int version = this.in.readUnsignedByte();
+			if (version != GameRecordWriter.VERSION) {
+				throw new IOException("Unsupported game record version: " + version);
+			}
+		} catch (EOFException e) {
+			throw new IOException("Not a game record stream.", e);
+		}
+	}
+
+	/**
+	 * Reads the next record.
+	 *
+	 * @return The record, or null if there are no more records
+	 * @throws IOException if the record can not be read or the stream is corrupt
+	 */
+	public GameRecord read() throws IOException {
+		if ((blockBytes == null || blockBytes.available() == 0) && !readBlock()) {
+			return null;
+		}
+
+		try {
+			int layout = block.readUnsignedByte();
+			if (layout >= LAYOUTS.length) {
+				throw new IOException("Unknown game layout: " + layout);
+			}
+			int numPlayers = block.readUnsignedByte();
+			List<String> playerIds = new ArrayList<>(numPlayers);
+			for (int i = 0; i < numPlayers; i++) {
+				playerIds.add(block.readUTF());
+			}
+			int firstPlayer = block.readUnsignedByte();
+			int[] moves = new int[block.readUnsignedShort()];
+			for (int i = 0; i < moves.length; i++) {
+				int move = block.readUnsignedByte();
+				moves[i] = move == GameRecordWriter.PASS_BYTE ? GameRecord.PASS : move;
+			}
+			return new GameRecord(LAYOUTS[layout], playerIds, firstPlayer, moves);
+		} catch (EOFException | IllegalArgumentException e) {
+			throw new IOException("The game record stream is corrupt.", e);
+		}
+	}
+
+	/**
+	 * Reads every remaining record of the stream.
+	 */
+	@Override
+	public void read(GameRecordListener listener) throws IOException {
+		for (GameRecord record = read(); record != null; record = read()) {
+			listener.gameRecorded(record);
+		}
+	}
+
+	/**
+	 * Closes the stream.
+	 *
+	 * @throws IOException if the stream can not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		in.close();
+	}
+
+	/**
+	 * Replays a game on a new board, making every move of the record through {@link BoardHandler#move}. The events of
+	 * the nodes of the board are turned off.
+	 *
+	 * @param record The game to replay
+	 * @return The handler of the board, with every move of the game in its history
+	 * @throws IllegalArgumentException if a move of the record is not valid, or a player passes while having a valid
+	 *             move
+	 */
+	public static BoardHandler replay(GameRecord record) {
+		BoardImpl board = new BoardFactory().createBoard(record.getLayout().getNodesForIds(record.getPlayerIds()));
+		board.setNodeEventsEnabled(false);
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		int[] players = new int[record.getPlayerIds().size()];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = board.getPlayerIndex(record.getPlayerIds().get(i));
+		}
+		int[] changedSlots = new int[board.getNumNodes()];
+		for (int i = 0; i < record.getNumMoves(); i++) {
+			int player = players[record.getPlayer(i)];
+			int move = record.getMove(i);
+			if (move == GameRecord.PASS) {
+				if (boardHandler.hasValidMove(player)) {
+					throw new IllegalArgumentException("Move " + i + " is a pass, but the player can move.");
+				}
+			} else if (move >= board.getNumNodes()) {
+				throw new IllegalArgumentException("Move " + i + " is not on the board: " + move);
+			} else {
+				boardHandler.move(player, move, changedSlots);
+			}
+		}
+		return boardHandler;
+	}
+
+	private boolean readBlock() throws IOException {
+		int method = in.read();
+		if (method == -1) {
+			return false;
+		}
+		int length;
+		try {
+			length = in.readInt();
+			int storedLength = in.readInt();
+			if (length <= 0 || storedLength <= 0 || storedLength > length) {
+				throw new IOException("The game record stream is corrupt.");
+			}
+			if (bytes.length < length) {
+				bytes = new byte[length];
+			}
+
+			if (method == GameRecordWriter.STORED) {
+				in.readFully(bytes, 0, length);
+			} else if (method == GameRecordWriter.DEFLATED) {
+				if (stored.length < storedLength) {
+					stored = new byte[storedLength];
+				}
+				in.readFully(stored, 0, storedLength);
+				inflater.reset();
+				inflater.setInput(stored, 0, storedLength);
+				if (inflater.inflate(bytes, 0, length) != length || !inflater.finished()) {
+					throw new IOException("The game record stream is corrupt.");
+				}
+			} else {
+				throw new IOException("Unknown block method: " + method);
+			}
+		} catch (EOFException e) {
+			throw new IOException("The game record stream is truncated.", e);
+		} catch (DataFormatException e) {
+			throw new IOException("The game record stream is corrupt.", e);
+		}
+
+		blockBytes = new ByteArrayInputStream(bytes, 0, length);
+		block = new DataInputStream(blockBytes);
+		return true;
+	}
+}
@@ -0,0 +1,22 @@
+package kth.game.othello.record;
+
+import java.io.IOException;
+
+/**
+ * The responsibility of this entity is to provide game records, one at a time, so that any number of games can be
+ * processed without holding them all in memory.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public interface GameRecordSource {
+
+	/**
+	 * Passes every record of the source to the listener, one at a time, before returning.
+	 *
+	 * @param listener The listener receiving the records
+	 * @throws IOException if the records can not be read
+	 */
+	public void read(GameRecordListener listener) throws IOException;
+}
@@ -0,0 +1,238 @@
+package kth.game.othello.record;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+import kth.game.othello.Othello;
+
+/**
+ * Writes game records to a stream in a compact binary format that is read by a {@link GameRecordReader}.
+ *
+ * A file starts with the magic number and the format version, followed by blocks of records. Records are collected in
+ * memory until a block is full, and each block is written as its storage method, its length when read, its stored
+ * length and its bytes, which can be compressed with deflate. Every block can be read on its own, so records can be
+ * appended to an existing file by a new writer.
+ *
+ * A record is the ordinal of its {@link GameLayout}, the number of players and their ids, the index of the first
+ * player, the number of moves and one byte per move: the slot, or {@link #PASS_BYTE} for a pass.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRecordWriter implements GameRecordListener, Closeable {
+	public static final int MAGIC = 0x4F47524B;
+	public static final int VERSION = 1;
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+	public static final int PASS_BYTE = 0xFF;
+
+	/**
+	 * The block is stored as it is.
+	 */
+	public static final int STORED = 0;
+	/**
+	 * The block is compressed with deflate.
+	 */
+	public static final int DEFLATED = 1;
+
+	private final DataOutputStream out;
+	private final boolean compress;
+	private final int blockSize;
+	private final ByteArrayOutputStream block;
+	private final DataOutputStream blockOut;
+	private final Deflater deflater;
+	private byte[] compressed;
+	private long numRecords;
+
+	/**
+	 * Creates a writer of a new stream of records. The header is written at once.
+	 *
+	 * @param out The stream to write to, which is closed with the writer
+	 * @param compress True if the blocks should be compressed
+	 * @throws IOException if the header can not be written
+	 */
+	public GameRecordWriter(OutputStream out, boolean compress) throws IOException {
+		this(out, compress, DEFAULT_BLOCK_SIZE, true);
+	}
+
+	/**
+	 * Creates a writer that appends records to a file. The header is written if the file is new or empty.
+	 *
+	 * @param file The file to append to
+	 * @param compress True if the blocks should be compressed
+	 * @throws IOException if the file can not be opened
+	 */
+	public GameRecordWriter(Path file, boolean compress) throws IOException {
+		this(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)), compress, DEFAULT_BLOCK_SIZE,
+				!Files.exists(file) || Files.size(file) == 0);
+	}
+
+	/**
+	 * Creates a game record writer.
+	 *
+	 * @param out The stream to write to, which is closed with the writer
+	 * @param compress True if the blocks should be compressed
+	 * @param blockSize The number of bytes of records after which a block is written
+	 * @param writeHeader True if the header should be written, false when appending to a stream that has one
+	 * @throws IOException if the header can not be written
+	 * @throws IllegalArgumentException if the block size is not positive
+	 */
+	public GameRecordWriter(OutputStream out, boolean compress, int blockSize, boolean writeHeader)
+			throws IOException {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("The block size must be positive.");
+		}
+		this.out = new DataOutputStream(out);
+		this.compress = compress;
+		this.blockSize = blockSize;
+		this.block = new ByteArrayOutputStream(blockSize + 256);
+		this.blockOut = new DataOutputStream(block);
+		this.deflater = compress ? new Deflater() : null;
+		this.compressed = new byte[0];
+		if (writeHeader) {
+			this.out.writeInt(MAGIC);
+			this.out.writeByte(VERSION);
+		}
+	}
+
+	/**
+	 * Records a game as it is played and writes the record when the game has finished. The game must not have
+	 * started.
+	 *
+	 * @param othello The game to record
+	 * @param layout The initial board of the game
+	 */
+	public void record(Othello othello, GameLayout layout) {
+		GameRecorder recorder = new GameRecorder(othello, layout);
+		othello.addGameFinishedObserver((o, arg) -> gameRecorded(recorder.getRecord()));
+	}
+
+	/**
+	 * Writes a record, like {@link #write}, but throws an unchecked exception if it can not be written, so the writer
+	 * can be used as a listener.
+	 *
+	 * @throws UncheckedIOException if the record can not be written
+	 */
+	@Override
+	public void gameRecorded(GameRecord record) {
+		try {
+			write(record);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes a record. The record may stay in memory until its block is full or the writer is flushed.
+	 *
+	 * @param record The record to write
+	 * @throws IOException if a block can not be written
+	 * @throws IllegalArgumentException if the record has more than 255 players or a slot that does not fit in a byte
+	 */
+	public synchronized void write(GameRecord record) throws IOException {
+		int numPlayers = record.getPlayerIds().size();
+		if (numPlayers > 0xFF || record.getNumMoves() > 0xFFFF) {
+			throw new IllegalArgumentException("The record has too many players or moves.");
+		}
+		for (int i = 0; i < record.getNumMoves(); i++) {
+			if (record.getMove(i) >= PASS_BYTE) {
+				throw new IllegalArgumentException("The slot " + record.getMove(i) + " does not fit in a byte.");
+			}
+		}
+
+		blockOut.writeByte(record.getLayout().ordinal());
+		blockOut.writeByte(numPlayers);
+		for (String playerId : record.getPlayerIds()) {
+			blockOut.writeUTF(playerId);
+		}
+		blockOut.writeByte(record.getFirstPlayer());
+		blockOut.writeShort(record.getNumMoves());
+		for (int i = 0; i < record.getNumMoves(); i++) {
+			int move = record.getMove(i);
+			blockOut.writeByte(move == GameRecord.PASS ? PASS_BYTE : move);
+		}
+		numRecords++;
+
+		if (block.size() >= blockSize) {
+			writeBlock();
+		}
+	}
+
+	/**
+	 * @return The number of records written by this writer
+	 */
+	public synchronized long getNumRecords() {
+		return numRecords;
+	}
+
+	/**
+	 * Writes the records in memory as a block and flushes the stream.
+	 *
+	 * @throws IOException if the block can not be written
+	 */
+	public synchronized void flush() throws IOException {
+		writeBlock();
+		out.flush();
+	}
+
+	/**
+	 * Writes the records in memory and closes the stream.
+	 *
+	 * @throws IOException if the block can not be written or the stream can not be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			writeBlock();
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+			out.close();
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		int length = block.size();
+		if (length == 0) {
+			return;
+		}
+		byte[] bytes = block.toByteArray();
+		block.reset();
+
+		if (compress) {
+			deflater.reset();
+			deflater.setInput(bytes);
+			deflater.finish();
+			if (compressed.length < length) {
+				compressed = new byte[length];
+			}
+			int compressedLength = 0;
+			while (!deflater.finished() && compressedLength < length) {
+				compressedLength += deflater.deflate(compressed, compressedLength, length - compressedLength);
+			}
+			// Blocks that do not get smaller are stored as they are
+			if (deflater.finished() && compressedLength < length) {
+				out.writeByte(DEFLATED);
+				out.writeInt(length);
+				out.writeInt(compressedLength);
+				out.write(compressed, 0, compressedLength);
+				return;
+			}
+		}
+		out.writeByte(STORED);
+		out.writeInt(length);
+		out.writeInt(length);
+		out.write(bytes);
+	}
+}
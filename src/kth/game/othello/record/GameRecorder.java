@@ -0,0 +1,85 @@
+package kth.game.othello.record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+
+import kth.game.othello.Othello;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.Player;
+
+/**
+ * A move observer of a game that records the moves as they are made, with a pass for every player who is skipped
+ * because it can not move. The player who makes the first move is recorded as the first player of the game. Moves that
+ * are undone are not removed from the record.
+ *
+ * @author Mathias Lindblom
+ * @author Erik Odenman
+ * @author Lucas Wiener
+ */
+public class GameRecorder implements Observer {
+	private final GameLayout layout;
+	private final List<String> playerIds;
+	private final BoardLayout boardLayout;
+	private final List<Integer> moves;
+	private int firstPlayer;
+	private int nextPlayer;
+
+	/**
+	 * Creates a recorder and adds it as a move observer of the game. The recorder must be created before the first
+	 * move of the game.
+	 *
+	 * @param othello The game to record
+	 * @param layout The initial board of the game
+	 */
+	public GameRecorder(Othello othello, GameLayout layout) {
+		this.layout = layout;
+		this.playerIds = new ArrayList<>();
+		for (Player player : othello.getPlayers()) {
+			playerIds.add(player.getId());
+		}
+		this.boardLayout = new SearchBoardFactory().getLayout(othello.getBoard());
+		this.moves = new ArrayList<>();
+		othello.addMoveObserver(this);
+	}
+
+	@Override
+	public void update(Observable o, Object arg) {
+		// The first of the changed nodes is the one moved to
+		Node node = (Node) ((List<?>) arg).get(0);
+		int player = playerIds.indexOf(node.getOccupantPlayerId());
+		if (moves.isEmpty()) {
+			firstPlayer = player;
+			nextPlayer = player;
+		}
+		while (nextPlayer != player) {
+			moves.add(GameRecord.PASS);
+			nextPlayer = (nextPlayer + 1) % playerIds.size();
+		}
+		moves.add(boardLayout.getSlot(node.getXCoordinate(), node.getYCoordinate()));
+		nextPlayer = (player + 1) % playerIds.size();
+	}
+
+	/**
+	 * Forgets the moves recorded so far, for a game that has been returned to its initial board by
+	 * {@link Othello#reset}.
+	 */
+	public void reset() {
+		moves.clear();
+		firstPlayer = 0;
+	}
+
+	/**
+	 * @return A record of the moves made so far
+	 */
+	public GameRecord getRecord() {
+		int[] recordMoves = new int[moves.size()];
+		for (int i = 0; i < recordMoves.length; i++) {
+			recordMoves[i] = moves.get(i);
+		}
+		return new GameRecord(layout, playerIds, firstPlayer, recordMoves);
+	}
+}
@@ -6,17 +6,32 @@ import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
 
+import kth.game.othello.board.BoardChangeListener;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.BoardLayout;
 import kth.game.othello.board.Node;
+import kth.game.othello.board.NodeImpl;
+import kth.game.othello.board.NodeListener;
 
 /**
  * Implements the Score interface.
  *
+ * The points of the players are kept in an array of counters. As a {@link BoardChangeListener} of a board handler the
+ * score is updated once per move from the disc counts of the board, and the observers of the score are notified once
+ * per move about every player whose score changed. The score can also listen to or observe single nodes, in which
+ * case it is updated and notifies its observers once per changed node.
+ *
  * @author Mathias Lindblom
  * @author Erik Odenman
  * @author Lucas Wiener
  */
-public class ScoreImpl extends Observable implements Score, Observer {
-	private final HashMap<String, ScoreItem> playerScores;
+public class ScoreImpl extends Observable implements Score, Observer, NodeListener, BoardChangeListener {
+	private final String[] playerIds;
+	private final HashMap<String, Integer> playerIndices;
+	private final int[] points;
+	private final ScoreItem[] scoreItems;
+	// The index of each player on the board the score listens to, resolved when the player first occupies it
+	private final int[] boardPlayerIndices;
 
 	/**
 	 * Constructs a Score instance that will observe given nodes for changes and will update the player scores according
@@ -26,28 +41,46 @@ public class ScoreImpl extends Observable implements Score, Observer {
 	 *            contain all players that are able to occupy any of the given nodes
 	 */
 	public ScoreImpl(List<ScoreItem> playerScoreItems) {
-		playerScores = new HashMap<>();
-
-		for (ScoreItem scoreItem : playerScoreItems) {
-			playerScores.put(scoreItem.getPlayerId(), scoreItem);
+		int numPlayers = playerScoreItems.size();
+		playerIds = new String[numPlayers];
+		playerIndices = new HashMap<>();
+		points = new int[numPlayers];
+		scoreItems = new ScoreItem[numPlayers];
+		boardPlayerIndices = new int[numPlayers];
+
+		for (int i = 0; i < numPlayers; i++) {
+			ScoreItem scoreItem = playerScoreItems.get(i);
+			playerIds[i] = scoreItem.getPlayerId();
+			playerIndices.put(scoreItem.getPlayerId(), i);
+			points[i] = scoreItem.getScore();
+			scoreItems[i] = scoreItem;
+			boardPlayerIndices[i] = BoardLayout.EMPTY;
 		}
 	}
 
 	@Override
 	public List<ScoreItem> getPlayersScore() {
-		return new ArrayList<>(playerScores.values());
+		List<ScoreItem> playersScore = new ArrayList<>(points.length);
+		for (int i = 0; i < points.length; i++) {
+			// Score items are only created for scores that have changed since they were last asked for
+			if (scoreItems[i].getScore() != points[i]) {
+				scoreItems[i] = new ScoreItem(playerIds[i], points[i]);
+			}
+			playersScore.add(scoreItems[i]);
+		}
+		return playersScore;
 	}
 
 	@Override
 	public int getPoints(String playerId) {
-		ScoreItem scoreItem = playerScores.get(playerId);
+		Integer playerIndex = playerIndices.get(playerId);
 
-		if (scoreItem == null) {
+		if (playerIndex == null) {
 			// TODO: Should this not throw? Interface says it doesn't throw :(
 			return 0;
 		}
 
-		return scoreItem.getScore();
+		return points[playerIndex];
 	}
 
 	@Override
@@ -55,6 +88,38 @@ public class ScoreImpl extends Observable implements Score, Observer {
 		onNodeChanged((Node) o, (String) arg);
 	}
 
+	@Override
+	public void nodeChanged(NodeImpl node, String previousOccupantPlayerId) {
+		onNodeChanged(node, previousOccupantPlayerId);
+	}
+
+	/**
+	 * Updates the scores of all players to their disc counts on the board. The observers of the score instance are
+	 * notified once, with the players that had their scores modified, if any.
+	 */
+	@Override
+	public void boardChanged(BoardImpl board, int[] changedSlots, int numChanged) {
+		List<String> modifiedScorePlayers = null;
+		for (int i = 0; i < points.length; i++) {
+			if (boardPlayerIndices[i] == BoardLayout.EMPTY) {
+				boardPlayerIndices[i] = board.getPlayerIndex(playerIds[i]);
+			}
+			int discCount = board.getDiscCount(boardPlayerIndices[i]);
+			if (discCount != points[i]) {
+				points[i] = discCount;
+				if (modifiedScorePlayers == null) {
+					modifiedScorePlayers = new ArrayList<>();
+				}
+				modifiedScorePlayers.add(playerIds[i]);
+			}
+		}
+
+		if (modifiedScorePlayers != null) {
+			setChanged();
+			notifyObservers(modifiedScorePlayers);
+		}
+	}
+
 	/**
 	 * Will update the score of the players affected by a node swap. Also notifies the observers of the score instance
 	 * which players had their scores modified.
@@ -83,13 +148,12 @@ public class ScoreImpl extends Observable implements Score, Observer {
 	}
 
 	/**
-	 * Adds the given value to the ScoreItem that belongs to the given playerId.
+	 * Adds the given value to the score of the given playerId.
 	 *
-	 * @param playerId The id of the player score item to update. Must be a valid player id.
-	 * @param value The value to add to the player score item (can be any integer value).
+	 * @param playerId The id of the player score to update. Must be a valid player id.
+	 * @param value The value to add to the player score (can be any integer value).
 	 */
 	private void addToScore(String playerId, int value) {
-		ScoreItem currentScore = playerScores.get(playerId);
-		playerScores.put(playerId, new ScoreItem(playerId, currentScore.getScore() + value));
+		points[playerIndices.get(playerId)] += value;
 	}
 }
@@ -0,0 +1,127 @@
+package kth.game.othello;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.LowestStrategy;
+import kth.game.othello.player.movestrategy.RandomStrategy;
+import kth.game.othello.player.movestrategy.SlotStrategy;
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GameRunnerTest {
+
+	private GameRunner createRunner(GameLayout layout, List<String> playerIds) {
+		return new GameRunner(new BoardFactory().createBoard(layout.getNodesForIds(playerIds)), playerIds);
+	}
+
+	/**
+	 * Replays the game of a result and checks that it ends with the scores of the result.
+	 */
+	private void assertReplays(GameResult result, GameLayout layout, List<String> playerIds) {
+		BoardHandler boardHandler = GameRecordReader.replay(result.toRecord(layout, playerIds));
+		int[] scores = new int[playerIds.size()];
+		for (Node node : boardHandler.getBoard().getNodes()) {
+			if (node.isMarked()) {
+				scores[playerIds.indexOf(node.getOccupantPlayerId())]++;
+			}
+		}
+		for (int player = 0; player < scores.length; player++) {
+			Assert.assertEquals(scores[player], result.getScore(player));
+		}
+		for (int player = 0; player < scores.length; player++) {
+			Assert.assertFalse(boardHandler.hasValidMove(playerIds.get(player)));
+		}
+	}
+
+	@Test
+	public void playTest() {
+		List<String> playerIds = Arrays.asList("a", "b");
+		GameRunner runner = createRunner(GameLayout.SQUARE, playerIds);
+		GameResult result = runner.play(Arrays.asList(new GreedyStrategy(), new LowestStrategy()));
+
+		Assert.assertEquals(2, result.getNumPlayers());
+		Assert.assertTrue(result.getNumMoves() >= 60);
+		Assert.assertEquals(0, result.getPlayer(0));
+		Assert.assertEquals(1, result.getPlayer(1));
+		Assert.assertTrue(result.getMove(result.getNumMoves() - 1) != GameRecord.PASS);
+		assertReplays(result, GameLayout.SQUARE, playerIds);
+	}
+
+	@Test
+	public void playAgainTest() {
+		GameRunner runner = createRunner(GameLayout.SQUARE, Arrays.asList("a", "b"));
+		List<GreedyStrategy> strategies = Arrays.asList(new GreedyStrategy(), new GreedyStrategy());
+		GameResult first = runner.play(strategies);
+		GameResult second = runner.play(strategies);
+
+		Assert.assertEquals(first.getNumMoves(), second.getNumMoves());
+		for (int i = 0; i < first.getNumMoves(); i++) {
+			Assert.assertEquals(first.getMove(i), second.getMove(i));
+		}
+		Assert.assertEquals(first.getScore(0), second.getScore(0));
+		Assert.assertEquals(first.getScore(1), second.getScore(1));
+	}
+
+	@Test
+	public void playThreePlayersTest() {
+		List<String> playerIds = Arrays.asList("a", "b", "c");
+		GameRunner runner = createRunner(GameLayout.DIAMOND, playerIds);
+		Assert.assertEquals(3, runner.getNumPlayers());
+
+		for (int i = 0; i < 5; i++) {
+			GameResult result = runner.play(Arrays.asList(new RandomStrategy(), new GreedyStrategy(),
+					new RandomStrategy()));
+			assertReplays(result, GameLayout.DIAMOND, playerIds);
+		}
+	}
+
+	@Test
+	public void getWinnerTest() {
+		Assert.assertEquals(1, new GameResult(new int[] { 20, 44 }, new int[0]).getWinner());
+		Assert.assertEquals(0, new GameResult(new int[] { 30, 10, 24 }, new int[0]).getWinner());
+		Assert.assertEquals(-1, new GameResult(new int[] { 32, 32 }, new int[0]).getWinner());
+		Assert.assertEquals(-1, new GameResult(new int[] { 10, 30, 30 }, new int[0]).getWinner());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void playWrongNumberOfStrategiesTest() {
+		createRunner(GameLayout.SQUARE, Arrays.asList("a", "b")).play(Collections.singletonList(new GreedyStrategy()));
+	}
+
+	@Test
+	public void playInvalidMoveTest() {
+		GameRunner runner = createRunner(GameLayout.SQUARE, Arrays.asList("a", "b"));
+		SlotStrategy invalid = new SlotStrategy() {
+			@Override
+			public String getName() {
+				return "Invalid";
+			}
+
+			@Override
+			public int move(int player, SearchBoard board, int[] moves, int numMoves) {
+				return 0;
+			}
+		};
+		GreedyStrategy greedy = new GreedyStrategy();
+		GameResult expected = runner.play(Arrays.asList(greedy, greedy));
+
+		try {
+			runner.play(Arrays.asList(greedy, invalid));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// The board is back at the start position
+		}
+		Assert.assertEquals(expected.getNumMoves(), runner.play(Arrays.asList(greedy, greedy)).getNumMoves());
+	}
+}
@@ -1,11 +1,14 @@
 package kth.game.othello;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Observer;
+import java.util.Set;
 
 import kth.game.othello.board.Node;
 import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.PlayerHandler;
 
@@ -94,6 +97,19 @@ public class OthelloImplTest {
 		verify(observer2, times(1)).update(othello, swappedNodes);
 	}
 
+	@Test
+	public void resetTest() {
+		BoardHandler obhMock = mock(BoardHandler.class);
+		PlayerHandler phMock = mock(PlayerHandler.class);
+		OthelloImpl othello = new OthelloImpl(obhMock, phMock, null);
+
+		Set<NodeData> nodes = new HashSet<>();
+		nodes.add(new NodeData(0, 0, PLAYER_ID));
+		othello.reset(nodes);
+		verify(obhMock).reset(nodes);
+		verify(phMock).reset();
+	}
+
 	private OthelloImpl getMockedOthelloGame() {
 		BoardHandler obhMock = mock(BoardHandler.class);
 		PlayerHandler phMock = mock(PlayerHandler.class);
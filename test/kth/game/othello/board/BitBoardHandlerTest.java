@@ -0,0 +1,133 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BitBoardHandlerTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+
+	private Set<NodeData> getSquareNodes() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		return new Square().getNodes(8, players);
+	}
+
+	private List<String> getIds(List<Node> nodes) {
+		return nodes.stream().map(Node::getId).sorted().collect(Collectors.toList());
+	}
+
+	private void assertSameOccupants(Board expected, Board actual) {
+		for (Node node : expected.getNodes()) {
+			Assert.assertEquals(node.getOccupantPlayerId(),
+					actual.getNode(node.getXCoordinate(), node.getYCoordinate()).getOccupantPlayerId());
+		}
+	}
+
+	@Test
+	public void shiftTest() {
+		long corner = 1L << BitBoard.getSquare(0, 0);
+		Assert.assertEquals(1L << BitBoard.getSquare(0, 1), BitBoard.shift(corner, 0));
+		Assert.assertEquals(0, BitBoard.shift(corner, 1));
+		Assert.assertEquals(1L << BitBoard.getSquare(1, 1), BitBoard.shift(corner, 4));
+
+		long edge = 1L << BitBoard.getSquare(3, 7);
+		Assert.assertEquals(0, BitBoard.shift(edge, 0));
+		Assert.assertEquals(0, BitBoard.shift(edge, 4));
+		Assert.assertEquals(1L << BitBoard.getSquare(2, 6), BitBoard.shift(edge, 5));
+	}
+
+	@Test
+	public void isBitBoardCompatibleTest() {
+		BoardFactory boardFactory = new BoardFactory();
+		Set<NodeData> nodes = getSquareNodes();
+
+		Assert.assertTrue(boardFactory.isBitBoardCompatible(nodes, Arrays.asList(PLAYER_1, PLAYER_2)));
+		Assert.assertFalse(boardFactory.isBitBoardCompatible(nodes, Arrays.asList(PLAYER_1, "player3")));
+		Assert.assertFalse(boardFactory.isBitBoardCompatible(nodes, Arrays.asList(PLAYER_1, PLAYER_2, "player3")));
+
+		nodes.remove(new NodeData(0, 0));
+		nodes.add(new NodeData(8, 0));
+		Assert.assertFalse(boardFactory.isBitBoardCompatible(nodes, Arrays.asList(PLAYER_1, PLAYER_2)));
+	}
+
+	@Test
+	public void sameAsBoardHandlerTest() {
+		Random random = new Random(4711);
+		BoardFactory boardFactory = new BoardFactory();
+		BoardHandlerFactory boardHandlerFactory = new BoardHandlerFactory();
+		List<String> playerIds = Arrays.asList(PLAYER_1, PLAYER_2);
+
+		for (int game = 0; game < 20; game++) {
+			BoardHandler expected = boardHandlerFactory.createOthelloBoardHandler(boardFactory
+					.createBoard(getSquareNodes()));
+			BoardHandler actual = boardHandlerFactory.createBitBoardHandler(boardFactory.createBitBoard(
+					getSquareNodes(), playerIds));
+
+			String playerInTurn = PLAYER_1;
+			while (expected.hasAnyAValidMove(playerIds)) {
+				Assert.assertTrue(actual.hasAnyAValidMove(playerIds));
+				if (!expected.hasValidMove(playerInTurn)) {
+					Assert.assertFalse(actual.hasValidMove(playerInTurn));
+					playerInTurn = playerInTurn.equals(PLAYER_1) ? PLAYER_2 : PLAYER_1;
+					continue;
+				}
+
+				List<Node> validMoves = expected.getValidMoves(playerInTurn);
+				Assert.assertEquals(getIds(validMoves), getIds(actual.getValidMoves(playerInTurn)));
+				for (Node node : expected.getBoard().getNodes()) {
+					if (node.isMarked()) {
+						continue;
+					}
+					Assert.assertEquals(expected.isMoveValid(playerInTurn, node.getId()),
+							actual.isMoveValid(playerInTurn, node.getId()));
+					Assert.assertEquals(expected.getNumNodesToSwap(playerInTurn, node.getId()),
+							actual.getNumNodesToSwap(playerInTurn, node.getId()));
+				}
+
+				String nodeId = validMoves.get(random.nextInt(validMoves.size())).getId();
+				Assert.assertEquals(getIds(expected.move(playerInTurn, nodeId)),
+						getIds(actual.move(playerInTurn, nodeId)));
+				assertSameOccupants(expected.getBoard(), actual.getBoard());
+
+				playerInTurn = playerInTurn.equals(PLAYER_1) ? PLAYER_2 : PLAYER_1;
+			}
+			Assert.assertFalse(actual.hasAnyAValidMove(playerIds));
+		}
+	}
+
+	@Test
+	public void undoTest() {
+		BitBoard board = new BoardFactory().createBitBoard(getSquareNodes(), Arrays.asList(PLAYER_1, PLAYER_2));
+		BoardHandler boardHandler = new BoardHandlerFactory().createBitBoardHandler(board);
+		long player1Discs = board.getDiscs(0);
+		long player2Discs = board.getDiscs(1);
+
+		boardHandler.move(PLAYER_1, NodeIdUtil.createNodeId(2, 3));
+		Assert.assertEquals(4, Long.bitCount(board.getDiscs(0)));
+		Assert.assertEquals(1, Long.bitCount(board.getDiscs(1)));
+
+		boardHandler.undo();
+		Assert.assertEquals(player1Discs, board.getDiscs(0));
+		Assert.assertEquals(player2Discs, board.getDiscs(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidMoveTest() {
+		BitBoard board = new BoardFactory().createBitBoard(getSquareNodes(), Arrays.asList(PLAYER_1, PLAYER_2));
+		new BoardHandlerFactory().createBitBoardHandler(board).move(PLAYER_1, NodeIdUtil.createNodeId(2, 2));
+	}
+}
@@ -5,72 +5,54 @@ import static org.mockito.Mockito.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class BoardHandlerTest {
 
-	private Node[][] getMockedNodeMatrix() {
-		Node[][] nodes = new Node[8][8];
-
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				nodes[i][j] = mock(Node.class);
-				when(nodes[i][j].getId()).thenReturn(NodeIdUtil.createNodeId(i, j));
-				occupyMockedNode(nodes[i][j], null);
-				when(nodes[i][j].getXCoordinate()).thenReturn(i);
-				when(nodes[i][j].getYCoordinate()).thenReturn(j);
-			}
-		}
-
-		return nodes;
-	}
-
-	private BoardImpl getMockedBoard(Node[][] nodes) {
-		BoardImpl mockedBoard = mock(BoardImpl.class);
-
-		List<Node> nodeList = new ArrayList<>();
+	private BoardImpl getBoard(String[][] occupants) {
+		List<NodeImpl> nodes = new ArrayList<>();
 		for (int i = 0; i < 8; i++) {
 			for (int j = 0; j < 8; j++) {
-				nodeList.add(nodes[i][j]);
-				when(mockedBoard.getNode(i, j)).thenReturn(nodes[i][j]);
-				when(mockedBoard.getNode(NodeIdUtil.createNodeId(i, j))).thenReturn(nodes[i][j]);
-				when(mockedBoard.hasNode(i, j)).thenReturn(true);
+				nodes.add(new NodeImpl(occupants[i][j], i, j));
 			}
 		}
-		when(mockedBoard.getNodes()).thenReturn(nodeList);
-
-		return mockedBoard;
+		return new BoardImpl(nodes);
 	}
 
-	private void occupyNodeOnMockedBoard(Board board, int x, int y, String playerId) {
-		occupyMockedNode(board.getNode(x, y), playerId);
-	}
-
-	private void occupyMockedNode(Node node, String playerId) {
-		when(node.getOccupantPlayerId()).thenReturn(playerId);
-		when(node.isMarked()).thenReturn(playerId != null);
+	private void occupyNodeOnBoard(Board board, int x, int y, String playerId) {
+		((BoardImpl) board).occupyNode(NodeIdUtil.createNodeId(x, y), playerId);
 	}
 
 	private BoardHandler getSpecialEndGameBoardHandler(String player1, String player2) {
-		Node[][] nodes = getMockedNodeMatrix();
+		String[][] occupants = new String[8][8];
 
 		for (int i = 0; i < 8; i++) {
 			for (int j = 0; j < 8; j++) {
-				occupyMockedNode(nodes[i][j], player1);
+				occupants[i][j] = player1;
 			}
 		}
 
-		occupyMockedNode(nodes[3][7], null);
-		occupyMockedNode(nodes[4][6], null);
-		occupyMockedNode(nodes[4][7], null);
-		occupyMockedNode(nodes[5][6], null);
-		occupyMockedNode(nodes[5][7], player2);
-		occupyMockedNode(nodes[6][7], null);
+		occupants[3][7] = null;
+		occupants[4][6] = null;
+		occupants[4][7] = null;
+		occupants[5][6] = null;
+		occupants[5][7] = player2;
+		occupants[6][7] = null;
 
 		BoardHistoryHandler mockedBoardHistoryHandler = mock(BoardHistoryHandler.class);
-		return new BoardHandler(getMockedBoard(nodes), mockedBoardHistoryHandler);
+		return new BoardHandler(getBoard(occupants), mockedBoardHistoryHandler);
 	}
 
 	private BoardHandler getInitialGameBoardHandler(String player1, String player2) {
@@ -79,13 +61,12 @@ public class BoardHandlerTest {
 	}
 
 	private BoardImpl getInitialGameBoard(String player1, String player2) {
-		Node[][] nodes = getMockedNodeMatrix();
-		occupyMockedNode(nodes[3][3], player2);
-		occupyMockedNode(nodes[4][4], player2);
-		occupyMockedNode(nodes[3][4], player1);
-		occupyMockedNode(nodes[4][3], player1);
-		BoardImpl board = getMockedBoard(nodes);
-		return board;
+		String[][] occupants = new String[8][8];
+		occupants[3][3] = player2;
+		occupants[4][4] = player2;
+		occupants[3][4] = player1;
+		occupants[4][3] = player1;
+		return getBoard(occupants);
 	}
 
 	private boolean nodeListContainsNodeId(List<Node> list, String nodeId) {
@@ -113,16 +94,16 @@ public class BoardHandlerTest {
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(4, 5)));
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(5, 4)));
 
-			occupyNodeOnMockedBoard(boardHandler.getBoard(), 2, 3, player1);
-			occupyNodeOnMockedBoard(boardHandler.getBoard(), 3, 3, player1);
+			occupyNodeOnBoard(boardHandler.getBoard(), 2, 3, player1);
+			occupyNodeOnBoard(boardHandler.getBoard(), 3, 3, player1);
 			validMoves = boardHandler.getValidMoves(player2);
 			Assert.assertEquals(3, validMoves.size());
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(2, 2)));
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(4, 2)));
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(2, 4)));
 
-			occupyNodeOnMockedBoard(boardHandler.getBoard(), 4, 2, player2);
-			occupyNodeOnMockedBoard(boardHandler.getBoard(), 4, 3, player2);
+			occupyNodeOnBoard(boardHandler.getBoard(), 4, 2, player2);
+			occupyNodeOnBoard(boardHandler.getBoard(), 4, 3, player2);
 			validMoves = boardHandler.getValidMoves(player1);
 			Assert.assertEquals(5, validMoves.size());
 			Assert.assertTrue(nodeListContainsNodeId(validMoves, NodeIdUtil.createNodeId(5, 1)));
@@ -158,7 +139,7 @@ public class BoardHandlerTest {
 		// Test case when more than 1 swaps will occur
 		{
 			BoardHandler boardHandler = getInitialGameBoardHandler(player1, player2);
-			occupyNodeOnMockedBoard(boardHandler.getBoard(), 2, 3, player2);
+			occupyNodeOnBoard(boardHandler.getBoard(), 2, 3, player2);
 
 			Assert.assertEquals(2, boardHandler.getNumNodesToSwap(player1, NodeIdUtil.createNodeId(1, 3)));
 			Assert.assertEquals(1, boardHandler.getNumNodesToSwap(player1, NodeIdUtil.createNodeId(3, 2)));
@@ -215,21 +196,216 @@ public class BoardHandlerTest {
 
 	@Test
 	public void undoTest() {
-		BoardImpl mockedBoard = getInitialGameBoard("player1", "player2");
+		BoardImpl board = getInitialGameBoard("player1", "player2");
 		BoardHistoryHandler mockedBoardHistoryHandler = mock(BoardHistoryHandler.class);
-		BoardHandler boardHandler = new BoardHandler(mockedBoard, mockedBoardHistoryHandler);
+		BoardHandler boardHandler = new BoardHandler(board, mockedBoardHistoryHandler);
 
 		boardHandler.move("player1", NodeIdUtil.createNodeId(2, 3));
 
-		List<Node> move = new ArrayList<>();
-		move.add(mockedBoard.getNode(2, 3));
-		move.add(mockedBoard.getNode(3, 3));
-		verify(mockedBoardHistoryHandler, times(1)).save(move);
+		// The history is saved as slots, with the occupied slot first, in a buffer that is reused by the next move
+		ArgumentCaptor<int[]> move = ArgumentCaptor.forClass(int[].class);
+		verify(mockedBoardHistoryHandler, times(1)).save(move.capture(), eq(2));
+		Assert.assertEquals(board.getSlot("2:3"), move.getValue()[0]);
+		Assert.assertEquals(board.getSlot("3:3"), move.getValue()[1]);
 
 		boardHandler.move("player2", NodeIdUtil.createNodeId(4, 2));
-		move = new ArrayList<>();
-		move.add(mockedBoard.getNode(4, 2));
-		move.add(mockedBoard.getNode(4, 3));
-		verify(mockedBoardHistoryHandler, times(1)).save(move);
+		verify(mockedBoardHistoryHandler, times(2)).save(move.capture(), eq(2));
+		Assert.assertEquals(board.getSlot("4:2"), move.getValue()[0]);
+		Assert.assertEquals(board.getSlot("4:3"), move.getValue()[1]);
+	}
+
+	@Test
+	public void incrementalValidMovesTest() {
+		Random random = new Random(17);
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			players.add(new ComputerPlayer("player" + i, "player" + i, null));
+		}
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+
+		List<Set<NodeData>> layouts = new ArrayList<>();
+		layouts.add(new Diamond().getNodes(9, players));
+		layouts.add(new Castle().getNodes(players.subList(0, 2)));
+
+		for (Set<NodeData> nodeData : layouts) {
+			BoardImpl board = new BoardFactory().createBoard(nodeData);
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+			int numMoves = 0;
+
+			for (int turn = 0; boardHandler.hasAnyAValidMove(playerIds); turn++) {
+				String playerId = playerIds.get(turn % 3);
+				assertSameValidMoves(board, boardHandler, playerIds);
+				if (!boardHandler.hasValidMove(playerId)) {
+					continue;
+				}
+
+				List<Node> validMoves = boardHandler.getValidMoves(playerId);
+				boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+				numMoves++;
+
+				// Take back a move now and then to check that the valid moves are rolled back
+				if (random.nextInt(4) == 0) {
+					boardHandler.undo();
+					numMoves--;
+					assertSameValidMoves(board, boardHandler, playerIds);
+					validMoves = boardHandler.getValidMoves(playerId);
+					boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+					numMoves++;
+				}
+			}
+
+			for (; numMoves > 0; numMoves--) {
+				boardHandler.undo();
+				assertSameValidMoves(board, boardHandler, playerIds);
+			}
+		}
+	}
+
+	@Test
+	public void rewindTest() {
+		Random random = new Random(5);
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("player0", "player0", null));
+		players.add(new ComputerPlayer("player1", "player1", null));
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+
+		BoardImpl board = new BoardFactory().createBoard(new Castle().getNodes(players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		List<BoardImpl> boards = new ArrayList<>();
+		boards.add(board.copyWithoutObservers());
+
+		for (int turn = 0; boardHandler.hasAnyAValidMove(playerIds); turn++) {
+			String playerId = playerIds.get(turn % 2);
+			if (boardHandler.hasValidMove(playerId)) {
+				List<Node> validMoves = boardHandler.getValidMoves(playerId);
+				boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+				boards.add(board.copyWithoutObservers());
+			}
+		}
+		Assert.assertEquals(boards.size() - 1, boardHandler.getPly());
+
+		for (int i = 0; i < 20; i++) {
+			int ply = random.nextInt(boards.size());
+			boardHandler.rewind(ply);
+			Assert.assertEquals(ply, boardHandler.getPly());
+			Assert.assertEquals(boards.get(ply), board);
+			assertSameValidMoves(board, boardHandler, playerIds);
+		}
+
+		boardHandler.rewind(0);
+		boardHandler.redo();
+		Assert.assertEquals(boards.get(1), board);
+		assertSameValidMoves(board, boardHandler, playerIds);
+	}
+
+	@Test
+	public void resetTest() {
+		Random random = new Random(11);
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			players.add(new ComputerPlayer("player" + i, "player" + i, null));
+		}
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+
+		Set<NodeData> nodeData = new Diamond().getNodes(9, players);
+		BoardImpl board = new BoardFactory().createBoard(nodeData);
+		BoardImpl initial = board.copyWithoutObservers();
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		BoardChangeListener listener = mock(BoardChangeListener.class);
+		boardHandler.addBoardChangeListener(listener);
+
+		for (int game = 0; game < 3; game++) {
+			for (int turn = 0; boardHandler.hasAnyAValidMove(playerIds); turn++) {
+				String playerId = playerIds.get(turn % 3);
+				if (boardHandler.hasValidMove(playerId)) {
+					List<Node> validMoves = boardHandler.getValidMoves(playerId);
+					boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+				}
+			}
+
+			boardHandler.reset(nodeData);
+			Assert.assertEquals(initial, board);
+			Assert.assertEquals(initial.getHash(), boardHandler.getHash());
+			Assert.assertEquals(0, boardHandler.getPly());
+			for (int i = 0; i < playerIds.size(); i++) {
+				Assert.assertEquals(initial.getDiscCount(i), board.getDiscCount(i));
+			}
+			assertSameValidMoves(board, boardHandler, playerIds);
+		}
+		verify(listener, atLeast(3)).boardChanged(eq(board), any(int[].class), anyInt());
+
+		// Nothing changes when the board is already at the start position
+		reset(listener);
+		boardHandler.reset(nodeData);
+		verify(listener, never()).boardChanged(any(BoardImpl.class), any(int[].class), anyInt());
+	}
+
+	@Test
+	public void resetInvalidNodesTest() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("player0", "player0", null));
+		players.add(new ComputerPlayer("player1", "player1", null));
+		BoardImpl board = new BoardFactory().createBoard(new Castle().getNodes(players));
+		BoardImpl initial = board.copyWithoutObservers();
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		List<Set<NodeData>> invalidNodes = new ArrayList<>();
+		invalidNodes.add(new Diamond().getNodes(9, Arrays.asList(players.get(0), players.get(1),
+				new ComputerPlayer("player2", "player2", null))));
+		Set<NodeData> unknownPlayer = new Castle().getNodes(players).stream().map(
+				n -> new NodeData(n.getXCoordinate(), n.getYCoordinate(), n.getOccupantPlayerId() == null ? null
+						: "other")).collect(Collectors.toSet());
+		invalidNodes.add(unknownPlayer);
+
+		for (Set<NodeData> nodeData : invalidNodes) {
+			try {
+				boardHandler.reset(nodeData);
+				Assert.fail();
+			} catch (IllegalArgumentException e) {
+				Assert.assertEquals(initial, board);
+			}
+		}
+	}
+
+	@Test
+	public void hashTest() {
+		Random random = new Random(23);
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("player0", "player0", null));
+		players.add(new ComputerPlayer("player1", "player1", null));
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+
+		BoardImpl board = new BoardFactory().createBoard(new Castle().getNodes(players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		long initialHash = boardHandler.getHash();
+		int numMoves = 0;
+
+		for (int turn = 0; boardHandler.hasAnyAValidMove(playerIds); turn++) {
+			String playerId = playerIds.get(turn % 2);
+			if (!boardHandler.hasValidMove(playerId)) {
+				continue;
+			}
+			long hash = boardHandler.getHash();
+			List<Node> validMoves = boardHandler.getValidMoves(playerId);
+			boardHandler.move(playerId, validMoves.get(random.nextInt(validMoves.size())).getId());
+			numMoves++;
+
+			Assert.assertNotEquals(hash, boardHandler.getHash());
+			Assert.assertEquals(board.copyWithoutObservers().getHash(), boardHandler.getHash());
+		}
+
+		for (; numMoves > 0; numMoves--) {
+			boardHandler.undo();
+			Assert.assertEquals(board.copyWithoutObservers().getHash(), boardHandler.getHash());
+		}
+		Assert.assertEquals(initialHash, boardHandler.getHash());
+	}
+
+	private void assertSameValidMoves(BoardImpl board, BoardHandler boardHandler, List<String> playerIds) {
+		BoardHandler expected = new BoardHandlerFactory().createOthelloBoardHandler(board.copyWithoutObservers());
+		for (String playerId : playerIds) {
+			Assert.assertEquals(expected.hasValidMove(playerId), boardHandler.hasValidMove(playerId));
+			Assert.assertEquals(expected.getValidMoves(playerId), boardHandler.getValidMoves(playerId));
+		}
 	}
 }
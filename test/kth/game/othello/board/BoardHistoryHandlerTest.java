@@ -1,47 +1,132 @@
 package kth.game.othello.board;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import static org.mockito.Mockito.*;
-
 public class BoardHistoryHandlerTest {
+
+	private BoardImpl getBoard() {
+		List<NodeImpl> nodes = new ArrayList<>();
+		for (int x = 0; x < 4; x++) {
+			for (int y = 0; y < 4; y++) {
+				nodes.add(new NodeImpl(x, y));
+			}
+		}
+		BoardImpl board = new BoardImpl(nodes);
+		board.occupyNode("0:0", "player1");
+		board.occupyNode("3:3", "player2");
+		board.occupyNode("1:2", "player3");
+		return board;
+	}
+
+	private void occupy(BoardImpl board, List<Node> move, String playerId) {
+		for (Node n : move) {
+			board.occupyNode(n.getId(), playerId);
+		}
+	}
+
 	@Test
 	public void pushAndPopTest() {
-		BoardImpl mockedBoard = mock(BoardImpl.class);
-		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(mockedBoard);
+		BoardImpl board = getBoard();
+		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(board);
+		BoardImpl initialBoard = board.copyWithoutObservers();
 
 		List<Node> firstMove = new ArrayList<>();
-		firstMove.add(new NodeImpl("player1", 0, 0));
-		firstMove.add(new NodeImpl("player2", 3, 3));
-		firstMove.add(new NodeImpl("player3", 1, 2));
+		firstMove.add(board.getNode("0:0"));
+		firstMove.add(board.getNode("3:3"));
+		firstMove.add(board.getNode("1:2"));
 
 		boardHistoryHandler.save(firstMove);
+		occupy(board, firstMove, "player1");
+		BoardImpl firstMoveBoard = board.copyWithoutObservers();
 
 		List<Node> secondMove = new ArrayList<>();
-		secondMove.add(new NodeImpl("player1", 1, 1));
-		secondMove.add(new NodeImpl("player1", 2, 1));
-		secondMove.add(new NodeImpl("player3", 3, 3));
+		secondMove.add(board.getNode("1:1"));
+		secondMove.add(board.getNode("2:1"));
+		secondMove.add(board.getNode("3:3"));
 
 		boardHistoryHandler.save(secondMove);
+		occupy(board, secondMove, "player3");
+		Assert.assertEquals(2, boardHistoryHandler.getNumMoves());
 
-		boardHistoryHandler.undo();
-		verifyOccupyNode(mockedBoard, secondMove);
+		List<Node> restored = boardHistoryHandler.undo();
+		Assert.assertEquals(firstMoveBoard, board);
+		Assert.assertEquals("3:3", restored.get(0).getId());
+		Assert.assertEquals("player1", restored.get(0).getOccupantPlayerId());
+		Assert.assertNull(restored.get(2).getOccupantPlayerId());
+
+		int[] restoredSlots = new int[board.getNumNodes()];
+		Assert.assertEquals(3, boardHistoryHandler.undo(restoredSlots));
+		Assert.assertEquals(initialBoard, board);
+		Assert.assertEquals(board.getSlot("1:2"), restoredSlots[0]);
+
+		Assert.assertTrue(boardHistoryHandler.undo().isEmpty());
+		Assert.assertEquals(0, boardHistoryHandler.undo(restoredSlots));
+		Assert.assertEquals(initialBoard, board);
+	}
+
+	@Test
+	public void redoTest() {
+		BoardImpl board = getBoard();
+		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(board);
+		int[] restoredSlots = new int[board.getNumNodes()];
+		List<BoardImpl> boards = new ArrayList<>();
+		boards.add(board.copyWithoutObservers());
 
+		for (int i = 0; i < 5; i++) {
+			List<Node> move = new ArrayList<>();
+			move.add(board.getNode(i % 4 + ":" + i / 4));
+			move.add(board.getNode("3:3"));
+			boardHistoryHandler.save(move);
+			occupy(board, move, "player" + i);
+			boards.add(board.copyWithoutObservers());
+		}
+		Assert.assertEquals(0, boardHistoryHandler.redo(restoredSlots));
+
+		boardHistoryHandler.undo();
 		boardHistoryHandler.undo();
-		verifyOccupyNode(mockedBoard, firstMove);
+		Assert.assertEquals(boards.get(3), board);
+		Assert.assertEquals(2, boardHistoryHandler.getNumRedoMoves());
 
+		Assert.assertEquals(2, boardHistoryHandler.redo(restoredSlots));
+		Assert.assertEquals(boards.get(4), board);
+		Assert.assertEquals(board.getSlot("3:0"), restoredSlots[0]);
+
+		// Saving a move drops the moves that could have been redone
 		boardHistoryHandler.undo();
 		boardHistoryHandler.undo();
+		Assert.assertEquals(boards.get(2), board);
+		List<Node> move = new ArrayList<>();
+		move.add(board.getNode("2:2"));
+		boardHistoryHandler.save(move);
+		Assert.assertEquals(0, boardHistoryHandler.getNumRedoMoves());
+		Assert.assertEquals(3, boardHistoryHandler.getNumMoves());
+		Assert.assertEquals(0, boardHistoryHandler.redo(restoredSlots));
 	}
 
-	private void verifyOccupyNode(BoardImpl mockedBoard, List<Node> move) {
-		Collections.reverse(move);
-		for (Node n : move) {
-			verify(mockedBoard, times(1)).occupyNode(n.getId(), n.getOccupantPlayerId());
+	@Test
+	public void growTest() {
+		BoardImpl board = getBoard();
+		BoardHistoryHandler boardHistoryHandler = new BoardHistoryHandler(board);
+		BoardImpl initialBoard = board.copyWithoutObservers();
+		int[] move = new int[board.getNumNodes()];
+		for (int slot = 0; slot < move.length; slot++) {
+			move[slot] = slot;
+		}
+
+		// Many more moves than slots, each changing every slot
+		for (int i = 0; i < 10 * board.getNumNodes(); i++) {
+			boardHistoryHandler.save(move, move.length);
+			for (int slot = 0; slot < move.length; slot++) {
+				board.occupySlot(slot, "player" + (i % 3));
+			}
+		}
+		while (boardHistoryHandler.undo(move) > 0) {
+			// Undo everything
 		}
+		Assert.assertEquals(initialBoard, board);
 	}
 }
@@ -1,5 +1,9 @@
 package kth.game.othello.board;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,6 +50,41 @@ public class BoardImplTest {
 		Assert.assertEquals(player, board.getNode(0, 2).getOccupantPlayerId());
 	}
 
+	@Test
+	public void nodeEventsDisabledTest() {
+		NodeListener listener = mock(NodeListener.class);
+		BoardImpl board = create8x8Board();
+		NodeImpl node = (NodeImpl) board.getNode(0, 2);
+		node.addNodeListener(listener);
+
+		board.setNodeEventsEnabled(false);
+		board.occupyNode(NodeIdUtil.createNodeId(0, 2), "player1");
+		Assert.assertEquals("player1", board.getNode(0, 2).getOccupantPlayerId());
+		verify(listener, never()).nodeChanged(node, null);
+
+		board.setNodeEventsEnabled(true);
+		board.occupyNode(NodeIdUtil.createNodeId(0, 2), "player2");
+		verify(listener).nodeChanged(node, "player1");
+	}
+
+	@Test
+	public void discCountTest() {
+		BoardImpl board = create8x8Board();
+		// Enough players to grow the counters
+		for (int player = 0; player < 5; player++) {
+			board.occupyNode(NodeIdUtil.createNodeId(player, 0), "player" + player);
+			board.occupyNode(NodeIdUtil.createNodeId(player, 1), "player" + player);
+		}
+		board.occupyNode(NodeIdUtil.createNodeId(0, 1), "player4");
+		board.occupyNode(NodeIdUtil.createNodeId(1, 1), null);
+
+		Assert.assertEquals(1, board.getDiscCount(board.getPlayerIndex("player0")));
+		Assert.assertEquals(1, board.getDiscCount(board.getPlayerIndex("player1")));
+		Assert.assertEquals(2, board.getDiscCount(board.getPlayerIndex("player2")));
+		Assert.assertEquals(3, board.getDiscCount(board.getPlayerIndex("player4")));
+		Assert.assertEquals(0, board.getDiscCount(board.getPlayerIndex("unknown")));
+	}
+
 	@Test
 	public void hasNodeTest() {
 		BoardImpl board = create8x8Board();
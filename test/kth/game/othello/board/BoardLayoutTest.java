@@ -0,0 +1,81 @@
+package kth.game.othello.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoardLayoutTest {
+
+	/**
+	 * Creates a layout of a 1x5 row with a hole: (0, 0), (0, 1), (0, 2), (0, 4), (0, 5)
+	 */
+	private BoardLayout createRowWithHole() {
+		return new BoardLayout(new int[] { 0, 0, 0, 0, 0 }, new int[] { 0, 1, 2, 4, 5 });
+	}
+
+	@Test
+	public void getSlotTest() {
+		BoardLayout layout = createRowWithHole();
+		Assert.assertEquals(5, layout.getNumSlots());
+		Assert.assertEquals(0, layout.getSlot(0, 0));
+		Assert.assertEquals(2, layout.getSlot(0, 2));
+		Assert.assertEquals(BoardLayout.EMPTY, layout.getSlot(0, 3));
+		Assert.assertEquals(3, layout.getSlot(0, 4));
+		Assert.assertEquals(BoardLayout.EMPTY, layout.getSlot(1, 0));
+		Assert.assertEquals(BoardLayout.EMPTY, layout.getSlot(-1, 0));
+		Assert.assertEquals(0, layout.getMaxX());
+		Assert.assertEquals(5, layout.getMaxY());
+		Assert.assertEquals(4, layout.getY(3));
+	}
+
+	@Test
+	public void keyTest() {
+		Assert.assertEquals(createRowWithHole().getKey(), createRowWithHole().getKey());
+		Assert.assertNotEquals(createRowWithHole().getKey(), new BoardLayout(new int[] { 0, 0, 0, 0, 0 }, new int[] {
+				0, 1, 2, 3, 4 }).getKey());
+		Assert.assertNotEquals(createRowWithHole().getKey(), new BoardLayout(new int[] { 0, 0, 0, 0, 0, 0 },
+				new int[] { 0, 1, 2, 4, 5, 6 }).getKey());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsortedTest() {
+		new BoardLayout(new int[] { 0, 0 }, new int[] { 1, 0 });
+	}
+
+	@Test
+	public void swapsStopAtHoleTest() {
+		BoardLayout layout = createRowWithHole();
+		int[] swaps = new int[5];
+
+		// The hole ends the ray, so the discs beyond it can not enclose anything
+		int[] occupants = { BoardLayout.EMPTY, 1, 1, 0, 0 };
+		Assert.assertEquals(0, layout.getNumSwaps(occupants, 0, 0));
+		Assert.assertFalse(layout.hasSwaps(occupants, 0, 0));
+
+		occupants = new int[] { BoardLayout.EMPTY, 1, 0, 1, BoardLayout.EMPTY };
+		Assert.assertEquals(1, layout.getNumSwaps(occupants, 0, 0));
+		Assert.assertEquals(1, layout.getSwaps(occupants, 0, 0, swaps, 2));
+		Assert.assertEquals(1, swaps[2]);
+		Assert.assertEquals(0, layout.getNumSwaps(occupants, 0, 4));
+	}
+
+	@Test
+	public void swapsInAllDirectionsTest() {
+		int[] xs = new int[9];
+		int[] ys = new int[9];
+		for (int i = 0; i < 9; i++) {
+			xs[i] = i / 3;
+			ys[i] = i % 3;
+		}
+		BoardLayout layout = new BoardLayout(xs, ys);
+
+		// Player 0 in the center of a 3x3 board can not enclose anything, a corner can enclose the center
+		int[] occupants = { 0, 1, 0, 1, 1, 1, 0, 1, 0 };
+		Assert.assertEquals(0, layout.getNumSwaps(occupants, 0, 4));
+
+		occupants = new int[] { BoardLayout.EMPTY, 1, 0, 1, 1, 1, 0, 1, 0 };
+		int[] swaps = new int[9];
+		Assert.assertEquals(3, layout.getSwaps(occupants, 0, 0, swaps, 0));
+		Assert.assertTrue(layout.hasSwaps(occupants, 0, 0));
+		Assert.assertFalse(layout.hasSwaps(occupants, 1, 0));
+	}
+}
@@ -1,19 +1,38 @@
 package kth.game.othello.board;
 
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.Observable;
 import java.util.Observer;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 
 public class NodeImplTest {
 
 	private static final String PLAYER_1 = "player1";
 	private static final String PLAYER_2 = "player2";
 
+	/**
+	 * Matches the observable that the observers of a node are given, which is equal to the node.
+	 */
+	private static Observable eqNode(final Node node) {
+		return argThat(new ArgumentMatcher<Observable>() {
+			@Override
+			public boolean matches(Object argument) {
+				return node.equals(argument);
+			}
+		});
+	}
+
 	@Test
 	public void constructorTest() {
 		{
@@ -69,20 +88,74 @@ public class NodeImplTest {
 
 		NodeImpl node = new NodeImpl(2, 7);
 		node.addObserver(observer);
-		node.notifyObservers(null);
 		node.setOccupantPlayerId("player1");
 
-		verify(observer).update(node, null);
+		verify(observer).update(eqNode(node), isNull());
 
 		node.setOccupantPlayerId("player2");
-		verify(observer).update(node, "player1");
+		verify(observer).update(eqNode(node), eq("player1"));
 
 		node.setOccupantPlayerId(null);
-		verify(observer).update(node, "player2");
+		verify(observer).update(eqNode(node), eq("player2"));
 
 		node.setOccupantPlayerId(null);
-		verify(observer, times(1)).update(node, null); // This method should not have been called (thats why the times
-														// is 1 for the previous call)
+		// This method should not have been called (thats why the times is 1 for the previous call)
+		verify(observer, times(1)).update(eqNode(node), isNull());
+	}
+
+	@Test
+	public void observedNodeTest() {
+		Observer observer = mock(Observer.class);
+		NodeImpl node = new NodeImpl(2, 7);
+		node.addObserver(observer);
+		node.setOccupantPlayerId(PLAYER_1);
+
+		ArgumentCaptor<Observable> captor = ArgumentCaptor.forClass(Observable.class);
+		verify(observer).update(captor.capture(), isNull());
+		Observable observed = captor.getValue();
+		Assert.assertEquals(node, observed);
+		Assert.assertEquals(observed, node);
+		Assert.assertEquals(node.hashCode(), observed.hashCode());
+		Assert.assertEquals(PLAYER_1, ((Node) observed).getOccupantPlayerId());
+		Assert.assertNotEquals(new NodeImpl(2, 6), observed);
+	}
+
+	@Test
+	public void deleteObserverTest() {
+		Observer observer1 = mock(Observer.class);
+		Observer observer2 = mock(Observer.class);
+
+		NodeImpl node = new NodeImpl(2, 7);
+		node.addObserver(observer1);
+		node.addObserver(observer2);
+		node.addObserver(observer1);
+		Assert.assertEquals(2, node.countObservers());
+
+		node.deleteObserver(observer1);
+		node.setOccupantPlayerId(PLAYER_1);
+		verify(observer1, never()).update(eqNode(node), isNull());
+		verify(observer2).update(eqNode(node), isNull());
+
+		node.deleteObserver(observer2);
+		Assert.assertEquals(0, node.countObservers());
+		node.setOccupantPlayerId(PLAYER_2);
+		verify(observer2, never()).update(eqNode(node), eq(PLAYER_1));
+	}
+
+	@Test
+	public void nodeListenerTest() {
+		NodeListener listener = mock(NodeListener.class);
+
+		NodeImpl node = new NodeImpl(2, 7);
+		node.addNodeListener(listener);
+		node.addNodeListener(listener);
+		node.setOccupantPlayerId(PLAYER_1);
+		node.setOccupantPlayerId(PLAYER_1);
+		verify(listener, times(1)).nodeChanged(node, null);
+
+		node.removeNodeListener(listener);
+		node.setOccupantPlayerId(PLAYER_2);
+		verify(listener, never()).nodeChanged(node, PLAYER_1);
 	}
 
 	@Test
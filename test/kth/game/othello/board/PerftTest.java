@@ -0,0 +1,116 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PerftTest {
+	// The number of positions after each number of moves from the start of the traditional 8x8 game
+	private static final long[] SQUARE_PERFT = { 1, 4, 12, 56, 244, 1396, 8200, 55092 };
+
+	private List<Player> createPlayers(int numPlayers) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 1; i <= numPlayers; i++) {
+			players.add(new ComputerPlayer("player" + i, "player" + i, null));
+		}
+		return players;
+	}
+
+	private List<String> getIds(List<Player> players) {
+		return players.stream().map(Player::getId).collect(Collectors.toList());
+	}
+
+	/**
+	 * Counts the leaves with the node based methods of the board handler, following the same turn order as perft.
+	 */
+	private long countWithNodes(BoardHandler boardHandler, List<String> playerIds, int turn, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		long leaves = 0;
+		String playerId = playerIds.get(turn);
+		for (Node node : boardHandler.getValidMoves(playerId)) {
+			boardHandler.move(playerId, node.getId());
+			int next = -1;
+			for (int i = 1; i <= playerIds.size() && next < 0; i++) {
+				if (boardHandler.hasValidMove(playerIds.get((turn + i) % playerIds.size()))) {
+					next = (turn + i) % playerIds.size();
+				}
+			}
+			leaves += next < 0 ? 1 : countWithNodes(boardHandler, playerIds, next, depth - 1);
+			boardHandler.undo();
+		}
+		return leaves;
+	}
+
+	@Test
+	public void squareTest() {
+		List<Player> players = createPlayers(2);
+		Set<NodeData> nodes = new Square().getNodes(8, players);
+		Perft bitPerft = new Perft(nodes, getIds(players), true);
+		Perft arrayPerft = new Perft(nodes, getIds(players), false);
+
+		for (int depth = 0; depth < SQUARE_PERFT.length - 1; depth++) {
+			Assert.assertEquals(SQUARE_PERFT[depth], bitPerft.perft(depth).getLeaves());
+			Assert.assertEquals(SQUARE_PERFT[depth], arrayPerft.perft(depth).getLeaves());
+		}
+
+		int depth = SQUARE_PERFT.length - 1;
+		PerftResult result = bitPerft.perft(depth, 4);
+		Assert.assertEquals(depth, result.getDepth());
+		Assert.assertEquals(SQUARE_PERFT[depth], result.getLeaves());
+		Assert.assertEquals(SQUARE_PERFT[depth], arrayPerft.perft(depth, 3).getLeaves());
+	}
+
+	@Test
+	public void otherBoardsTest() {
+		List<Set<NodeData>> layouts = new ArrayList<>();
+		List<List<Player>> layoutPlayers = new ArrayList<>();
+		layoutPlayers.add(createPlayers(2));
+		layouts.add(new Castle().getNodes(layoutPlayers.get(0)));
+		layoutPlayers.add(createPlayers(3));
+		layouts.add(new Diamond().getNodes(9, layoutPlayers.get(1)));
+
+		for (int i = 0; i < layouts.size(); i++) {
+			List<String> playerIds = getIds(layoutPlayers.get(i));
+			Perft perft = new Perft(layouts.get(i), playerIds, true);
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(new BoardFactory()
+					.createBoard(layouts.get(i)));
+
+			for (int depth = 1; depth <= 4; depth++) {
+				long leaves = perft.perft(depth).getLeaves();
+				Assert.assertEquals(countWithNodes(boardHandler, playerIds, 0, depth), leaves);
+				Assert.assertEquals(leaves, perft.perft(depth, 2).getLeaves());
+			}
+		}
+	}
+
+	@Test
+	public void finishedGameTest() {
+		List<Player> players = createPlayers(2);
+		Set<NodeData> nodes = new Square().getNodes(2, players);
+		Perft perft = new Perft(nodes, getIds(players), false);
+
+		// Nobody can move on a full 2x2 board, so every depth counts the start position once
+		Assert.assertEquals(1, perft.perft(0).getLeaves());
+		Assert.assertEquals(1, perft.perft(3).getLeaves());
+		Assert.assertEquals(1, perft.perft(3, 2).getLeaves());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeDepthTest() {
+		List<Player> players = createPlayers(2);
+		new Perft(new Square().getNodes(8, players), getIds(players), false).perft(-1);
+	}
+}
@@ -0,0 +1,128 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearchBoardTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+
+	private List<Player> getPlayers() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		return players;
+	}
+
+	private BoardImpl getSquareBoard() {
+		return new BoardFactory().createBoard(new Square().getNodes(8, getPlayers()));
+	}
+
+	private void assertSameBoard(SearchBoard expected, SearchBoard actual) {
+		Assert.assertEquals(expected.getNumEmpty(), actual.getNumEmpty());
+		Assert.assertEquals(expected.getHash(), actual.getHash());
+		for (int player = 0; player < expected.getNumPlayers(); player++) {
+			Assert.assertEquals(expected.getDiscCount(player), actual.getDiscCount(player));
+			Assert.assertEquals(expected.getNumValidMoves(player), actual.getNumValidMoves(player));
+		}
+		for (int slot = 0; slot < expected.getLayout().getNumSlots(); slot++) {
+			Assert.assertEquals(expected.getOccupant(slot), actual.getOccupant(slot));
+		}
+	}
+
+	@Test
+	public void createSearchBoardTest() {
+		BoardImpl board = getSquareBoard();
+		SearchBoardFactory searchBoardFactory = new SearchBoardFactory();
+
+		SearchBoard searchBoard = searchBoardFactory.createSearchBoard(board, Arrays.asList(PLAYER_2));
+		Assert.assertTrue(searchBoard instanceof BitSearchBoard);
+		Assert.assertEquals(60, searchBoard.getNumEmpty());
+		Assert.assertEquals(1, searchBoard.getOccupant(board.getLayout().getSlot(4, 3)));
+		Assert.assertEquals(0, searchBoard.getOccupant(board.getLayout().getSlot(3, 3)));
+
+		List<Player> players = getPlayers();
+		players.add(new ComputerPlayer("player3", "player3", null));
+		BoardImpl diamond = new BoardFactory().createBoard(new Diamond().getNodes(9, players));
+		searchBoard = searchBoardFactory.createSearchBoard(diamond, Arrays.asList(PLAYER_1));
+		Assert.assertTrue(searchBoard instanceof ArraySearchBoard);
+		Assert.assertEquals(3, searchBoard.getNumPlayers());
+		Assert.assertEquals(searchBoard.getDiscCount(1), searchBoard.getDiscCount(0));
+	}
+
+	@Test
+	public void sameAsArraySearchBoardTest() {
+		Random random = new Random(4711);
+		BoardImpl board = getSquareBoard();
+		List<String> playerIds = Arrays.asList(board.getPlayerId(0), board.getPlayerId(1));
+		SearchBoard bitBoard = new SearchBoardFactory().createSearchBoard(board, playerIds);
+		SearchBoard arrayBoard = new ArraySearchBoard(board.getLayout(), board.getOccupants(), 2);
+		int[] expectedMoves = new int[64];
+		int[] actualMoves = new int[64];
+
+		for (int game = 0; game < 20; game++) {
+			int player = 0;
+			int numMoves = 0;
+			while (arrayBoard.hasValidMove(0) || arrayBoard.hasValidMove(1)) {
+				int expectedNum = arrayBoard.getValidMoves(player, expectedMoves);
+				int actualNum = bitBoard.getValidMoves(player, actualMoves);
+				Assert.assertArrayEquals(Arrays.copyOf(expectedMoves, expectedNum),
+						Arrays.copyOf(actualMoves, actualNum));
+
+				if (expectedNum > 0) {
+					int move = expectedMoves[random.nextInt(expectedNum)];
+					Assert.assertEquals(arrayBoard.getNumSwaps(player, move), bitBoard.getNumSwaps(player, move));
+					Assert.assertEquals(arrayBoard.makeMove(player, move), bitBoard.makeMove(player, move));
+					numMoves++;
+					assertSameBoard(arrayBoard, bitBoard);
+					assertSameBoard(bitBoard.copy(), arrayBoard);
+				}
+				player = 1 - player;
+			}
+
+			for (; numMoves > 0; numMoves--) {
+				arrayBoard.undoMove();
+				bitBoard.undoMove();
+				assertSameBoard(arrayBoard, bitBoard);
+			}
+			assertSameBoard(new ArraySearchBoard(board.getLayout(), board.getOccupants(), 2), arrayBoard);
+			Assert.assertEquals(board.getHash(), arrayBoard.getHash());
+		}
+	}
+
+	@Test
+	public void invalidMoveTest() {
+		BoardImpl board = getSquareBoard();
+		List<SearchBoard> searchBoards = Arrays.asList(
+				new SearchBoardFactory().createSearchBoard(board, Arrays.asList(PLAYER_2, PLAYER_1)),
+				new ArraySearchBoard(board.getLayout(), board.getOccupants(), 2));
+
+		for (SearchBoard searchBoard : searchBoards) {
+			int occupied = board.getLayout().getSlot(3, 3);
+			Assert.assertFalse(searchBoard.isMoveValid(0, occupied));
+			Assert.assertFalse(searchBoard.isMoveValid(0, 0));
+			try {
+				searchBoard.makeMove(0, 0);
+				Assert.fail();
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+			try {
+				searchBoard.undoMove();
+				Assert.fail();
+			} catch (IllegalStateException e) {
+				// Expected
+			}
+		}
+	}
+}
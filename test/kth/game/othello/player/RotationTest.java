@@ -31,6 +31,16 @@ public class RotationTest {
 		Assert.assertEquals(null, tr.getPlayerInTurn());
 	}
 
+	@Test
+	public void resetTest() {
+		TurnDecider tr = createRotation(Ids[1], Ids);
+		tr.reset();
+		Assert.assertEquals(null, tr.getPlayerInTurn());
+
+		tr.setFirstPlayerInTurn(Ids[0]);
+		Assert.assertEquals(Ids[0], tr.getPlayerInTurn());
+	}
+
 	@Test
 	public void updateNextPlayerInTurnTest() {
 		List<String> skippedList;
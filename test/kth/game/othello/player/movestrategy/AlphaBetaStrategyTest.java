@@ -0,0 +1,140 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.search.AlphaBetaSearcher;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+import kth.game.othello.player.movestrategy.search.SearchInfo;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.player.movestrategy.search.TranspositionTable;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AlphaBetaStrategyTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+
+	@Test
+	public void moveNotPossibleTest() {
+		Rules mockedRules = mock(Rules.class);
+		when(mockedRules.getValidMoves(anyString())).thenReturn(new ArrayList<>());
+
+		MoveStrategy alphaBetaStrategy = new AlphaBetaStrategy();
+
+		Node move = alphaBetaStrategy.move("player1", mockedRules, null);
+		Assert.assertEquals(null, move);
+	}
+
+	@Test
+	public void moveValidWithinNodeBudgetTest() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		AlphaBetaStrategy alphaBetaStrategy = new AlphaBetaStrategy(SearchLimits.UNLIMITED, 20000,
+				new PositionalEvaluator());
+		Node move = alphaBetaStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		SearchInfo searchInfo = alphaBetaStrategy.getLastSearchInfo();
+		Assert.assertTrue(searchInfo.getDepth() >= 3);
+		Assert.assertTrue(searchInfo.getNodes() < 20000 + 1024);
+
+		// The search must not touch the board
+		Assert.assertEquals(4, board.getNodes().stream().filter(Node::isMarked).count());
+	}
+
+	@Test
+	public void moveWinningTest() {
+		Set<NodeData> nodes = new HashSet<>();
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				nodes.add(new NodeData(x, y));
+			}
+		}
+		nodes.remove(new NodeData(1, 1));
+		nodes.remove(new NodeData(1, 2));
+		nodes.remove(new NodeData(1, 3));
+		nodes.remove(new NodeData(2, 2));
+		nodes.add(new NodeData(1, 1, PLAYER_2));
+		nodes.add(new NodeData(1, 2, PLAYER_2));
+		nodes.add(new NodeData(1, 3, PLAYER_1));
+		nodes.add(new NodeData(2, 2, PLAYER_1));
+		BoardImpl board = new BoardFactory().createBoard(nodes);
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		// Moving to 1:0 swaps both discs of the opponent and wins the game
+		AlphaBetaStrategy alphaBetaStrategy = new AlphaBetaStrategy(SearchLimits.UNLIMITED, 50000,
+				new PositionalEvaluator());
+		Node move = alphaBetaStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertEquals("1:0", move.getId());
+		Assert.assertTrue(alphaBetaStrategy.getLastSearchInfo().getBestScore() > AlphaBetaSearcher.WIN);
+	}
+
+	@Test
+	public void singleThreadDeterministicTest() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		AlphaBetaStrategy first = new AlphaBetaStrategy(SearchLimits.UNLIMITED, 20000, new PositionalEvaluator(),
+				new TranspositionTable(1 << 12), 1);
+		AlphaBetaStrategy second = new AlphaBetaStrategy(SearchLimits.UNLIMITED, 20000, new PositionalEvaluator(),
+				new TranspositionTable(1 << 12), 1);
+
+		Assert.assertEquals(first.move(PLAYER_1, boardHandler, board), second.move(PLAYER_1, boardHandler, board));
+		Assert.assertEquals(first.getLastSearchInfo().getNodes(), second.getLastSearchInfo().getNodes());
+		Assert.assertEquals(first.getLastSearchInfo().getDepth(), second.getLastSearchInfo().getDepth());
+	}
+
+	@Test
+	public void lazySmpTest() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		AlphaBetaStrategy alphaBetaStrategy = new AlphaBetaStrategy(SearchLimits.UNLIMITED, 20000,
+				new PositionalEvaluator(), new TranspositionTable(1 << 14), 4);
+		Node move = alphaBetaStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		SearchInfo searchInfo = alphaBetaStrategy.getLastSearchInfo();
+		Assert.assertEquals(4, searchInfo.getNumThreads());
+		Assert.assertTrue(searchInfo.getDepth() >= 3);
+		Assert.assertTrue(searchInfo.getNodes() >= 20000);
+		Assert.assertTrue(alphaBetaStrategy.measureSpeedup(PLAYER_1, board, 4) > 0);
+
+		// The search must not touch the board
+		Assert.assertEquals(4, board.getNodes().stream().filter(Node::isMarked).count());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void threadsWithoutTableTest() {
+		new AlphaBetaStrategy(100, SearchLimits.UNLIMITED, new PositionalEvaluator(), null, 2);
+	}
+}
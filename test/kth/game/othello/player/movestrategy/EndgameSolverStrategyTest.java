@@ -0,0 +1,167 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.search.EndgameSolver;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.player.movestrategy.search.TranspositionTable;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndgameSolverStrategyTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+
+	private List<Player> createPlayers() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		return players;
+	}
+
+	/**
+	 * Plays random moves until the given number of nodes are empty and returns the id of the player in turn, which
+	 * has a valid move, or null if the game ended before.
+	 */
+	private String playRandomMoves(BoardHandler boardHandler, int numEmpty, Random random) {
+		List<String> playerIds = Arrays.asList(PLAYER_1, PLAYER_2);
+		int turn = 0;
+		while (true) {
+			if (!boardHandler.hasValidMove(playerIds.get(turn))) {
+				turn = 1 - turn;
+				if (!boardHandler.hasValidMove(playerIds.get(turn))) {
+					return null;
+				}
+			}
+			long empty = boardHandler.getBoard().getNodes().stream().filter(node -> !node.isMarked()).count();
+			if (empty <= numEmpty) {
+				return playerIds.get(turn);
+			}
+			List<Node> moves = boardHandler.getValidMoves(playerIds.get(turn));
+			boardHandler.move(playerIds.get(turn), moves.get(random.nextInt(moves.size())).getId());
+			turn = 1 - turn;
+		}
+	}
+
+	/**
+	 * Computes the disc difference of perfect play without any pruning.
+	 */
+	private int minimax(SearchBoard board, int player, boolean passed) {
+		int[] moves = new int[board.getLayout().getNumSlots()];
+		int numMoves = board.getValidMoves(player, moves);
+		if (numMoves == 0) {
+			if (passed) {
+				return board.getDiscCount(player) - board.getDiscCount(1 - player);
+			}
+			return -minimax(board, 1 - player, true);
+		}
+		int best = Integer.MIN_VALUE;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, moves[i]);
+			best = Math.max(best, -minimax(board, 1 - player, false));
+			board.undoMove();
+		}
+		return best;
+	}
+
+	@Test
+	public void moveNotPossibleTest() {
+		Rules mockedRules = mock(Rules.class);
+		when(mockedRules.getValidMoves(anyString())).thenReturn(new ArrayList<>());
+
+		MoveStrategy endgameSolverStrategy = new EndgameSolverStrategy(new GreedyStrategy());
+
+		Assert.assertEquals(null, endgameSolverStrategy.move(PLAYER_1, mockedRules, null));
+	}
+
+	@Test
+	public void delegateBeforeEndgameTest() {
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, createPlayers()));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		Node node = boardHandler.getValidMoves(PLAYER_1).get(0);
+		MoveStrategy mockedStrategy = mock(MoveStrategy.class);
+		when(mockedStrategy.move(PLAYER_1, boardHandler, board)).thenReturn(node);
+
+		EndgameSolverStrategy endgameSolverStrategy = new EndgameSolverStrategy(mockedStrategy);
+
+		Assert.assertEquals(node, endgameSolverStrategy.move(PLAYER_1, boardHandler, board));
+		Assert.assertNull(endgameSolverStrategy.getLastSearchInfo());
+	}
+
+	@Test
+	public void solveMatchesMinimaxTest() {
+		List<Set<NodeData>> layouts = new ArrayList<>();
+		layouts.add(new Square().getNodes(8, createPlayers()));
+		layouts.add(new Castle().getNodes(createPlayers()));
+		Random random = new Random(2386);
+
+		for (Set<NodeData> nodes : layouts) {
+			for (int i = 0; i < 4; i++) {
+				BoardImpl board = new BoardFactory().createBoard(nodes);
+				BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+				String playerId = playRandomMoves(boardHandler, 8, random);
+				if (playerId == null) {
+					continue;
+				}
+
+				SearchBoard searchBoard = new SearchBoardFactory().createSearchBoard(board,
+						Arrays.asList(playerId));
+				int expected = minimax(searchBoard, 0, false);
+
+				EndgameSolver solver = new EndgameSolver(searchBoard, new TranspositionTable(1 << 10));
+				Assert.assertTrue(solver.solve(0, true, new SearchLimits(SearchLimits.UNLIMITED, Long.MAX_VALUE)));
+				Assert.assertEquals(expected, solver.getBestScore());
+				searchBoard.makeMove(0, solver.getBestMove());
+				Assert.assertEquals(expected, -minimax(searchBoard, 1, false));
+				searchBoard.undoMove();
+
+				Assert.assertTrue(solver.solve(0, false, new SearchLimits(SearchLimits.UNLIMITED, Long.MAX_VALUE)));
+				Assert.assertEquals(Integer.signum(expected), Integer.signum(solver.getBestScore()));
+			}
+		}
+	}
+
+	@Test
+	public void moveInEndgameTest() {
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, createPlayers()));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		String playerId = playRandomMoves(boardHandler, 12, new Random(42));
+		MoveStrategy mockedStrategy = mock(MoveStrategy.class);
+
+		EndgameSolverStrategy endgameSolverStrategy = new EndgameSolverStrategy(mockedStrategy);
+		Node move = endgameSolverStrategy.move(playerId, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(playerId, move.getId()));
+		Assert.assertEquals(12, endgameSolverStrategy.getLastSearchInfo().getDepth());
+		verify(mockedStrategy, never()).move(anyString(), any(Rules.class), any(Board.class));
+
+		// The search must not touch the board
+		Assert.assertEquals(52, board.getNodes().stream().filter(Node::isMarked).count());
+	}
+}
@@ -0,0 +1,166 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.search.MctsInfo;
+import kth.game.othello.player.movestrategy.search.MctsSearcher;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MctsStrategyTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+	private static final String PLAYER_3 = "player3";
+
+	private MctsStrategy createStrategy(long maxPlayouts) {
+		return new MctsStrategy(SearchLimits.UNLIMITED, maxPlayouts, MctsSearcher.DEFAULT_EXPLORATION,
+				new SplittableRandom(2386));
+	}
+
+	private List<Player> createPlayers(String... playerIds) {
+		List<Player> players = new ArrayList<>();
+		for (String playerId : playerIds) {
+			players.add(new ComputerPlayer(playerId, playerId, null));
+		}
+		return players;
+	}
+
+	@Test
+	public void moveNotPossibleTest() {
+		Rules mockedRules = mock(Rules.class);
+		when(mockedRules.getValidMoves(anyString())).thenReturn(new ArrayList<>());
+
+		MoveStrategy mctsStrategy = new MctsStrategy();
+
+		Node move = mctsStrategy.move("player1", mockedRules, null);
+		Assert.assertEquals(null, move);
+	}
+
+	@Test
+	public void moveValidWithinPlayoutBudgetTest() {
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, createPlayers(PLAYER_1, PLAYER_2)));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		MctsStrategy mctsStrategy = createStrategy(500);
+		Node move = mctsStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		MctsInfo searchInfo = mctsStrategy.getLastSearchInfo();
+		Assert.assertEquals(500, searchInfo.getPlayouts());
+		Assert.assertEquals(500, searchInfo.getRootVisits());
+		Assert.assertEquals(0, searchInfo.getReusedVisits());
+
+		// The search must not touch the board
+		Assert.assertEquals(4, board.getNodes().stream().filter(Node::isMarked).count());
+	}
+
+	@Test
+	public void reuseTreeTest() {
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, createPlayers(PLAYER_1, PLAYER_2)));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		MctsStrategy mctsStrategy = createStrategy(2000);
+
+		boardHandler.move(PLAYER_1, mctsStrategy.move(PLAYER_1, boardHandler, board).getId());
+		boardHandler.move(PLAYER_2, new GreedyStrategy().move(PLAYER_2, boardHandler, board).getId());
+		Node move = mctsStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		MctsInfo searchInfo = mctsStrategy.getLastSearchInfo();
+		Assert.assertTrue(searchInfo.getReusedVisits() > 0);
+		Assert.assertEquals(searchInfo.getReusedVisits() + 2000, searchInfo.getRootVisits());
+	}
+
+	@Test
+	public void treeParallelTest() {
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, createPlayers(PLAYER_1, PLAYER_2)));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		MctsStrategy mctsStrategy = new MctsStrategy(SearchLimits.UNLIMITED, 2000, MctsSearcher.DEFAULT_EXPLORATION,
+				new SplittableRandom(2386), 4, MctsStrategy.Parallelism.TREE);
+		Node move = mctsStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		MctsInfo searchInfo = mctsStrategy.getLastSearchInfo();
+		Assert.assertEquals(4, searchInfo.getNumThreads());
+		Assert.assertTrue(searchInfo.getPlayouts() >= 2000 && searchInfo.getPlayouts() < 2000 + 4);
+		Assert.assertEquals(searchInfo.getPlayouts(), searchInfo.getRootVisits());
+	}
+
+	@Test
+	public void rootParallelTest() {
+		List<Player> players = createPlayers(PLAYER_1, PLAYER_2, PLAYER_3);
+		BoardImpl board = new BoardFactory().createBoard(new Diamond().getNodes(9, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		MctsStrategy mctsStrategy = new MctsStrategy(SearchLimits.UNLIMITED, 1000, MctsSearcher.DEFAULT_EXPLORATION,
+				new SplittableRandom(2386), 4, MctsStrategy.Parallelism.ROOT);
+		Node move = mctsStrategy.move(PLAYER_1, boardHandler, board);
+
+		Assert.assertTrue(boardHandler.isMoveValid(PLAYER_1, move.getId()));
+		MctsInfo searchInfo = mctsStrategy.getLastSearchInfo();
+		for (int thread = 0; thread < 4; thread++) {
+			Assert.assertEquals(250, searchInfo.getPlayouts(thread));
+		}
+		Assert.assertEquals(1000, searchInfo.getRootVisits());
+	}
+
+	@Test
+	public void moveOnDiamondTest() {
+		List<Player> players = createPlayers(PLAYER_1, PLAYER_2, PLAYER_3);
+		BoardImpl board = new BoardFactory().createBoard(new Diamond().getNodes(9, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		MctsStrategy mctsStrategy = createStrategy(300);
+
+		for (Player player : players) {
+			Node move = mctsStrategy.move(player.getId(), boardHandler, board);
+			Assert.assertTrue(boardHandler.isMoveValid(player.getId(), move.getId()));
+			boardHandler.move(player.getId(), move.getId());
+		}
+	}
+
+	@Test
+	public void moveWinningTest() {
+		Set<NodeData> nodes = new HashSet<>();
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				nodes.add(new NodeData(x, y));
+			}
+		}
+		nodes.remove(new NodeData(1, 1));
+		nodes.remove(new NodeData(1, 2));
+		nodes.remove(new NodeData(1, 3));
+		nodes.remove(new NodeData(2, 2));
+		nodes.add(new NodeData(1, 1, PLAYER_2));
+		nodes.add(new NodeData(1, 2, PLAYER_2));
+		nodes.add(new NodeData(1, 3, PLAYER_1));
+		nodes.add(new NodeData(2, 2, PLAYER_1));
+		BoardImpl board = new BoardFactory().createBoard(nodes);
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		// Moving to 1:0 swaps both discs of the opponent and wins the game
+		Node move = createStrategy(2000).move(PLAYER_1, boardHandler, board);
+
+		Assert.assertEquals("1:0", move.getId());
+	}
+}
@@ -0,0 +1,131 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.MultiPlayerSearchStrategy.Algorithm;
+import kth.game.othello.player.movestrategy.search.PositionalEvaluator;
+import kth.game.othello.player.movestrategy.search.SearchInfo;
+import kth.game.othello.player.movestrategy.search.SearchLimits;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiPlayerSearchStrategyTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+	private static final String PLAYER_3 = "player3";
+
+	private MultiPlayerSearchStrategy createStrategy(Algorithm algorithm, long maxNodes) {
+		return new MultiPlayerSearchStrategy(algorithm, SearchLimits.UNLIMITED, maxNodes, new PositionalEvaluator());
+	}
+
+	private List<Player> createPlayers(String... playerIds) {
+		List<Player> players = new ArrayList<>();
+		for (String playerId : playerIds) {
+			players.add(new ComputerPlayer(playerId, playerId, null));
+		}
+		return players;
+	}
+
+	@Test
+	public void moveNotPossibleTest() {
+		Rules mockedRules = mock(Rules.class);
+		when(mockedRules.getValidMoves(anyString())).thenReturn(new ArrayList<>());
+
+		MoveStrategy strategy = new MultiPlayerSearchStrategy(Algorithm.MAX_N);
+
+		Assert.assertEquals(null, strategy.move(PLAYER_1, mockedRules, null));
+	}
+
+	@Test
+	public void playDiamondGameTest() {
+		for (Algorithm algorithm : Algorithm.values()) {
+			List<Player> players = createPlayers(PLAYER_1, PLAYER_2, PLAYER_3);
+			BoardImpl board = new BoardFactory().createBoard(new Diamond().getNodes(9, players));
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+			MultiPlayerSearchStrategy strategy = createStrategy(algorithm, 3000);
+
+			// Play the game in turn order, skipping players without valid moves
+			int numMoves = 0;
+			int skipped = 0;
+			for (int turn = 0; skipped < players.size(); turn = (turn + 1) % players.size()) {
+				String playerId = players.get(turn).getId();
+				if (!boardHandler.hasValidMove(playerId)) {
+					skipped++;
+					continue;
+				}
+				skipped = 0;
+				Node move = strategy.move(playerId, boardHandler, board);
+				Assert.assertTrue(boardHandler.isMoveValid(playerId, move.getId()));
+				boardHandler.move(playerId, move.getId());
+				numMoves++;
+
+				SearchInfo searchInfo = strategy.getLastSearchInfo();
+				Assert.assertTrue(searchInfo.getNodes() <= 3000 + 1024);
+			}
+			Assert.assertTrue(numMoves > 0);
+		}
+	}
+
+	@Test
+	public void searchDeeperThanGreedyTest() {
+		for (Algorithm algorithm : Algorithm.values()) {
+			List<Player> players = createPlayers(PLAYER_1, PLAYER_2, PLAYER_3);
+			BoardImpl board = new BoardFactory().createBoard(new Diamond().getNodes(9, players));
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+			MultiPlayerSearchStrategy strategy = createStrategy(algorithm, 20000);
+
+			strategy.move(PLAYER_1, boardHandler, board);
+
+			// A full round of moves of all three players and more
+			Assert.assertTrue(strategy.getLastSearchInfo().getDepth() > 3);
+			// The search must not touch the board
+			Assert.assertEquals(9, board.getNodes().stream().filter(Node::isMarked).count());
+		}
+	}
+
+	@Test
+	public void moveWinningTest() {
+		Set<NodeData> nodes = new HashSet<>();
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				nodes.add(new NodeData(x, y));
+			}
+		}
+		nodes.remove(new NodeData(1, 1));
+		nodes.remove(new NodeData(1, 2));
+		nodes.remove(new NodeData(1, 3));
+		nodes.remove(new NodeData(2, 2));
+		nodes.add(new NodeData(1, 1, PLAYER_2));
+		nodes.add(new NodeData(1, 2, PLAYER_2));
+		nodes.add(new NodeData(1, 3, PLAYER_1));
+		nodes.add(new NodeData(2, 2, PLAYER_1));
+
+		for (Algorithm algorithm : Algorithm.values()) {
+			BoardImpl board = new BoardFactory().createBoard(nodes);
+			BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+			// Moving to 1:0 swaps both discs of the opponent and wins the game
+			Node move = createStrategy(algorithm, 5000).move(PLAYER_1, boardHandler, board);
+
+			Assert.assertEquals("1:0", move.getId());
+		}
+	}
+}
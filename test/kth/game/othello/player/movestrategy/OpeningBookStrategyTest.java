@@ -0,0 +1,117 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.book.OpeningBook;
+import kth.game.othello.player.movestrategy.book.OpeningBookWriter;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpeningBookStrategyTest {
+	private static final String PLAYER_1 = "player1";
+	private static final String PLAYER_2 = "player2";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private BoardImpl board;
+	private BoardHandler boardHandler;
+	private List<Node> replies;
+
+	@Before
+	public void setUp() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer(PLAYER_1, PLAYER_1, null));
+		players.add(new ComputerPlayer(PLAYER_2, PLAYER_2, null));
+		board = new BoardFactory().createBoard(new Square().getNodes(8, players));
+		boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		// The three replies to the first move lead to three different positions, also up to symmetry
+		boardHandler.move(PLAYER_1, boardHandler.getValidMoves(PLAYER_1).get(0).getId());
+		replies = boardHandler.getValidMoves(PLAYER_2);
+		Assert.assertEquals(3, replies.size());
+	}
+
+	/**
+	 * Computes the key of the position after a move of player 2.
+	 */
+	private long getKey(Node move) {
+		boardHandler.move(PLAYER_2, move.getId());
+		BitSearchBoard searchBoard = (BitSearchBoard) new SearchBoardFactory().createSearchBoard(board,
+				Arrays.asList(PLAYER_2, PLAYER_1));
+		boardHandler.undo();
+		return OpeningBook.getKey(searchBoard.getDiscs(0), searchBoard.getDiscs(1));
+	}
+
+	private OpeningBook createBook(int[][] results) throws IOException {
+		Map<Long, int[]> entries = new TreeMap<>();
+		for (int i = 0; i < replies.size(); i++) {
+			entries.put(getKey(replies.get(i)), results[i]);
+		}
+		Path file = folder.newFile().toPath();
+		try (OpeningBookWriter writer = new OpeningBookWriter(file)) {
+			for (Map.Entry<Long, int[]> entry : entries.entrySet()) {
+				writer.add(entry.getKey(), entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]);
+			}
+		}
+		return new OpeningBook(file);
+	}
+
+	@Test
+	public void bestBookMoveTest() throws IOException {
+		MoveStrategy fallback = mock(MoveStrategy.class);
+		try (OpeningBook book = createBook(new int[][] { { 2, 0, 3 }, { 4, 1, 1 }, { 1, 0, 0 } })) {
+			MoveStrategy strategy = new OpeningBookStrategy(fallback, book);
+			Assert.assertEquals(replies.get(2), strategy.move(PLAYER_2, boardHandler, board));
+
+			// A position reached by one game is not trusted when more games are required
+			strategy = new OpeningBookStrategy(fallback, book, 2);
+			Assert.assertEquals(replies.get(1), strategy.move(PLAYER_2, boardHandler, board));
+		}
+		verify(fallback, never()).move(PLAYER_2, boardHandler, board);
+	}
+
+	@Test
+	public void notInBookTest() throws IOException {
+		MoveStrategy fallback = mock(MoveStrategy.class);
+		when(fallback.getName()).thenReturn("Fallback");
+		when(fallback.move(PLAYER_1, boardHandler, board)).thenReturn(replies.get(0));
+		try (OpeningBook book = createBook(new int[][] { { 2, 0, 3 }, { 4, 1, 1 }, { 1, 0, 0 } })) {
+			MoveStrategy strategy = new OpeningBookStrategy(fallback, book);
+			Assert.assertEquals("FallbackBook", strategy.getName());
+
+			// Player 1 has no book positions after its second move
+			Assert.assertEquals(replies.get(0), strategy.move(PLAYER_1, boardHandler, board));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidMinGamesTest() {
+		new OpeningBookStrategy(mock(MoveStrategy.class), null, 0);
+	}
+}
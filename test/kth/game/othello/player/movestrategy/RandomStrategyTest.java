@@ -51,6 +51,22 @@ public class RandomStrategyTest {
 		}
 	}
 
+	@Test
+	public void seedTest() {
+		List<Node> validMoves = new LinkedList<>();
+		for (int i = 0; i < 8; i++) {
+			validMoves.add(new NodeImpl(i, 0));
+		}
+		Rules mockedRules = mock(Rules.class);
+		when(mockedRules.getValidMoves(anyString())).thenReturn(validMoves);
+
+		MoveStrategy first = new RandomStrategy(42);
+		MoveStrategy second = new RandomStrategy(42);
+		for (int i = 0; i < 20; i++) {
+			Assert.assertEquals(first.move("player1", mockedRules, null), second.move("player1", mockedRules, null));
+		}
+	}
+
 	@Test
 	public void moveNotPossibleTest() {
 		BoardHandler mockedBoardHandler = mock(BoardHandler.class);
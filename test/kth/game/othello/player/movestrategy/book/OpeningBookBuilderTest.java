@@ -0,0 +1,138 @@
+package kth.game.othello.player.movestrategy.book;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.RandomStrategy;
+import kth.game.othello.record.GameLayout;
+import kth.game.othello.record.GameRecord;
+import kth.game.othello.record.GameRecordListener;
+import kth.game.othello.record.GameRecordSource;
+import kth.game.othello.record.GameRecorder;
+import kth.game.othello.score.Score;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpeningBookBuilderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private GameRecord playGame(List<Integer> results, String firstPlayerId) {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("a", "a", new RandomStrategy()));
+		players.add(new ComputerPlayer("b", "b", new RandomStrategy()));
+		Othello othello = new OthelloFactoryImpl().createGame(GameLayout.SQUARE.getNodes(players), players);
+		GameRecorder recorder = new GameRecorder(othello, GameLayout.SQUARE);
+		othello.start(firstPlayerId);
+		while (othello.isActive()) {
+			othello.move();
+		}
+
+		Score score = othello.getScore();
+		results.add(Integer.signum(score.getPoints("a") - score.getPoints("b")));
+		return recorder.getRecord();
+	}
+
+	private GameRecordSource createSource(final List<GameRecord> records) {
+		return new GameRecordSource() {
+			@Override
+			public void read(GameRecordListener listener) {
+				for (GameRecord record : records) {
+					listener.gameRecorded(record);
+				}
+			}
+		};
+	}
+
+	@Test
+	public void buildTest() throws IOException {
+		List<Integer> results = new ArrayList<>();
+		List<GameRecordSource> shards = new ArrayList<>();
+		for (int shard = 0; shard < 3; shard++) {
+			List<GameRecord> records = new ArrayList<>();
+			for (int game = 0; game < 10; game++) {
+				records.add(playGame(results, "a"));
+			}
+			shards.add(createSource(records));
+		}
+		// A game of another layout is skipped
+		shards.add(createSource(Arrays.asList(new GameRecord(GameLayout.CASTLE, Arrays.asList("a", "b"),
+				new int[0]))));
+
+		Path file = folder.newFile().toPath();
+		int numPositions = new OpeningBookBuilder(4, 1).build(shards, file);
+
+		try (OpeningBook book = new OpeningBook(file)) {
+			Assert.assertEquals(numPositions, book.getNumEntries());
+
+			// All first moves are symmetric, so every game goes through the same position
+			List<String> playerIds = Arrays.asList("a", "b");
+			BitSearchBoard board = (BitSearchBoard) new SearchBoardFactory().createSearchBoard(
+					new BoardFactory().createBoard(GameLayout.SQUARE.getNodesForIds(playerIds)), playerIds);
+			int[] moves = new int[64];
+			board.getValidMoves(0, moves);
+			board.makeMove(0, moves[0]);
+			BookEntry entry = book.lookup(board.getDiscs(0), board.getDiscs(1));
+
+			Assert.assertEquals(results.size(), entry.getNumGames());
+			Assert.assertEquals(results.stream().filter(result -> result > 0).count(), entry.getWins());
+			Assert.assertEquals(results.stream().filter(result -> result == 0).count(), entry.getDraws());
+			Assert.assertEquals(results.stream().filter(result -> result < 0).count(), entry.getLosses());
+		}
+	}
+
+	@Test
+	public void minGamesTest() throws IOException {
+		List<GameRecord> records = new ArrayList<>();
+		for (int game = 0; game < 5; game++) {
+			records.add(playGame(new ArrayList<Integer>(), "a"));
+		}
+		Path file = folder.newFile().toPath();
+
+		// Only the position after the first move is reached by all games
+		Assert.assertEquals(1, new OpeningBookBuilder(1, 5).build(Arrays.asList(createSource(records)), file));
+		Assert.assertEquals(0, new OpeningBookBuilder(1, 6).build(Arrays.asList(createSource(records)), file));
+	}
+
+	@Test
+	public void secondPlayerStartsTest() throws IOException {
+		List<Integer> results = new ArrayList<>();
+		List<GameRecord> records = new ArrayList<>();
+		for (int game = 0; game < 5; game++) {
+			records.add(playGame(results, "b"));
+		}
+		Assert.assertEquals(1, records.get(0).getFirstPlayer());
+		Path file = folder.newFile().toPath();
+		Assert.assertEquals(1, new OpeningBookBuilder(1, 5).build(Arrays.asList(createSource(records)), file));
+
+		try (OpeningBook book = new OpeningBook(file)) {
+			// The first move is made by player index 1, and the entry counts the results of that player
+			List<String> playerIds = Arrays.asList("a", "b");
+			BitSearchBoard board = (BitSearchBoard) new SearchBoardFactory().createSearchBoard(
+					new BoardFactory().createBoard(GameLayout.SQUARE.getNodesForIds(playerIds)), playerIds);
+			int[] moves = new int[64];
+			board.getValidMoves(1, moves);
+			board.makeMove(1, moves[0]);
+			BookEntry entry = book.lookup(board.getDiscs(1), board.getDiscs(0));
+
+			Assert.assertEquals(results.size(), entry.getNumGames());
+			Assert.assertEquals(results.stream().filter(result -> result < 0).count(), entry.getWins());
+			Assert.assertEquals(results.stream().filter(result -> result == 0).count(), entry.getDraws());
+			Assert.assertEquals(results.stream().filter(result -> result > 0).count(), entry.getLosses());
+		}
+	}
+}
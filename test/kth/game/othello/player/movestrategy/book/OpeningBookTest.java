@@ -0,0 +1,98 @@
+package kth.game.othello.player.movestrategy.book;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import kth.game.othello.board.BitBoard;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpeningBookTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void transformTest() {
+		for (int symmetry = 0; symmetry < BitBoard.NUM_SYMMETRIES; symmetry++) {
+			for (int x = 0; x < BitBoard.SIZE; x++) {
+				for (int y = 0; y < BitBoard.SIZE; y++) {
+					int mappedX = (symmetry & 1) != 0 ? BitBoard.SIZE - 1 - x : x;
+					int mappedY = (symmetry & 2) != 0 ? BitBoard.SIZE - 1 - y : y;
+					int expected = (symmetry & 4) != 0 ? BitBoard.getSquare(mappedY, mappedX) : BitBoard.getSquare(
+							mappedX, mappedY);
+					Assert.assertEquals(1L << expected, BitBoard.transform(1L << BitBoard.getSquare(x, y), symmetry));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void symmetricKeysTest() {
+		Random random = new Random(5);
+		for (int i = 0; i < 20; i++) {
+			long mover = random.nextLong();
+			long other = random.nextLong() & ~mover;
+			long key = OpeningBook.getKey(mover, other);
+			for (int symmetry = 1; symmetry < BitBoard.NUM_SYMMETRIES; symmetry++) {
+				Assert.assertEquals(key,
+						OpeningBook.getKey(BitBoard.transform(mover, symmetry), BitBoard.transform(other, symmetry)));
+			}
+			Assert.assertNotEquals(key, OpeningBook.getKey(other, mover));
+		}
+	}
+
+	@Test
+	public void writeAndLookupTest() throws IOException {
+		Path file = folder.newFile("book.bin").toPath();
+		try (OpeningBookWriter writer = new OpeningBookWriter(file)) {
+			for (int i = 0; i < 1000; i++) {
+				writer.add(i * 7L - 3000, i, 1, 2);
+			}
+		}
+		Assert.assertEquals(OpeningBook.HEADER_SIZE + 1000 * OpeningBook.ENTRY_SIZE, Files.size(file));
+
+		try (OpeningBook book = new OpeningBook(file)) {
+			Assert.assertEquals(1000, book.getNumEntries());
+			for (int i = 0; i < 1000; i++) {
+				BookEntry entry = book.lookup(i * 7L - 3000);
+				Assert.assertEquals(i, entry.getWins());
+				Assert.assertEquals(1, entry.getDraws());
+				Assert.assertEquals(2, entry.getLosses());
+				Assert.assertNull(book.lookup(i * 7L - 2999));
+			}
+			Assert.assertNull(book.lookup(Long.MIN_VALUE));
+			Assert.assertNull(book.lookup(Long.MAX_VALUE));
+		}
+	}
+
+	@Test
+	public void emptyBookTest() throws IOException {
+		Path file = folder.newFile("empty.bin").toPath();
+		new OpeningBookWriter(file).close();
+		try (OpeningBook book = new OpeningBook(file)) {
+			Assert.assertEquals(0, book.getNumEntries());
+			Assert.assertNull(book.lookup(0));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsortedEntriesTest() throws IOException {
+		try (OpeningBookWriter writer = new OpeningBookWriter(folder.newFile("book.bin").toPath())) {
+			writer.add(5, 1, 0, 0);
+			writer.add(5, 1, 0, 0);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidFileTest() throws IOException {
+		Path file = folder.newFile("invalid.bin").toPath();
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+		new OpeningBook(file);
+	}
+}
@@ -0,0 +1,71 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MaxNSearcherTest {
+	private final List<String> playerIds = Arrays.asList("p1", "p2", "p3");
+
+	private void occupy(Set<NodeData> nodes, int x, int y, String playerId) {
+		nodes.remove(new NodeData(x, y));
+		nodes.add(new NodeData(x, y, playerId));
+	}
+
+	/**
+	 * Creates a diamond of size 5 where only p1 can move after it moves to 3:3.
+	 */
+	private SearchBoard createPassingBoard() {
+		List<Player> players = new ArrayList<>();
+		for (String playerId : playerIds) {
+			players.add(new ComputerPlayer(playerId, playerId, null));
+		}
+		Set<NodeData> nodes = new HashSet<>();
+		for (NodeData node : new Diamond().getNodes(5, players)) {
+			nodes.add(new NodeData(node.getXCoordinate(), node.getYCoordinate()));
+		}
+		occupy(nodes, 1, 3, "p1");
+		occupy(nodes, 2, 4, "p1");
+		occupy(nodes, 1, 1, "p2");
+		occupy(nodes, 0, 2, "p2");
+		occupy(nodes, 1, 2, "p2");
+		occupy(nodes, 2, 2, "p2");
+		occupy(nodes, 3, 2, "p2");
+		occupy(nodes, 2, 0, "p3");
+		occupy(nodes, 2, 3, "p3");
+		return new SearchBoardFactory().createSearchBoard(new BoardFactory().createBoard(nodes), playerIds);
+	}
+
+	@Test
+	public void playerMovesAgainTest() {
+		SearchBoard board = createPassingBoard();
+		BoardLayout layout = board.getLayout();
+		MaxNSearcher searcher = new MaxNSearcher(board);
+		SearchLimits limits = new SearchLimits(SearchLimits.UNLIMITED, SearchLimits.UNLIMITED);
+
+		board.makeMove(0, layout.getSlot(3, 3));
+		Assert.assertFalse(board.hasValidMove(1));
+		Assert.assertFalse(board.hasValidMove(2));
+		board.undoMove();
+
+		// Moving to 3:1 shares the win. After 3:3 p1 moves again, where 2:1 shares the win but 3:1 wins alone
+		Assert.assertTrue(searcher.search(0, 10, BoardLayout.EMPTY, limits));
+		Assert.assertEquals(layout.getSlot(3, 3), searcher.getBestMove());
+		Assert.assertEquals(searcher.getMaxSum(), searcher.getBestScore());
+		Assert.assertEquals(4, board.getNumEmpty());
+	}
+}
@@ -0,0 +1,71 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.Random;
+
+import kth.game.othello.board.ArraySearchBoard;
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MobilityEvaluatorTest {
+
+	private BoardLayout createLayout() {
+		int[] xs = new int[BitBoard.NUM_SQUARES];
+		int[] ys = new int[BitBoard.NUM_SQUARES];
+		for (int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+			xs[square] = square / BitBoard.SIZE;
+			ys[square] = square % BitBoard.SIZE;
+		}
+		return new BoardLayout(xs, ys);
+	}
+
+	private int[] getOccupants(BitSearchBoard board) {
+		int[] occupants = new int[BitBoard.NUM_SQUARES];
+		for (int square = 0; square < occupants.length; square++) {
+			occupants[square] = board.getOccupant(square);
+		}
+		return occupants;
+	}
+
+	@Test
+	public void potentialMobilityTest() {
+		MobilityEvaluator evaluator = new MobilityEvaluator();
+		BitSearchBoard board = new BitSearchBoard(createLayout(), 1L, 1L << BitBoard.getSquare(3, 3));
+
+		// Eight empty squares surround the opponent disc and three surround the corner disc
+		Assert.assertEquals(5 * MobilityEvaluator.DEFAULT_POTENTIAL_MOBILITY_WEIGHT, evaluator.evaluate(board, 0));
+		Assert.assertEquals(-5 * MobilityEvaluator.DEFAULT_POTENTIAL_MOBILITY_WEIGHT, evaluator.evaluate(board, 1));
+	}
+
+	@Test
+	public void bitAndArrayBoardsAgreeTest() {
+		BoardLayout layout = createLayout();
+		BitSearchBoard board = new BitSearchBoard(layout, 1L << 27 | 1L << 36, 1L << 28 | 1L << 35);
+		MobilityEvaluator evaluator = new MobilityEvaluator(3, 2, 5);
+		Random random = new Random(11);
+		int[] moves = new int[BitBoard.NUM_SQUARES];
+
+		int player = 0;
+		while (board.hasValidMove(0) || board.hasValidMove(1)) {
+			if (!board.hasValidMove(player)) {
+				player = 1 - player;
+			}
+			int numMoves = board.getValidMoves(player, moves);
+			board.makeMove(player, moves[random.nextInt(numMoves)]);
+			player = 1 - player;
+
+			SearchBoard arrayBoard = new ArraySearchBoard(layout, getOccupants(board), 2);
+			Assert.assertEquals(evaluator.evaluate(arrayBoard, 0), evaluator.evaluate(board, 0));
+			Assert.assertEquals(evaluator.evaluate(arrayBoard, 1), evaluator.evaluate(board, 1));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeWeightTest() {
+		new MobilityEvaluator(1, -1, 1);
+	}
+}
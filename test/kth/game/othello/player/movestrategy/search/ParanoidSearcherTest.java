@@ -0,0 +1,96 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+import kth.game.othello.board.SearchBoardFactory;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParanoidSearcherTest {
+	private final Evaluator evaluator = new PositionalEvaluator();
+
+	private SearchBoard createDiamondBoard() {
+		List<Player> players = new ArrayList<>();
+		List<String> playerIds = Arrays.asList("p1", "p2", "p3");
+		for (String playerId : playerIds) {
+			players.add(new ComputerPlayer(playerId, playerId, null));
+		}
+		return new SearchBoardFactory().createSearchBoard(
+				new BoardFactory().createBoard(new Diamond().getNodes(9, players)), playerIds);
+	}
+
+	private int getNextPlayer(SearchBoard board, int player) {
+		for (int i = 1; i < board.getNumPlayers(); i++) {
+			int next = (player + i) % board.getNumPlayers();
+			if (board.hasValidMove(next)) {
+				return next;
+			}
+		}
+		return board.hasValidMove(player) ? player : BoardLayout.EMPTY;
+	}
+
+	/**
+	 * Scores a position by searching every move, without any pruning.
+	 */
+	private int minimax(SearchBoard board, int root, int player, int depth) {
+		if (player == BoardLayout.EMPTY) {
+			int maxOtherDiscs = 0;
+			for (int other = 0; other < board.getNumPlayers(); other++) {
+				if (other != root) {
+					maxOtherDiscs = Math.max(maxOtherDiscs, board.getDiscCount(other));
+				}
+			}
+			int difference = board.getDiscCount(root) - maxOtherDiscs;
+			return difference == 0 ? 0 : difference + (difference > 0 ? 1 : -1) * AlphaBetaSearcher.WIN;
+		}
+		if (depth == 0) {
+			return evaluator.evaluate(board, root);
+		}
+
+		int[] moves = new int[board.getLayout().getNumSlots()];
+		int numMoves = board.getValidMoves(player, moves);
+		int best = player == root ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(player, moves[i]);
+			int score = minimax(board, root, getNextPlayer(board, player), depth - 1);
+			board.undoMove();
+			best = player == root ? Math.max(best, score) : Math.min(best, score);
+		}
+		return best;
+	}
+
+	@Test
+	public void sameScoreAsMinimaxTest() {
+		SearchBoard board = createDiamondBoard();
+		ParanoidSearcher searcher = new ParanoidSearcher(board, evaluator);
+		SearchLimits limits = new SearchLimits(SearchLimits.UNLIMITED, SearchLimits.UNLIMITED);
+
+		for (int depth = 1; depth <= 4; depth++) {
+			Assert.assertTrue(searcher.search(0, depth, BoardLayout.EMPTY, limits));
+			Assert.assertEquals(minimax(board, 0, 0, depth), searcher.getBestScore());
+		}
+	}
+
+	@Test
+	public void pruningTest() {
+		SearchBoard board = createDiamondBoard();
+		SearchLimits limits = new SearchLimits(SearchLimits.UNLIMITED, SearchLimits.UNLIMITED);
+		ParanoidSearcher paranoid = new ParanoidSearcher(board, evaluator);
+		MaxNSearcher maxN = new MaxNSearcher(board);
+		paranoid.search(0, 4, BoardLayout.EMPTY, limits);
+		maxN.search(0, 4, BoardLayout.EMPTY, limits);
+
+		// Both searches prune, but the paranoid search prunes deeply
+		Assert.assertTrue(paranoid.getNodes() < maxN.getNodes());
+		Assert.assertEquals(9, board.getDiscCount(0) + board.getDiscCount(1) + board.getDiscCount(2));
+	}
+}
@@ -0,0 +1,130 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import kth.game.othello.board.ArraySearchBoard;
+import kth.game.othello.board.BitBoard;
+import kth.game.othello.board.BitSearchBoard;
+import kth.game.othello.board.BoardLayout;
+import kth.game.othello.board.SearchBoard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PatternEvaluatorTest {
+
+	private BoardLayout createLayout(int size) {
+		int[] xs = new int[size * size];
+		int[] ys = new int[size * size];
+		for (int slot = 0; slot < xs.length; slot++) {
+			xs[slot] = slot / size;
+			ys[slot] = slot % size;
+		}
+		return new BoardLayout(xs, ys);
+	}
+
+	private int[] createStartOccupants(int size) {
+		int[] occupants = new int[size * size];
+		Arrays.fill(occupants, BoardLayout.EMPTY);
+		int center = size / 2;
+		occupants[(center - 1) * size + center - 1] = 0;
+		occupants[center * size + center] = 0;
+		occupants[(center - 1) * size + center] = 1;
+		occupants[center * size + center - 1] = 1;
+		return occupants;
+	}
+
+	@Test
+	public void incrementalEvaluationTest() {
+		BoardLayout layout = createLayout(BitBoard.SIZE);
+		int[] occupants = createStartOccupants(BitBoard.SIZE);
+		SearchBoard arrayBoard = new ArraySearchBoard(layout, occupants, 2);
+		SearchBoard bitBoard = new BitSearchBoard(layout, 1L << 27 | 1L << 36, 1L << 28 | 1L << 35);
+		// One evaluator for each board, so both follow their board incrementally
+		PatternEvaluator arrayEvaluator = new PatternEvaluator();
+		PatternEvaluator bitEvaluator = new PatternEvaluator();
+		Random random = new Random(7);
+		int[] moves = new int[BitBoard.NUM_SQUARES];
+
+		int player = 0;
+		int numMade = 0;
+		for (int ply = 0; ply < 200; ply++) {
+			int numMoves = arrayBoard.getValidMoves(player, moves);
+			if (numMoves > 0 && (numMade == 0 || random.nextInt(4) > 0)) {
+				int slot = moves[random.nextInt(numMoves)];
+				arrayBoard.makeMove(player, slot);
+				bitBoard.makeMove(player, slot);
+				numMade++;
+			} else if (numMade > 0) {
+				arrayBoard.undoMove();
+				bitBoard.undoMove();
+				numMade--;
+			}
+			player = 1 - player;
+
+			int expected = new PatternEvaluator().evaluate(arrayBoard.copy(), 0);
+			Assert.assertEquals(expected, arrayEvaluator.evaluate(arrayBoard, 0));
+			Assert.assertEquals(expected, bitEvaluator.evaluate(bitBoard, 0));
+			Assert.assertEquals(-expected, bitEvaluator.evaluate(bitBoard, 1));
+		}
+	}
+
+	@Test
+	public void defaultWeightsTest() {
+		BoardLayout layout = createLayout(BitBoard.SIZE);
+		PatternEvaluator evaluator = new PatternEvaluator();
+
+		// A lone corner disc is worth the corner weight, up to the rounding of the spread weights
+		SearchBoard corner = new BitSearchBoard(layout, 1L, 0);
+		Assert.assertEquals(PositionalEvaluator.CORNER_WEIGHT, evaluator.evaluate(corner, 0), 1);
+		Assert.assertEquals(-PositionalEvaluator.CORNER_WEIGHT, evaluator.evaluate(corner, 1), 1);
+
+		SearchBoard cornerNeighbor = new BitSearchBoard(layout, 0, 1L << BitBoard.getSquare(1, 1));
+		Assert.assertEquals(-PositionalEvaluator.CORNER_NEIGHBOR_WEIGHT, evaluator.evaluate(cornerNeighbor, 0), 1);
+	}
+
+	@Test
+	public void readWriteTest() throws IOException {
+		short[][] tables = new short[PatternEvaluator.getNumPatternTypes()][];
+		Random random = new Random(3);
+		for (int type = 0; type < tables.length; type++) {
+			tables[type] = new short[PatternEvaluator.getTableSize(type)];
+			for (int code = 0; code < tables[type].length; code++) {
+				tables[type][code] = (short) random.nextInt();
+			}
+		}
+		PatternWeights weights = new PatternWeights(tables);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		weights.write(out);
+		PatternWeights read = PatternWeights.read(new ByteArrayInputStream(out.toByteArray()));
+		for (int type = 0; type < tables.length; type++) {
+			for (int code = 0; code < tables[type].length; code++) {
+				Assert.assertEquals(tables[type][code], read.getWeight(type, code));
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void readInvalidFileTest() throws IOException {
+		PatternWeights.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidTablesTest() {
+		new PatternWeights(new short[1][1]);
+	}
+
+	@Test
+	public void otherLayoutTest() {
+		BoardLayout layout = createLayout(6);
+		SearchBoard board = new ArraySearchBoard(layout, createStartOccupants(6), 2);
+		board.makeMove(0, 2 * 6 + 4);
+
+		Assert.assertEquals(new PositionalEvaluator().evaluate(board, 1), new PatternEvaluator().evaluate(board, 1));
+	}
+}
@@ -0,0 +1,110 @@
+package kth.game.othello.player.movestrategy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import kth.game.othello.board.BoardLayout;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+	@Test
+	public void storeAndProbeTest() {
+		TranspositionTable table = new TranspositionTable(1024);
+		long hash = 0x123456789ABCDEFL;
+
+		Assert.assertEquals(TranspositionTable.MISS, table.probe(hash));
+		table.store(hash, 5, -42, TranspositionTable.LOWER_BOUND, 17);
+
+		long entry = table.probe(hash);
+		Assert.assertEquals(-42, TranspositionTable.getScore(entry));
+		Assert.assertEquals(5, TranspositionTable.getDepth(entry));
+		Assert.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+		Assert.assertEquals(17, TranspositionTable.getMove(entry));
+
+		table.store(hash, 2, AlphaBetaSearcher.WIN + 3, TranspositionTable.EXACT, BoardLayout.EMPTY);
+		Assert.assertEquals(-42, TranspositionTable.getScore(table.probe(hash)));
+
+		Assert.assertEquals(3, table.getProbes());
+		Assert.assertEquals(2, table.getHits());
+		Assert.assertEquals(1, table.getStores());
+		Assert.assertEquals(1.0 / 1024, table.getOccupancy(), 1e-9);
+
+		table.clear();
+		Assert.assertEquals(TranspositionTable.MISS, table.probe(hash));
+		Assert.assertEquals(0, table.getHits());
+	}
+
+	@Test
+	public void replacementTest() {
+		TranspositionTable table = new TranspositionTable(16);
+		long hash = 3;
+		long otherHash = 3 + (1L << 40);
+
+		table.store(hash, 6, 1, TranspositionTable.EXACT, 0);
+		table.store(otherHash, 4, 2, TranspositionTable.EXACT, 0);
+		Assert.assertEquals(1, TranspositionTable.getScore(table.probe(hash)));
+		Assert.assertEquals(TranspositionTable.MISS, table.probe(otherHash));
+
+		// A deeper or equally deep result replaces the entry
+		table.store(otherHash, 6, 2, TranspositionTable.EXACT, 0);
+		Assert.assertEquals(TranspositionTable.MISS, table.probe(hash));
+		Assert.assertEquals(2, TranspositionTable.getScore(table.probe(otherHash)));
+
+		// Entries of older searches are always replaced
+		table.newSearch();
+		table.store(hash, 1, BoardLayout.EMPTY, TranspositionTable.UPPER_BOUND, BoardLayout.EMPTY);
+		long entry = table.probe(hash);
+		Assert.assertEquals(BoardLayout.EMPTY, TranspositionTable.getScore(entry));
+		Assert.assertEquals(BoardLayout.EMPTY, TranspositionTable.getMove(entry));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sizeNotPowerOfTwoTest() {
+		new TranspositionTable(1000);
+	}
+
+	@Test
+	public void concurrentAccessTest() throws InterruptedException {
+		final TranspositionTable table = new TranspositionTable(64);
+		final List<Throwable> failures = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < 4; t++) {
+			final long seed = t;
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					Random random = new Random(seed);
+					try {
+						for (int i = 0; i < 200000; i++) {
+							// The score is derived from the hash, so a torn entry would be seen as a wrong score
+							long hash = random.nextInt(1024) * 0x9E3779B97F4A7C15L;
+							long entry = table.probe(hash);
+							if (entry != TranspositionTable.MISS) {
+								Assert.assertEquals((int) (hash >>> 32), TranspositionTable.getScore(entry));
+							}
+							table.store(hash, random.nextInt(10), (int) (hash >>> 32), TranspositionTable.EXACT, 0);
+						}
+					} catch (Throwable e) {
+						synchronized (failures) {
+							failures.add(e);
+						}
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Assert.assertTrue(failures.toString(), failures.isEmpty());
+		Assert.assertTrue(table.getHits() > 0);
+	}
+}
@@ -0,0 +1,173 @@
+package kth.game.othello.record;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.Node;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.RandomStrategy;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameRecordWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<Player> createPlayers(int numPlayers) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < numPlayers; i++) {
+			players.add(new ComputerPlayer("p" + i, "p" + i, i % 2 == 0 ? new GreedyStrategy() : new RandomStrategy()));
+		}
+		return players;
+	}
+
+	/**
+	 * Plays a game to the end, recording it with the writer.
+	 */
+	private Othello playGame(GameLayout layout, int numPlayers, GameRecordWriter writer) {
+		List<Player> players = createPlayers(numPlayers);
+		Othello othello = new OthelloFactoryImpl().createGame(layout.getNodes(players), players);
+		writer.record(othello, layout);
+		othello.start();
+		while (othello.isActive()) {
+			othello.move();
+		}
+		return othello;
+	}
+
+	private List<GameRecord> readAll(GameRecordSource source) throws IOException {
+		final List<GameRecord> records = new ArrayList<>();
+		source.read(new GameRecordListener() {
+			@Override
+			public void gameRecorded(GameRecord record) {
+				records.add(record);
+			}
+		});
+		return records;
+	}
+
+	private void assertSameRecord(GameRecord expected, GameRecord actual) {
+		Assert.assertEquals(expected.getLayout(), actual.getLayout());
+		Assert.assertEquals(expected.getPlayerIds(), actual.getPlayerIds());
+		Assert.assertEquals(expected.getFirstPlayer(), actual.getFirstPlayer());
+		Assert.assertEquals(expected.getNumMoves(), actual.getNumMoves());
+		for (int i = 0; i < expected.getNumMoves(); i++) {
+			Assert.assertEquals(expected.getMove(i), actual.getMove(i));
+		}
+	}
+
+	private void roundTrip(boolean compress) throws IOException {
+		List<GameRecord> records = new ArrayList<>();
+		records.add(new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"), new int[] { 19, 18, GameRecord.PASS }));
+		records.add(new GameRecord(GameLayout.DIAMOND, Arrays.asList("a", "b", "c"), new int[0]));
+		records.add(new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"), 1, new int[] { 19, 18 }));
+		for (int i = 0; i < 50; i++) {
+			records.add(new GameRecord(GameLayout.CASTLE, Arrays.asList("x", "y"), new int[] { i, 254, i % 7 }));
+		}
+
+		// A small block size makes the records span several blocks
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(out, compress, 100, true)) {
+			for (GameRecord record : records) {
+				writer.write(record);
+			}
+			Assert.assertEquals(records.size(), writer.getNumRecords());
+		}
+
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(out.toByteArray()))) {
+			for (GameRecord record : records) {
+				assertSameRecord(record, reader.read());
+			}
+			Assert.assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void roundTripTest() throws IOException {
+		roundTrip(false);
+	}
+
+	@Test
+	public void compressedRoundTripTest() throws IOException {
+		roundTrip(true);
+	}
+
+	@Test
+	public void appendToFileTest() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("games.rec");
+		GameRecord first = new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"), new int[] { 19 });
+		GameRecord second = new GameRecord(GameLayout.SQUARE, Arrays.asList("b", "a"), new int[] { 37, 43 });
+		try (GameRecordWriter writer = new GameRecordWriter(file, true)) {
+			writer.write(first);
+		}
+		try (GameRecordWriter writer = new GameRecordWriter(file, false)) {
+			writer.write(second);
+		}
+
+		List<GameRecord> records = readAll(new GameRecordFile(file));
+		Assert.assertEquals(2, records.size());
+		assertSameRecord(first, records.get(0));
+		assertSameRecord(second, records.get(1));
+	}
+
+	@Test
+	public void recordAndReplayTest() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("games.rec");
+		List<Othello> games = new ArrayList<>();
+		try (GameRecordWriter writer = new GameRecordWriter(file, true)) {
+			games.add(playGame(GameLayout.SQUARE, 2, writer));
+			games.add(playGame(GameLayout.DIAMOND, 3, writer));
+		}
+
+		List<GameRecord> records = readAll(new GameRecordFile(file));
+		Assert.assertEquals(games.size(), records.size());
+		for (int i = 0; i < games.size(); i++) {
+			List<Node> expected = games.get(i).getBoard().getNodes();
+			List<Node> actual = GameRecordReader.replay(records.get(i)).getBoard().getNodes();
+			Assert.assertEquals(expected.size(), actual.size());
+			for (int j = 0; j < expected.size(); j++) {
+				Assert.assertEquals(expected.get(j).getId(), actual.get(j).getId());
+				Assert.assertEquals(expected.get(j).getOccupantPlayerId(), actual.get(j).getOccupantPlayerId());
+			}
+		}
+	}
+
+	@Test
+	public void replayHistoryTest() {
+		GameRecord record = new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"), new int[] { 19, 18 });
+		BoardHandler boardHandler = GameRecordReader.replay(record);
+		Assert.assertEquals(2, boardHandler.getPly());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void replayInvalidPassTest() {
+		GameRecordReader.replay(new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"),
+				new int[] { 19, GameRecord.PASS }));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void writeLargeSlotTest() throws IOException {
+		try (GameRecordWriter writer = new GameRecordWriter(new ByteArrayOutputStream(), false)) {
+			writer.write(new GameRecord(GameLayout.SQUARE, Arrays.asList("a", "b"), new int[] { 255 }));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidStreamTest() throws IOException {
+		new GameRecordReader(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })).close();
+	}
+}
@@ -0,0 +1,99 @@
+package kth.game.othello.record;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactoryImpl;
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
+import kth.game.othello.board.Node;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.TopLeftStrategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GameRecorderTest {
+
+	private List<Player> createPlayers() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("p1", "p1", new GreedyStrategy()));
+		players.add(new ComputerPlayer("p2", "p2", new TopLeftStrategy()));
+		return players;
+	}
+
+	/**
+	 * Plays the moves of a record on a new board.
+	 */
+	private BoardImpl replay(GameRecord record) {
+		BoardImpl board = new BoardFactory().createBoard(record.getLayout().getNodesForIds(record.getPlayerIds()));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+		for (int i = 0; i < record.getNumMoves(); i++) {
+			if (record.getMove(i) != GameRecord.PASS) {
+				String playerId = record.getPlayerIds().get(record.getPlayer(i));
+				boardHandler.move(playerId, board.getNode(record.getMove(i)).getId());
+			}
+		}
+		return board;
+	}
+
+	private void assertSameOccupants(List<Node> expected, List<Node> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertEquals(expected.get(i).getId(), actual.get(i).getId());
+			Assert.assertEquals(expected.get(i).getOccupantPlayerId(), actual.get(i).getOccupantPlayerId());
+		}
+	}
+
+	@Test
+	public void recordAndReplayTest() {
+		List<Player> players = createPlayers();
+		Othello othello = new OthelloFactoryImpl().createGame(GameLayout.SQUARE.getNodes(players), players);
+		GameRecorder recorder = new GameRecorder(othello, GameLayout.SQUARE);
+		othello.start("p1");
+		while (othello.isActive()) {
+			othello.move();
+		}
+
+		GameRecord record = recorder.getRecord();
+		Assert.assertEquals(GameLayout.SQUARE, record.getLayout());
+		Assert.assertEquals("p1", record.getPlayerIds().get(0));
+		assertSameOccupants(othello.getBoard().getNodes(), replay(record).getNodes());
+	}
+
+	@Test
+	public void secondPlayerStartsTest() {
+		List<Player> players = createPlayers();
+		Othello othello = new OthelloFactoryImpl().createGame(GameLayout.SQUARE.getNodes(players), players);
+		GameRecorder recorder = new GameRecorder(othello, GameLayout.SQUARE);
+		othello.start("p2");
+		othello.move();
+		othello.move();
+
+		GameRecord record = recorder.getRecord();
+		Assert.assertEquals(1, record.getFirstPlayer());
+		Assert.assertEquals(2, record.getNumMoves());
+		Assert.assertEquals(1, record.getPlayer(0));
+		Assert.assertNotEquals(GameRecord.PASS, record.getMove(0));
+		assertSameOccupants(othello.getBoard().getNodes(), replay(record).getNodes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidMoveTest() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("p1");
+		new GameRecord(GameLayout.SQUARE, playerIds, new int[] { 19, -2 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidFirstPlayerTest() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("p1");
+		new GameRecord(GameLayout.SQUARE, playerIds, 1, new int[0]);
+	}
+}
@@ -10,7 +10,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Observer;
 
+import kth.game.othello.board.BoardFactory;
+import kth.game.othello.board.BoardHandler;
+import kth.game.othello.board.BoardHandlerFactory;
+import kth.game.othello.board.BoardImpl;
 import kth.game.othello.board.NodeImpl;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.ComputerPlayer;
+import kth.game.othello.player.Player;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -59,7 +66,7 @@ public class ScoreImplTest {
 		score.addObserver(observer1);
 		score.addObserver(observer2);
 
-		score.update(node1, null);
+		score.nodeChanged(node1, null);
 
 		{
 			List<String> changed = new ArrayList<>();
@@ -78,10 +85,43 @@ public class ScoreImplTest {
 			changed.add(score1.getPlayerId());
 			changed.add(score2.getPlayerId());
 
-			score.update(node1, score2.getPlayerId());
+			score.nodeChanged(node1, score2.getPlayerId());
 			Assert.assertEquals(score1.getScore() + 2, score.getPoints(score1.getPlayerId()));
 			Assert.assertEquals(score2.getScore() - 1, score.getPoints(score2.getPlayerId()));
 			verify(observer3, times(1)).update(eq(score), eq(changed));
 		}
 	}
+
+	@Test
+	public void boardChangedTest() {
+		List<Player> players = new ArrayList<>();
+		players.add(new ComputerPlayer("player1", "player1", null));
+		players.add(new ComputerPlayer("player2", "player2", null));
+		BoardImpl board = new BoardFactory().createBoard(new Square().getNodes(8, players));
+		BoardHandler boardHandler = new BoardHandlerFactory().createOthelloBoardHandler(board);
+
+		List<ScoreItem> scores = new ArrayList<>();
+		scores.add(new ScoreItem("player1", 2));
+		scores.add(new ScoreItem("player2", 2));
+		ScoreImpl score = new ScoreImpl(scores);
+		boardHandler.addBoardChangeListener(score);
+		Observer observer = mock(Observer.class);
+		score.addObserver(observer);
+
+		List<String> changed = new ArrayList<>();
+		changed.add("player1");
+		changed.add("player2");
+
+		// One move swapping one node notifies the observers once
+		boardHandler.move("player1", boardHandler.getValidMoves("player1").get(0).getId());
+		Assert.assertEquals(4, score.getPoints("player1"));
+		Assert.assertEquals(1, score.getPoints("player2"));
+		Assert.assertEquals(4, score.getPlayersScore().get(0).getScore());
+		verify(observer, times(1)).update(eq(score), eq(changed));
+
+		boardHandler.undo();
+		Assert.assertEquals(2, score.getPoints("player1"));
+		Assert.assertEquals(2, score.getPoints("player2"));
+		verify(observer, times(2)).update(eq(score), eq(changed));
+	}
 }